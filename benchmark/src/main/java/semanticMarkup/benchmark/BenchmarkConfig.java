@@ -0,0 +1,22 @@
+package semanticMarkup.benchmark;
+
+import semanticMarkup.config.RunConfig;
+import semanticMarkup.core.transformation.lib.description.MarkupDescriptionTreatmentTransformer;
+import semanticMarkup.know.lib.CSVGlossary;
+
+/**
+ * Guice config for the benchmarks. The terminology learner is replaced by an in-memory stand-in and the parse cache is
+ * disabled, so that no MySQL database and no parse trees of previous runs are involved. The glossary is read from the 
+ * glossary csv file into memory. The description treatment transformer without GUI is bound, so no display is needed.
+ * @author rodenhausen
+ */
+public class BenchmarkConfig extends RunConfig {
+
+	public BenchmarkConfig() {
+		this.setGlossary(CSVGlossary.class);
+		this.setTerminologyLearner(InMemoryTerminologyLearner.class);
+		this.setParseCache(false);
+		this.setMarkupDescriptionTreatmentTransformer(MarkupDescriptionTreatmentTransformer.class);
+	}
+	
+}
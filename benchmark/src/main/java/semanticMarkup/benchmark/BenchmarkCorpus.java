@@ -0,0 +1,58 @@
+package semanticMarkup.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.filter.Filters;
+import org.jdom2.input.SAXBuilder;
+
+/**
+ * BenchmarkCorpus reads the fixed corpus the benchmarks run on: the sentences of the FNA v19 evaluation answer key. 
+ * Files are read in the order of their names, so that a given corpus size always selects the same sentences.
+ * @author rodenhausen
+ */
+public class BenchmarkCorpus {
+
+	public static final String DIRECTORY = "evaluationData" + File.separator + "FNAV19_AnsKey_CharaParser_Evaluation";
+	
+	/**
+	 * @param directory to read the sentences from
+	 * @param size the maximum number of sentences to read, all sentences are read if size is not positive
+	 * @return the sentences keyed by their source
+	 * @throws Exception if a file can not be read
+	 */
+	public static Map<String, String> read(String directory, int size) throws Exception {
+		Map<String, String> result = new LinkedHashMap<String, String>();
+		File[] files = new File(directory).listFiles();
+		if(files == null)
+			throw new IllegalArgumentException("Benchmark corpus directory " + directory + " does not exist. " +
+					"Benchmarks have to be run from the charaparser root directory");
+		Arrays.sort(files);
+		SAXBuilder saxBuilder = new SAXBuilder();
+		for(File file : files) {
+			if(!file.getName().endsWith(".xml"))
+				continue;
+			Document document = saxBuilder.build(file);
+			List<String> sentences = new ArrayList<String>();
+			for(Element text : document.getDescendants(Filters.element("text"))) {
+				String sentence = text.getText().replaceAll("\\s+", " ").trim();
+				if(!sentence.isEmpty())
+					sentences.add(sentence);
+			}
+			String source = file.getName().replaceAll("\\.xml$", "");
+			for(int i = 0; i < sentences.size(); i++) {
+				if(size > 0 && result.size() == size)
+					return result;
+				result.put(sentences.size() == 1 ? source : source + "-" + i, sentences.get(i));
+			}
+		}
+		return result;
+	}
+	
+}
@@ -0,0 +1,73 @@
+package semanticMarkup.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import semanticMarkup.ling.chunk.ChunkCollector;
+import semanticMarkup.ling.chunk.IChunker;
+
+/**
+ * Benchmarks the chunkers of the chunker chain one at a time. Before each operation the chunkers preceding the 
+ * benchmarked chunker in the chain are run on fresh copies of the parse trees, so the benchmarked chunker sees the 
+ * same input as in a SentenceChunkerRun. An operation processes all sentences of the corpus.
+ * Run from the charaparser root directory: java -jar benchmark/target/benchmarks.jar ChunkerBenchmark
+ * @author rodenhausen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkerBenchmark {
+
+	/**
+	 * the simple class name of the chunker to benchmark
+	 */
+	@Param({"CharacterListChunker", "PunctuationChunker", "ChromosomeChunker", "MyModifierChunker", "OrganChunker", 
+		"MyStateChunker", "NumericalChunker", "NPListChunker", "CharacterNameChunker", "VBChunker", "PPINChunker", 
+		"PPListChunker", "ThatChunker", "WhereChunker", "WhenChunker", "OtherINsChunker", "ThanChunker", 
+		"VPRecoverChunker", "ConjunctedOrgansRecoverChunker", "OrganRecoverChunker", "OrChunker", "AndChunker", 
+		"MyNewCleanupChunker"})
+	public String chunker;
+	
+	private int chunkerIndex = -1;
+	private List<ChunkCollector> chunkCollectors;
+	
+	@Setup(Level.Trial)
+	public void setUpChunker(MarkupPipeline pipeline) {
+		List<IChunker> chunkers = pipeline.getChunkers();
+		for(int i = 0; i < chunkers.size(); i++) 
+			if(chunkers.get(i).getClass().getSimpleName().equals(chunker))
+				chunkerIndex = i;
+		if(chunkerIndex == -1)
+			throw new IllegalArgumentException("Chunker " + chunker + " is not part of the chunker chain");
+	}
+	
+	@Setup(Level.Invocation)
+	public void setUpChunkCollectors(MarkupPipeline pipeline) {
+		chunkCollectors = pipeline.createChunkCollectors(chunkerIndex);
+	}
+	
+	@Benchmark
+	public List<ChunkCollector> chunk(MarkupPipeline pipeline) {
+		IChunker chunker = pipeline.getChunkers().get(chunkerIndex);
+		for(ChunkCollector chunkCollector : chunkCollectors)
+			pipeline.chunk(chunker, chunkCollector);
+		return chunkCollectors;
+	}
+	
+}
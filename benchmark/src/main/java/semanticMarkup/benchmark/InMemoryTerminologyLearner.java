@@ -0,0 +1,172 @@
+package semanticMarkup.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import semanticMarkup.core.Treatment;
+import semanticMarkup.io.input.lib.db.ParentTagProvider;
+import semanticMarkup.ling.learn.AjectiveReplacementForNoun;
+import semanticMarkup.ling.learn.ITerminologyLearner;
+import semanticMarkup.ling.transform.IInflector;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * InMemoryTerminologyLearner is a stand-in for the database backed terminology learners. It does not learn, sentences 
+ * are added directly and tagged by the singular of their first word. All other learned terminology is left empty, so
+ * that the markup only relies on the glossary and WordNet. The learned terminology is never replaced, so caches
+ * keyed on it stay valid.
+ * @author rodenhausen
+ */
+public class InMemoryTerminologyLearner implements ITerminologyLearner {
+
+	private IInflector inflector;
+	private Set<String> sentences = new HashSet<String>();
+	private Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker = new HashMap<Treatment, LinkedHashMap<String, String>>();
+	private Map<Treatment, LinkedHashMap<String, String>> sentenceTags = new HashMap<Treatment, LinkedHashMap<String, String>>();
+	private Set<String> tags = new HashSet<String>();
+	private List<String> adjNouns = new ArrayList<String>();
+	private Map<String, String> adjNounSent = new HashMap<String, String>();
+	private Set<String> bracketTags = new HashSet<String>();
+	private Set<String> wordRoleTags = new HashSet<String>();
+	private Map<String, Set<String>> wordToSources = new HashMap<String, Set<String>>();
+	private Map<String, Set<String>> roleToWords = new HashMap<String, Set<String>>();
+	private Map<String, Set<String>> wordsToRoles = new HashMap<String, Set<String>>();
+	private Map<String, String> heuristicNouns = new HashMap<String, String>();
+	private Map<String, Set<String>> termCategories = new HashMap<String, Set<String>>();
+	private Set<String> modifiers = new HashSet<String>();
+	private Map<String, Set<String>> categoryTerms = new HashMap<String, Set<String>>();
+	private Map<String, AjectiveReplacementForNoun> adjectiveReplacementsForNouns = new HashMap<String, AjectiveReplacementForNoun>();
+	private HashMap<String, String> parentTags = new HashMap<String, String>();
+	private HashMap<String, String> grandParentTags = new HashMap<String, String>();
+	private String parentTag = "";
+	private String grandParentTag = "";
+
+	/**
+	 * @param inflector
+	 * @param parentTagProvider
+	 */
+	@Inject
+	public InMemoryTerminologyLearner(IInflector inflector, @Named("parentTagProvider") ParentTagProvider parentTagProvider) {
+		this.inflector = inflector;
+		parentTagProvider.init(parentTags, grandParentTags);
+	}
+	
+	/**
+	 * Adds a sentence, sentences are expected in the order they appear in the treatments
+	 * @param treatment
+	 * @param source
+	 * @param sentence
+	 */
+	public void addSentence(Treatment treatment, String source, String sentence) {
+		String firstWord = sentence.split("\\s+")[0].replaceAll("\\W", "");
+		String tag = firstWord.isEmpty() ? "" : inflector.getSingular(firstWord);
+		
+		sentences.add(sentence);
+		if(!sentencesForOrganStateMarker.containsKey(treatment)) 
+			sentencesForOrganStateMarker.put(treatment, new LinkedHashMap<String, String>());
+		sentencesForOrganStateMarker.get(treatment).put(source, "##" + tag + "##" + sentence);
+		if(!sentenceTags.containsKey(treatment)) 
+			sentenceTags.put(treatment, new LinkedHashMap<String, String>());
+		sentenceTags.get(treatment).put(source, tag);
+		tags.add(tag);
+		
+		parentTags.put(source, parentTag);
+		grandParentTags.put(source, grandParentTag);
+		grandParentTag = parentTag;
+		parentTag = tag;
+	}
+	
+	@Override
+	public void learn(List<Treatment> treatments, String glossaryTable) { }
+
+	@Override
+	public void readResults(List<Treatment> treatments) { }
+
+	@Override
+	public Set<String> getSentences() {
+		return sentences;
+	}
+
+	@Override
+	public Map<Treatment, LinkedHashMap<String, String>> getSentencesForOrganStateMarker() {
+		return sentencesForOrganStateMarker;
+	}
+
+	@Override
+	public List<String> getAdjNouns() {
+		return adjNouns;
+	}
+
+	@Override
+	public Map<String, String> getAdjNounSent() {
+		return adjNounSent;
+	}
+
+	@Override
+	public Set<String> getBracketTags() {
+		return bracketTags;
+	}
+
+	@Override
+	public Set<String> getWordRoleTags() {
+		return wordRoleTags;
+	}
+
+	@Override
+	public Map<String, Set<String>> getWordToSources() {
+		return wordToSources;
+	}
+
+	@Override
+	public Map<String, Set<String>> getRoleToWords() {
+		return roleToWords;
+	}
+
+	@Override
+	public Map<String, Set<String>> getWordsToRoles() {
+		return wordsToRoles;
+	}
+
+	@Override
+	public Map<String, String> getHeuristicNouns() {
+		return heuristicNouns;
+	}
+
+	@Override
+	public Map<Treatment, LinkedHashMap<String, String>> getSentenceTags() {
+		return sentenceTags;
+	}
+
+	@Override
+	public Map<String, Set<String>> getTermCategories() {
+		return termCategories;
+	}
+
+	@Override
+	public Set<String> getTags() {
+		return tags;
+	}
+
+	@Override
+	public Set<String> getModifiers() {
+		return modifiers;
+	}
+
+	@Override
+	public Map<String, Set<String>> getCategoryTerms() {
+		return categoryTerms;
+	}
+
+	@Override
+	public Map<String, AjectiveReplacementForNoun> getAdjectiveReplacementsForNouns() {
+		return adjectiveReplacementsForNouns;
+	}
+	
+}
@@ -0,0 +1,197 @@
+package semanticMarkup.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import semanticMarkup.core.Treatment;
+import semanticMarkup.core.TreatmentElement;
+import semanticMarkup.ling.Token;
+import semanticMarkup.ling.chunk.ChunkCollector;
+import semanticMarkup.ling.chunk.ChunkerChain;
+import semanticMarkup.ling.chunk.IChunker;
+import semanticMarkup.ling.extract.IDescriptionExtractor;
+import semanticMarkup.ling.learn.ITerminologyLearner;
+import semanticMarkup.ling.normalize.INormalizer;
+import semanticMarkup.ling.parse.AbstractParseTree;
+import semanticMarkup.ling.parse.IParser;
+import semanticMarkup.ling.parse.lib.StanfordParseTree;
+import semanticMarkup.ling.pos.IPOSTagger;
+import semanticMarkup.ling.transform.ITokenizer;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+
+import edu.stanford.nlp.trees.Tree;
+
+/**
+ * MarkupPipeline holds the components of a SentenceChunkerRun and the benchmark corpus. Each stage's input is 
+ * computed once from the output of the previous stage, so that a benchmark of a stage only measures that stage.
+ * @author rodenhausen
+ */
+@State(Scope.Benchmark)
+public class MarkupPipeline {
+
+	/**
+	 * the number of sentences of the corpus to use, all sentences are used if not positive
+	 */
+	@Param({"100"})
+	public int corpusSize;
+	
+	private INormalizer normalizer;
+	private ITokenizer wordTokenizer;
+	private IPOSTagger posTagger;
+	private IParser parser;
+	private ChunkerChain chunkerChain;
+	private IDescriptionExtractor descriptionExtractor;
+	
+	private List<Treatment> treatments = new ArrayList<Treatment>();
+	private List<String> sources = new ArrayList<String>();
+	private List<String> sentences = new ArrayList<String>();
+	private List<String> subjectTags = new ArrayList<String>();
+	private List<String> normalizedSentences = new ArrayList<String>();
+	private List<List<Token>> tokenizedSentences = new ArrayList<List<Token>>();
+	private List<List<Token>> posedSentences = new ArrayList<List<Token>>();
+	private List<Tree> parseTrees = new ArrayList<Tree>();
+	
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		Injector injector = Guice.createInjector(new BenchmarkConfig());
+		normalizer = injector.getInstance(INormalizer.class);
+		wordTokenizer = injector.getInstance(Key.get(ITokenizer.class, Names.named("WordTokenizer")));
+		posTagger = injector.getInstance(IPOSTagger.class);
+		parser = injector.getInstance(Key.get(IParser.class, Names.named("CachingParser_Parser")));
+		chunkerChain = injector.getInstance(Key.get(ChunkerChain.class, Names.named("ChunkerChain")));
+		descriptionExtractor = injector.getInstance(IDescriptionExtractor.class);
+		
+		InMemoryTerminologyLearner terminologyLearner = (InMemoryTerminologyLearner)injector.getInstance(ITerminologyLearner.class);
+		Map<String, String> corpus = BenchmarkCorpus.read(BenchmarkCorpus.DIRECTORY, corpusSize);
+		for(Entry<String, String> sentenceEntry : corpus.entrySet()) {
+			Treatment treatment = new Treatment(sentenceEntry.getKey());
+			terminologyLearner.addSentence(treatment, sentenceEntry.getKey(), sentenceEntry.getValue());
+			treatments.add(treatment);
+			sources.add(sentenceEntry.getKey());
+			sentences.add(sentenceEntry.getValue());
+			subjectTags.add(terminologyLearner.getSentenceTags().get(treatment).get(sentenceEntry.getKey()));
+		}
+		
+		for(int i = 0; i < size(); i++) {
+			normalizedSentences.add(normalize(i));
+			tokenizedSentences.add(tokenize(i));
+			posedSentences.add(tag(i));
+			parseTrees.add(((StanfordParseTree)parse(i)).getStanfordParseTree());
+		}
+	}
+	
+	/**
+	 * @return the number of sentences
+	 */
+	public int size() {
+		return sentences.size();
+	}
+	
+	/**
+	 * @param i
+	 * @return the normalized i-th sentence
+	 */
+	public String normalize(int i) {
+		return normalizer.normalize(sentences.get(i), subjectTags.get(i), "", sources.get(i));
+	}
+	
+	/**
+	 * @param i
+	 * @return the tokens of the i-th normalized sentence
+	 */
+	public List<Token> tokenize(int i) {
+		return wordTokenizer.tokenize(normalizedSentences.get(i));
+	}
+	
+	/**
+	 * @param i
+	 * @return the POS tagged tokens of the i-th sentence
+	 */
+	public List<Token> tag(int i) {
+		return posTagger.tag(tokenizedSentences.get(i));
+	}
+	
+	/**
+	 * @param i
+	 * @return the parse tree of the i-th POS tagged sentence
+	 */
+	public AbstractParseTree parse(int i) {
+		return parser.parse(posedSentences.get(i));
+	}
+	
+	/**
+	 * @return the chunkers in the order they are executed by the chunker chain
+	 */
+	public List<IChunker> getChunkers() {
+		return chunkerChain.getChunkers();
+	}
+	
+	/**
+	 * @param chunkerCount the number of chunkers of the chain to execute
+	 * @return the chunk collectors of fresh copies of the parse trees, after the first chunkerCount chunkers have been executed
+	 */
+	public List<ChunkCollector> createChunkCollectors(int chunkerCount) {
+		List<ChunkCollector> result = new ArrayList<ChunkCollector>();
+		List<IChunker> chunkers = getChunkers().subList(0, chunkerCount);
+		for(int i = 0; i < size(); i++) {
+			ChunkCollector chunkCollector = new ChunkCollector(copyParseTree(i), subjectTags.get(i), treatments.get(i), 
+					sources.get(i), sentences.get(i));
+			for(IChunker chunker : chunkers) 
+				chunk(chunker, chunkCollector);
+			result.add(chunkCollector);
+		}
+		return result;
+	}
+	
+	/**
+	 * Runs the chunker the same way the chunker chain does
+	 * @param chunker
+	 * @param chunkCollector
+	 */
+	public void chunk(IChunker chunker, ChunkCollector chunkCollector) {
+		chunkCollector.resetHasChanged();
+		try {
+			chunker.chunk(chunkCollector);
+		} catch(Exception e) {
+			//the chunker chain continues with the next chunker as well
+		}
+	}
+	
+	/**
+	 * @param i
+	 * @return a copy of the parse tree of the i-th sentence, chunkers modify the tree they chunk
+	 */
+	public AbstractParseTree copyParseTree(int i) {
+		return new StanfordParseTree(parseTrees.get(i).deepCopy());
+	}
+	
+	/**
+	 * @param i
+	 * @param parseTree of the i-th sentence
+	 * @return the chunk collector of the i-th sentence chunked by the chunker chain
+	 */
+	public ChunkCollector chunk(int i, AbstractParseTree parseTree) {
+		return chunkerChain.chunk(parseTree, subjectTags.get(i), treatments.get(i), sources.get(i), sentences.get(i));
+	}
+	
+	/**
+	 * @param chunkCollectors
+	 * @return the description extracted from the chunk collectors of a treatment
+	 */
+	public TreatmentElement extract(List<ChunkCollector> chunkCollectors) {
+		return descriptionExtractor.extract(chunkCollectors);
+	}
+	
+}
@@ -0,0 +1,113 @@
+package semanticMarkup.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import semanticMarkup.ling.chunk.ChunkCollector;
+import semanticMarkup.ling.parse.AbstractParseTree;
+
+/**
+ * Benchmarks the stages of a SentenceChunkerRun and the description extraction following it. An operation processes 
+ * all sentences of the corpus.
+ * Run from the charaparser root directory: java -jar benchmark/target/benchmarks.jar
+ * @author rodenhausen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SentenceChunkerRunBenchmark {
+
+	/**
+	 * Fresh copies of the parse trees for each operation, chunkers modify the tree they chunk
+	 */
+	@State(Scope.Thread)
+	public static class ParseTrees {
+		
+		private List<AbstractParseTree> parseTrees = new ArrayList<AbstractParseTree>();
+		
+		@Setup(Level.Invocation)
+		public void setUp(MarkupPipeline pipeline) {
+			parseTrees.clear();
+			for(int i = 0; i < pipeline.size(); i++) 
+				parseTrees.add(pipeline.copyParseTree(i));
+		}
+	}
+	
+	/**
+	 * Fresh chunk collectors of the complete chunker chain for each operation, extraction modifies the chunks
+	 */
+	@State(Scope.Thread)
+	public static class ChunkCollectors {
+		
+		private List<ChunkCollector> chunkCollectors;
+		
+		@Setup(Level.Invocation)
+		public void setUp(MarkupPipeline pipeline) {
+			chunkCollectors = pipeline.createChunkCollectors(pipeline.getChunkers().size());
+		}
+	}
+	
+	@Benchmark
+	public void normalize(MarkupPipeline pipeline, Blackhole blackhole) {
+		for(int i = 0; i < pipeline.size(); i++) 
+			blackhole.consume(pipeline.normalize(i));
+	}
+	
+	@Benchmark
+	public void tokenize(MarkupPipeline pipeline, Blackhole blackhole) {
+		for(int i = 0; i < pipeline.size(); i++) 
+			blackhole.consume(pipeline.tokenize(i));
+	}
+	
+	@Benchmark
+	public void tag(MarkupPipeline pipeline, Blackhole blackhole) {
+		for(int i = 0; i < pipeline.size(); i++) 
+			blackhole.consume(pipeline.tag(i));
+	}
+	
+	/**
+	 * With a parser timeout StanfordParserWrapper hands each sentence to a parse thread and waits for it, 
+	 * the measured time includes this hand-off
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@Warmup(iterations = 1)
+	@Measurement(iterations = 3)
+	public void parse(MarkupPipeline pipeline, Blackhole blackhole) {
+		for(int i = 0; i < pipeline.size(); i++) 
+			blackhole.consume(pipeline.parse(i));
+	}
+	
+	@Benchmark
+	public void chunk(MarkupPipeline pipeline, ParseTrees parseTrees, Blackhole blackhole) {
+		for(int i = 0; i < pipeline.size(); i++) 
+			blackhole.consume(pipeline.chunk(i, parseTrees.parseTrees.get(i)));
+	}
+	
+	@Benchmark
+	public void extract(MarkupPipeline pipeline, ChunkCollectors chunkCollectors, Blackhole blackhole) {
+		//the corpus has a treatment per sentence
+		for(ChunkCollector chunkCollector : chunkCollectors.chunkCollectors) {
+			List<ChunkCollector> treatmentChunkCollectors = new ArrayList<ChunkCollector>();
+			treatmentChunkCollectors.add(chunkCollector);
+			blackhole.consume(pipeline.extract(treatmentChunkCollectors));
+		}
+	}
+	
+}
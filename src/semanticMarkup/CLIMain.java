@@ -115,8 +115,7 @@ public class CLIMain {
 		    		try {
 		    			int threadsPerDescriptionExtractor = Integer.parseInt(parallelParameters[0]);
 		    			int threadsPerSentenceChunking = Integer.parseInt(parallelParameters[1]);
-		    			config.setMarkupDescriptionTreatmentTransformerSentenceChunkerRunMaximum(threadsPerSentenceChunking);
-		    			config.setMarkupDescriptionTreatmentTransformerDescriptionExtractorRunMaximum(threadsPerDescriptionExtractor);
+		    			config.setMarkupTaskSchedulerParallelism(threadsPerDescriptionExtractor * threadsPerSentenceChunking);
 		    		} catch(Exception e) {
 		    			log(LogLevel.ERROR, "Problem to convert parameter to Integer", e);
 		    			System.exit(0);
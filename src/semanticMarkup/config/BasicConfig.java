@@ -5,20 +5,25 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.sql.DataSource;
+
 import oto.full.IOTOClient;
-import oto.full.OTOClient;
 import oto.lite.IOTOLiteClient;
 import oto.lite.OTOLiteClient;
 
+import semanticMarkup.core.transformation.lib.description.MarkupManifest;
+import semanticMarkup.core.transformation.lib.description.MarkupTaskScheduler;
+import semanticMarkup.io.db.lib.ConnectionPool;
 import semanticMarkup.io.input.lib.db.ParentTagProvider;
 import semanticMarkup.know.ICharacterKnowledgeBase;
 import semanticMarkup.know.ICorpus;
 import semanticMarkup.know.IOrganStateKnowledgeBase;
 import semanticMarkup.know.IPOSKnowledgeBase;
-import semanticMarkup.know.lib.CSVCorpus;
+import semanticMarkup.know.lib.CachingOTOClient;
 import semanticMarkup.know.lib.LearnedCharacterKnowledgeBase;
 import semanticMarkup.know.lib.LearnedOrganStateKnowledgeBase;
 import semanticMarkup.know.lib.LearnedPOSKnowledgeBase;
+import semanticMarkup.know.lib.MappedCorpus;
 import semanticMarkup.know.lib.WordNetPOSKnowledgeBase;
 import semanticMarkup.ling.chunk.ChunkerChain;
 import semanticMarkup.ling.chunk.IChunker;
@@ -92,6 +97,7 @@ import semanticMarkup.ling.learn.lib.OTOLearner;
 import semanticMarkup.ling.learn.lib.PerlTerminologyLearner;
 import semanticMarkup.ling.parse.IParser;
 import semanticMarkup.ling.parse.IParseTreeFactory;
+import semanticMarkup.ling.parse.lib.CachingParser;
 import semanticMarkup.ling.parse.lib.StanfordParseTreeFactory;
 import semanticMarkup.ling.parse.lib.StanfordParserWrapper;
 import semanticMarkup.ling.pos.IPOSTagger;
@@ -136,23 +142,27 @@ public class BasicConfig extends AbstractModule {
 		bind(ITokenizer.class).annotatedWith(Names.named("WordTokenizer")).to(WhitespaceTokenizer.class);
 		bind(ITokenCombiner.class).annotatedWith(Names.named("WordCombiner")).to(WhitespaceTokenCombiner.class);
 		
-		bind(ICorpus.class).to(CSVCorpus.class).in(Singleton.class);
+		bind(ICorpus.class).to(MappedCorpus.class).in(Singleton.class);
+		bind(String.class).annotatedWith(Names.named("MappedCorpus_filePath")).toInstance("resources" + File.separator + "brown.corpus");
 		bind(String.class).annotatedWith(Names.named("CSVCorpus_filePath")).toInstance("resources" + File.separator + "brown.csv");
 		bind(String.class).annotatedWith(Names.named("WordNetAPI_Sourcefile")).toInstance("resources" + File.separator +"wordNet3.1" + File.separator +"dict" + File.separator);
 		//resources//wordNet2.1//dict//  resources//wordNet3.1//dict//
-		bind(Boolean.class).annotatedWith(Names.named("WordNetAPI_LoadInRAM")).toInstance(false);
+		bind(Boolean.class).annotatedWith(Names.named("WordNetAPI_LoadInRAM")).toInstance(true);
+		bind(Integer.class).annotatedWith(Names.named("WordNetAPI_CacheSize")).toInstance(100000);
+		bind(Integer.class).annotatedWith(Names.named("MemoCache_capacity")).toInstance(100000);
 		bind(IInflector.class).to(SomeInflector.class).in(Singleton.class);
 		bind(ICharacterKnowledgeBase.class).to(LearnedCharacterKnowledgeBase.class).in(Singleton.class);;
 		bind(IOrganStateKnowledgeBase.class).to(LearnedOrganStateKnowledgeBase.class).in(Singleton.class);;
 		
-		bind(IOTOClient.class).to(OTOClient.class).in(Singleton.class);
+		bind(IOTOClient.class).to(CachingOTOClient.class).in(Singleton.class);
 		bind(IOTOLiteClient.class).to(OTOLiteClient.class).in(Singleton.class);
 		bind(ILearner.class).to(OTOLearner.class).in(Singleton.class);
 		
 		bind(String.class).annotatedWith(Names.named("markupMode")).toInstance("plain");
 		
 		bind(IPOSTagger.class).to(OrganCharacterPOSTagger.class); //NewOrganCharacterPOSTagger , OrganCharacterPOSTagger
-		bind(IParser.class).to(StanfordParserWrapper.class).in(Singleton.class);
+		bind(IParser.class).to(CachingParser.class).in(Singleton.class);
+		bind(IParser.class).annotatedWith(Names.named("CachingParser_Parser")).to(StanfordParserWrapper.class).in(Singleton.class);
 		bind(IStanfordParserTokenTransformer.class).to(WordStanfordParserTokenTransformer.class).in(Singleton.class);
 		bind(String.class).annotatedWith(Names.named("StanfordParserWrapper_modelFile")).toInstance("edu/stanford/nlp/models/lexparser/englishPCFG.ser.gz");
 		bind(IParseTreeFactory.class).to(StanfordParseTreeFactory.class).in(Singleton.class);
@@ -189,6 +199,10 @@ public class BasicConfig extends AbstractModule {
 		bind(IPOSKnowledgeBase.class).to(WordNetPOSKnowledgeBase.class).in(Singleton.class);
 		bind(IPOSKnowledgeBase.class).annotatedWith(Names.named("LearnedPOSKnowledgeBase")).to(LearnedPOSKnowledgeBase.class).in(Singleton.class);
 		
+		bind(MarkupTaskScheduler.class).in(Singleton.class);
+		bind(MarkupManifest.class).in(Singleton.class);
+		bind(ConnectionPool.class).in(Singleton.class);
+		bind(DataSource.class).to(ConnectionPool.class);
 		bind(IDescriptionExtractor.class).to(SomeDescriptionExtractor.class).in(Singleton.class);
 		bind(IFirstChunkProcessor.class).to(SomeFirstChunkProcessor.class).in(Singleton.class);
 		bind(ILastChunkProcessor.class).to(EosEolChunkProcessor.class).in(Singleton.class);
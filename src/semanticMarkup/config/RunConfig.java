@@ -4,16 +4,23 @@ import java.io.File;
 import java.util.HashSet;
 import java.util.Set;
 
+import oto.full.IOTOClient;
+import oto.full.OTOClient;
+
 import semanticMarkup.core.transformation.TreatmentTransformerChain;
 import semanticMarkup.core.transformation.lib.CharaparserTreatmentTransformerChain;
 import semanticMarkup.core.transformation.lib.description.DescriptionTreatmentTransformer;
 import semanticMarkup.core.transformation.lib.description.GUIDescriptionTreatmentTransformer;
 import semanticMarkup.eval.IEvaluator;
 import semanticMarkup.eval.PerfectPartialPrecisionRecallEvaluator;
+import semanticMarkup.io.db.IConnectionProvider;
+import semanticMarkup.io.db.lib.EmbeddedConnectionProvider;
+import semanticMarkup.io.db.lib.MySQLConnectionProvider;
 import semanticMarkup.io.input.GenericFileVolumeReader;
 import semanticMarkup.io.input.IVolumeReader;
 import semanticMarkup.io.input.lib.db.EvaluationDBVolumeReader;
 import semanticMarkup.io.input.lib.xml.XMLVolumeReader;
+import semanticMarkup.io.output.AbstractJAXBVolumeWriter;
 import semanticMarkup.io.output.IVolumeWriter;
 import semanticMarkup.io.output.lib.xml.XMLVolumeWriter;
 import semanticMarkup.know.IGlossary;
@@ -24,9 +31,11 @@ import semanticMarkup.ling.learn.lib.PerlTerminologyLearner;
 import semanticMarkup.ling.normalize.INormalizer;
 import semanticMarkup.ling.normalize.lib.FNAv19Normalizer;
 import semanticMarkup.ling.normalize.lib.TreatisehNormalizer;
+import semanticMarkup.log.LogLevel;
 import semanticMarkup.markup.DescriptionMarkupCreator;
 import semanticMarkup.markup.IMarkupCreator;
 import semanticMarkup.run.IRun;
+import semanticMarkup.run.MarkupEvaluationRun;
 import semanticMarkup.run.MarkupRun;
 
 import com.google.inject.Singleton;
@@ -43,6 +52,7 @@ public class RunConfig extends BasicConfig {
 	//MarkupRun, EvaluationRun, MarkupEvaluationRun
 	private Class<? extends IGlossary> glossary = CSVGlossary.class;
 	private Class<? extends IEvaluator> evaluationRunEvaluator = PerfectPartialPrecisionRecallEvaluator.class;
+	private int evaluatorParallelism = Runtime.getRuntime().availableProcessors();
 	//SimplePrecisionRecallEvaluator, AdvancedPrecisionRecallEvaluator
 	private Class<? extends IVolumeReader> evaluationGoldStandardReader = XMLVolumeReader.class;
 	private Class<? extends IVolumeReader> evaluationRunCreatedVolumeReader = EvaluationDBVolumeReader.class;
@@ -70,15 +80,30 @@ public class RunConfig extends BasicConfig {
 	private Class<? extends TreatmentTransformerChain> treatmentTransformerChain = CharaparserTreatmentTransformerChain.class;
 	private Class<? extends DescriptionTreatmentTransformer> markupDescriptionTreatmentTransformer = GUIDescriptionTreatmentTransformer.class;
 	private boolean markupDescriptionTreatmentTransformerParallelProcessing = false;
-	private int markupDescriptionTreatmentTransformerDescriptionExtractorRunMaximum = 3; //30
-	private int markupDescriptionTreatmentTransformerSentenceChunkerRunMaximum = 3;
+	private int markupTaskSchedulerParallelism = Runtime.getRuntime().availableProcessors();
+	private boolean parseCache = true;
+	private int parserMaxSentenceLength = 120;
+	private long parserTimeout = 60000;
 	private String databaseHost = "localhost";
 	private String databasePort = "3306";
 	private String databaseName = "local";
 	private String databaseUser = "termsuser";
 	private String databasePassword = "termspassword";
+	private Class<? extends IConnectionProvider> connectionProvider = MySQLConnectionProvider.class;
+	//MySQLConnectionProvider, EmbeddedConnectionProvider
+	private int bulkWriterBatchSize = 1000;
+	private int connectionPoolMaximumSize = 10;
+	private long connectionPoolConnectionTimeout = 30000;
+	private long connectionPoolLeakDetectionThreshold = 300000;
+	private int connectionPoolStatementCacheSize = 250;
 	private Class<? extends IVolumeWriter> volumeWriter = XMLVolumeWriter.class;
-	//ToStringVolumeWriter, JSONVolumeWriter, XMLVolumeWriter XML2VolumeWriter
+	private boolean markupCreatorStreaming = false;
+	private int volumeWriterParallelism = Runtime.getRuntime().availableProcessors();
+	private int volumeReaderParallelism = Runtime.getRuntime().availableProcessors();
+	private boolean streamingVolumeWriterNdjson = false;
+	private boolean streamingVolumeWriterGzip = false;
+	private boolean markupManifestIncremental = false;
+	//ToStringVolumeWriter, JSONVolumeWriter, XMLVolumeWriter XML2VolumeWriter, StreamingJSONVolumeWriter, StreamingXMLVolumeWriter
 	
 	private String standardVolumeReaderSourcefiles = "evaluationData" + File.separator + "FNAV19_AnsKey_CharaParser_Evaluation";
 	//FNAV19_AnsKey_CharaParser_Evaluation , TIP_AnsKey_CharaParser_Evaluation
@@ -90,6 +115,10 @@ public class RunConfig extends BasicConfig {
 	private String otoLiteTermReviewURL = "http://biosemantics.arizona.edu:8080/OTOLite/";
 	private String otoLiteClientURL = "http://biosemantics.arizona.edu:8080/OTOLite/";
 	private String otoClientUrl = "http://biosemantics.arizona.edu:8080/OTO/";
+	private Class<? extends IOTOClient> otoClient = OTOClient.class;
+	//OTOClient, LocalOTOClient
+	private String glossarySnapshotDirectory = "workspace" + File.separator + "glossarySnapshots";
+	private String localOTOClientVersion = "local";
 	private Class<? extends INormalizer> normalizer = FNAv19Normalizer.class;
 	private Class<? extends ITerminologyLearner> terminologyLearner = PerlTerminologyLearner.class;
 	//PerlTerminologyLearner //DatabaseInputNoLearner;
@@ -97,12 +126,21 @@ public class RunConfig extends BasicConfig {
 	@Override 
 	public void configure() {
 		super.configure();
+		if(EmbeddedConnectionProvider.class.isAssignableFrom(connectionProvider) && 
+				PerlTerminologyLearner.class.isAssignableFrom(terminologyLearner))
+			addError("The perl part of " + terminologyLearner.getSimpleName() + " reads and writes its tables on the MySQL " +
+					"server itself, it can not be used with the embedded database of " + connectionProvider.getSimpleName());
 		bind(IRun.class).to(run);
 		bind(IGlossary.class).to(glossary).in(Singleton.class);
 		bind(String.class).annotatedWith(Names.named("Run_RootDirectory")).toInstance("workspace" + File.separator + this.databaseTablePrefix);
 		bind(String.class).annotatedWith(Names.named("Run_OutDirectory")).toInstance("workspace" + File.separator + this.databaseTablePrefix + File.separator + "out");
 		bind(String.class).annotatedWith(Names.named("Run_TemporaryPath")).toInstance("workspace" + File.separator + this.databaseTablePrefix + File.separator + "temp");
+		bind(String.class).annotatedWith(Names.named("CachingParser_CacheFile")).toInstance("workspace" + File.separator + this.databaseTablePrefix + File.separator + "parseCache");
+		bind(boolean.class).annotatedWith(Names.named("CachingParser_enabled")).toInstance(parseCache);
+		bind(int.class).annotatedWith(Names.named("StanfordParserWrapper_maxSentenceLength")).toInstance(parserMaxSentenceLength);
+		bind(long.class).annotatedWith(Names.named("StanfordParserWrapper_timeout")).toInstance(parserTimeout);
 		bind(IEvaluator.class).annotatedWith(Names.named("EvaluationRun_Evaluator")).to(evaluationRunEvaluator);
+		bind(int.class).annotatedWith(Names.named("Evaluator_parallelism")).toInstance(evaluatorParallelism);
 		bind(IVolumeReader.class).annotatedWith(Names.named("EvaluationRun_GoldStandardReader")).to(evaluationGoldStandardReader);
 		bind(IVolumeReader.class).annotatedWith(Names.named("EvaluationRun_CreatedVolumeReader")).to(evaluationRunCreatedVolumeReader);
 		bind(IMarkupCreator.class).annotatedWith(Names.named("MarkupCreator")).to(markupCreator);
@@ -120,18 +158,32 @@ public class RunConfig extends BasicConfig {
 
 		bind(String.class).annotatedWith(Names.named("TaxonxVolumeReader_SourceFile")).toInstance(taxonxVolumeReaderSourceFile);
 		bind(String.class).annotatedWith(Names.named("OTOClient_Url")).toInstance(otoClientUrl);
+		bind(IOTOClient.class).annotatedWith(Names.named("CachingOTOClient_OTOClient")).to(otoClient).in(Singleton.class);
+		bind(String.class).annotatedWith(Names.named("GlossarySnapshotStore_Directory")).toInstance(glossarySnapshotDirectory);
+		bind(String.class).annotatedWith(Names.named("LocalOTOClient_version")).toInstance(localOTOClientVersion);
 		bind(ITerminologyLearner.class).to(terminologyLearner ).in(Singleton.class);
 		bind(TreatmentTransformerChain.class).to(treatmentTransformerChain);
 		bind(DescriptionTreatmentTransformer.class).to(markupDescriptionTreatmentTransformer);
 		bind(boolean.class).annotatedWith(Names.named("MarkupDescriptionTreatmentTransformer_parallelProcessing")).toInstance(markupDescriptionTreatmentTransformerParallelProcessing);
-		bind(int.class).annotatedWith(Names.named("MarkupDescriptionTreatmentTransformer_descriptionExtractorRunMaximum")).toInstance(markupDescriptionTreatmentTransformerDescriptionExtractorRunMaximum);
-		bind(int.class).annotatedWith(Names.named("MarkupDescriptionTreatmentTransformer_sentenceChunkerRunMaximum")).toInstance(markupDescriptionTreatmentTransformerSentenceChunkerRunMaximum);
+		bind(int.class).annotatedWith(Names.named("MarkupTaskScheduler_parallelism")).toInstance(getEffectiveMarkupTaskSchedulerParallelism());
 		bind(String.class).annotatedWith(Names.named("databaseHost")).toInstance(databaseHost);
 		bind(String.class).annotatedWith(Names.named("databasePort")).toInstance(databasePort);
 		bind(String.class).annotatedWith(Names.named("databaseName")).toInstance(databaseName);
 		bind(String.class).annotatedWith(Names.named("databaseUser")).toInstance(databaseUser);
 		bind(String.class).annotatedWith(Names.named("databasePassword")).toInstance(databasePassword);
+		bind(IConnectionProvider.class).to(connectionProvider).in(Singleton.class);
+		bind(int.class).annotatedWith(Names.named("BulkWriter_batchSize")).toInstance(bulkWriterBatchSize);
+		bind(int.class).annotatedWith(Names.named("ConnectionPool_maximumSize")).toInstance(connectionPoolMaximumSize);
+		bind(long.class).annotatedWith(Names.named("ConnectionPool_connectionTimeout")).toInstance(connectionPoolConnectionTimeout);
+		bind(long.class).annotatedWith(Names.named("ConnectionPool_leakDetectionThreshold")).toInstance(connectionPoolLeakDetectionThreshold);
+		bind(int.class).annotatedWith(Names.named("ConnectionPool_statementCacheSize")).toInstance(connectionPoolStatementCacheSize);
 		bind(IVolumeWriter.class).annotatedWith(Names.named("MarkupCreator_VolumeWriter")).to(volumeWriter);
+		bind(boolean.class).annotatedWith(Names.named("MarkupCreator_streaming")).toInstance(markupCreatorStreaming);
+		bind(int.class).annotatedWith(Names.named("VolumeWriter_parallelism")).toInstance(volumeWriterParallelism);
+		bind(int.class).annotatedWith(Names.named("VolumeReader_parallelism")).toInstance(volumeReaderParallelism);
+		bind(boolean.class).annotatedWith(Names.named("StreamingVolumeWriter_ndjson")).toInstance(streamingVolumeWriterNdjson);
+		bind(boolean.class).annotatedWith(Names.named("StreamingVolumeWriter_gzip")).toInstance(streamingVolumeWriterGzip);
+		bind(boolean.class).annotatedWith(Names.named("MarkupManifest_incremental")).toInstance(isMarkupManifestIncrementalSupported());
 		
 		bind(String.class).annotatedWith(Names.named("GuiceModuleFile")).toInstance(this.toString());
 		bind(String.class).annotatedWith(Names.named("StandardVolumeReader_Sourcefiles")).toInstance(standardVolumeReaderSourcefiles);
@@ -146,6 +198,26 @@ public class RunConfig extends BasicConfig {
 		bind(INormalizer.class).to(normalizer); 
 	}
 	
+	/**
+	 * Reused treatments keep their unmarked description in memory, so incremental markup is only possible 
+	 * if the volume writer skips them and leaves their output of the last run in place and the run does not 
+	 * evaluate the in memory result
+	 * @return if incremental markup is enabled and supported by volume writer and run
+	 */
+	protected boolean isMarkupManifestIncrementalSupported() {
+		if(!markupManifestIncremental)
+			return false;
+		if(!AbstractJAXBVolumeWriter.class.isAssignableFrom(volumeWriter)) {
+			log(LogLevel.WARN, "Incremental markup is disabled, " + volumeWriter.getSimpleName() + " does not keep the output of reused treatments");
+			return false;
+		}
+		if(MarkupEvaluationRun.class.isAssignableFrom(run)) {
+			log(LogLevel.WARN, "Incremental markup is disabled, " + run.getSimpleName() + " evaluates the in memory result of all treatments");
+			return false;
+		}
+		return true;
+	}
+	
 	protected HashSet<String> getSelectedSources(String evaluationDataPath) {
 		HashSet<String> result = new HashSet<String>();
 
@@ -258,6 +330,18 @@ public class RunConfig extends BasicConfig {
 		return result;
 	}
 
+	/**
+	 * The shared markup scheduler is sized by markupTaskSchedulerParallelism alone, the number of available processors 
+	 * by default. The description extractor and sentence chunker maxima no longer size or cap any thread pool. 
+	 * Without parallel processing descriptions are marked up by a single worker thread.
+	 * @return the number of worker threads for the shared markup scheduler
+	 */
+	protected int getEffectiveMarkupTaskSchedulerParallelism() {
+		if(!markupDescriptionTreatmentTransformerParallelProcessing)
+			return 1;
+		return Math.max(1, markupTaskSchedulerParallelism);
+	}
+
 	public Class<? extends IRun> getRun() {
 		return run;
 	}
@@ -275,6 +359,14 @@ public class RunConfig extends BasicConfig {
 		this.evaluationRunEvaluator = evaluationRunEvaluator;
 	}
 
+	public int getEvaluatorParallelism() {
+		return evaluatorParallelism;
+	}
+
+	public void setEvaluatorParallelism(int evaluatorParallelism) {
+		this.evaluatorParallelism = evaluatorParallelism;
+	}
+
 	public Class<? extends IVolumeReader> getEvaluationGoldStandardReader() {
 		return evaluationGoldStandardReader;
 	}
@@ -425,22 +517,36 @@ public class RunConfig extends BasicConfig {
 		this.markupDescriptionTreatmentTransformerParallelProcessing = markupDescriptionTreatmentTransformerParallelProcessing;
 	}
 
-	public int getMarkupDescriptionTreatmentTransformerDescriptionExtractorRunMaximum() {
-		return markupDescriptionTreatmentTransformerDescriptionExtractorRunMaximum;
+	public int getMarkupTaskSchedulerParallelism() {
+		return markupTaskSchedulerParallelism;
+	}
+
+	public void setMarkupTaskSchedulerParallelism(int markupTaskSchedulerParallelism) {
+		this.markupTaskSchedulerParallelism = markupTaskSchedulerParallelism;
+	}
+
+	public boolean isParseCache() {
+		return parseCache;
 	}
 
-	public void setMarkupDescriptionTreatmentTransformerDescriptionExtractorRunMaximum(
-			int markupDescriptionTreatmentTransformerDescriptionExtractorRunMaximum) {
-		this.markupDescriptionTreatmentTransformerDescriptionExtractorRunMaximum = markupDescriptionTreatmentTransformerDescriptionExtractorRunMaximum;
+	public void setParseCache(boolean parseCache) {
+		this.parseCache = parseCache;
 	}
 
-	public int getMarkupDescriptionTreatmentTransformerSentenceChunkerRunMaximum() {
-		return markupDescriptionTreatmentTransformerSentenceChunkerRunMaximum;
+	public int getParserMaxSentenceLength() {
+		return parserMaxSentenceLength;
 	}
 
-	public void setMarkupDescriptionTreatmentTransformerSentenceChunkerRunMaximum(
-			int markupDescriptionTreatmentTransformerSentenceChunkerRunMaximum) {
-		this.markupDescriptionTreatmentTransformerSentenceChunkerRunMaximum = markupDescriptionTreatmentTransformerSentenceChunkerRunMaximum;
+	public void setParserMaxSentenceLength(int parserMaxSentenceLength) {
+		this.parserMaxSentenceLength = parserMaxSentenceLength;
+	}
+
+	public long getParserTimeout() {
+		return parserTimeout;
+	}
+
+	public void setParserTimeout(long parserTimeout) {
+		this.parserTimeout = parserTimeout;
 	}
 
 	public String getDatabaseName() {
@@ -467,6 +573,54 @@ public class RunConfig extends BasicConfig {
 		this.databasePassword = databasePassword;
 	}
 
+	public Class<? extends IConnectionProvider> getConnectionProvider() {
+		return connectionProvider;
+	}
+
+	public void setConnectionProvider(Class<? extends IConnectionProvider> connectionProvider) {
+		this.connectionProvider = connectionProvider;
+	}
+
+	public int getBulkWriterBatchSize() {
+		return bulkWriterBatchSize;
+	}
+
+	public void setBulkWriterBatchSize(int bulkWriterBatchSize) {
+		this.bulkWriterBatchSize = bulkWriterBatchSize;
+	}
+
+	public int getConnectionPoolMaximumSize() {
+		return connectionPoolMaximumSize;
+	}
+
+	public void setConnectionPoolMaximumSize(int connectionPoolMaximumSize) {
+		this.connectionPoolMaximumSize = connectionPoolMaximumSize;
+	}
+
+	public long getConnectionPoolConnectionTimeout() {
+		return connectionPoolConnectionTimeout;
+	}
+
+	public void setConnectionPoolConnectionTimeout(long connectionPoolConnectionTimeout) {
+		this.connectionPoolConnectionTimeout = connectionPoolConnectionTimeout;
+	}
+
+	public long getConnectionPoolLeakDetectionThreshold() {
+		return connectionPoolLeakDetectionThreshold;
+	}
+
+	public void setConnectionPoolLeakDetectionThreshold(long connectionPoolLeakDetectionThreshold) {
+		this.connectionPoolLeakDetectionThreshold = connectionPoolLeakDetectionThreshold;
+	}
+
+	public int getConnectionPoolStatementCacheSize() {
+		return connectionPoolStatementCacheSize;
+	}
+
+	public void setConnectionPoolStatementCacheSize(int connectionPoolStatementCacheSize) {
+		this.connectionPoolStatementCacheSize = connectionPoolStatementCacheSize;
+	}
+
 	public Class<? extends IVolumeWriter> getVolumeWriter() {
 		return volumeWriter;
 	}
@@ -475,6 +629,54 @@ public class RunConfig extends BasicConfig {
 		this.volumeWriter = volumeWriter;
 	}
 
+	public boolean isMarkupCreatorStreaming() {
+		return markupCreatorStreaming;
+	}
+
+	public void setMarkupCreatorStreaming(boolean markupCreatorStreaming) {
+		this.markupCreatorStreaming = markupCreatorStreaming;
+	}
+
+	public int getVolumeWriterParallelism() {
+		return volumeWriterParallelism;
+	}
+
+	public void setVolumeWriterParallelism(int volumeWriterParallelism) {
+		this.volumeWriterParallelism = volumeWriterParallelism;
+	}
+
+	public int getVolumeReaderParallelism() {
+		return volumeReaderParallelism;
+	}
+
+	public void setVolumeReaderParallelism(int volumeReaderParallelism) {
+		this.volumeReaderParallelism = volumeReaderParallelism;
+	}
+
+	public boolean isStreamingVolumeWriterNdjson() {
+		return streamingVolumeWriterNdjson;
+	}
+
+	public void setStreamingVolumeWriterNdjson(boolean streamingVolumeWriterNdjson) {
+		this.streamingVolumeWriterNdjson = streamingVolumeWriterNdjson;
+	}
+
+	public boolean isStreamingVolumeWriterGzip() {
+		return streamingVolumeWriterGzip;
+	}
+
+	public void setStreamingVolumeWriterGzip(boolean streamingVolumeWriterGzip) {
+		this.streamingVolumeWriterGzip = streamingVolumeWriterGzip;
+	}
+
+	public boolean isMarkupManifestIncremental() {
+		return markupManifestIncremental;
+	}
+
+	public void setMarkupManifestIncremental(boolean markupManifestIncremental) {
+		this.markupManifestIncremental = markupManifestIncremental;
+	}
+
 	public String getStandardVolumeReaderSourcefiles() {
 		return standardVolumeReaderSourcefiles;
 	}
@@ -541,6 +743,30 @@ public class RunConfig extends BasicConfig {
 		this.otoClientUrl = otoClientUrl;
 	}
 
+	public Class<? extends IOTOClient> getOtoClient() {
+		return otoClient;
+	}
+
+	public void setOtoClient(Class<? extends IOTOClient> otoClient) {
+		this.otoClient = otoClient;
+	}
+
+	public String getGlossarySnapshotDirectory() {
+		return glossarySnapshotDirectory;
+	}
+
+	public void setGlossarySnapshotDirectory(String glossarySnapshotDirectory) {
+		this.glossarySnapshotDirectory = glossarySnapshotDirectory;
+	}
+
+	public String getLocalOTOClientVersion() {
+		return localOTOClientVersion;
+	}
+
+	public void setLocalOTOClientVersion(String localOTOClientVersion) {
+		this.localOTOClientVersion = localOTOClientVersion;
+	}
+
 	public String getDatabaseHost() {
 		return databaseHost;
 	}
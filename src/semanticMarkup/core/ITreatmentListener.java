@@ -0,0 +1,15 @@
+package semanticMarkup.core;
+
+/**
+ * An ITreatmentListener is notified whenever a single treatment is available, e.g. it has been read or completely transformed
+ * @author rodenhausen
+ */
+public interface ITreatmentListener {
+
+	/**
+	 * @param treatment that is available
+	 * @throws Exception
+	 */
+	public void treatmentDone(Treatment treatment) throws Exception;
+	
+}
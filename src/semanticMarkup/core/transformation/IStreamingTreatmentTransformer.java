@@ -0,0 +1,20 @@
+package semanticMarkup.core.transformation;
+
+import java.util.List;
+
+import semanticMarkup.core.ITreatmentListener;
+import semanticMarkup.core.Treatment;
+
+/**
+ * IStreamingTreatmentTransformer transforms a list of treatments and hands over each treatment as soon as its transformation is done
+ * @author rodenhausen
+ */
+public interface IStreamingTreatmentTransformer extends ITreatmentTransformer {
+
+	/**
+	 * @param treatments to transform
+	 * @param treatmentListener to notify of each transformed treatment
+	 */
+	public void transform(List<Treatment> treatments, ITreatmentListener treatmentListener);
+	
+}
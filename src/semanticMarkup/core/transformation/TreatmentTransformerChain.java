@@ -1,9 +1,13 @@
 package semanticMarkup.core.transformation;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
+import semanticMarkup.core.ITreatmentListener;
 import semanticMarkup.core.Treatment;
+import semanticMarkup.io.input.IStreamingVolumeReader;
+import semanticMarkup.log.LogLevel;
 
 /**
  * A TreatmentTransformerChain transforms a list of treatments consecutively using ITreatmentTransformers
@@ -23,6 +27,66 @@ public class TreatmentTransformerChain {
 		}
 		return treatments;
 	}
+	
+	/**
+	 * Transforms the treatments and hands over each treatment as soon as it has passed the last ITreatmentTransformer.
+	 * ITreatmentTransformers that need the whole volume (e.g. to learn from it) are applied to all treatments first, 
+	 * only the last ITreatmentTransformer can stream if it is an IStreamingTreatmentTransformer
+	 * @param treatments
+	 * @param treatmentListener to notify of each transformed treatment
+	 */
+	public void transform(List<Treatment> treatments, ITreatmentListener treatmentListener) {
+		if(treatmentTransformers.isEmpty()) {
+			notifyListener(treatments, treatmentListener);
+			return;
+		}
+		List<ITreatmentTransformer> volumeTransformers = treatmentTransformers.subList(0, treatmentTransformers.size() - 1);
+		for(ITreatmentTransformer treatmentTransformer : volumeTransformers) {
+			treatments = treatmentTransformer.transform(treatments);
+		}
+		ITreatmentTransformer lastTransformer = treatmentTransformers.get(treatmentTransformers.size() - 1);
+		if(lastTransformer instanceof IStreamingTreatmentTransformer) {
+			((IStreamingTreatmentTransformer)lastTransformer).transform(treatments, treatmentListener);
+		} else {
+			treatments = lastTransformer.transform(treatments);
+			notifyListener(treatments, treatmentListener);
+		}
+	}
+
+	/**
+	 * Reads and transforms the treatments and hands over each treatment as soon as it has passed the last ITreatmentTransformer.
+	 * Without ITreatmentTransformers each treatment is handed over as soon as it has been read. Otherwise the whole volume is 
+	 * collected from the reader first, as the ITreatmentTransformers need all treatments
+	 * @param volumeReader to read the treatments with
+	 * @param treatmentListener to notify of each transformed treatment
+	 * @return the transformed treatments, null if they were handed over as they were read
+	 * @throws Exception if the treatments could not be read
+	 */
+	public List<Treatment> transform(IStreamingVolumeReader volumeReader, ITreatmentListener treatmentListener) throws Exception {
+		if(treatmentTransformers.isEmpty()) {
+			volumeReader.read(treatmentListener);
+			return null;
+		}
+		final List<Treatment> treatments = new ArrayList<Treatment>();
+		volumeReader.read(new ITreatmentListener() {
+			@Override
+			public void treatmentDone(Treatment treatment) {
+				treatments.add(treatment);
+			}
+		});
+		transform(treatments, treatmentListener);
+		return treatments;
+	}
+
+	private void notifyListener(List<Treatment> treatments, ITreatmentListener treatmentListener) {
+		for(Treatment treatment : treatments) {
+			try {
+				treatmentListener.treatmentDone(treatment);
+			} catch (Exception e) {
+				log(LogLevel.ERROR, "Problem handing over transformed treatment " + treatment.getName(), e);
+			}
+		}
+	}
 
 	/**
 	 * @param treatmentTransformer
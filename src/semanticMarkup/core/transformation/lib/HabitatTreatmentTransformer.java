@@ -10,12 +10,13 @@ import java.util.regex.Pattern;
 import semanticMarkup.core.Treatment;
 import semanticMarkup.core.ValueTreatmentElement;
 import semanticMarkup.core.transformation.ITreatmentTransformer;
+import semanticMarkup.know.lib.TermMatcher;
 
 
 public class HabitatTreatmentTransformer implements ITreatmentTransformer {
 
-	private String seedNList = "|";
-	private String seedMList = "|";
+	private TermMatcher seedNs = new TermMatcher();
+	private TermMatcher seedMs = new TermMatcher();
 	
 	private HashMap<Treatment, String> habitatValues = new HashMap<Treatment, String>();
 	private Pattern tagHabitatPattern = Pattern.compile("(.*?)(\\w+)(\\s+<.*)");
@@ -84,8 +85,8 @@ public class HabitatTreatmentTransformer implements ITreatmentTransformer {
 			Entry<Treatment, String> habitat = todosIterator.next();
 			String habitatString = habitat.getValue().trim().toLowerCase();
 			Treatment treatment = habitat.getKey();
-			habitatString = mark(habitatString, seedNList, "<", ">");
-			habitatString = mark(habitatString, seedMList, "{", "}"); //could have <{ }>
+			habitatString = mark(habitatString, seedNs, "<", ">");
+			habitatString = mark(habitatString, seedMs, "{", "}"); //could have <{ }>
 			if(isDone(habitatString)){
 				discovery += modifierBeforeH(tagHabitatPattern, habitatString);
 				habitatString = habitatString.replaceAll(">,", "@").replaceAll("[<>{}]", "");
@@ -101,17 +102,10 @@ public class HabitatTreatmentTransformer implements ITreatmentTransformer {
 		return discovery;
 	}
 	
-	private String mark(String s, String list, String l, String r){
+	private String mark(String s, TermMatcher seeds, String l, String r){
 		s = s.replaceAll("["+l+r+"]", "");
-		String[] ns = list.split("\\|");
-		for(int i = 0; i<ns.length; i++){
-			if(!ns[i].equals("")){
-				//escape 
-				ns[i] = ns[i].replaceAll("\\[", "\\\\[").replaceAll("\\]", "\\\\]").replaceAll("\\(", "\\\\(").replaceAll("\\)", "\\\\)");
-				s = s.replaceAll("\\b"+Pattern.quote(ns[i])+"\\b", l+ns[i]+r);
-			}
-		}
-		return s;
+		//marks all seeds in one scan instead of one regex pass per seed
+		return seeds.mark(s, l, r);
 	}
 	
 	private boolean isDone(String string){
@@ -129,8 +123,7 @@ public class HabitatTreatmentTransformer implements ITreatmentTransformer {
 		while(m.matches()){
 			h = m.group(3);
 			String temp = m.group(2);
-			if(temp.length()>1 && seedMList.indexOf("|"+temp+"|") < 0){
-				this.seedMList+=temp+"|";
+			if(temp.length()>1 && seedMs.add(temp)){
 				discovery++;
 			}			
 			m = p.matcher(h);
@@ -152,7 +145,7 @@ public class HabitatTreatmentTransformer implements ITreatmentTransformer {
 	/**
 	 * 
 	 * @param treatments 
-	 * @return a regexp consisting a list of seeds
+	 * collects the seeds to mark habitat nouns and modifiers with
 	 */
 	private void collectSeeds(List<Treatment> treatments) {
 		HashMap<Treatment, String> habitatStrings = getHabitatStrings(treatments);
@@ -162,24 +155,24 @@ public class HabitatTreatmentTransformer implements ITreatmentTransformer {
 			habitatString = habitatString.replaceAll("[\\W|\\s]+$", "");
 			//the last word in a statement must be a N
 			String seed = habitatString.substring(habitatString.lastIndexOf(" ")+1, habitatString.length()).trim();
-			if(seed.length() > 1 && seedNList.indexOf("|"+seed+"|") < 0){
-				seedNList +=seed+"|";
+			if(seed.length() > 1){
+				seedNs.add(seed);
 			}
 			
 			//"distributed sites"
 			if(habitatString.indexOf(",") < 0 && habitatString.indexOf(" ")>=0 && 
 					habitatString.indexOf(" ") == habitatString.lastIndexOf(" ") && habitatString.indexOf(" and ")<0){
 				String[] t = habitatString.split("\\s+");
-				if(t[t.length-2].length()> 1 && seedMList.indexOf("|"+t[t.length-2]+"|") < 0){
-					seedMList +=t[t.length-2]+"|";
+				if(t[t.length-2].length()> 1){
+					seedMs.add(t[t.length-2]);
 				}
 			}
 			
 			//"meadows and tundra"
 			if(habitatString.matches(".*?\\w+ and \\w+$")){
 				String[] t = habitatString.split("\\s+");
-				if(t[t.length-3].length()> 1 && seedNList.indexOf("|"+t[t.length-3]+"|") < 0){
-					seedNList +=t[t.length-3]+"|";
+				if(t[t.length-3].length()> 1){
+					seedNs.add(t[t.length-3]);
 				}
 			}
 		}										
@@ -9,9 +9,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import semanticMarkup.core.Treatment;
@@ -40,9 +37,7 @@ public class DescriptionExtractorRun implements Callable<TreatmentElement> {
 	private ChunkerChain chunkerChain;
 	private IDescriptionExtractor descriptionExtractor;
 	private Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker;
-	private boolean parallelProcessing;
-	private int sentenceChunkerRunMaximum;
-	private CountDownLatch descriptionExtractorsLatch;
+	private MarkupTaskScheduler markupTaskScheduler;
 	private Set<String> selectedSources;
 
 	/**
@@ -54,15 +49,13 @@ public class DescriptionExtractorRun implements Callable<TreatmentElement> {
 	 * @param chunkerChain
 	 * @param descriptionExtractor
 	 * @param sentencesForOrganStateMarker
-	 * @param parallelProcessing
-	 * @param sentenceChunkerRunMaximum
+	 * @param markupTaskScheduler
 	 * @param selectedSources 
-	 * @param latch 
 	 */
 	public DescriptionExtractorRun(Treatment treatment, 
 			INormalizer normalizer, ITokenizer wordTokenizer, IPOSTagger posTagger, IParser parser, ChunkerChain chunkerChain, 
-			IDescriptionExtractor descriptionExtractor, Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker, boolean parallelProcessing,
-			int sentenceChunkerRunMaximum, CountDownLatch descriptionExtractorsLatch, Set<String> selectedSources) {
+			IDescriptionExtractor descriptionExtractor, Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker, 
+			MarkupTaskScheduler markupTaskScheduler, Set<String> selectedSources) {
 		this.treatment = treatment;
 		this.normalizer = normalizer;
 		this.wordTokenizer = wordTokenizer;
@@ -71,9 +64,7 @@ public class DescriptionExtractorRun implements Callable<TreatmentElement> {
 		this.chunkerChain = chunkerChain;
 		this.descriptionExtractor = descriptionExtractor;
 		this.sentencesForOrganStateMarker = sentencesForOrganStateMarker;
-		this.parallelProcessing = parallelProcessing;
-		this.sentenceChunkerRunMaximum = sentenceChunkerRunMaximum;
-		this.descriptionExtractorsLatch = descriptionExtractorsLatch;
+		this.markupTaskScheduler = markupTaskScheduler;
 		this.selectedSources = selectedSources;
 	}
 
@@ -82,15 +73,6 @@ public class DescriptionExtractorRun implements Callable<TreatmentElement> {
 		log(LogLevel.DEBUG, "Create description for treatment: " + treatment.getName());
 		Map<String, String> sentences = sentencesForOrganStateMarker.get(treatment);
 		
-		//configure exectuorService to only allow a number of threads to run at a time
-		ExecutorService executorService = null;
-		if(!this.parallelProcessing)
-			executorService = Executors.newSingleThreadExecutor();
-		if(this.parallelProcessing && this.sentenceChunkerRunMaximum < Integer.MAX_VALUE)
-			executorService = Executors.newFixedThreadPool(sentenceChunkerRunMaximum);
-		if(this.parallelProcessing && this.sentenceChunkerRunMaximum == Integer.MAX_VALUE)
-			executorService = Executors.newCachedThreadPool();
-		
 		List<Entry<String, String>> selectedSentences = new LinkedList<Entry<String, String>>();
 		if(sentences != null) {
 			for(Entry<String, String> sentenceEntry : sentences.entrySet()) {
@@ -100,31 +82,23 @@ public class DescriptionExtractorRun implements Callable<TreatmentElement> {
 				}
 			}
 		}
-		CountDownLatch sentencesLatch = new CountDownLatch(selectedSentences.size());
 		
 		// process each sentence separately
 		for(Entry<String, String> sentenceEntry : selectedSentences) {
 			String sentenceString = sentenceEntry.getValue();
 			String source = sentenceEntry.getKey();
 			
-			// start a SentenceChunkerRun for the treatment to process as a separate thread
+			// schedule a SentenceChunkerRun for the sentence on the shared scheduler
 			SentenceChunkerRun sentenceChunker = new SentenceChunkerRun(source, sentenceString, treatment, normalizer, wordTokenizer, 
-					posTagger, parser, chunkerChain, sentencesLatch);
-			Future<ChunkCollector> futureResult = executorService.submit(sentenceChunker);
+					posTagger, parser, chunkerChain);
+			Future<ChunkCollector> futureResult = markupTaskScheduler.submit(sentenceChunker);
 			futureChunkCollectors.add(futureResult);
 		}
 		
-		// only continue when all threads are done
-		try {
-			sentencesLatch.await();
-			executorService.shutdown();
-		} catch (InterruptedException e) {
-			log(LogLevel.ERROR, "Problem with sentencesLatch or executorService", e);
-		}
-		
 		log(LogLevel.DEBUG, "Extract new description using " + descriptionExtractor.getDescription() + "...");
 		
 		// extract the new description from the result of all chunked sentences of the treatment
+		// waiting on the futures lets this worker help with the pending sentences rather than block
 		List<ChunkCollector> treatmentChunkCollectors = new ArrayList<ChunkCollector>();
 		for(Future<ChunkCollector> futureChunkCollector : this.futureChunkCollectors) {
 			try {
@@ -135,9 +109,6 @@ public class DescriptionExtractorRun implements Callable<TreatmentElement> {
 		}
 		
 		log(LogLevel.DEBUG, "extract for treatment " + treatment.getName());
-		TreatmentElement newDescriptionElement = descriptionExtractor.extract(treatmentChunkCollectors);
-		
-		descriptionExtractorsLatch.countDown();
-		return newDescriptionElement;
+		return descriptionExtractor.extract(treatmentChunkCollectors);
 	}
 }
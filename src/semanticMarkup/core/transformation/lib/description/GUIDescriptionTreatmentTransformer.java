@@ -6,9 +6,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import semanticMarkup.core.Treatment;
@@ -43,8 +40,7 @@ public class GUIDescriptionTreatmentTransformer extends DescriptionTreatmentTran
 	private ITerminologyLearner terminologyLearner;
 	private ITokenizer wordTokenizer;
 	private ChunkerChain chunkerChain;
-	private int descriptionExtractorRunMaximum;
-	private int sentenceChunkerRunMaximum;
+	private MarkupTaskScheduler markupTaskScheduler;
 	private MainForm mainForm;
 	private Map<Treatment, Future<TreatmentElement>> futureNewDescriptions = new HashMap<Treatment, Future<TreatmentElement>>();
 	private Set<String> selectedSources;
@@ -59,8 +55,7 @@ public class GUIDescriptionTreatmentTransformer extends DescriptionTreatmentTran
 	 * @param normalizer
 	 * @param terminologyLearner
 	 * @param parallelProcessing
-	 * @param descriptionExtractorRunMaximum
-	 * @param sentenceChunkerRunMaximum
+	 * @param markupTaskScheduler
 	 * @param mainForm
 	 * @throws Exception
 	 */
@@ -75,8 +70,7 @@ public class GUIDescriptionTreatmentTransformer extends DescriptionTreatmentTran
 			INormalizer normalizer,
 			ITerminologyLearner terminologyLearner,
 			@Named("MarkupDescriptionTreatmentTransformer_parallelProcessing")boolean parallelProcessing, 
-			@Named("MarkupDescriptionTreatmentTransformer_descriptionExtractorRunMaximum")int descriptionExtractorRunMaximum, 
-			@Named("MarkupDescriptionTreatmentTransformer_sentenceChunkerRunMaximum")int sentenceChunkerRunMaximum, 
+			MarkupTaskScheduler markupTaskScheduler, 
 			MainForm mainForm, 
 			@Named("selectedSources")Set<String> selectedSources, 
 			@Named("GlossaryTable")String glossaryTable) throws Exception {
@@ -88,8 +82,7 @@ public class GUIDescriptionTreatmentTransformer extends DescriptionTreatmentTran
 		this.normalizer = normalizer;
 		this.terminologyLearner = terminologyLearner;
 		this.wordTokenizer = wordTokenizer;
-		this.descriptionExtractorRunMaximum = descriptionExtractorRunMaximum;
-		this.sentenceChunkerRunMaximum = sentenceChunkerRunMaximum;
+		this.markupTaskScheduler = markupTaskScheduler;
 		this.mainForm = mainForm;
 		this.selectedSources = selectedSources;
 		this.glossaryTable = glossaryTable;
@@ -125,35 +118,17 @@ public class GUIDescriptionTreatmentTransformer extends DescriptionTreatmentTran
 	 * @param sentencesForOrganStateMarker
 	 */
 	private void markupDescriptions(List<Treatment> treatments, Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker) {
-		//configure exectuorService to only allow a number of threads to run at a time
-		ExecutorService executorService = null;
-		if(!this.parallelProcessing)
-			executorService = Executors.newSingleThreadExecutor();
-		if(this.parallelProcessing && this.descriptionExtractorRunMaximum < Integer.MAX_VALUE)
-			executorService = Executors.newFixedThreadPool(descriptionExtractorRunMaximum);
-		if(this.parallelProcessing && this.descriptionExtractorRunMaximum == Integer.MAX_VALUE)
-			executorService = Executors.newCachedThreadPool();
-		
-		CountDownLatch descriptionExtractorsLatch = new CountDownLatch(treatments.size());
-		
 		// process each treatment separately
 		for(Treatment treatment : treatments) {
-			// start a DescriptionExtractorRun for the treatment to process as a separate thread
+			// schedule a DescriptionExtractorRun for the treatment on the shared scheduler
 			DescriptionExtractorRun descriptionExtractorRun = new DescriptionExtractorRun(treatment, normalizer, wordTokenizer, 
-					posTagger, parser, chunkerChain, descriptionExtractor, sentencesForOrganStateMarker, parallelProcessing, sentenceChunkerRunMaximum, 
-					descriptionExtractorsLatch, selectedSources);
-			Future<TreatmentElement> futureNewDescription = executorService.submit(descriptionExtractorRun);
+					posTagger, parser, chunkerChain, descriptionExtractor, sentencesForOrganStateMarker, markupTaskScheduler, 
+					selectedSources);
+			Future<TreatmentElement> futureNewDescription = markupTaskScheduler.submit(descriptionExtractorRun);
 			this.futureNewDescriptions.put(treatment, futureNewDescription);
 		}
 		
-		//only continue when all threads are done
-		try {
-			descriptionExtractorsLatch.await();
-			executorService.shutdown();
-		} catch (InterruptedException e) {
-			log(LogLevel.ERROR, "Problem with descriptionExtractorsLatch or executorService", e);
-		}
-		
+		// getting a future waits until its DescriptionExtractorRun is done
 		for(Treatment treatment : treatments) {
 			Future<TreatmentElement> futureNewDescription = futureNewDescriptions.get(treatment);
 			ValueTreatmentElement description = treatment.getValueTreatmentElement("description");
@@ -166,5 +141,7 @@ public class GUIDescriptionTreatmentTransformer extends DescriptionTreatmentTran
 			log(LogLevel.DEBUG, " -> JAXB: ");
 			log(LogLevel.DEBUG, treatment.toString());
 		}
+		log(LogLevel.DEBUG, "Markup scheduler: " + markupTaskScheduler);
+		parser.close();
 	}
 }
@@ -5,12 +5,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.sql.DataSource;
+
 import oto.full.IOTOClient;
 import oto.full.beans.GlossaryDownload;
 import oto.lite.IOTOLiteClient;
 import oto.lite.beans.Download;
 
 import semanticMarkup.core.Treatment;
+import semanticMarkup.io.db.BulkWriter;
 import semanticMarkup.know.IGlossary;
 import semanticMarkup.ling.chunk.ChunkerChain;
 import semanticMarkup.ling.extract.IDescriptionExtractor;
@@ -46,16 +49,13 @@ public class MarkupDescriptionFromDBForEvaluationTransformer extends MarkupDescr
 			INormalizer normalizer,
 			ITerminologyLearner terminologyLearner,
 			@Named("MarkupDescriptionTreatmentTransformer_parallelProcessing")boolean parallelProcessing, 
-			@Named("MarkupDescriptionTreatmentTransformer_descriptionExtractorRunMaximum")int descriptionExtractorRunMaximum, 
-			@Named("MarkupDescriptionTreatmentTransformer_sentenceChunkerRunMaximum")int sentenceChunkerRunMaximum,  
+			MarkupTaskScheduler markupTaskScheduler,  
+			MarkupManifest markupManifest,
 			IOTOClient otoClient, 
 			IOTOLiteClient otoLiteClient, 
 			@Named("otoLiteTermReviewURL") String otoLiteTermReviewURL,
-			@Named("databaseHost") String databaseHost,
-			@Named("databasePort") String databasePort,
-			@Named("databaseName")String databaseName,
-			@Named("databaseUser")String databaseUser,
-			@Named("databasePassword")String databasePassword,
+			DataSource dataSource,
+			BulkWriter bulkWriter,
 			@Named("databasePrefix")String databasePrefix, 
 			@Named("glossaryType")String glossaryType,
 			IGlossary glossary, 
@@ -64,16 +64,15 @@ public class MarkupDescriptionFromDBForEvaluationTransformer extends MarkupDescr
 			throws Exception {
 		super(version, wordTokenizer, parser, chunkerChain, posTagger, descriptionExtractor,
 				normalizer, terminologyLearner, parallelProcessing,
-				descriptionExtractorRunMaximum, sentenceChunkerRunMaximum, otoClient,
-				otoLiteClient, otoLiteTermReviewURL, databaseHost, databasePort,
-				databaseName, databaseUser, databasePassword, databasePrefix,
+				markupTaskScheduler, markupManifest, otoClient,
+				otoLiteClient, otoLiteTermReviewURL, dataSource, bulkWriter, databasePrefix,
 				glossaryType, glossary, selectedSources, glossaryTable);
 		this.glossaryTable = glossaryTable;
 	}
 
 
 	@Override
-	public List<Treatment> transform(List<Treatment> treatments) {
+	protected Map<Treatment, LinkedHashMap<String, String>> prepareMarkup(List<Treatment> treatments) {
 		//evaluation runs with .csv glossaries as gold standard uses the
 		//character categories used in the csvs.
 		//OTOs character categories varies at times, which makes evaluation difficult.
@@ -94,9 +93,6 @@ public class MarkupDescriptionFromDBForEvaluationTransformer extends MarkupDescr
 		//even though no actual learning is taking place
 		terminologyLearner.learn(treatments, glossaryTable);
 		terminologyLearner.readResults(treatments);
-		Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker = terminologyLearner.getSentencesForOrganStateMarker();
-		// do the actual markup
-		markupDescriptions(treatments, sentencesForOrganStateMarker);		
-		return treatments;
+		return terminologyLearner.getSentencesForOrganStateMarker();
 	}
 }
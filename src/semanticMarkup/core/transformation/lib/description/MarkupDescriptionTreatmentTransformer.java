@@ -3,23 +3,24 @@ package semanticMarkup.core.transformation.lib.description;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.concurrent.Future;
 
+import javax.sql.DataSource;
+
 import oto.beans.TermCategory;
 import oto.beans.TermSynonym;
 import oto.beans.WordRole;
@@ -31,10 +32,14 @@ import oto.lite.beans.Download;
 import oto.lite.beans.Synonym;
 
 import semanticMarkup.core.ContainerTreatmentElement;
+import semanticMarkup.core.ITreatmentListener;
 import semanticMarkup.core.Treatment;
 import semanticMarkup.core.TreatmentElement;
 import semanticMarkup.core.ValueTreatmentElement;
+import semanticMarkup.core.transformation.IStreamingTreatmentTransformer;
+import semanticMarkup.io.db.BulkWriter;
 import semanticMarkup.know.IGlossary;
+import semanticMarkup.ling.Token;
 import semanticMarkup.ling.chunk.ChunkerChain;
 import semanticMarkup.ling.extract.IDescriptionExtractor;
 import semanticMarkup.ling.learn.ITerminologyLearner;
@@ -53,7 +58,7 @@ import com.google.inject.name.Named;
  * This can be used for the second and hence the 'markup' application for the iPlant integration
  * @author rodenhausen
  */
-public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentTransformer {
+public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentTransformer implements IStreamingTreatmentTransformer {
 
 	protected IParser parser;
 	protected IPOSTagger posTagger;
@@ -62,13 +67,14 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 	protected ITerminologyLearner terminologyLearner;
 	protected ITokenizer wordTokenizer;
 	protected ChunkerChain chunkerChain;
-	protected int descriptionExtractorRunMaximum;
-	protected int sentenceChunkerRunMaximum;
+	protected MarkupTaskScheduler markupTaskScheduler;
+	protected MarkupManifest markupManifest;
 	protected Map<Treatment, Future<TreatmentElement>> futureNewDescriptions = new HashMap<Treatment, Future<TreatmentElement>>();
 	protected IOTOClient otoClient;
 	protected String databasePrefix;
 	protected IGlossary glossary;
-	protected Connection connection;
+	protected DataSource dataSource;
+	protected BulkWriter bulkWriter;
 	protected String glossaryType;
 	protected IOTOLiteClient otoLiteClient;
 	protected String otoLiteTermReviewURL;
@@ -84,12 +90,11 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 	 * @param normalizer
 	 * @param terminologyLearner
 	 * @param parallelProcessing
-	 * @param descriptionExtractorRunMaximum
-	 * @param sentenceChunkerRunMaximum
+	 * @param markupTaskScheduler
+	 * @param markupManifest
 	 * @param otoClient
-	 * @param databaseName
-	 * @param databaseUser
-	 * @param databasePassword
+	 * @param dataSource
+	 * @param bulkWriter
 	 * @param databasePrefix
 	 * @param glossary
 	 * @throws Exception
@@ -105,16 +110,13 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 			INormalizer normalizer,
 			ITerminologyLearner terminologyLearner,
 			@Named("MarkupDescriptionTreatmentTransformer_parallelProcessing")boolean parallelProcessing, 
-			@Named("MarkupDescriptionTreatmentTransformer_descriptionExtractorRunMaximum")int descriptionExtractorRunMaximum, 
-			@Named("MarkupDescriptionTreatmentTransformer_sentenceChunkerRunMaximum")int sentenceChunkerRunMaximum,  
+			MarkupTaskScheduler markupTaskScheduler,  
+			MarkupManifest markupManifest,
 			IOTOClient otoClient, 
 			IOTOLiteClient otoLiteClient, 
 			@Named("otoLiteTermReviewURL") String otoLiteTermReviewURL,
-			@Named("databaseHost") String databaseHost,
-			@Named("databasePort") String databasePort,
-			@Named("databaseName")String databaseName,
-			@Named("databaseUser")String databaseUser,
-			@Named("databasePassword")String databasePassword,
+			DataSource dataSource,
+			BulkWriter bulkWriter,
 			@Named("databasePrefix")String databasePrefix, 
 			@Named("glossaryType")String glossaryType,
 			IGlossary glossary, 
@@ -128,8 +130,8 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 		this.normalizer = normalizer;
 		this.terminologyLearner = terminologyLearner;
 		this.wordTokenizer = wordTokenizer;
-		this.descriptionExtractorRunMaximum = descriptionExtractorRunMaximum;
-		this.sentenceChunkerRunMaximum = sentenceChunkerRunMaximum;
+		this.markupTaskScheduler = markupTaskScheduler;
+		this.markupManifest = markupManifest;
 		this.otoClient = otoClient;
 		this.otoLiteClient = otoLiteClient;
 		this.otoLiteTermReviewURL = otoLiteTermReviewURL;
@@ -139,15 +141,123 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 		this.selectedSources = selectedSources;
 		this.glossaryTable = glossaryTable;
 		
-		Class.forName("com.mysql.jdbc.Driver");
-		connection = DriverManager.getConnection("jdbc:mysql://" + databaseHost + ":" + databasePort +"/" + databaseName + "?connectTimeout=0&socketTimeout=0&autoReconnect=true",
-				databaseUser, databasePassword);
+		this.bulkWriter = bulkWriter;
+		this.dataSource = dataSource;
 	}
 
 	@Override
 	public List<Treatment> transform(List<Treatment> treatments) {
+		Map<Treatment, String> inputHashes = markupManifest.isIncremental() ? getInputHashes(treatments) : null;
+		Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker = prepareMarkup(treatments);
+		// do the actual markup
+		markupDescriptions(treatments, sentencesForOrganStateMarker, inputHashes, null);		
+		return treatments;
+	}
+	
+	@Override
+	public void transform(List<Treatment> treatments, ITreatmentListener treatmentListener) {
+		Map<Treatment, String> inputHashes = markupManifest.isIncremental() ? getInputHashes(treatments) : null;
+		Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker = prepareMarkup(treatments);
+		// do the actual markup, handing over each treatment as soon as its description is marked up
+		markupDescriptions(treatments, sentencesForOrganStateMarker, inputHashes, treatmentListener);
+	}
+	
+	/**
+	 * @param treatments
+	 * @return a hash of each treatment's input, taken before meta data of this run is added
+	 */
+	private Map<Treatment, String> getInputHashes(List<Treatment> treatments) {
+		Map<Treatment, String> inputHashes = new HashMap<Treatment, String>();
+		for(Treatment treatment : treatments) {
+			StringBuilder input = new StringBuilder(version);
+			for(ValueTreatmentElement valueTreatmentElement : treatment.getValueTreatmentElementsRecursively()) 
+				input.append('\n').append(valueTreatmentElement.getName()).append('\t').append(valueTreatmentElement.getValue());
+			inputHashes.put(treatment, MarkupManifest.hash(input.toString()));
+		}
+		return inputHashes;
+	}
+	
+	/**
+	 * @param treatment
+	 * @param inputHash
+	 * @param sentences the learner prepared for the treatment
+	 * @param learnerState of the volume
+	 * @return the manifest entry of the treatment, the glossary has to be initialized
+	 */
+	private MarkupManifest.Entry createManifestEntry(Treatment treatment, String inputHash, LinkedHashMap<String, String> sentences, 
+			LearnerState learnerState) {
+		String glossaryVersion = null;
+		ContainerTreatmentElement metaElement = treatment.getContainerTreatmentElement("meta");
+		if(metaElement != null && metaElement.containsValueTreatmentElement("glossary_version"))
+			glossaryVersion = metaElement.getValueTreatmentElement("glossary_version").getValue();
+		
+		StringBuilder state = new StringBuilder();
+		state.append(sentences).append('\n');
+		state.append(learnerState.sentenceTags == null ? null : learnerState.sentenceTags.get(treatment)).append('\n');
+		// only the glossary and learner entries of the treatment's own terms, the rest of the volume does not affect its markup
+		SortedSet<String> terms = new TreeSet<String>();
+		if(sentences != null) {
+			for(String sentence : sentences.values())
+				for(Token token : wordTokenizer.tokenize(sentence))
+					terms.add(token.getContent().toLowerCase());
+		} else {
+			ValueTreatmentElement description = treatment.getValueTreatmentElement("description");
+			if(description != null)
+				for(Token token : wordTokenizer.tokenize(description.getValue()))
+					terms.add(token.getContent().toLowerCase());
+		}
+		for(String term : terms) {
+			state.append(term).append('=');
+			if(glossary.contains(term))
+				state.append(new TreeSet<String>(glossary.getCategories(term)));
+			learnerState.append(term, state);
+			state.append('\n');
+		}
+		return new MarkupManifest.Entry(inputHash, MarkupManifest.hash(state.toString()), glossaryVersion);
+	}
+	
+	/**
+	 * LearnerState holds the results of the terminology learner the markup of a treatment depends on, 
+	 * so that the entries of a term can be looked up
+	 */
+	private static class LearnerState {
 		
+		private Map<Treatment, LinkedHashMap<String, String>> sentenceTags;
+		private List<Set<String>> termSets = new ArrayList<Set<String>>();
+		private List<Map<String, ?>> termMaps = new ArrayList<Map<String, ?>>();
 		
+		public LearnerState(ITerminologyLearner terminologyLearner) {
+			sentenceTags = terminologyLearner.getSentenceTags();
+			termSets.add(terminologyLearner.getWordRoleTags());
+			termSets.add(terminologyLearner.getTags());
+			termSets.add(terminologyLearner.getModifiers());
+			termSets.add(terminologyLearner.getBracketTags());
+			termSets.add(terminologyLearner.getAdjNouns() == null ? null : new HashSet<String>(terminologyLearner.getAdjNouns()));
+			termMaps.add(terminologyLearner.getHeuristicNouns());
+			termMaps.add(terminologyLearner.getTermCategories());
+			termMaps.add(terminologyLearner.getWordsToRoles());
+		}
+		
+		/**
+		 * @param term
+		 * @param state to append the learner entries of the term to
+		 */
+		public void append(String term, StringBuilder state) {
+			for(Set<String> termSet : termSets)
+				state.append(termSet != null && termSet.contains(term) ? '+' : '-');
+			for(Map<String, ?> termMap : termMaps) {
+				Object value = termMap == null ? null : termMap.get(term);
+				state.append('|').append(value instanceof Collection ? new TreeSet<Object>((Collection<?>)value) : value);
+			}
+		}
+	}
+
+	/**
+	 * Initializes glossary and terminology learner, which both need the whole volume 
+	 * @param treatments
+	 * @return the sentences to markup for each treatment
+	 */
+	protected Map<Treatment, LinkedHashMap<String, String>> prepareMarkup(List<Treatment> treatments) {
 		//download gloss again from real OTO because the last download is no longer in memory
 		//it is possible for gloss o change from last run, make sure to grab the correct version.
 		//when remove MYSQL, take care of this issue
@@ -195,17 +305,13 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 		//even though no actual learning is taking place
 		terminologyLearner.learn(treatments, glossaryTable);
 		terminologyLearner.readResults(treatments);
-		Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker = terminologyLearner.getSentencesForOrganStateMarker();
-		// do the actual markup
-		markupDescriptions(treatments, sentencesForOrganStateMarker);		
-		return treatments;
+		return terminologyLearner.getSentencesForOrganStateMarker();
 	}
 
 	private String getGlossaryVersionOfLearn() {
 		String glossaryVersion = null;
-		try {
-			String sql = "SELECT glossary_version FROM datasetprefixes WHERE prefix = ?";
-			PreparedStatement preparedStatement = connection.prepareStatement(sql);
+		String sql = "SELECT glossary_version FROM datasetprefixes WHERE prefix = ?";
+		try(Connection connection = dataSource.getConnection(); PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
 			preparedStatement.setString(1, databasePrefix);
 			preparedStatement.execute();
 			ResultSet resultSet = preparedStatement.getResultSet();
@@ -222,12 +328,13 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 	private int readUploadId() throws SQLException {
 		int uploadId = -1;
 		String sql = "SELECT oto_uploadid FROM datasetprefixes WHERE prefix = ?";
-		PreparedStatement preparedStatement = connection.prepareStatement(sql);
-		preparedStatement.setString(1, databasePrefix);
-		preparedStatement.execute();
-		ResultSet resultSet = preparedStatement.getResultSet();
-		while(resultSet.next()) {
-			uploadId = resultSet.getInt("oto_uploadid");
+		try(Connection connection = dataSource.getConnection(); PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+			preparedStatement.setString(1, databasePrefix);
+			preparedStatement.execute();
+			ResultSet resultSet = preparedStatement.getResultSet();
+			while(resultSet.next()) {
+				uploadId = resultSet.getInt("oto_uploadid");
+			}
 		}
 		return uploadId;
 	}
@@ -244,6 +351,7 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 		for(Decision decision : download.getDecisions()) {
 			glossary.addEntry(decision.getTerm(), decision.getCategory());
 		}
+		glossary.freeze();
 	}
 	
 	private void storeInLocalDB(GlossaryDownload glossaryDownload, Download download, 
@@ -293,8 +401,7 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 			wordRoles.add(wordRole);
 		}
 		
-		try {
-			Statement stmt = connection.createStatement();
+		try(Connection connection = dataSource.getConnection(); Statement stmt = connection.createStatement()) {
 	        String cleanupQuery = "DROP TABLE IF EXISTS " + 
 									tablePrefix + "_term_category, " + 
 									tablePrefix + "_syns, " +
@@ -306,26 +413,18 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 			stmt.execute("CREATE TABLE IF NOT EXISTS " + tablePrefix + "_wordroles (`word` varchar(50) NOT NULL DEFAULT '', `semanticrole` varchar(2) " +
 					"NOT NULL DEFAULT '', `savedid` varchar(40) DEFAULT NULL, PRIMARY KEY (`word`,`semanticrole`));");
 			
-			for(TermCategory termCategory : termCategories) {
-				PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + tablePrefix + "_term_category (`term`, `category`, `hasSyn`) VALUES (?, ?, ?)");
-				preparedStatement.setString(1, termCategory.getTerm());
-				preparedStatement.setString(2, termCategory.getCategory());
-				preparedStatement.setBoolean(3, termCategory.isHasSyn());
-				preparedStatement.executeUpdate();
-			}
-			for(TermSynonym termSynonym : termSynonyms) {
-				PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + tablePrefix + "_syns (`term`, `synonym`) VALUES (?, ?)");
-				preparedStatement.setString(1, termSynonym.getTerm());
-				preparedStatement.setString(2, termSynonym.getSynonym());
-				preparedStatement.executeUpdate();
-			}
-			for(WordRole wordRole : wordRoles) {
-				PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + tablePrefix + "_wordroles" + " VALUES (?, ?, ?)");
-				preparedStatement.setString(1, wordRole.getWord());
-				preparedStatement.setString(2, wordRole.getSemanticRole());
-				preparedStatement.setString(3, wordRole.getSavedid());
-				preparedStatement.executeUpdate();
-			}
+			List<Object[]> termCategoryRows = new ArrayList<Object[]>();
+			for(TermCategory termCategory : termCategories) 
+				termCategoryRows.add(new Object[] { termCategory.getTerm(), termCategory.getCategory(), termCategory.isHasSyn() });
+			bulkWriter.write(connection, "INSERT INTO " + tablePrefix + "_term_category (`term`, `category`, `hasSyn`) VALUES (?, ?, ?)", termCategoryRows);
+			List<Object[]> synonymRows = new ArrayList<Object[]>();
+			for(TermSynonym termSynonym : termSynonyms) 
+				synonymRows.add(new Object[] { termSynonym.getTerm(), termSynonym.getSynonym() });
+			bulkWriter.write(connection, "INSERT INTO " + tablePrefix + "_syns (`term`, `synonym`) VALUES (?, ?)", synonymRows);
+			List<Object[]> wordRoleRows = new ArrayList<Object[]>();
+			for(WordRole wordRole : wordRoles) 
+				wordRoleRows.add(new Object[] { wordRole.getWord(), wordRole.getSemanticRole(), wordRole.getSavedid() });
+			bulkWriter.write(connection, "INSERT INTO " + tablePrefix + "_wordroles" + " VALUES (?, ?, ?)", wordRoleRows);
 		} catch(Exception e) {
 			log(LogLevel.ERROR, "Problem storing glossary in local DB", e);
 		}
@@ -334,49 +433,67 @@ public class MarkupDescriptionTreatmentTransformer extends DescriptionTreatmentT
 	/**
 	 * @param treatments
 	 * @param sentencesForOrganStateMarker
+	 * @param inputHashes of the treatments, null if not incremental
+	 * @param treatmentListener to notify of each marked up treatment, may be null
 	 */
-	protected void markupDescriptions(List<Treatment> treatments, Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker) {
-		//configure exectuorService to only allow a number of threads to run at a time
-		ExecutorService executorService = null;
-		if(!this.parallelProcessing)
-			executorService = Executors.newSingleThreadExecutor();
-		if(this.parallelProcessing && this.descriptionExtractorRunMaximum < Integer.MAX_VALUE)
-			executorService = Executors.newFixedThreadPool(descriptionExtractorRunMaximum);
-		if(this.parallelProcessing && this.descriptionExtractorRunMaximum == Integer.MAX_VALUE)
-			executorService = Executors.newCachedThreadPool();
-		
-		CountDownLatch descriptionExtractorsLatch = new CountDownLatch(treatments.size());
-		
+	protected void markupDescriptions(List<Treatment> treatments, Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker, 
+			Map<Treatment, String> inputHashes, ITreatmentListener treatmentListener) {
+		Map<Treatment, MarkupManifest.Entry> manifestEntries = new HashMap<Treatment, MarkupManifest.Entry>();
+		LearnerState learnerState = markupManifest.isIncremental() ? new LearnerState(terminologyLearner) : null;
 		// process each treatment separately
 		for(Treatment treatment : treatments) {
-			// start a DescriptionExtractorRun for the treatment to process as a separate thread
+			// in incremental mode skip treatments whose input and state did not change since the last run
+			if(markupManifest.isIncremental()) {
+				MarkupManifest.Entry manifestEntry = createManifestEntry(treatment, inputHashes.get(treatment), 
+						sentencesForOrganStateMarker.get(treatment), learnerState);
+				manifestEntries.put(treatment, manifestEntry);
+				if(markupManifest.isUpToDate(treatment.getName(), manifestEntry)) {
+					markupManifest.reuse(treatment.getName(), manifestEntry);
+					continue;
+				}
+			}
+			
+			// schedule a DescriptionExtractorRun for the treatment on the shared scheduler
 			DescriptionExtractorRun descriptionExtractorRun = new DescriptionExtractorRun(treatment, normalizer, wordTokenizer, 
-					posTagger, parser, chunkerChain, descriptionExtractor, sentencesForOrganStateMarker, parallelProcessing, sentenceChunkerRunMaximum, 
-					descriptionExtractorsLatch, selectedSources);
-			Future<TreatmentElement> futureNewDescription = executorService.submit(descriptionExtractorRun);
+					posTagger, parser, chunkerChain, descriptionExtractor, sentencesForOrganStateMarker, markupTaskScheduler, 
+					selectedSources);
+			Future<TreatmentElement> futureNewDescription = markupTaskScheduler.submit(descriptionExtractorRun);
 			this.futureNewDescriptions.put(treatment, futureNewDescription);
 		}
 		
-		//only continue when all threads are done
-		try {
-			descriptionExtractorsLatch.await();
-			executorService.shutdown();
-		} catch (InterruptedException e) {
-			log(LogLevel.ERROR, "Problem with descriptionExtractorsLatch or executorService", e);
-		}
-		
+		// getting a future waits until its DescriptionExtractorRun is done, so earlier treatments 
+		// can be handed over while later ones are still processed
 		for(Treatment treatment : treatments) {
-			Future<TreatmentElement> futureNewDescription = futureNewDescriptions.get(treatment);
-			ValueTreatmentElement description = treatment.getValueTreatmentElement("description");
-			if(description!=null) 
-				treatment.removeTreatmentElement(description);
-			try {
-				treatment.addTreatmentElement(futureNewDescription.get());
-			} catch (Exception e) {
-				log(LogLevel.ERROR, "Problem getting Future from new description", e);
+			Future<TreatmentElement> futureNewDescription = futureNewDescriptions.remove(treatment);
+			if(futureNewDescription != null) {
+				ValueTreatmentElement description = treatment.getValueTreatmentElement("description");
+				if(description!=null) 
+					treatment.removeTreatmentElement(description);
+				try {
+					treatment.addTreatmentElement(futureNewDescription.get());
+					if(manifestEntries.containsKey(treatment))
+						markupManifest.put(treatment.getName(), manifestEntries.get(treatment));
+				} catch (Exception e) {
+					log(LogLevel.ERROR, "Problem getting Future from new description", e);
+				}
+				log(LogLevel.DEBUG, " -> JAXB: ");
+				log(LogLevel.DEBUG, treatment.toString());
+			}
+			if(treatmentListener != null) {
+				try {
+					treatmentListener.treatmentDone(treatment);
+				} catch (Exception e) {
+					log(LogLevel.ERROR, "Problem handing over marked up treatment " + treatment.getName(), e);
+				}
 			}
-			log(LogLevel.DEBUG, " -> JAXB: ");
-			log(LogLevel.DEBUG, treatment.toString());
 		}
+		if(markupManifest.isIncremental()) {
+			markupManifest.store();
+			log(LogLevel.INFO, "Markup manifest: " + markupManifest);
+		}
+		log(LogLevel.DEBUG, "Markup scheduler: " + markupTaskScheduler);
+		log(LogLevel.DEBUG, "Connection pool: " + dataSource);
+		log(LogLevel.INFO, "Parser: " + parser);
+		parser.close();
 	}
 }
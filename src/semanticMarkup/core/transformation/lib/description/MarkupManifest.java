@@ -0,0 +1,226 @@
+package semanticMarkup.core.transformation.lib.description;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import semanticMarkup.log.LogLevel;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * A MarkupManifest records for each treatment marked up into Run_OutDirectory a hash of its input, a hash of its 
+ * state and the glossary version. The state consists of the treatment's sentences and tags as prepared by the learner 
+ * and of the glossary and learner entries of the terms it contains, so a change elsewhere in the volume does not 
+ * affect it. In incremental mode a treatment whose record did not change since the last run and whose output file 
+ * still exists is not marked up again, the output of the last run is reused instead. Only in incremental mode the 
+ * manifest is read and stored.
+ * A line of the manifest file consists of the tab separated treatment name, input hash, state hash and glossary 
+ * version. Lines of older manifests do not match and their treatments are marked up again.
+ * @author rodenhausen
+ */
+public class MarkupManifest {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final String FILE_NAME = "markup.manifest";
+	
+	private String outDirectory;
+	private boolean incremental;
+	private Map<String, Entry> previousEntries = new HashMap<String, Entry>();
+	private ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+	private Set<String> reusedTreatments = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+	/**
+	 * @param outDirectory the directory the treatments are written to and the manifest is stored in
+	 * @param incremental if treatments that did not change since the last run are to be reused
+	 */
+	@Inject
+	public MarkupManifest(@Named("Run_OutDirectory")String outDirectory, 
+			@Named("MarkupManifest_incremental")boolean incremental) {
+		this.outDirectory = outDirectory;
+		this.incremental = incremental;
+		if(incremental)
+			load();
+	}
+	
+	/**
+	 * @return if treatments that did not change since the last run are to be reused
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+	/**
+	 * @param treatmentName
+	 * @param entry of the treatment in this run
+	 * @return if the output of the last run can be reused for the treatment
+	 */
+	public boolean isUpToDate(String treatmentName, Entry entry) {
+		if(!incremental)
+			return false;
+		return entry.equals(previousEntries.get(treatmentName)) && 
+				new File(outDirectory + File.separator + treatmentName + ".xml").exists();
+	}
+	
+	/**
+	 * Records a treatment that has been marked up in this run
+	 * @param treatmentName
+	 * @param entry
+	 */
+	public void put(String treatmentName, Entry entry) {
+		entries.put(treatmentName, entry);
+		reusedTreatments.remove(treatmentName);
+	}
+	
+	/**
+	 * Records a treatment whose output of the last run is reused
+	 * @param treatmentName
+	 * @param entry
+	 */
+	public void reuse(String treatmentName, Entry entry) {
+		entries.put(treatmentName, entry);
+		reusedTreatments.add(treatmentName);
+	}
+	
+	/**
+	 * @param treatmentName
+	 * @return if the output of the last run is reused for the treatment, i.e. it must not be written again
+	 */
+	public boolean isReused(String treatmentName) {
+		return reusedTreatments.contains(treatmentName);
+	}
+	
+	/**
+	 * @return the number of treatments whose output of the last run is reused
+	 */
+	public int getReusedCount() {
+		return reusedTreatments.size();
+	}
+	
+	/**
+	 * Stores the treatments recorded in this run. Treatments of the last run that were not recorded are dropped.
+	 */
+	public void store() {
+		if(!incremental)
+			return;
+		File file = new File(outDirectory + File.separator + FILE_NAME);
+		File temporaryFile = new File(outDirectory + File.separator + FILE_NAME + ".tmp");
+		file.getParentFile().mkdirs();
+		try(BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporaryFile), UTF8))) {
+			for(Map.Entry<String, Entry> entry : new TreeMap<String, Entry>(entries).entrySet()) {
+				writer.write(entry.getKey() + "\t" + entry.getValue().toString());
+				writer.newLine();
+			}
+		} catch(Exception e) {
+			log(LogLevel.ERROR, "Problem writing markup manifest " + temporaryFile, e);
+			return;
+		}
+		if(file.exists() && !file.delete() || !temporaryFile.renameTo(file))
+			log(LogLevel.ERROR, "Problem replacing markup manifest " + file);
+	}
+
+	private void load() {
+		File file = new File(outDirectory + File.separator + FILE_NAME);
+		if(!file.exists())
+			return;
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF8))) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				String[] fields = line.split("\t", -1);
+				if(fields.length == 4)
+					previousEntries.put(fields[0], new Entry(fields[1], fields[2], fields[3]));
+			}
+		} catch(Exception e) {
+			log(LogLevel.ERROR, "Problem reading markup manifest " + file + ", all treatments are marked up again", e);
+			previousEntries.clear();
+		}
+		log(LogLevel.INFO, "Loaded " + previousEntries.size() + " treatments from markup manifest " + file);
+	}
+	
+	/**
+	 * @param text
+	 * @return the hex encoded SHA-1 hash of the text
+	 */
+	public static String hash(String text) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(UTF8));
+			StringBuilder hash = new StringBuilder();
+			for(byte b : digest) 
+				hash.append(String.format("%02x", b));
+			return hash.toString();
+		} catch(Exception e) {
+			//SHA-1 is available on every java platform
+			throw new RuntimeException(e);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return "incremental: " + incremental + ", treatments recorded: " + entries.size() + ", reused: " + getReusedCount();
+	}
+	
+	/**
+	 * An Entry describes what the markup of a treatment depends on
+	 * @author rodenhausen
+	 */
+	public static class Entry {
+		
+		private String inputHash;
+		private String stateHash;
+		private String glossaryVersion;
+		
+		/**
+		 * @param inputHash
+		 * @param stateHash of the treatment's sentences and tags and of the glossary and learner entries of its terms
+		 * @param glossaryVersion
+		 */
+		public Entry(String inputHash, String stateHash, String glossaryVersion) {
+			this.inputHash = inputHash;
+			this.stateHash = stateHash;
+			this.glossaryVersion = glossaryVersion == null ? "" : glossaryVersion;
+		}
+
+		public String getInputHash() {
+			return inputHash;
+		}
+
+		public String getStateHash() {
+			return stateHash;
+		}
+
+		public String getGlossaryVersion() {
+			return glossaryVersion;
+		}
+		
+		@Override
+		public boolean equals(Object object) {
+			if(!(object instanceof Entry))
+				return false;
+			Entry entry = (Entry)object;
+			return inputHash.equals(entry.inputHash) && stateHash.equals(entry.stateHash) && glossaryVersion.equals(entry.glossaryVersion);
+		}
+		
+		@Override
+		public int hashCode() {
+			return inputHash.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return inputHash + "\t" + stateHash + "\t" + glossaryVersion;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package semanticMarkup.core.transformation.lib.description;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * MarkupTaskScheduler is the single, bounded work-stealing scheduler shared by all DescriptionExtractorRuns and
+ * SentenceChunkerRuns of a markup. Tasks submitted from within a running task are forked onto the current worker's
+ * queue, so a DescriptionExtractorRun waiting for its sentences helps to process them instead of blocking a thread.
+ * @author rodenhausen
+ */
+public class MarkupTaskScheduler {
+
+	private ForkJoinPool pool;
+	private AtomicInteger activeTasks = new AtomicInteger();
+	private AtomicLong completedTasks = new AtomicLong();
+
+	/**
+	 * @param parallelism the maximum number of tasks to run at a time, typically the number of available cores
+	 */
+	@Inject
+	public MarkupTaskScheduler(@Named("MarkupTaskScheduler_parallelism")int parallelism) {
+		this.pool = new ForkJoinPool(Math.max(1, parallelism));
+	}
+
+	/**
+	 * @param callable to schedule
+	 * @return the task, which can be waited for using get(). If called from within a scheduled task, waiting helps to
+	 * execute pending tasks
+	 */
+	public <T> ForkJoinTask<T> submit(Callable<T> callable) {
+		ForkJoinTask<T> task = ForkJoinTask.adapt(new CountingCallable<T>(callable));
+		if(isWorkerThread())
+			return task.fork();
+		return pool.submit(task);
+	}
+
+	/**
+	 * @return the number of worker threads the scheduler is bounded to
+	 */
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * @return the number of tasks currently being executed
+	 */
+	public int getActiveTaskCount() {
+		return activeTasks.get();
+	}
+
+	/**
+	 * @return the number of tasks waiting to be executed
+	 */
+	public long getQueueDepth() {
+		return pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount();
+	}
+
+	/**
+	 * @return the number of tasks that have finished executing
+	 */
+	public long getCompletedTaskCount() {
+		return completedTasks.get();
+	}
+
+	/**
+	 * @return the number of tasks taken from another worker's queue
+	 */
+	public long getStealCount() {
+		return pool.getStealCount();
+	}
+
+	private boolean isWorkerThread() {
+		Thread thread = Thread.currentThread();
+		return thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread)thread).getPool() == pool;
+	}
+
+	@Override
+	public String toString() {
+		return "parallelism: " + getParallelism() + ", active tasks: " + getActiveTaskCount() + ", queue depth: " + getQueueDepth() +
+				", completed tasks: " + getCompletedTaskCount() + ", steals: " + getStealCount();
+	}
+
+	private class CountingCallable<T> implements Callable<T> {
+
+		private Callable<T> callable;
+
+		public CountingCallable(Callable<T> callable) {
+			this.callable = callable;
+		}
+
+		@Override
+		public T call() throws Exception {
+			activeTasks.incrementAndGet();
+			try {
+				return callable.call();
+			} finally {
+				activeTasks.decrementAndGet();
+				completedTasks.incrementAndGet();
+			}
+		}
+	}
+}
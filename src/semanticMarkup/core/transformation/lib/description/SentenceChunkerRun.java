@@ -3,7 +3,6 @@ package semanticMarkup.core.transformation.lib.description;
 import java.util.Calendar;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CountDownLatch;
 
 import semanticMarkup.core.Treatment;
 import semanticMarkup.ling.Token;
@@ -32,7 +31,6 @@ public class SentenceChunkerRun implements Callable<ChunkCollector> {
 	private INormalizer normalizer;
 	private ChunkCollector result;
 	private Treatment treatment;
-	private CountDownLatch sentencesLatch;
 
 	/**
 	 * @param source
@@ -43,10 +41,9 @@ public class SentenceChunkerRun implements Callable<ChunkCollector> {
 	 * @param posTagger
 	 * @param parser
 	 * @param chunkerChain
-	 * @param sentencesLatch 
 	 */
 	public SentenceChunkerRun(String source, String sentenceString, Treatment treatment, INormalizer normalizer, 
-			ITokenizer wordTokenizer, IPOSTagger posTagger, IParser parser, ChunkerChain chunkerChain, CountDownLatch sentencesLatch) {
+			ITokenizer wordTokenizer, IPOSTagger posTagger, IParser parser, ChunkerChain chunkerChain) {
 		this.source = source;
 		this.sentenceString = sentenceString;
 		this.treatment = treatment;
@@ -55,7 +52,6 @@ public class SentenceChunkerRun implements Callable<ChunkCollector> {
 		this.posTagger = posTagger;
 		this.parser = parser;
 		this.chunkerChain = chunkerChain;
-		this.sentencesLatch = sentencesLatch;
 	}
 
 	@Override
@@ -98,7 +94,6 @@ public class SentenceChunkerRun implements Callable<ChunkCollector> {
 		} catch (Exception e) {
 			log(LogLevel.ERROR, "Problem chunking sentencence: " + sentenceString + "\nSentence is contained in file: " + source, e);
 		} 
-		this.sentencesLatch.countDown();
 		return result;
 	}
 	
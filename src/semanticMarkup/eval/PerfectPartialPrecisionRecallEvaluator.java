@@ -2,8 +2,15 @@ package semanticMarkup.eval;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -11,9 +18,10 @@ import javax.xml.bind.Unmarshaller;
 
 import org.eclipse.persistence.jaxb.JAXBContextProperties;
 
-import semanticMarkup.eval.matcher.IMatcher;
-import semanticMarkup.eval.metric.PrecisionCalculator;
-import semanticMarkup.eval.metric.RecallCalculator;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+import semanticMarkup.eval.metric.PrecisionRecallCalculator;
 import semanticMarkup.eval.model.Description;
 import semanticMarkup.eval.model.Structure;
 import semanticMarkup.eval.model.Character;
@@ -24,156 +32,150 @@ import semanticMarkup.eval.result.PrecisionRecallEvaluationResult;
 import semanticMarkup.eval.result.PrecisionRecallResult;
 import semanticMarkup.log.LogLevel;
 
+/**
+ * PerfectPartialPrecisionRecallEvaluator evaluates structures, characters and relations of the test files against 
+ * the correct files of the same name by perfect and partial matching. Files are evaluated in parallel, the results 
+ * are reported in the order of the test files.
+ * @author rodenhausen
+ */
 public class PerfectPartialPrecisionRecallEvaluator implements IEvaluator {
 
+	private static final String[] resultNames = { "Perfect Structure", "Partial Structure", "Perfect Character", 
+		"Partial Character", "Perfect Relation", "Partial Relation" };
+	
+	private int parallelism;
+	private PrecisionRecallCalculator<Structure> perfectStructureCalculator = 
+			new PrecisionRecallCalculator<Structure>(new semanticMarkup.eval.matcher.perfect.StructureMatcher());
+	private PrecisionRecallCalculator<Structure> partialStructureCalculator = 
+			new PrecisionRecallCalculator<Structure>(new semanticMarkup.eval.matcher.partial.StructureMatcher());
+	private PrecisionRecallCalculator<Character> perfectCharacterCalculator = 
+			new PrecisionRecallCalculator<Character>(new semanticMarkup.eval.matcher.perfect.CharacterMatcher());
+	private PrecisionRecallCalculator<Character> partialCharacterCalculator = 
+			new PrecisionRecallCalculator<Character>(new semanticMarkup.eval.matcher.partial.CharacterMatcher());
+	private PrecisionRecallCalculator<Relation> perfectRelationCalculator = 
+			new PrecisionRecallCalculator<Relation>(new semanticMarkup.eval.matcher.perfect.RelationMatcher());
+	private PrecisionRecallCalculator<Relation> partialRelationCalculator = 
+			new PrecisionRecallCalculator<Relation>(new semanticMarkup.eval.matcher.partial.RelationMatcher());
+	
+	public PerfectPartialPrecisionRecallEvaluator() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * @param parallelism the number of files to evaluate at a time
+	 */
+	@Inject
+	public PerfectPartialPrecisionRecallEvaluator(@Named("Evaluator_parallelism") int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
 	@Override
-	public PerfectPartialPrecisionRecallEvaluationResult evaluate(String testDirectoryPath, String correctDirectoryPath) {		
+	public PerfectPartialPrecisionRecallEvaluationResult evaluate(String testDirectoryPath, final String correctDirectoryPath) {		
 		log(LogLevel.DEBUG, "evaluate using " + this.getDescription());
 		PerfectPartialPrecisionRecallEvaluationResult result = new PerfectPartialPrecisionRecallEvaluationResult();
-		PrecisionRecallEvaluationResult perfectStructureResult = new PrecisionRecallEvaluationResult();
-		PrecisionRecallEvaluationResult partialStructureResult = new PrecisionRecallEvaluationResult();
-		PrecisionRecallEvaluationResult perfectCharacterResult = new PrecisionRecallEvaluationResult();
-		PrecisionRecallEvaluationResult partialCharacterResult = new PrecisionRecallEvaluationResult();
-		PrecisionRecallEvaluationResult perfectRelationResult = new PrecisionRecallEvaluationResult();
-		PrecisionRecallEvaluationResult partialRelationResult = new PrecisionRecallEvaluationResult();
-		result.put("Perfect Structure", perfectStructureResult);
-		result.put("Partial Structure", partialStructureResult);
-		result.put("Perfect Character", perfectCharacterResult);
-		result.put("Partial Character", partialCharacterResult);
-		result.put("Perfect Relation", perfectRelationResult);
-		result.put("Partial Relation", partialRelationResult);
+		PrecisionRecallEvaluationResult[] results = new PrecisionRecallEvaluationResult[resultNames.length];
+		for(int i = 0; i < resultNames.length; i++) {
+			results[i] = new PrecisionRecallEvaluationResult();
+			result.put(resultNames[i], results[i]);
+		}
 		
-		Unmarshaller testUnmarshaller = getTestUnmarshaller();
-		Unmarshaller correctUnmarshaller = getCorrectUnmarshaller();
-		if(testUnmarshaller == null || correctUnmarshaller == null)
+		final JAXBContext testContext = getContext("testBindings.xml");
+		final JAXBContext correctContext = getContext("correctBindings.xml");
+		if(testContext == null || correctContext == null)
 			return result;
+		final ThreadLocal<Unmarshaller[]> unmarshallers = new ThreadLocal<Unmarshaller[]>();
 		
-		File testDirectory = new File(testDirectoryPath);
-		for(File testFile : testDirectory.listFiles()) {
-			log(LogLevel.DEBUG, "evaluate testfile " + testFile.getAbsolutePath());
-			File correctFile = new File(correctDirectoryPath + File.separator + testFile.getName());
-			if(!correctFile.exists()) {
-				log(LogLevel.INFO, testFile.getName() + " does not have a matching correct file");
-			} else {
-				Description correctDescription;
-				Description testDescription;
+		File[] testFiles = new File(testDirectoryPath).listFiles();
+		ExecutorService executorService = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+			private AtomicInteger threads = new AtomicInteger();
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "evaluator-" + threads.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		try {
+			List<Future<PrecisionRecallResult[]>> futureResults = new LinkedList<Future<PrecisionRecallResult[]>>();
+			for(final File testFile : testFiles) {
+				futureResults.add(executorService.submit(new Callable<PrecisionRecallResult[]>() {
+					@Override
+					public PrecisionRecallResult[] call() throws Exception {
+						Unmarshaller[] threadUnmarshallers = unmarshallers.get();
+						if(threadUnmarshallers == null) {
+							threadUnmarshallers = new Unmarshaller[] { testContext.createUnmarshaller(), correctContext.createUnmarshaller() };
+							unmarshallers.set(threadUnmarshallers);
+						}
+						return evaluate(testFile, correctDirectoryPath, threadUnmarshallers[0], threadUnmarshallers[1]);
+					}
+				}));
+			}
+			
+			int i = 0;
+			for(Future<PrecisionRecallResult[]> futureResult : futureResults) {
+				String source = testFiles[i++].getName();
+				PrecisionRecallResult[] fileResults;
 				try {
-					correctDescription = (Description) correctUnmarshaller.unmarshal(correctFile);
-					testDescription = (Description) testUnmarshaller.unmarshal(testFile);
-				} catch(JAXBException e) {
-					log(LogLevel.ERROR, "Could not unmarshall correct or test file in evaluation", e);
+					fileResults = futureResult.get();
+				} catch(Exception e) {
+					log(LogLevel.ERROR, "Problem evaluating " + source, e);
 					continue;
 				}
-				
-				String source = testFile.getName();
-				PrecisionRecallResult precisionRecallResult = evaluatePerfectStructure(testDescription.getStructures(), correctDescription.getStructures());
-				perfectStructureResult.put(source, precisionRecallResult);
-				precisionRecallResult = evaluatePartialStructure(testDescription.getStructures(), correctDescription.getStructures());
-				partialStructureResult.put(source, precisionRecallResult);
-				precisionRecallResult = evaluatePerfectCharacter(testDescription.getCharacters(), correctDescription.getCharacters());
-				perfectCharacterResult.put(source, precisionRecallResult);
-				precisionRecallResult = evaluatePartialCharacter(testDescription.getCharacters(), correctDescription.getCharacters());
-				partialCharacterResult.put(source, precisionRecallResult);
-				precisionRecallResult = evaluatePerfectRelation(testDescription.getRelations(), correctDescription.getRelations());
-				perfectRelationResult.put(source, precisionRecallResult);
-				precisionRecallResult = evaluatePartialRelation(testDescription.getRelations(), correctDescription.getRelations());
-				partialRelationResult.put(source, precisionRecallResult);
+				if(fileResults != null)
+					for(int j = 0; j < fileResults.length; j++)
+						results[j].put(source, fileResults[j]);
 			}
+		} finally {
+			executorService.shutdownNow();
 		}
 
-		log(LogLevel.DEBUG, result.toString());
+		if(isLogEnabled(LogLevel.DEBUG))
+			log(LogLevel.DEBUG, result.toString());
 		return result;
 	}
 
-	private Unmarshaller getCorrectUnmarshaller() {
-		Unmarshaller correctUnmarshaller = null;
+	/**
+	 * @return the results of the testFile in the order of resultNames or null if it could not be evaluated
+	 */
+	private PrecisionRecallResult[] evaluate(File testFile, String correctDirectoryPath, Unmarshaller testUnmarshaller, 
+			Unmarshaller correctUnmarshaller) {
+		log(LogLevel.DEBUG, "evaluate testfile " + testFile.getAbsolutePath());
+		File correctFile = new File(correctDirectoryPath + File.separator + testFile.getName());
+		if(!correctFile.exists()) {
+			log(LogLevel.INFO, testFile.getName() + " does not have a matching correct file");
+			return null;
+		}
+		Description correctDescription;
+		Description testDescription;
 		try {
-			Map<String, Object> properties = new HashMap<String, Object>(1);
-			properties.put(JAXBContextProperties.OXM_METADATA_SOURCE , "resources" + File.separator + "eval" + File.separator + "correctBindings.xml");
-			JAXBContext correctJaxbContext = JAXBContext.newInstance(new Class[] {Description.class}, properties);
-			correctUnmarshaller = correctJaxbContext.createUnmarshaller(); 
-
+			correctDescription = (Description) correctUnmarshaller.unmarshal(correctFile);
+			testDescription = (Description) testUnmarshaller.unmarshal(testFile);
 		} catch(JAXBException e) {
-			log(LogLevel.ERROR, "Could not create JAXBContext or Unmarshaller for evaluation", e);
+			log(LogLevel.ERROR, "Could not unmarshall correct or test file in evaluation", e);
+			return null;
 		}
-		return correctUnmarshaller;
+		
+		return new PrecisionRecallResult[] {
+			perfectStructureCalculator.getResult(testDescription.getStructures(), correctDescription.getStructures()),
+			partialStructureCalculator.getResult(testDescription.getStructures(), correctDescription.getStructures()),
+			perfectCharacterCalculator.getResult(testDescription.getCharacters(), correctDescription.getCharacters()),
+			partialCharacterCalculator.getResult(testDescription.getCharacters(), correctDescription.getCharacters()),
+			perfectRelationCalculator.getResult(testDescription.getRelations(), correctDescription.getRelations()),
+			partialRelationCalculator.getResult(testDescription.getRelations(), correctDescription.getRelations())
+		};
 	}
 
-	private Unmarshaller getTestUnmarshaller() {
-		Unmarshaller testUnmarshaller = null;
+	private JAXBContext getContext(String bindingsFile) {
 		try {
 			Map<String, Object> properties = new HashMap<String, Object>(1);
-			properties.put(JAXBContextProperties.OXM_METADATA_SOURCE , "resources" + File.separator + "eval" + File.separator + "testBindings.xml");
-			JAXBContext testJaxbContext = JAXBContext.newInstance(new Class[] {Description.class}, properties);
-			testUnmarshaller = testJaxbContext.createUnmarshaller(); 
-
+			properties.put(JAXBContextProperties.OXM_METADATA_SOURCE , "resources" + File.separator + "eval" + File.separator + bindingsFile);
+			return JAXBContext.newInstance(new Class[] {Description.class}, properties);
 		} catch(JAXBException e) {
 			log(LogLevel.ERROR, "Could not create JAXBContext or Unmarshaller for evaluation", e);
 		}
-		return testUnmarshaller;
-	}
-
-	private PrecisionRecallResult evaluatePartialRelation(List<Relation> testRelations, List<Relation> correctRelations) {
-		log(LogLevel.DEBUG, "evaluate partial relations");
-		IMatcher<Relation> partialRelationMatcher = new semanticMarkup.eval.matcher.partial.RelationMatcher();
-		PrecisionCalculator<Relation> precisionCalculator = new PrecisionCalculator<Relation>(partialRelationMatcher);
-		RecallCalculator<Relation> recallCalculator = new RecallCalculator<Relation>(partialRelationMatcher);
-		double precision = precisionCalculator.getResult(testRelations, correctRelations);
-		double recall = recallCalculator.getResult(testRelations, correctRelations);
-		return new PrecisionRecallResult(precision, recall);
-	}
-
-	private PrecisionRecallResult evaluatePerfectRelation(List<Relation> testRelations, List<Relation> correctRelations) {
-		log(LogLevel.DEBUG, "evaluate perfect relations");
-		IMatcher<Relation> perfectRelationMatcher = new semanticMarkup.eval.matcher.perfect.RelationMatcher();
-		PrecisionCalculator<Relation> precisionCalculator = new PrecisionCalculator<Relation>(perfectRelationMatcher);
-		RecallCalculator<Relation> recallCalculator = new RecallCalculator<Relation>(perfectRelationMatcher);
-		double precision = precisionCalculator.getResult(testRelations, correctRelations);
-		double recall = recallCalculator.getResult(testRelations, correctRelations);
-		return new PrecisionRecallResult(precision, recall);
-	}
-
-	private PrecisionRecallResult evaluatePartialCharacter(List<Character> testCharacters, List<Character> correctCharacters) {
-		log(LogLevel.DEBUG, "evaluate partial characters");
-		IMatcher<Character> partialCharacterMatcher = new semanticMarkup.eval.matcher.partial.CharacterMatcher();		
-		PrecisionCalculator<Character> precisionCalculator = new PrecisionCalculator<Character>(partialCharacterMatcher);
-		RecallCalculator<Character> recallCalculator = new RecallCalculator<Character>(partialCharacterMatcher);
-		double precision = precisionCalculator.getResult(testCharacters, correctCharacters);
-		double recall = recallCalculator.getResult(testCharacters, correctCharacters);
-		return new PrecisionRecallResult(precision, recall);
+		return null;
 	}
 
-	private PrecisionRecallResult evaluatePerfectCharacter(List<Character> testCharacters, List<Character> correctCharacters) {
-		log(LogLevel.DEBUG, "evaluate perfect characters");
-		IMatcher<Character> perfectCharacterMatcher = new semanticMarkup.eval.matcher.perfect.CharacterMatcher();		
-		PrecisionCalculator<Character> precisionCalculator = new PrecisionCalculator<Character>(perfectCharacterMatcher);
-		RecallCalculator<Character> recallCalculator = new RecallCalculator<Character>(perfectCharacterMatcher);
-		double precision = precisionCalculator.getResult(testCharacters, correctCharacters);
-		double recall = recallCalculator.getResult(testCharacters, correctCharacters);
-		return new PrecisionRecallResult(precision, recall);
-	}
-
-	private PrecisionRecallResult evaluatePartialStructure(List<Structure> testStructures, List<Structure> correctStructures) {
-		log(LogLevel.DEBUG, "evaluate partial structures");
-		IMatcher<Structure> partialStructureMatcher = new semanticMarkup.eval.matcher.partial.StructureMatcher();
-		PrecisionCalculator<Structure> precisionCalculator = new PrecisionCalculator<Structure>(partialStructureMatcher);
-		RecallCalculator<Structure> recallCalculator = new RecallCalculator<Structure>(partialStructureMatcher);
-		double precision = precisionCalculator.getResult(testStructures, correctStructures);
-		double recall = recallCalculator.getResult(testStructures, correctStructures);
-		return new PrecisionRecallResult(precision, recall);	
-	}
-
-	private PrecisionRecallResult evaluatePerfectStructure(List<Structure> testStructures, List<Structure> correctStructures) {
-		log(LogLevel.DEBUG, "evaluate perfect structures");
-		IMatcher<Structure> perfectStructureMatcher = new semanticMarkup.eval.matcher.perfect.StructureMatcher();
-		PrecisionCalculator<Structure> precisionCalculator = new PrecisionCalculator<Structure>(perfectStructureMatcher);
-		RecallCalculator<Structure> recallCalculator = new RecallCalculator<Structure>(perfectStructureMatcher);
-		double precision = precisionCalculator.getResult(testStructures, correctStructures);
-		double recall = recallCalculator.getResult(testStructures, correctStructures);
-		return new PrecisionRecallResult(precision, recall);
-	}
-
-
 	@Override
 	public String getDescription() {
 		return this.getClass().toString();
@@ -11,7 +11,7 @@ public abstract class AbstractMatcher {
 	protected boolean valuesNullOrContainedEitherWay(String attributeName, String valueA, String valueB) {
 		boolean result = (valueA == null && valueB == null) || 
 				((valueA != null && valueB != null) && 	(valueA.contains(valueB) || valueB.contains(valueA)));
-		if(!result) {
+		if(!result && isLogEnabled(LogLevel.DEBUG)) {
 			log(LogLevel.DEBUG, attributeName + "'s fault");
 		}
 		return result;
@@ -20,7 +20,7 @@ public abstract class AbstractMatcher {
 	protected boolean equalsOrNull(String attributeName, String valueA, String valueB) {
 		boolean result = Objects.equals(valueA, valueB);
 		
-		if(!result) {
+		if(!result && isLogEnabled(LogLevel.DEBUG)) {
 			log(LogLevel.DEBUG, attributeName + "'s fault");
 		}
 		return result;
@@ -29,7 +29,7 @@ public abstract class AbstractMatcher {
 	protected boolean areNotNull(String attributeName, Element elementA, Element elementB) {
 		boolean result = elementA != null && elementB != null;
 		
-		if(!result) {
+		if(!result && isLogEnabled(LogLevel.DEBUG)) {
 			log(LogLevel.DEBUG, attributeName + "'s fault");
 		}
 		return result;
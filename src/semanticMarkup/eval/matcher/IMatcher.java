@@ -6,4 +6,11 @@ public interface IMatcher<T extends Element> {
 
 	public boolean isMatch(T elementA, T elementB);
 	
+	/**
+	 * @param element
+	 * @return a key that is equal for any two elements that can match, or null if the element can not match any element. 
+	 * Allows to only compare elements of the same key
+	 */
+	public Object getKey(T element);
+	
 }
@@ -1,5 +1,7 @@
 package semanticMarkup.eval.matcher.partial;
 
+import java.util.Arrays;
+
 import semanticMarkup.eval.matcher.AbstractMatcher;
 import semanticMarkup.eval.matcher.IMatcher;
 import semanticMarkup.eval.model.Character;
@@ -28,5 +30,19 @@ public class CharacterMatcher extends AbstractMatcher implements IMatcher<Charac
 				this.equalsOrNull("character toInclusive", characterA.getToInclusive(), characterB.getToInclusive());
 		return result;
 	}
+
+	/**
+	 * Values contained either way are either both null or both not null, the others have to be equal
+	 */
+	@Override
+	public Object getKey(Character character) {
+		if(character.getStructure() == null)
+			return null;
+		return Arrays.asList(structureMatcher.getKey(character.getStructure()), character.getCharType(), 
+				character.getConstraint() == null, character.getName() == null, character.getValue() == null, 
+				character.getModifier() == null, character.getFrom() == null, character.getTo() == null, 
+				character.getFromUnit(), character.getToUnit(), character.getUnit(), character.getUpperRestricted(), 
+				character.getFromInclusive(), character.getToInclusive());
+	}
 	
 }
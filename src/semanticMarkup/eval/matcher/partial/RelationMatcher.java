@@ -1,5 +1,6 @@
 package semanticMarkup.eval.matcher.partial;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 import semanticMarkup.eval.matcher.AbstractMatcher;
@@ -22,4 +23,15 @@ public class RelationMatcher extends AbstractMatcher implements IMatcher<Relatio
 		return result;
 	}
 
+	/**
+	 * Values contained either way are either both null or both not null, the others have to be equal
+	 */
+	@Override
+	public Object getKey(Relation relation) {
+		if(relation.getToStructure() == null || relation.getFromStructure() == null)
+			return null;
+		return Arrays.asList(structureMatcher.getKey(relation.getToStructure()), structureMatcher.getKey(relation.getFromStructure()), 
+				relation.getName() == null, relation.getNegation());
+	}
+
 }
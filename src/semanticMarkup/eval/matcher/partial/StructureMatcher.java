@@ -1,5 +1,7 @@
 package semanticMarkup.eval.matcher.partial;
 
+import java.util.Arrays;
+
 import semanticMarkup.eval.matcher.IMatcher;
 import semanticMarkup.eval.model.Structure;
 import semanticMarkup.eval.matcher.AbstractMatcher;
@@ -11,4 +13,12 @@ public class StructureMatcher extends AbstractMatcher implements IMatcher<Struct
 		boolean result = this.valuesNullOrContainedEitherWay("name", structureA.getName(), structureB.getName());
 		return result;
 	}
+
+	/**
+	 * Values contained either way are either both null or both not null
+	 */
+	@Override
+	public Object getKey(Structure structure) {
+		return Arrays.asList(structure.getName() == null);
+	}
 }
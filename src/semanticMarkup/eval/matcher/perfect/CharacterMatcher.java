@@ -1,5 +1,6 @@
 package semanticMarkup.eval.matcher.perfect;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 import semanticMarkup.eval.matcher.AbstractMatcher;
@@ -30,5 +31,15 @@ public class CharacterMatcher extends AbstractMatcher implements IMatcher<Charac
 				this.equalsOrNull("character toInclusive", characterA.getToInclusive(), characterB.getToInclusive());
 		return result;
 	}
+
+	@Override
+	public Object getKey(Character character) {
+		if(character.getStructure() == null)
+			return null;
+		return Arrays.asList(structureMatcher.getKey(character.getStructure()), character.getCharType(), 
+				character.getConstraint(), character.getName(), character.getValue(), character.getModifier(), 
+				character.getFrom(), character.getTo(), character.getFromUnit(), character.getToUnit(), character.getUnit(), 
+				character.getUpperRestricted(), character.getFromInclusive(), character.getToInclusive());
+	}
 	
 }
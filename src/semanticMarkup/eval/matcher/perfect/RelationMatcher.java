@@ -1,5 +1,6 @@
 package semanticMarkup.eval.matcher.perfect;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 import semanticMarkup.eval.matcher.AbstractMatcher;
@@ -24,6 +25,14 @@ public class RelationMatcher extends AbstractMatcher implements IMatcher<Relatio
 		return result;
 	}
 
+	@Override
+	public Object getKey(Relation relation) {
+		if(relation.getToStructure() == null || relation.getFromStructure() == null)
+			return null;
+		return Arrays.asList(structureMatcher.getKey(relation.getToStructure()), structureMatcher.getKey(relation.getFromStructure()), 
+				relation.getName(), relation.getNegation());
+	}
+
 
 
 }
@@ -1,5 +1,6 @@
 package semanticMarkup.eval.matcher.perfect;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 import semanticMarkup.eval.matcher.IMatcher;
@@ -15,4 +16,9 @@ public class StructureMatcher extends AbstractMatcher implements IMatcher<Struct
 				this.equalsOrNull("structure constraint", structureA.getConstraint(), structureB.getConstraint());
 		return result;
 	}
+
+	@Override
+	public Object getKey(Structure structure) {
+		return Arrays.asList(structure.getName(), structure.getConstraint());
+	}
 }
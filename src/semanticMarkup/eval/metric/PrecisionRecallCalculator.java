@@ -0,0 +1,105 @@
+package semanticMarkup.eval.metric;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import semanticMarkup.eval.matcher.IMatcher;
+import semanticMarkup.eval.model.Element;
+import semanticMarkup.eval.result.PrecisionRecallResult;
+import semanticMarkup.log.LogLevel;
+
+/**
+ * PrecisionRecallCalculator matches each test element to the first correct element left that it matches and 
+ * computes precision and recall from the one matching. Correct elements are bucketed by the key of the IMatcher, 
+ * so a test element is only compared to the correct elements it can match.
+ * @author rodenhausen
+ */
+public class PrecisionRecallCalculator<T extends Element> {
+
+	private IMatcher<T> matcher;
+
+	/**
+	 * @param matcher
+	 */
+	public PrecisionRecallCalculator(IMatcher<T> matcher) {
+		this.matcher = matcher;
+	}
+	
+	/**
+	 * @param testElements
+	 * @param correctElements
+	 * @return the precision and recall of the testElements
+	 */
+	public PrecisionRecallResult getResult(List<T> testElements, List<T> correctElements) {
+		int matches = getMatches(testElements, correctElements);
+		return new PrecisionRecallResult(getPrecision(matches, testElements.size()), getRecall(matches, correctElements.size()));
+	}
+	
+	/**
+	 * @param testElements
+	 * @param correctElements
+	 * @return the number of testElements matched to a distinct correct element
+	 */
+	public int getMatches(List<T> testElements, List<T> correctElements) {
+		Map<Object, LinkedList<T>> correctElementsLeft = new HashMap<Object, LinkedList<T>>();
+		for(T correctElement : correctElements) {
+			Object key = matcher.getKey(correctElement);
+			if(key == null)
+				continue;
+			LinkedList<T> candidates = correctElementsLeft.get(key);
+			if(candidates == null) {
+				candidates = new LinkedList<T>();
+				correctElementsLeft.put(key, candidates);
+			}
+			candidates.add(correctElement);
+		}
+		
+		int matches = 0;
+		for(T testElement : testElements) {
+			Object key = matcher.getKey(testElement);
+			LinkedList<T> candidates = key == null ? null : correctElementsLeft.get(key);
+			if(candidates == null)
+				continue;
+			Iterator<T> candidatesIterator = candidates.iterator();
+			while(candidatesIterator.hasNext()) {
+				if(matcher.isMatch(testElement, candidatesIterator.next())) {
+					candidatesIterator.remove();
+					matches++;
+					break;
+				}
+			}
+		}
+		
+		if(isLogEnabled(LogLevel.DEBUG))
+			log(LogLevel.DEBUG, matches + " Matches from " + testElements.size() + " given ones and " + 
+					correctElements.size() + " possibles");
+		return matches;
+	}
+	
+	/**
+	 * @param matches
+	 * @param testElements
+	 * @return the precision
+	 */
+	public static double getPrecision(int matches, int testElements) {
+		if(testElements == 0)
+			//one may want to treat the precisin calculation different in this case..
+			return 1.0;
+		return (float)matches / testElements;
+	}
+	
+	/**
+	 * @param matches
+	 * @param correctElements
+	 * @return the recall
+	 */
+	public static double getRecall(int matches, int correctElements) {
+		if(correctElements == 0) 
+			//one may want to treat the recall calculation different in this case..
+			return 1.0;
+		return (float)matches / correctElements;
+	}
+}
@@ -19,7 +19,6 @@ import java.awt.Color;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -35,6 +34,8 @@ import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.sql.DataSource;
+
 import org.apache.log4j.Logger;
 import org.apache.log4j.lf5.LogLevel;
 import org.eclipse.swt.SWT;
@@ -52,35 +53,26 @@ public class MainFormDbAccessor {
 
 	private static final Logger LOGGER = Logger
 			.getLogger(MainFormDbAccessor.class);
-	private static Connection connection = null;
+	private DataSource dataSource;
 	private String databaseName;
 	private String databasePrefix;
-	private String databasePassword;
-	private String databaseUser;
 
+	/**
+	 * @param dataSource to borrow a connection from for each access
+	 * @param databaseName
+	 * @param databasePrefix
+	 */
 	@Inject
-	public MainFormDbAccessor(@Named("databaseHost") String databaseHost,
-			@Named("databasePort") String databasePort,
-			@Named("databaseName")String databaseName, @Named("databaseUser")String databaseUser, 
-			@Named("databasePassword")String databasePassword, @Named("databasePrefix")String databasePrefix) {
+	public MainFormDbAccessor(DataSource dataSource, 
+			@Named("databaseName")String databaseName, @Named("databasePrefix")String databasePrefix) {
+		this.dataSource = dataSource;
 		this.databaseName = databaseName;
-		this.databaseUser = databaseUser;
-		this.databasePassword = databasePassword;
 		this.databasePrefix = databasePrefix;
-		
-		try {
-			Class.forName("com.mysql.jdbc.Driver");
-			String URL = "jdbc:mysql://" + databaseHost + ":" + databasePort + "/" + this.databaseName + "?user=" + this.databaseUser + "&password=" + 
-					this.databasePassword + "?connecttimeout=0&sockettimeout=0&autoreconnect=true";
-			connection = DriverManager.getConnection(URL);
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
 	}
 
 	public void createNonEQTable() {
 		// noneqterms table is refreshed for each data collection
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			Statement stmt = connection.createStatement();
 			stmt.execute("drop table if exists " + this.databasePrefix
 					+ "_noneqterms");
@@ -94,7 +86,7 @@ public class MainFormDbAccessor {
 	}
 
 	public void createTyposTable() {
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			Statement stmt = connection.createStatement();
 			;
 			String typotable = this.databasePrefix + "_typos";
@@ -116,10 +108,8 @@ public class MainFormDbAccessor {
 	 * @throws SQLException
 	 */
 	public void changePOStoB(List<String> removedTags) throws Exception {
-		// Connection conn = null;
 		PreparedStatement stmt = null;
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			String tablePrefix = MainForm.dataPrefixCombo.getText();
 			String sql = "update " + this.databasePrefix + "_wordpos "
 					+ "set pos = 'b' where word = ?";
@@ -146,12 +136,9 @@ public class MainFormDbAccessor {
 	 */
 	public void setUnknownTags(List<String> removedTags) throws Exception {
 
-		// Connection conn = null;
 		PreparedStatement stmt = null;
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 
-			// Class.forName(driverPath);
-			// conn = DriverManager.getConnection(url);
 			String tablePrefix = MainForm.dataPrefixCombo.getText();
 			String sql = "update " + tablePrefix
 					+ "_sentence set tag = 'unknown' where tag = ?";
@@ -176,10 +163,7 @@ public class MainFormDbAccessor {
 		ResultSet rs = null;
 		PreparedStatement stmt = null;
 		PreparedStatement stmt_select = null;
-		// Connection conn = null;
-		try {
-			// Class.forName(driverPath);
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			String tablePrefix = MainForm.dataPrefixCombo.getText();
 			String sql = "select distinct tag from "
 					+ tablePrefix
@@ -228,22 +212,15 @@ public class MainFormDbAccessor {
 	 * @throws SQLException
 	 */
 	public int loadTagsTableData(Table tagTable) throws Exception {
-
-		PreparedStatement stmt = null;
-		// Connection conn = null;
-		ResultSet rs = null;
-
-		try {
-			// Class.forName(driverPath);
-			// conn = DriverManager.getConnection(url);
-			String tablePrefix = MainForm.dataPrefixCombo.getText();
-			String sql = "select * from "
-					+ tablePrefix
-					+ "_sentence where tag = 'unknown' or isnull(tag) order by sentence";
-			stmt = connection.prepareStatement(sql);
-
+		String tablePrefix = MainForm.dataPrefixCombo.getText();
+		String sql = "select * from "
+				+ tablePrefix
+				+ "_sentence where tag = 'unknown' or isnull(tag) order by sentence";
+		
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement stmt = connection.prepareStatement(sql);
+				ResultSet rs = stmt.executeQuery()) {
 			int i = 0;
-			rs = stmt.executeQuery();
 			while (rs.next()) {
 				String sentid = rs.getString("sentid");
 				String tag = rs.getString("tag");
@@ -256,14 +233,6 @@ public class MainFormDbAccessor {
 
 		} catch (SQLException e) {
 			e.printStackTrace();
-		} finally {
-			if (rs != null) {
-				rs.close();
-			}
-
-			if (stmt != null) {
-				stmt.close();
-			}
 			return -1;
 		}
 	}
@@ -271,16 +240,13 @@ public class MainFormDbAccessor {
 	public void updateContextData(int sentid, StyledText contextStyledText)
 			throws Exception {
 
-		// Connection conn = null;
 		PreparedStatement stmt = null;
 		ResultSet rs = null;
 
 		String min = "" + (sentid - 2);
 		String max = "" + (sentid + 2);
 
-		try {
-			// Class.forName(driverPath);
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			String tablePrefix = MainForm.dataPrefixCombo.getText();
 			String sql = "select * from " + tablePrefix
 					+ "_sentence where sentid > ? and sentid < ?";
@@ -331,14 +297,11 @@ public class MainFormDbAccessor {
 	 */
 	public void saveTagData(Table tagTable) throws Exception {
 
-		// Connection conn = null;
 		PreparedStatement stmt = null;
 		PreparedStatement stmt_update = null;
 		ResultSet rs = null;
 
-		try {
-			// Class.forName(driverPath);
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 
 			for (TableItem item : tagTable.getItems()) {
 				String sentid = item.getText(1);
@@ -391,11 +354,9 @@ public class MainFormDbAccessor {
 	// added March 1st
 	public void glossaryPrefixRetriever(List<String> datasetPrefixes)
 			throws Exception {
-		// Connection conn = null;
 		Statement stmt = null;
 		ResultSet rset = null;
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			stmt = connection.createStatement();
 			;
 			rset = stmt
@@ -422,7 +383,6 @@ public class MainFormDbAccessor {
 	public void datasetPrefixRetriever(List<String> datasetPrefixes)
 			throws Exception {
 
-		// Connection conn = null;
 		Statement stmt = null;
 		ResultSet rset = null;
 
@@ -441,8 +401,7 @@ public class MainFormDbAccessor {
 				+ "option_chosen varchar(1) DEFAULT '', "
 				+ "PRIMARY KEY (prefix, time_last_accessed) ) ";
 
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			stmt = connection.createStatement();
 			;
 			stmt.execute(createprefixTable);
@@ -466,13 +425,11 @@ public class MainFormDbAccessor {
 
 	public String getLastAccessedDataSet(int option_chosen) throws Exception {
 
-		// Connection conn = null;
 		Statement stmt = null;
 		ResultSet rset = null;
 		String recent = null;
 
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			stmt = connection.createStatement();
 			;
 			rset = stmt
@@ -495,10 +452,6 @@ public class MainFormDbAccessor {
 			if (stmt != null) {
 				stmt.close();
 			}
-
-			if (connection != null) {
-				connection.close();
-			}
 		}
 
 		return recent;
@@ -507,11 +460,9 @@ public class MainFormDbAccessor {
 	public void saveOtherTerms(HashMap<String, String> otherTerms)
 			throws SQLException {
 
-		// Connection conn = null;
 		PreparedStatement stmt = null;
 		String tablePrefix = MainForm.dataPrefixCombo.getText();
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			String postable = this.databasePrefix + "_wordpos ";
 
 			stmt = connection.prepareStatement("insert into " + postable
@@ -542,11 +493,10 @@ public class MainFormDbAccessor {
 
 	public void savePrefixData(String prefix, String glossaryName,
 			int optionChosen) throws Exception {
-		// Connection conn = null;
 		PreparedStatement stmt = null;
 		ResultSet rset = null;
 
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			if (!prefix.equals("")) {
 				stmt = connection
 						.prepareStatement("select prefix from datasetprefix where prefix='"
@@ -598,12 +548,10 @@ public class MainFormDbAccessor {
 	public void loadStatusOfMarkUp(boolean[] markUpStatus, String dataPrefix)
 			throws Exception {
 
-		// Connection conn = null;
 		PreparedStatement stmt = null;
 		ResultSet rset = null;
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			if (dataPrefix != null && !dataPrefix.equals("")) {
-				// conn = DriverManager.getConnection(url);
 				stmt = connection
 						.prepareStatement("select * from datasetprefix where prefix ='"
 								+ dataPrefix + "'");
@@ -679,7 +627,6 @@ public class MainFormDbAccessor {
 	public void saveStatus(String tab, String prefix, boolean status)
 			throws SQLException {
 
-		// Connection conn = null;
 		PreparedStatement stmt = null;
 		int tabStatus = 0;
 		// Lookup
@@ -717,8 +664,7 @@ public class MainFormDbAccessor {
 			// status of 1 means yet to be loaded
 		}
 
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			System.out.println(tab);
 			System.out.println(tabStatus);
 			String query = "update datasetprefix set " + tab + "= "
@@ -739,11 +685,9 @@ public class MainFormDbAccessor {
 	}
 
 	public void removeDescriptorData(List<String> words) throws SQLException {
-		// Connection conn = null;
 		PreparedStatement pstmt = null;
 		String tablePrefix = MainForm.dataPrefixCombo.getText();
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			pstmt = connection.prepareStatement("delete from " + tablePrefix
 					+ "_wordpos where pos=? and word=?");
 			for (String word : words) {
@@ -764,13 +708,11 @@ public class MainFormDbAccessor {
 
 	public ArrayList<String> getUnknownWords() throws SQLException {
 
-		// Connection conn = null;
 		PreparedStatement stmt = null;
 		ResultSet rset = null;
 		ArrayList<String> unknownWords = new ArrayList<String>();
 		String tablePrefix = MainForm.dataPrefixCombo.getText();
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			stmt = connection.prepareStatement("select word from "
 					+ tablePrefix + "_unknownwords " + "where flag = ?");
 			stmt.setString(1, "unknown");
@@ -802,11 +744,9 @@ public class MainFormDbAccessor {
 	 */
 	public void saveTermRole(ArrayList<String> terms, String role, UUID last,
 			UUID current) throws SQLException {
-		// Connection conn = null;
 		PreparedStatement pstmt = null;
 		String tablePrefix = MainForm.dataPrefixCombo.getText();
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			String wordrolesable = this.databasePrefix + "_wordroles";
 			Statement stmt = connection.createStatement();
 			;
@@ -841,10 +781,9 @@ public class MainFormDbAccessor {
 
 	public void recordNonEQTerms(ArrayList<String> words, UUID last,
 			UUID current) throws SQLException {
-		// Connection conn = null;
 		PreparedStatement pstmt = null;
 		String tablePrefix = MainForm.dataPrefixCombo.getText();
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			Statement stmt = connection.createStatement();
 			;
 			if (last != null) {
@@ -926,11 +865,9 @@ public class MainFormDbAccessor {
 	 */
 
 	public void createWordRoleTable() {
-		// Connection conn = null;
 		Statement stmt = null;
 		String tablePrefix = MainForm.dataPrefixCombo.getText();
-		try {
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			stmt = connection.createStatement();
 			;
 			stmt.execute("drop table if exists " + this.databasePrefix
@@ -956,13 +893,10 @@ public class MainFormDbAccessor {
 	public void getContextData(String word, StyledText context)
 			throws Exception {
 
-		// Connection conn = null;
 		PreparedStatement stmt = null;
 		ResultSet rs = null;
 
-		try {
-			// Class.forName(driverPath);
-			// conn = DriverManager.getConnection(url);
+		try (Connection connection = dataSource.getConnection()) {
 			String tablePrefix = MainForm.dataPrefixCombo.getText();
 			word = word.replaceAll("_", "-");
 			String sql = "select source,originalsent from " + tablePrefix
@@ -1034,7 +968,7 @@ public class MainFormDbAccessor {
 	public int finalizeTermCategoryTable() {
 		String prefix = MainForm.dataPrefixCombo.getText();
 		int count = 0;
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			Statement stmt = connection.createStatement();
 			;
 			String q = "select distinct groupId, category from " + prefix
@@ -1056,10 +990,10 @@ public class MainFormDbAccessor {
 				while (rs2.next()) {
 					String t1 = rs2.getString(1);
 					String t2 = rs2.getString(2);
-					insert2TermCategoryTable(t1, cat);
+					insert2TermCategoryTable(connection, t1, cat);
 					count++;
 					if (t2 != null && t2.trim().length() > 0) {
-						insert2TermCategoryTable(t2, cat);
+						insert2TermCategoryTable(connection, t2, cat);
 						count++;
 					}
 				}
@@ -1076,7 +1010,7 @@ public class MainFormDbAccessor {
 			rs = stmt.executeQuery(q);
 			while (rs.next()) {
 				String t = rs.getString(1);
-				insert2TermCategoryTable(t, "structure");
+				insert2TermCategoryTable(connection, t, "structure");
 				count++;
 			}
 		} catch (Exception e) {
@@ -1085,14 +1019,15 @@ public class MainFormDbAccessor {
 		return count;
 	}
 
-	private void insert2TermCategoryTable(String term, String cat)
+	private void insert2TermCategoryTable(Connection connection, String term, String cat)
 			throws SQLException {
 		String sql = "insert into " + MainForm.dataPrefixCombo.getText().trim()
 				+ "_term_category(term, category) values (?,?)";
-		PreparedStatement pstmt = connection.prepareStatement(sql);
-		pstmt.setString(1, term);
-		pstmt.setString(2, cat);
-		pstmt.execute();
+		try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+			pstmt.setString(1, term);
+			pstmt.setString(2, cat);
+			pstmt.execute();
+		}
 	}
 
 	/**
@@ -1109,7 +1044,7 @@ public class MainFormDbAccessor {
 		while (en.hasMoreElements()) {
 			String typo = en.nextElement();
 			String correction = typos.get(typo);
-			try {
+			try (Connection connection = dataSource.getConnection()) {
 				// find sources
 				TreeSet<String> sources = typosources.get(typo);
 				PreparedStatement stmt = connection
@@ -1150,7 +1085,7 @@ public class MainFormDbAccessor {
 
 	public void correctTypoInTableWordMatch(String table, String column,
 			String typo, String correction, String PK) {
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			// mysql can't do word-based match, so had to update sentence one by
 			// one
 			PreparedStatement stmt = connection.prepareStatement("select " + PK
@@ -1195,7 +1130,7 @@ public class MainFormDbAccessor {
 
 	public void correctTypoInTableExactMatch(String table, String column,
 			String typo, String correction) {
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			String where = column + "='" + typo + "'";
 			String set = column + "='" + correction + "'";
 			PreparedStatement stmt = connection.prepareStatement("update "
@@ -1216,7 +1151,7 @@ public class MainFormDbAccessor {
 	 * @param correction
 	 */
 	public void insertTypo(String typo, String correction) {
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			PreparedStatement stmt = connection
 					.prepareStatement("select * from  " + this.databasePrefix
 							+ "_typos" + " where typo = ? and correction = ?");
@@ -1251,7 +1186,7 @@ public class MainFormDbAccessor {
 	 * @param typos
 	 */
 	public void readInTypos(Hashtable<String, String> typos) {
-		try {
+		try (Connection connection = dataSource.getConnection()) {
 			PreparedStatement stmt = connection
 					.prepareStatement("select typo, correction from "
 							+ this.databasePrefix + "_typos");
@@ -0,0 +1,32 @@
+package semanticMarkup.io;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+/**
+ * JAXBContextCache creates the JAXBContext of a package once per process. A JAXBContext is thread-safe and expensive to 
+ * create, Marshallers and Unmarshallers created from it are neither.
+ * @author rodenhausen
+ */
+public class JAXBContextCache {
+
+	private static ConcurrentHashMap<String, JAXBContext> contexts = new ConcurrentHashMap<String, JAXBContext>();
+	
+	/**
+	 * @param contextPath the package of the JAXB classes
+	 * @return the JAXBContext of the package
+	 * @throws JAXBException
+	 */
+	public static JAXBContext getContext(String contextPath) throws JAXBException {
+		JAXBContext context = contexts.get(contextPath);
+		if(context == null) {
+			context = JAXBContext.newInstance(contextPath);
+			JAXBContext previousContext = contexts.putIfAbsent(contextPath, context);
+			if(previousContext != null)
+				context = previousContext;
+		}
+		return context;
+	}
+}
@@ -0,0 +1,114 @@
+package semanticMarkup.io.db;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+import semanticMarkup.log.LogLevel;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * A BulkWriter loads rows into a table using a single prepared statement. Rows are sent in batches and a load is
+ * committed as one transaction. A batch that fails, e.g. because of a duplicate key, is rolled back and its rows are written 
+ * one by one, skipping the rows that fail as the former row by row inserts did. Any other failure rolls back the whole load.
+ * @author rodenhausen
+ */
+public class BulkWriter {
+
+	private int batchSize;
+
+	/**
+	 * @param batchSize the number of rows to send to the database at once
+	 */
+	@Inject
+	public BulkWriter(@Named("BulkWriter_batchSize") int batchSize) {
+		this.batchSize = Math.max(1, batchSize);
+	}
+	
+	/**
+	 * @param connection
+	 * @param sql the insert statement, having a parameter for each value of a row
+	 * @param rows the values of the rows in the order of the statement's parameters
+	 * @return the number of rows written
+	 * @throws SQLException if the load failed, the load is rolled back
+	 */
+	public int write(Connection connection, String sql, Iterable<Object[]> rows) throws SQLException {
+		boolean autoCommit = connection.getAutoCommit();
+		PreparedStatement preparedStatement = null;
+		int count = 0;
+		try {
+			connection.setAutoCommit(false);
+			preparedStatement = connection.prepareStatement(sql);
+			List<Object[]> batch = new ArrayList<Object[]>(batchSize);
+			for(Object[] row : rows) {
+				batch.add(row);
+				if(batch.size() == batchSize) {
+					count += executeBatch(connection, preparedStatement, batch, sql);
+					batch.clear();
+				}
+			}
+			if(!batch.isEmpty())
+				count += executeBatch(connection, preparedStatement, batch, sql);
+			connection.commit();
+		} catch(SQLException | RuntimeException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			if(preparedStatement != null)
+				preparedStatement.close();
+			connection.setAutoCommit(autoCommit);
+		}
+		return count;
+	}
+	
+	/**
+	 * @return the number of rows of the batch written
+	 */
+	private int executeBatch(Connection connection, PreparedStatement preparedStatement, List<Object[]> batch, String sql) throws SQLException {
+		Savepoint savepoint = connection.setSavepoint();
+		try {
+			for(Object[] row : batch) {
+				setParameters(preparedStatement, row);
+				preparedStatement.addBatch();
+			}
+			preparedStatement.executeBatch();
+			connection.releaseSavepoint(savepoint);
+			return batch.size();
+		} catch(BatchUpdateException e) {
+			preparedStatement.clearBatch();
+			connection.rollback(savepoint);
+		}
+		int count = 0;
+		for(Object[] row : batch) {
+			Savepoint rowSavepoint = connection.setSavepoint();
+			try {
+				setParameters(preparedStatement, row);
+				preparedStatement.executeUpdate();
+				connection.releaseSavepoint(rowSavepoint);
+				count++;
+			} catch(SQLException e) {
+				connection.rollback(rowSavepoint);
+				log(LogLevel.WARN, "Skipping row that could not be written by " + sql, e);
+			}
+		}
+		return count;
+	}
+	
+	private void setParameters(PreparedStatement preparedStatement, Object[] row) throws SQLException {
+		for(int i = 0; i < row.length; i++)
+			preparedStatement.setObject(i + 1, row[i]);
+	}
+	
+	/**
+	 * @return the number of rows sent to the database at once
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+}
@@ -0,0 +1,51 @@
+package semanticMarkup.io.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * An IConnectionProvider provides connections to the database storing the learner results and glossary tables
+ * @author rodenhausen
+ */
+public interface IConnectionProvider {
+
+	/**
+	 * @return a new, unpooled connection to the database
+	 * @throws SQLException
+	 */
+	public Connection getConnection() throws SQLException;
+	
+	/**
+	 * @return the JDBC URL of the database
+	 */
+	public String getUrl();
+	
+	/**
+	 * @return the user to connect as
+	 */
+	public String getUser();
+	
+	/**
+	 * @return the password of the user
+	 */
+	public String getPassword();
+	
+	/**
+	 * @param statementCacheSize the number of statements to cache per connection
+	 * @return the driver properties that enable caching of prepared statements
+	 */
+	public Properties getStatementCacheProperties(int statementCacheSize);
+	
+	/**
+	 * @return if the database is embedded in the process, so that it is not accessible by external processes e.g. perl
+	 */
+	public boolean isEmbedded();
+	
+	/**
+	 * @return the fetch size that makes a forward only, read only statement stream its result rows instead of 
+	 * reading them into memory at once
+	 */
+	public int getStreamingFetchSize();
+	
+}
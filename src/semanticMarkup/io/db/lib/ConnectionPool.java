@@ -0,0 +1,81 @@
+package semanticMarkup.io.db.lib;
+
+import semanticMarkup.io.db.IConnectionProvider;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * ConnectionPool is the DataSource shared by all classes accessing the database of the connection provider. 
+ * It bounds the number of open connections, validates a connection before handing it out, caches prepared statements
+ * and logs a warning with the stack trace of the borrower for connections that are not returned within the leak 
+ * detection threshold. Its usage metrics are also registered as MBean.
+ * Connections have to be closed after use to return them to the pool.
+ * @author rodenhausen
+ */
+public class ConnectionPool extends HikariDataSource {
+
+	/**
+	 * @param connectionProvider
+	 * @param maximumSize the maximum number of open connections
+	 * @param connectionTimeout the milliseconds to wait for a connection before failing
+	 * @param leakDetectionThreshold the milliseconds after which a borrowed connection is reported as possible leak, 
+	 * 0 to disable
+	 * @param statementCacheSize the number of prepared statements cached per connection
+	 */
+	@Inject
+	public ConnectionPool(IConnectionProvider connectionProvider, 
+			@Named("ConnectionPool_maximumSize") int maximumSize, 
+			@Named("ConnectionPool_connectionTimeout") long connectionTimeout, 
+			@Named("ConnectionPool_leakDetectionThreshold") long leakDetectionThreshold, 
+			@Named("ConnectionPool_statementCacheSize") int statementCacheSize) {
+		super(createConfig(connectionProvider, maximumSize, connectionTimeout, leakDetectionThreshold, statementCacheSize));
+	}
+	
+	private static HikariConfig createConfig(IConnectionProvider connectionProvider, int maximumSize, long connectionTimeout,
+			long leakDetectionThreshold, int statementCacheSize) {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName("charaparser");
+		config.setJdbcUrl(connectionProvider.getUrl());
+		config.setUsername(connectionProvider.getUser());
+		config.setPassword(connectionProvider.getPassword());
+		config.setDataSourceProperties(connectionProvider.getStatementCacheProperties(statementCacheSize));
+		config.setMaximumPoolSize(Math.max(1, maximumSize));
+		config.setMinimumIdle(1);
+		config.setConnectionTimeout(connectionTimeout);
+		config.setLeakDetectionThreshold(leakDetectionThreshold);
+		config.setRegisterMbeans(true);
+		return config;
+	}
+	
+	/**
+	 * @return the number of connections currently borrowed
+	 */
+	public int getActiveConnections() {
+		return getHikariPoolMXBean().getActiveConnections();
+	}
+	
+	/**
+	 * @return the number of open connections not currently borrowed
+	 */
+	public int getIdleConnections() {
+		return getHikariPoolMXBean().getIdleConnections();
+	}
+	
+	/**
+	 * @return the number of threads waiting for a connection
+	 */
+	public int getThreadsAwaitingConnection() {
+		return getHikariPoolMXBean().getThreadsAwaitingConnection();
+	}
+	
+	@Override
+	public String toString() {
+		HikariPoolMXBean pool = getHikariPoolMXBean();
+		return "maximum size: " + getMaximumPoolSize() + ", active connections: " + pool.getActiveConnections() + 
+				", idle connections: " + pool.getIdleConnections() + ", waiting threads: " + pool.getThreadsAwaitingConnection();
+	}
+}
@@ -0,0 +1,74 @@
+package semanticMarkup.io.db.lib;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import semanticMarkup.io.db.IConnectionProvider;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * EmbeddedConnectionProvider provides connections to an embedded, file-backed H2 database in the run directory, so that 
+ * single-node runs need no MySQL server and queries are executed in-process. H2 runs in MySQL compatibility mode, 
+ * the tables are created and queried with the same statements as on a MySQL server. Table names are case insensitive
+ * as on a MySQL server with lower_case_table_names set.
+ * @author rodenhausen
+ */
+public class EmbeddedConnectionProvider implements IConnectionProvider {
+
+	private String url;
+
+	/**
+	 * @param runRootDirectory the directory the database file is stored in
+	 * @throws ClassNotFoundException
+	 */
+	@Inject
+	public EmbeddedConnectionProvider(@Named("Run_RootDirectory") String runRootDirectory) throws ClassNotFoundException {
+		Class.forName("org.h2.Driver");
+		File file = new File(runRootDirectory, "learnerStore");
+		file.getParentFile().mkdirs();
+		this.url = "jdbc:h2:file:" + file.getAbsolutePath() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		return DriverManager.getConnection(url, getUser(), getPassword());
+	}
+
+	@Override
+	public String getUrl() {
+		return url;
+	}
+
+	@Override
+	public String getUser() {
+		return "sa";
+	}
+
+	@Override
+	public String getPassword() {
+		return "";
+	}
+
+	@Override
+	public Properties getStatementCacheProperties(int statementCacheSize) {
+		Properties properties = new Properties();
+		properties.setProperty("QUERY_CACHE_SIZE", String.valueOf(statementCacheSize));
+		return properties;
+	}
+
+	@Override
+	public boolean isEmbedded() {
+		return true;
+	}
+
+	@Override
+	public int getStreamingFetchSize() {
+		return 1000;
+	}
+
+}
@@ -0,0 +1,83 @@
+package semanticMarkup.io.db.lib;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import semanticMarkup.io.db.IConnectionProvider;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * MySQLConnectionProvider provides connections to a MySQL server
+ * @author rodenhausen
+ */
+public class MySQLConnectionProvider implements IConnectionProvider {
+
+	private String url;
+	private String databaseUser;
+	private String databasePassword;
+
+	/**
+	 * @param databaseHost
+	 * @param databasePort
+	 * @param databaseName
+	 * @param databaseUser
+	 * @param databasePassword
+	 * @throws ClassNotFoundException
+	 */
+	@Inject
+	public MySQLConnectionProvider(@Named("databaseHost") String databaseHost,
+			@Named("databasePort") String databasePort,
+			@Named("databaseName") String databaseName,
+			@Named("databaseUser") String databaseUser,
+			@Named("databasePassword") String databasePassword) throws ClassNotFoundException {
+		Class.forName("com.mysql.jdbc.Driver");
+		this.url = "jdbc:mysql://" + databaseHost + ":" + databasePort +"/" + databaseName + "?connectTimeout=0&socketTimeout=0&autoReconnect=true&rewriteBatchedStatements=true";
+		this.databaseUser = databaseUser;
+		this.databasePassword = databasePassword;
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		return DriverManager.getConnection(url, databaseUser, databasePassword);
+	}
+
+	@Override
+	public String getUrl() {
+		return url;
+	}
+
+	@Override
+	public String getUser() {
+		return databaseUser;
+	}
+
+	@Override
+	public String getPassword() {
+		return databasePassword;
+	}
+
+	@Override
+	public Properties getStatementCacheProperties(int statementCacheSize) {
+		Properties properties = new Properties();
+		properties.setProperty("cachePrepStmts", String.valueOf(statementCacheSize > 0));
+		properties.setProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+		properties.setProperty("prepStmtCacheSqlLimit", "2048");
+		return properties;
+	}
+
+	@Override
+	public boolean isEmbedded() {
+		return false;
+	}
+
+	@Override
+	public int getStreamingFetchSize() {
+		//Connector/J only streams rows one by one for this fetch size
+		return Integer.MIN_VALUE;
+	}
+
+}
@@ -0,0 +1,128 @@
+package semanticMarkup.io.input;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+
+import semanticMarkup.core.ITreatmentListener;
+import semanticMarkup.core.Treatment;
+import semanticMarkup.io.JAXBContextCache;
+import semanticMarkup.log.LogLevel;
+
+/**
+ * An AbstractJAXBVolumeReader reads a treatment from each XML file of a directory using JAXB. The JAXBContext of a 
+ * package is created once per process and Unmarshallers are kept per thread. Files are unmarshalled and transformed in 
+ * parallel, treatments are still handed over in the order of the files of the directory.
+ * @author rodenhausen
+ */
+public abstract class AbstractJAXBVolumeReader extends AbstractFileVolumeReader implements IStreamingVolumeReader {
+
+	private String contextPath;
+	private int parallelism;
+	private ThreadLocal<Unmarshaller> unmarshallers = new ThreadLocal<Unmarshaller>();
+
+	/**
+	 * @param filePath of the directory to read
+	 * @param contextPath the package of the JAXB classes
+	 * @param parallelism the number of files to read at a time
+	 */
+	public AbstractJAXBVolumeReader(String filePath, String contextPath, int parallelism) {
+		super(filePath);
+		this.contextPath = contextPath;
+		this.parallelism = Math.max(1, parallelism);
+	}
+	
+	@Override
+	public List<Treatment> read() throws Exception {
+		final List<Treatment> result = new ArrayList<Treatment>();
+		read(new ITreatmentListener() {
+			@Override
+			public void treatmentDone(Treatment treatment) {
+				result.add(treatment);
+			}
+		});
+		return result;
+	}
+
+	@Override
+	public void read(ITreatmentListener treatmentListener) throws Exception {
+		File[] files = new File(filePath).listFiles();
+		if(files == null)
+			throw new IllegalArgumentException("Not a directory: " + filePath);
+		
+		ExecutorService executorService = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, files.length)), 
+				new ThreadFactory() {
+			private AtomicInteger threads = new AtomicInteger();
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "volume-reader-" + threads.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		
+		//only a window of files is read ahead, so that treatments of large directories are not all held at once
+		LinkedList<Future<Treatment>> pendingReads = new LinkedList<Future<Treatment>>();
+		try {
+			for(File file : files) {
+				if(pendingReads.size() >= 4 * parallelism) 
+					treatmentListener.treatmentDone(getResult(pendingReads.removeFirst()));
+				pendingReads.add(executorService.submit(createReadTask(file)));
+			}
+			while(!pendingReads.isEmpty())
+				treatmentListener.treatmentDone(getResult(pendingReads.removeFirst()));
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+	
+	/**
+	 * @param xmlTreatment the unmarshalled JAXB object
+	 * @return the treatment
+	 */
+	protected abstract Treatment transformTreatment(Object xmlTreatment);
+	
+	private Callable<Treatment> createReadTask(final File file) {
+		return new Callable<Treatment>() {
+			@Override
+			public Treatment call() throws Exception {
+				try {
+					Treatment treatment = transformTreatment(getUnmarshaller().unmarshal(file));
+					treatment.setName(file.getName().split("\\.(?=[^\\.]+$)")[0]);
+					return treatment;
+				} catch(Exception e) {
+					log(LogLevel.ERROR, "Problem reading treatment file " + file.getName(), e);
+					throw e;
+				}
+			}
+		};
+	}
+
+	private Treatment getResult(Future<Treatment> pendingRead) throws Exception {
+		try {
+			return pendingRead.get();
+		} catch(ExecutionException e) {
+			throw e.getCause() instanceof Exception ? (Exception)e.getCause() : e;
+		}
+	}
+	
+	private Unmarshaller getUnmarshaller() throws JAXBException {
+		Unmarshaller unmarshaller = unmarshallers.get();
+		if(unmarshaller == null) {
+			unmarshaller = JAXBContextCache.getContext(contextPath).createUnmarshaller();
+			unmarshallers.set(unmarshaller);
+		}
+		return unmarshaller;
+	}
+}
@@ -45,6 +45,7 @@ public class GenericFileVolumeReader extends AbstractFileVolumeReader {
 	private String xmlSchemaFile;
 	private Map<Future<Boolean>, IVolumeReader> futureValidationResults = new HashMap<Future<Boolean>, IVolumeReader>();
 	private String iplantXmlSchemaFile;
+	private int volumeReaderParallelism;
 
 	/**
 	 * @param filePath
@@ -57,6 +58,8 @@ public class GenericFileVolumeReader extends AbstractFileVolumeReader {
 	 * @param floweringTimeTreatmentRefiner
 	 * @param taxonxSchemaFile
 	 * @param xmlSchemaFile
+	 * @param iplantXmlSchemaFile
+	 * @param volumeReaderParallelism
 	 */
 	@Inject
 	public GenericFileVolumeReader(@Named("GenericFileVolumeReader_Source") String filePath,
@@ -69,7 +72,8 @@ public class GenericFileVolumeReader extends AbstractFileVolumeReader {
 			FloweringTimeTreatmentRefiner floweringTimeTreatmentRefiner,
 			@Named("Taxonx_SchemaFile")String taxonxSchemaFile,
 			@Named("XML_SchemaFile")String xmlSchemaFile, 
-			@Named("iPlantXML_SchemaFile")String iplantXmlSchemaFile) {
+			@Named("iPlantXML_SchemaFile")String iplantXmlSchemaFile, 
+			@Named("VolumeReader_parallelism")int volumeReaderParallelism) {
 		super(filePath);
 		this.styleStartPattern = styleStartPattern;
 		this.styleNamePattern = styleNamePattern;
@@ -81,17 +85,18 @@ public class GenericFileVolumeReader extends AbstractFileVolumeReader {
 		this.taxonxSchemaFile = taxonxSchemaFile;
 		this.xmlSchemaFile = xmlSchemaFile;
 		this.iplantXmlSchemaFile = iplantXmlSchemaFile;
+		this.volumeReaderParallelism = volumeReaderParallelism;
 	}
 
 	@Override
 	public List<Treatment> read() throws Exception {
 		Map<ValidationRun, IVolumeReader> validationRuns = new HashMap<ValidationRun, IVolumeReader>();
 		validationRuns.put(new ValidationRun(new XMLVolumeValidator(new File(xmlSchemaFile)), new File(filePath)), 
-				new XMLVolumeReader(filePath));
+				new XMLVolumeReader(filePath, volumeReaderParallelism));
 		validationRuns.put(new ValidationRun(new TaxonxVolumeValidator(new File(taxonxSchemaFile)), new File(filePath)), 
 				new TaxonxVolumeReader(filePath));
 		validationRuns.put(new ValidationRun(new IPlantXmlVolumeValidator(new File(iplantXmlSchemaFile)), new File(filePath)),
-				new IPlantXMLVolumeReader(filePath));
+				new IPlantXMLVolumeReader(filePath, volumeReaderParallelism));
 		validationRuns.put(new ValidationRun(new WordVolumeValidator(), new File(filePath)),
 				new DocWordVolumeReader(filePath, styleStartPattern, styleNamePattern,
 						styleKeyPattern, tribegennamestyle, styleMappingFile, distributionTreatmentRefiner, floweringTimeTreatmentRefiner));
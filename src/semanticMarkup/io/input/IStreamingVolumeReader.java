@@ -0,0 +1,17 @@
+package semanticMarkup.io.input;
+
+import semanticMarkup.core.ITreatmentListener;
+
+/**
+ * IStreamingVolumeReader reads treatments one at a time and hands each of them over as soon as it has been read
+ * @author rodenhausen
+ */
+public interface IStreamingVolumeReader extends IVolumeReader {
+
+	/**
+	 * @param treatmentListener to notify of each treatment read
+	 * @throws Exception
+	 */
+	public void read(ITreatmentListener treatmentListener) throws Exception;
+	
+}
@@ -1,21 +1,43 @@
 package semanticMarkup.io.input.lib;
 
-import java.io.FileInputStream;
-import java.io.ObjectInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import semanticMarkup.core.ContainerTreatmentElement;
+import semanticMarkup.core.ITreatmentListener;
 import semanticMarkup.core.Treatment;
+import semanticMarkup.core.TreatmentElement;
+import semanticMarkup.core.ValueTreatmentElement;
+import semanticMarkup.core.description.DescriptionTreatmentElement;
+import semanticMarkup.core.description.DescriptionTreatmentElementType;
 import semanticMarkup.io.input.AbstractFileVolumeReader;
+import semanticMarkup.io.input.IStreamingVolumeReader;
+import semanticMarkup.io.output.lib.SerializedVolumeWriter;
 
 /**
- * SerializedVolumeReader reads a list of treatments from the output of a SerializedVolumeWriter
+ * SerializedVolumeReader reads treatments from the output of a SerializedVolumeWriter. The file is memory-mapped and 
+ * only its string table and record index are loaded up front, so a single treatment can be read by index without 
+ * decoding the others.
  * @author rodenhausen
  */
-public class SerializedVolumeReader extends AbstractFileVolumeReader {
+public class SerializedVolumeReader extends AbstractFileVolumeReader implements IStreamingVolumeReader {
 
+	private static DescriptionTreatmentElementType[] descriptionTypes = DescriptionTreatmentElementType.values();
+	
+	private MappedByteBuffer buffer;
+	private String[] strings;
+	private int[] treatmentOffsets;
+	
 	/**
 	 * @param filepath
 	 */
@@ -26,9 +48,141 @@ public class SerializedVolumeReader extends AbstractFileVolumeReader {
 
 	@Override
 	public List<Treatment> read() throws Exception {
-		ObjectInputStream inputStream = new ObjectInputStream(new FileInputStream(filePath + ".ser"));
-		List<Treatment> result = (List<Treatment>)inputStream.readObject();
-        inputStream.close();
-        return result;
+		final List<Treatment> result = new ArrayList<Treatment>(size());
+		read(new ITreatmentListener() {
+			@Override
+			public void treatmentDone(Treatment treatment) {
+				result.add(treatment);
+			}
+		});
+		return result;
+	}
+	
+	@Override
+	public void read(ITreatmentListener treatmentListener) throws Exception {
+		for(int i = 0; i < size(); i++)
+			treatmentListener.treatmentDone(read(i));
+	}
+	
+	/**
+	 * @return the number of treatments in the file
+	 * @throws IOException
+	 */
+	public int size() throws IOException {
+		open();
+		return treatmentOffsets.length;
+	}
+	
+	/**
+	 * @param index of the treatment in the order written
+	 * @return the treatment
+	 * @throws IOException
+	 */
+	public Treatment read(int index) throws IOException {
+		open();
+		ByteBuffer record = buffer.duplicate();
+		int offset = treatmentOffsets[index];
+		record.position(offset + 4);
+		record.limit(offset + 4 + buffer.getInt(offset));
+		return (Treatment)readElement(record);
+	}
+
+	private synchronized void open() throws IOException {
+		if(buffer != null)
+			return;
+		File file = new File(filePath + ".ser");
+		MappedByteBuffer buffer;
+		try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+			if(randomAccessFile.length() > Integer.MAX_VALUE)
+				throw new IOException("Treatment file too large to be mapped " + file);
+			buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+		}
+		int footer = buffer.capacity() - SerializedVolumeWriter.FOOTER_LENGTH;
+		if(footer < SerializedVolumeWriter.HEADER_LENGTH || buffer.getInt(0) != SerializedVolumeWriter.MAGIC || 
+				buffer.getInt(4) != SerializedVolumeWriter.FORMAT_VERSION || 
+				buffer.getInt(footer + 20) != SerializedVolumeWriter.MAGIC)
+			throw new IOException("Unknown or incomplete treatment file format " + file);
+		
+		int stringTableOffset = (int)buffer.getLong(footer);
+		int indexOffset = (int)buffer.getLong(footer + 8);
+		int size = buffer.getInt(footer + 16);
+		
+		strings = new String[buffer.getInt(stringTableOffset)];
+		int position = stringTableOffset + 4;
+		for(int i = 0; i < strings.length; i++) {
+			int length = buffer.getInt(position);
+			strings[i] = decode(buffer, position + 4, length);
+			position += 4 + length;
+		}
+		treatmentOffsets = new int[size];
+		for(int i = 0; i < size; i++)
+			treatmentOffsets[i] = (int)buffer.getLong(indexOffset + i * 8);
+		this.buffer = buffer;
+	}
+
+	private TreatmentElement readElement(ByteBuffer record) {
+		byte kind = record.get();
+		TreatmentElement treatmentElement;
+		switch(kind) {
+		case SerializedVolumeWriter.TREATMENT:
+			treatmentElement = new Treatment();
+			break;
+		case SerializedVolumeWriter.DESCRIPTION:
+			DescriptionTreatmentElement descriptionElement = new DescriptionTreatmentElement();
+			byte type = record.get();
+			if(type >= 0)
+				descriptionElement.setDescriptionType(descriptionTypes[type]);
+			treatmentElement = descriptionElement;
+			break;
+		case SerializedVolumeWriter.CONTAINER:
+			treatmentElement = new ContainerTreatmentElement();
+			break;
+		default:
+			treatmentElement = new ValueTreatmentElement();
+		}
+		
+		treatmentElement.setName(readStringReference(record));
+		int attributes = readVarInt(record);
+		for(int i = 0; i < attributes; i++)
+			treatmentElement.setAttribute(readStringReference(record), readStringReference(record));
+		
+		if(treatmentElement instanceof ContainerTreatmentElement) {
+			ContainerTreatmentElement containerElement = (ContainerTreatmentElement)treatmentElement;
+			int children = readVarInt(record);
+			for(int i = 0; i < children; i++)
+				containerElement.addTreatmentElement(readElement(record));
+		} else {
+			int length = readVarInt(record) - 1;
+			if(length >= 0) {
+				((ValueTreatmentElement)treatmentElement).setValue(decode(record, record.position(), length));
+				record.position(record.position() + length);
+			}
+		}
+		return treatmentElement;
+	}
+	
+	private String readStringReference(ByteBuffer record) {
+		int reference = readVarInt(record);
+		return reference == 0 ? null : strings[reference - 1];
+	}
+	
+	private int readVarInt(ByteBuffer record) {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = record.get();
+			value |= (b & 0x7f) << shift;
+			shift += 7;
+		} while((b & 0x80) != 0);
+		return value;
+	}
+	
+	private String decode(ByteBuffer buffer, int position, int length) {
+		byte[] bytes = new byte[length];
+		ByteBuffer source = buffer.duplicate();
+		source.position(position);
+		source.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
 	}
 }
@@ -1,48 +1,30 @@
 package semanticMarkup.io.input.lib.iplant;
 
-import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.Unmarshaller;
-
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
 import semanticMarkup.core.ContainerTreatmentElement;
 import semanticMarkup.core.Treatment;
 import semanticMarkup.core.ValueTreatmentElement;
-import semanticMarkup.io.input.AbstractFileVolumeReader;
+import semanticMarkup.io.input.AbstractJAXBVolumeReader;
 
-public class IPlantXMLVolumeReader extends AbstractFileVolumeReader  {
+public class IPlantXMLVolumeReader extends AbstractJAXBVolumeReader {
 
+	/**
+	 * @param filePath
+	 * @param parallelism
+	 */
 	@Inject
-	public IPlantXMLVolumeReader(@Named("IPlantXMLVolumeReader_Source") String filePath) {
-		super(filePath);
+	public IPlantXMLVolumeReader(@Named("IPlantXMLVolumeReader_Source") String filePath, 
+			@Named("VolumeReader_parallelism") int parallelism) {
+		super(filePath, "semanticMarkup.io.input.lib.iplant", parallelism);
 	}
 
 	@Override
-	public List<Treatment> read() throws Exception {
-		List<Treatment> result = new ArrayList<Treatment>();
-		JAXBContext jc = JAXBContext.newInstance("semanticMarkup.io.input.lib.iplant");
-        Unmarshaller u = jc.createUnmarshaller();
-        
-        File sourceDirectory = new File(filePath);
-		File[] files =  sourceDirectory.listFiles();
-		int total = files.length;
-		
-		for(int i = 0; i<total; i++) {
-			File file = files[i];
-	        semanticMarkup.io.input.lib.iplant.Treatment xmlTreatment = (semanticMarkup.io.input.lib.iplant.Treatment)u.unmarshal(file);
-	        Treatment treatment = transformTreatment(xmlTreatment);
-	        treatment.setName(file.getName().split("\\.(?=[^\\.]+$)")[0]);
-	        result.add(treatment);
-		}
-        return result;
-	}
-
-	private Treatment transformTreatment(semanticMarkup.io.input.lib.iplant.Treatment xmlTreatment) {
+	protected Treatment transformTreatment(Object xmlObject) {
+		semanticMarkup.io.input.lib.iplant.Treatment xmlTreatment = (semanticMarkup.io.input.lib.iplant.Treatment)xmlObject;
 		Treatment treatment = new Treatment();
 	
 		ContainerTreatmentElement metaTreatmentElement = new ContainerTreatmentElement("meta");
@@ -1,12 +1,8 @@
 package semanticMarkup.io.input.lib.xml;
 
-import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
-import javax.xml.bind.Unmarshaller;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
@@ -14,43 +10,27 @@ import com.google.inject.name.Named;
 import semanticMarkup.core.ContainerTreatmentElement;
 import semanticMarkup.core.Treatment;
 import semanticMarkup.core.ValueTreatmentElement;
-import semanticMarkup.io.input.AbstractFileVolumeReader;
+import semanticMarkup.io.input.AbstractJAXBVolumeReader;
 
 /**
  * XMLVolumeReader reads a list of treatments of type 2 that are valid against the XML Schema resources/io/FNAXMLSchemaInput.xml
  * @author rodenhausen
  */
-public class XMLVolumeReader extends AbstractFileVolumeReader {
+public class XMLVolumeReader extends AbstractJAXBVolumeReader {
 
 	/**
 	 * @param sourceDirectory
+	 * @param parallelism
 	 */
 	@Inject
-	public XMLVolumeReader(@Named("XMLVolumeReader_SourceDirectory")String sourceDirectory) {
-		super(sourceDirectory);
+	public XMLVolumeReader(@Named("XMLVolumeReader_SourceDirectory")String sourceDirectory, 
+			@Named("VolumeReader_parallelism") int parallelism) {
+		super(sourceDirectory, "semanticMarkup.io.input.lib.xml", parallelism);
 	}
 
 	@Override
-	public List<Treatment> read() throws Exception {
-		List<Treatment> result = new ArrayList<Treatment>();
-		JAXBContext jc = JAXBContext.newInstance("semanticMarkup.io.input.lib.xml");
-        Unmarshaller u = jc.createUnmarshaller();
-        
-        File sourceDirectory = new File(filePath);
-		File[] files =  sourceDirectory.listFiles();
-		int total = files.length;
-		
-		for(int i = 0; i<total; i++) {
-			File file = files[i];
-	        semanticMarkup.io.input.lib.xml.Treatment xmlTreatment = (semanticMarkup.io.input.lib.xml.Treatment)u.unmarshal(file);
-	        Treatment treatment = transformTreatment(xmlTreatment);
-	        treatment.setName(file.getName().split("\\.(?=[^\\.]+$)")[0]);
-	        result.add(treatment);
-		}
-        return result;
-	}
-
-	private Treatment transformTreatment(semanticMarkup.io.input.lib.xml.Treatment xmlTreatment) {
+	protected Treatment transformTreatment(Object xmlObject) {
+		semanticMarkup.io.input.lib.xml.Treatment xmlTreatment = (semanticMarkup.io.input.lib.xml.Treatment)xmlObject;
         Treatment treatment = new Treatment();
         treatment.addTreatmentElement(new ValueTreatmentElement("number", xmlTreatment.getNumber()));
 
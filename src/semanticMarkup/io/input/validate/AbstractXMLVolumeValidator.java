@@ -1,36 +1,88 @@
 package semanticMarkup.io.input.validate;
 
 import java.io.File;
-import java.io.FileReader;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.XMLConstants;
-import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
+import org.xml.sax.SAXException;
+
 import semanticMarkup.log.LogLevel;
 
 /**
- * AbstractXMLVolumeValidator provides functionality required by IVolumeValidators that validate XML format input
+ * AbstractXMLVolumeValidator provides functionality required by IVolumeValidators that validate XML format input. 
+ * A schema file is compiled once per process, the files of a directory are validated in parallel.
  * @author rodenhausen
  */
 public abstract class AbstractXMLVolumeValidator implements IVolumeValidator {
 
+	private static ConcurrentHashMap<String, Schema> schemas = new ConcurrentHashMap<String, Schema>();
+	
 	public abstract boolean validate(File file);
 
 	protected boolean validateXMLFileWithSchema(File xmlFile, File schemaFile) {
-		try {			
-			SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-			Source schemaSource = new StreamSource(schemaFile);
-			Schema schema = factory.newSchema(schemaSource);
-			Validator validator = schema.newValidator();
-			validator.validate(new StreamSource(new FileReader(xmlFile)));
+		try {
+			Validator validator = getSchema(schemaFile).newValidator();
+			validator.validate(new StreamSource(xmlFile));
 			return true;
 		} catch (Exception e) {
 			log(LogLevel.DEBUG, "Problem validating XML against schema", e);
 			return false;
 		}
 	}
+	
+	/**
+	 * @param xmlFiles
+	 * @param schemaFile
+	 * @return true if all of the xmlFiles are valid against the schema. Validation stops at the first invalid file
+	 */
+	protected boolean validateXMLFilesWithSchema(File[] xmlFiles, final File schemaFile) {
+		if(xmlFiles.length == 0)
+			return true;
+		int parallelism = Math.min(xmlFiles.length, Runtime.getRuntime().availableProcessors());
+		ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+		try {
+			List<Future<Boolean>> results = new LinkedList<Future<Boolean>>();
+			for(final File xmlFile : xmlFiles) {
+				results.add(executorService.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						return validateXMLFileWithSchema(xmlFile, schemaFile);
+					}
+				}));
+			}
+			for(Future<Boolean> result : results) 
+				if(!result.get())
+					return false;
+			return true;
+		} catch (Exception e) {
+			log(LogLevel.DEBUG, "Problem validating XML against schema", e);
+			return false;
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private static Schema getSchema(File schemaFile) throws SAXException {
+		String key = schemaFile.getAbsolutePath();
+		Schema schema = schemas.get(key);
+		if(schema == null) {
+			SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+			schema = factory.newSchema(new StreamSource(schemaFile));
+			Schema previousSchema = schemas.putIfAbsent(key, schema);
+			if(previousSchema != null)
+				schema = previousSchema;
+		}
+		return schema;
+	}
 }
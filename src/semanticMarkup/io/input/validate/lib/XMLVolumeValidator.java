@@ -25,15 +25,7 @@ public class XMLVolumeValidator extends AbstractXMLVolumeValidator {
 		if(!directory.isDirectory())
 			return false;
 		
-		File[] files =  directory.listFiles();
-		int total = files.length;
-		
-		boolean result = true;
-		for(int i = 0; i<total; i++) {
-			File file = files[i];
-			result &= validateXMLFileWithSchema(file, xmlSchemaFile);
-		}
-		return result;
+		return validateXMLFilesWithSchema(directory.listFiles(), xmlSchemaFile);
 	}
 
 }
@@ -0,0 +1,143 @@
+package semanticMarkup.io.output;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import semanticMarkup.core.Treatment;
+import semanticMarkup.core.transformation.lib.description.MarkupManifest;
+import semanticMarkup.io.JAXBContextCache;
+import semanticMarkup.log.LogLevel;
+
+/**
+ * An AbstractJAXBVolumeWriter writes each treatment to its own XML file using JAXB. The JAXBContext of a package is 
+ * created once per process and Marshallers are kept per thread. Treatments are transformed and written in parallel: 
+ * write(Treatment) returns immediately, so a treatment is written while later treatments are still being marked up. 
+ * close() waits until all treatments are written and shuts down the threads, the next write starts new ones. 
+ * Treatments whose output of the last run is reused according to the MarkupManifest are not written.
+ * @author rodenhausen
+ */
+public abstract class AbstractJAXBVolumeWriter extends AbstractFileVolumeWriter implements IStreamingVolumeWriter {
+
+	private String contextPath;
+	private MarkupManifest markupManifest;
+	private int parallelism;
+	private ExecutorService executorService;
+	private ConcurrentLinkedQueue<Future<Void>> pendingWrites = new ConcurrentLinkedQueue<Future<Void>>();
+	private ThreadLocal<Marshaller> marshallers = new ThreadLocal<Marshaller>();
+
+	/**
+	 * @param outDirectory
+	 * @param contextPath the package of the JAXB classes
+	 * @param parallelism the number of treatments to write at a time
+	 * @param markupManifest of the treatments whose output of the last run is reused and not written again, may be null
+	 */
+	public AbstractJAXBVolumeWriter(String outDirectory, String contextPath, int parallelism, MarkupManifest markupManifest) {
+		super(outDirectory);
+		this.contextPath = contextPath;
+		this.markupManifest = markupManifest;
+		this.parallelism = Math.max(1, parallelism);
+	}
+	
+	@Override
+	public void write(List<Treatment> treatments) throws Exception {
+		for(Treatment treatment : treatments) 
+			write(treatment);
+		close();
+	}
+	
+	@Override
+	public void write(final Treatment treatment) throws Exception {
+		if(markupManifest != null && markupManifest.isReused(treatment.getName()))
+			return;
+		pendingWrites.add(getExecutorService().submit(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				try {
+					writeFile(treatment);
+				} catch(Exception e) {
+					log(LogLevel.ERROR, "Problem writing treatment " + treatment.getName(), e);
+					throw e;
+				}
+				return null;
+			}
+		}));
+	}
+
+	@Override
+	public void close() throws Exception {
+		Exception exception = null;
+		Future<Void> pendingWrite;
+		while((pendingWrite = pendingWrites.poll()) != null) {
+			try {
+				pendingWrite.get();
+			} catch(ExecutionException e) {
+				if(exception == null)
+					exception = e.getCause() instanceof Exception ? (Exception)e.getCause() : e;
+			}
+		}
+		synchronized(this) {
+			if(executorService != null) {
+				executorService.shutdown();
+				executorService = null;
+			}
+		}
+		if(exception != null)
+			throw exception;
+	}
+	
+	/**
+	 * @return the threads writing the treatments of the current batch, started with its first treatment
+	 */
+	private synchronized ExecutorService getExecutorService() {
+		if(executorService == null) 
+			executorService = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+				private AtomicInteger threads = new AtomicInteger();
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "volume-writer-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		return executorService;
+	}
+	
+	/**
+	 * @param treatment
+	 * @return the JAXB object to marshal for the treatment
+	 */
+	protected abstract Object transformTreatment(Treatment treatment);
+	
+	private void writeFile(Treatment treatment) throws Exception {
+		Object xmlTreatment = transformTreatment(treatment);
+		File file = new File(outDirectory + File.separator + treatment.getName() + ".xml");
+		file.getParentFile().mkdirs();
+		try(OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+			getMarshaller().marshal(xmlTreatment, outputStream);
+		}
+	}
+
+	private Marshaller getMarshaller() throws JAXBException {
+		Marshaller marshaller = marshallers.get();
+		if(marshaller == null) {
+			marshaller = JAXBContextCache.getContext(contextPath).createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+			marshallers.set(marshaller);
+		}
+		return marshaller;
+	}
+}
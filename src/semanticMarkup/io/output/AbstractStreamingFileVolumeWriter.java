@@ -0,0 +1,95 @@
+package semanticMarkup.io.output;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import semanticMarkup.core.Treatment;
+
+/**
+ * An AbstractStreamingFileVolumeWriter writes all treatments of a volume to a single file, one treatment at a time, 
+ * so that only the treatment currently written has to be held in memory. The file is opened with the first treatment 
+ * and completed by close(). Optionally the file is gzip compressed.
+ * @author rodenhausen
+ */
+public abstract class AbstractStreamingFileVolumeWriter extends AbstractFileVolumeWriter implements IStreamingVolumeWriter {
+
+	private String fileName;
+	private boolean gzip;
+	private OutputStream outputStream;
+
+	/**
+	 * @param outDirectory
+	 * @param fileName of the file to write to, ".gz" is appended if gzip is set
+	 * @param gzip whether to compress the file
+	 */
+	public AbstractStreamingFileVolumeWriter(String outDirectory, String fileName, boolean gzip) {
+		super(outDirectory);
+		this.fileName = fileName;
+		this.gzip = gzip;
+	}
+	
+	@Override
+	public void write(List<Treatment> treatments) throws Exception {
+		for(Treatment treatment : treatments) 
+			write(treatment);
+		close();
+	}
+	
+	@Override
+	public synchronized void write(Treatment treatment) throws Exception {
+		if(outputStream == null)
+			open();
+		writeTreatment(treatment);
+	}
+
+	@Override
+	public synchronized void close() throws Exception {
+		if(outputStream == null)
+			open();
+		try {
+			endVolume();
+		} finally {
+			outputStream.close();
+			outputStream = null;
+		}
+	}
+	
+	/**
+	 * @return the file written to
+	 */
+	public File getFile() {
+		return new File(outDirectory + File.separator + fileName + (gzip ? ".gz" : ""));
+	}
+	
+	/**
+	 * Called once before the first treatment is written
+	 * @param outputStream to write the volume to
+	 * @throws Exception
+	 */
+	protected abstract void startVolume(OutputStream outputStream) throws Exception;
+	
+	/**
+	 * @param treatment to write
+	 * @throws Exception
+	 */
+	protected abstract void writeTreatment(Treatment treatment) throws Exception;
+	
+	/**
+	 * Called once after the last treatment has been written, before the file is closed
+	 * @throws Exception
+	 */
+	protected abstract void endVolume() throws Exception;
+	
+	private void open() throws Exception {
+		File file = getFile();
+		file.getParentFile().mkdirs();
+		outputStream = new BufferedOutputStream(Files.newOutputStream(file.toPath()));
+		if(gzip)
+			outputStream = new GZIPOutputStream(outputStream, 65536);
+		startVolume(outputStream);
+	}
+}
@@ -0,0 +1,23 @@
+package semanticMarkup.io.output;
+
+import semanticMarkup.core.Treatment;
+
+/**
+ * IStreamingVolumeWriter writes treatments out one at a time, so that a treatment can be written as soon as it is done
+ * @author rodenhausen
+ */
+public interface IStreamingVolumeWriter extends IVolumeWriter {
+
+	/**
+	 * @param treatment to write
+	 * @throws Exception
+	 */
+	public void write(Treatment treatment) throws Exception;
+	
+	/**
+	 * Finishes the output after the last treatment has been written
+	 * @throws Exception
+	 */
+	public void close() throws Exception;
+	
+}
@@ -1,21 +1,55 @@
 package semanticMarkup.io.output.lib;
 
-import java.io.FileOutputStream;
-import java.io.ObjectOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import semanticMarkup.core.ContainerTreatmentElement;
 import semanticMarkup.core.Treatment;
+import semanticMarkup.core.TreatmentElement;
+import semanticMarkup.core.ValueTreatmentElement;
+import semanticMarkup.core.description.DescriptionTreatmentElement;
 import semanticMarkup.io.output.AbstractFileVolumeWriter;
+import semanticMarkup.io.output.IStreamingVolumeWriter;
 
 /**
- * SerializedVolumeWriter java serializes treatments and writes them out
+ * SerializedVolumeWriter writes treatments to a compact binary file that can be read by a SerializedVolumeReader. 
+ * The file consists of a header, a length-prefixed record per treatment, a table of the distinct element names and 
+ * attributes the records refer to by index, an index of the record offsets and a footer locating table and index. 
+ * Treatments are written as they are handed over, so the file can serve as checkpoint of a streaming run.
  * @author rodenhausen
  */
-public class SerializedVolumeWriter extends AbstractFileVolumeWriter {
+public class SerializedVolumeWriter extends AbstractFileVolumeWriter implements IStreamingVolumeWriter {
 
+	public static final int MAGIC = 0x54524d54;
+	public static final int FORMAT_VERSION = 1;
+	public static final int HEADER_LENGTH = 8;
+	public static final int FOOTER_LENGTH = 24;
+	public static final byte TREATMENT = 0;
+	public static final byte CONTAINER = 1;
+	public static final byte VALUE = 2;
+	public static final byte DESCRIPTION = 3;
+	
+	private DataOutputStream outputStream;
+	private long position;
+	private Map<String, Integer> stringIndices = new HashMap<String, Integer>();
+	private List<String> strings = new ArrayList<String>();
+	private List<Long> treatmentOffsets = new ArrayList<Long>();
+	private ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+	private DataOutputStream record = new DataOutputStream(recordBuffer);
+	
 	/**
 	 * @param outDirectory
 	 */
@@ -26,9 +60,124 @@ public class SerializedVolumeWriter extends AbstractFileVolumeWriter {
 
 	@Override
 	public void write(List<Treatment> treatments) throws Exception {
-		ObjectOutputStream outputStream = new ObjectOutputStream(new FileOutputStream(outDirectory + ".ser"));
-		outputStream.writeObject(treatments);
-		outputStream.close();
+		for(Treatment treatment : treatments)
+			write(treatment);
+		close();
 	}
 
+	@Override
+	public synchronized void write(Treatment treatment) throws Exception {
+		if(outputStream == null)
+			open();
+		recordBuffer.reset();
+		writeElement(treatment);
+		outputStream.writeInt(recordBuffer.size());
+		recordBuffer.writeTo(outputStream);
+		treatmentOffsets.add(position);
+		position += 4 + recordBuffer.size();
+	}
+
+	@Override
+	public synchronized void close() throws Exception {
+		if(outputStream == null)
+			open();
+		try {
+			long stringTableOffset = position;
+			outputStream.writeInt(strings.size());
+			position += 4;
+			for(String string : strings) {
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				outputStream.writeInt(bytes.length);
+				outputStream.write(bytes);
+				position += 4 + bytes.length;
+			}
+			long indexOffset = position;
+			for(long treatmentOffset : treatmentOffsets)
+				outputStream.writeLong(treatmentOffset);
+			outputStream.writeLong(stringTableOffset);
+			outputStream.writeLong(indexOffset);
+			outputStream.writeInt(treatmentOffsets.size());
+			outputStream.writeInt(MAGIC);
+		} finally {
+			outputStream.close();
+			outputStream = null;
+			stringIndices.clear();
+			strings.clear();
+			treatmentOffsets.clear();
+		}
+	}
+	
+	private void open() throws IOException {
+		File file = new File(outDirectory + ".ser");
+		if(file.getParentFile() != null)
+			file.getParentFile().mkdirs();
+		outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath()), 65536));
+		outputStream.writeInt(MAGIC);
+		outputStream.writeInt(FORMAT_VERSION);
+		position = HEADER_LENGTH;
+	}
+
+	private void writeElement(TreatmentElement treatmentElement) throws IOException {
+		if(treatmentElement instanceof Treatment) {
+			record.writeByte(TREATMENT);
+		} else if(treatmentElement instanceof DescriptionTreatmentElement) {
+			record.writeByte(DESCRIPTION);
+			DescriptionTreatmentElement descriptionElement = (DescriptionTreatmentElement)treatmentElement;
+			record.writeByte(descriptionElement.getDescriptionTreatmentElementType() == null ? -1 : 
+				descriptionElement.getDescriptionTreatmentElementType().ordinal());
+		} else if(treatmentElement instanceof ContainerTreatmentElement) {
+			record.writeByte(CONTAINER);
+		} else {
+			record.writeByte(VALUE);
+		}
+		
+		writeStringReference(treatmentElement.getName());
+		writeVarInt(treatmentElement.getAttributes().size());
+		for(Entry<String, String> attribute : treatmentElement.getAttributes().entrySet()) {
+			writeStringReference(attribute.getKey());
+			writeStringReference(attribute.getValue());
+		}
+		
+		if(treatmentElement instanceof ContainerTreatmentElement) {
+			List<TreatmentElement> children = ((ContainerTreatmentElement)treatmentElement).getTreatmentElements();
+			writeVarInt(children.size());
+			for(TreatmentElement child : children)
+				writeElement(child);
+		} else if(treatmentElement instanceof ValueTreatmentElement) {
+			String value = ((ValueTreatmentElement)treatmentElement).getValue();
+			if(value == null) {
+				writeVarInt(0);
+			} else {
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				writeVarInt(bytes.length + 1);
+				record.write(bytes);
+			}
+		}
+	}
+
+	/**
+	 * Element names and attributes repeat a lot, they are written once to the string table and referred to by 
+	 * index + 1, 0 being null
+	 */
+	private void writeStringReference(String string) throws IOException {
+		if(string == null) {
+			writeVarInt(0);
+			return;
+		}
+		Integer index = stringIndices.get(string);
+		if(index == null) {
+			index = strings.size();
+			strings.add(string);
+			stringIndices.put(string, index);
+		}
+		writeVarInt(index + 1);
+	}
+	
+	private void writeVarInt(int value) throws IOException {
+		while((value & ~0x7f) != 0) {
+			record.writeByte((value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		record.writeByte(value);
+	}
 }
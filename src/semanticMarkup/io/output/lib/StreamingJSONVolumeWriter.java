@@ -0,0 +1,99 @@
+package semanticMarkup.io.output.lib;
+
+import java.io.OutputStream;
+import java.util.Map.Entry;
+
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+
+import semanticMarkup.core.ContainerTreatmentElement;
+import semanticMarkup.core.Treatment;
+import semanticMarkup.core.TreatmentElement;
+import semanticMarkup.core.ValueTreatmentElement;
+import semanticMarkup.io.output.AbstractStreamingFileVolumeWriter;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * StreamingJSONVolumeWriter writes treatments to JSON format element by element using a JsonGenerator. Treatments are 
+ * written in the format of JSONVolumeWriter, either as one pretty printed array to treatments.json or as one treatment 
+ * per line to treatments.ndjson, which can be consumed while the volume is still being written.
+ * @author rodenhausen
+ */
+public class StreamingJSONVolumeWriter extends AbstractStreamingFileVolumeWriter {
+
+	private static JsonFactory jsonFactory = new JsonFactory();
+	static {
+		jsonFactory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+	
+	private boolean ndjson;
+	private OutputStream outputStream;
+	private JsonGenerator jsonGenerator;
+
+	/**
+	 * @param outDirectory
+	 * @param ndjson whether to write one treatment per line instead of a single array
+	 * @param gzip whether to compress the output
+	 */
+	@Inject
+	public StreamingJSONVolumeWriter(@Named("Run_OutDirectory") String outDirectory, 
+			@Named("StreamingVolumeWriter_ndjson") boolean ndjson, 
+			@Named("StreamingVolumeWriter_gzip") boolean gzip) {
+		super(outDirectory, ndjson ? "treatments.ndjson" : "treatments.json", gzip);
+		this.ndjson = ndjson;
+	}
+
+	@Override
+	protected void startVolume(OutputStream outputStream) throws Exception {
+		this.outputStream = outputStream;
+		if(!ndjson) {
+			jsonGenerator = jsonFactory.createJsonGenerator(outputStream, JsonEncoding.UTF8);
+			jsonGenerator.useDefaultPrettyPrinter();
+			jsonGenerator.writeStartArray();
+		}
+	}
+
+	@Override
+	protected void writeTreatment(Treatment treatment) throws Exception {
+		if(ndjson) {
+			JsonGenerator lineGenerator = jsonFactory.createJsonGenerator(outputStream, JsonEncoding.UTF8);
+			writeElement(treatment, lineGenerator);
+			lineGenerator.close();
+			outputStream.write('\n');
+		} else {
+			writeElement(treatment, jsonGenerator);
+		}
+	}
+
+	@Override
+	protected void endVolume() throws Exception {
+		if(!ndjson) {
+			jsonGenerator.writeEndArray();
+			jsonGenerator.close();
+			jsonGenerator = null;
+		}
+		outputStream = null;
+	}
+
+	private void writeElement(TreatmentElement treatmentElement, JsonGenerator jsonGenerator) throws Exception {
+		jsonGenerator.writeStartObject();
+		jsonGenerator.writeStringField("name", treatmentElement.getName());
+		jsonGenerator.writeObjectFieldStart("attributes");
+		for(Entry<String, String> attribute : treatmentElement.getAttributes().entrySet()) 
+			jsonGenerator.writeStringField(attribute.getKey(), attribute.getValue());
+		jsonGenerator.writeEndObject();
+		if(treatmentElement instanceof ValueTreatmentElement) {
+			jsonGenerator.writeStringField("value", ((ValueTreatmentElement)treatmentElement).getValue());
+		}
+		if(treatmentElement instanceof ContainerTreatmentElement) {
+			jsonGenerator.writeArrayFieldStart("treatmentElements");
+			for(TreatmentElement child : (ContainerTreatmentElement)treatmentElement)
+				writeElement(child, jsonGenerator);
+			jsonGenerator.writeEndArray();
+		}
+		jsonGenerator.writeEndObject();
+	}
+}
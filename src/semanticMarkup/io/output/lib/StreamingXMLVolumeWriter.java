@@ -0,0 +1,109 @@
+package semanticMarkup.io.output.lib;
+
+import java.io.OutputStream;
+import java.util.Map.Entry;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+
+import semanticMarkup.core.ContainerTreatmentElement;
+import semanticMarkup.core.Treatment;
+import semanticMarkup.core.TreatmentElement;
+import semanticMarkup.core.ValueTreatmentElement;
+import semanticMarkup.io.output.AbstractStreamingFileVolumeWriter;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * StreamingXMLVolumeWriter writes treatments element by element to treatments.xml using a StAX XMLStreamWriter. 
+ * Each treatment becomes a treatment element of the treatments root. A TreatmentElement is written as an XML element 
+ * of its name with its attributes as XML attributes, and its value as text or its children as child elements.
+ * @author rodenhausen
+ */
+public class StreamingXMLVolumeWriter extends AbstractStreamingFileVolumeWriter {
+
+	private static XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+	
+	private XMLStreamWriter xmlStreamWriter;
+
+	/**
+	 * @param outDirectory
+	 * @param gzip whether to compress the output
+	 */
+	@Inject
+	public StreamingXMLVolumeWriter(@Named("Run_OutDirectory") String outDirectory, 
+			@Named("StreamingVolumeWriter_gzip") boolean gzip) {
+		super(outDirectory, "treatments.xml", gzip);
+	}
+
+	@Override
+	protected void startVolume(OutputStream outputStream) throws Exception {
+		xmlStreamWriter = xmlOutputFactory.createXMLStreamWriter(outputStream, "UTF-8");
+		xmlStreamWriter.writeStartDocument("UTF-8", "1.0");
+		xmlStreamWriter.writeCharacters("\n");
+		xmlStreamWriter.writeStartElement("treatments");
+		xmlStreamWriter.writeCharacters("\n");
+	}
+
+	@Override
+	protected void writeTreatment(Treatment treatment) throws Exception {
+		xmlStreamWriter.writeStartElement("treatment");
+		if(!treatment.containsAttribute("name"))
+			xmlStreamWriter.writeAttribute("name", treatment.getName());
+		writeAttributes(treatment);
+		for(TreatmentElement child : treatment)
+			writeElement(child);
+		xmlStreamWriter.writeEndElement();
+		xmlStreamWriter.writeCharacters("\n");
+	}
+
+	@Override
+	protected void endVolume() throws Exception {
+		xmlStreamWriter.writeEndElement();
+		xmlStreamWriter.writeEndDocument();
+		xmlStreamWriter.close();
+		xmlStreamWriter = null;
+	}
+	
+	private void writeElement(TreatmentElement treatmentElement) throws Exception {
+		xmlStreamWriter.writeStartElement(toXMLName(treatmentElement.getName()));
+		writeAttributes(treatmentElement);
+		if(treatmentElement instanceof ValueTreatmentElement) {
+			String value = ((ValueTreatmentElement)treatmentElement).getValue();
+			if(value != null)
+				xmlStreamWriter.writeCharacters(value);
+		}
+		if(treatmentElement instanceof ContainerTreatmentElement) {
+			for(TreatmentElement child : (ContainerTreatmentElement)treatmentElement)
+				writeElement(child);
+		}
+		xmlStreamWriter.writeEndElement();
+	}
+
+	private void writeAttributes(TreatmentElement treatmentElement) throws Exception {
+		for(Entry<String, String> attribute : treatmentElement.getAttributes().entrySet()) 
+			if(attribute.getValue() != null)
+				xmlStreamWriter.writeAttribute(toXMLName(attribute.getKey()), attribute.getValue());
+	}
+
+	/**
+	 * @param name
+	 * @return the name with characters not allowed in XML names replaced by '_'
+	 */
+	private String toXMLName(String name) {
+		if(name == null || name.isEmpty())
+			return "_";
+		StringBuilder result = null;
+		for(int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			boolean valid = Character.isLetter(c) || c == '_' || 
+					(i > 0 && (Character.isDigit(c) || c == '-' || c == '.'));
+			if(!valid && result == null)
+				result = new StringBuilder(name.substring(0, i));
+			if(result != null)
+				result.append(valid ? c : '_');
+		}
+		return result == null ? name : result.toString();
+	}
+}
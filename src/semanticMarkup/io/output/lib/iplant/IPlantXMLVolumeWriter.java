@@ -1,19 +1,15 @@
 package semanticMarkup.io.output.lib.iplant;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.Marshaller;
-
 import semanticMarkup.core.ContainerTreatmentElement;
 import semanticMarkup.core.Treatment;
 import semanticMarkup.core.TreatmentElement;
 import semanticMarkup.core.ValueTreatmentElement;
 import semanticMarkup.core.description.DescriptionTreatmentElement;
 import semanticMarkup.core.description.DescriptionTreatmentElementType;
-import semanticMarkup.io.output.AbstractFileVolumeWriter;
+import semanticMarkup.core.transformation.lib.description.MarkupManifest;
+import semanticMarkup.io.output.AbstractJAXBVolumeWriter;
 import semanticMarkup.io.output.lib.iplant.Character;
 import semanticMarkup.io.output.lib.iplant.Description;
 import semanticMarkup.io.output.lib.iplant.DescriptionStatement;
@@ -24,28 +20,21 @@ import semanticMarkup.io.output.lib.iplant.TaxonIdentification;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
-public class IPlantXMLVolumeWriter extends AbstractFileVolumeWriter {
-
-	@Inject
-	public IPlantXMLVolumeWriter(@Named("Run_OutDirectory") String outDirectory) {
-		super(outDirectory);
-	}
+public class IPlantXMLVolumeWriter extends AbstractJAXBVolumeWriter {
 	
-	@Override
-	public void write(List<Treatment> treatments) throws Exception {		
-		JAXBContext jc = JAXBContext.newInstance("semanticMarkup.io.output.lib.iplant");
-		Marshaller m = jc.createMarshaller();
-		m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-		
-		for(Treatment treatment : treatments) {
-			new File(outDirectory + File.separator + treatment.getName() + ".xml").getParentFile().mkdirs();
-			FileOutputStream outputStream = new FileOutputStream(new File(outDirectory + File.separator + treatment.getName() + ".xml"));
-			semanticMarkup.io.output.lib.iplant.Treatment xmlTreatment = transformTreatment(treatment);
-			m.marshal(xmlTreatment, outputStream);
-		}
+	/**
+	 * @param outDirectory
+	 * @param parallelism the number of treatments to write at a time
+	 * @param markupManifest of the treatments whose output of the last run is reused and not written again
+	 */
+	@Inject
+	public IPlantXMLVolumeWriter(@Named("Run_OutDirectory") String outDirectory, 
+			@Named("VolumeWriter_parallelism") int parallelism, MarkupManifest markupManifest) {
+		super(outDirectory, "semanticMarkup.io.output.lib.iplant", parallelism, markupManifest);
 	}
 
-	private semanticMarkup.io.output.lib.iplant.Treatment transformTreatment(Treatment treatment) {
+	@Override
+	protected semanticMarkup.io.output.lib.iplant.Treatment transformTreatment(Treatment treatment) {
 		semanticMarkup.io.output.lib.iplant.Treatment xmlTreatment = new semanticMarkup.io.output.lib.iplant.Treatment();		
 		createMeta(treatment, xmlTreatment);
 		createTaxonIdentification(treatment, xmlTreatment);
@@ -1,12 +1,8 @@
 package semanticMarkup.io.output.lib.xml;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
-import javax.xml.bind.Marshaller;
 import javax.xml.namespace.QName;
 
 import semanticMarkup.core.ContainerTreatmentElement;
@@ -15,7 +11,8 @@ import semanticMarkup.core.TreatmentElement;
 import semanticMarkup.core.ValueTreatmentElement;
 import semanticMarkup.core.description.DescriptionTreatmentElement;
 import semanticMarkup.core.description.DescriptionTreatmentElementType;
-import semanticMarkup.io.output.AbstractFileVolumeWriter;
+import semanticMarkup.core.transformation.lib.description.MarkupManifest;
+import semanticMarkup.io.output.AbstractJAXBVolumeWriter;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
@@ -26,28 +23,21 @@ import com.google.inject.name.Named;
  * XML2VolumeWriter)
  * @author rodenhausen
  */
-public class XMLVolumeWriter extends AbstractFileVolumeWriter {
+public class XMLVolumeWriter extends AbstractJAXBVolumeWriter {
 
+	/**
+	 * @param outDirectory
+	 * @param parallelism the number of treatments to write at a time
+	 * @param markupManifest of the treatments whose output of the last run is reused and not written again
+	 */
 	@Inject
-	public XMLVolumeWriter(@Named("Run_OutDirectory") String outDirectory) {
-		super(outDirectory);
-	}
-	
-	@Override
-	public void write(List<Treatment> treatments) throws Exception {
-		JAXBContext jc = JAXBContext.newInstance("semanticMarkup.io.output.lib.xml");
-		Marshaller m = jc.createMarshaller();
-		m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-		
-		for(Treatment treatment : treatments) {
-			new File(outDirectory + File.separator + treatment.getName() + ".xml").getParentFile().mkdirs();
-			FileOutputStream outputStream = new FileOutputStream(new File(outDirectory + File.separator + treatment.getName() + ".xml"));
-			semanticMarkup.io.output.lib.xml.Treatment xmlTreatment = transformTreatment(treatment);
-			m.marshal(xmlTreatment, outputStream);
-		}
+	public XMLVolumeWriter(@Named("Run_OutDirectory") String outDirectory, 
+			@Named("VolumeWriter_parallelism") int parallelism, MarkupManifest markupManifest) {
+		super(outDirectory, "semanticMarkup.io.output.lib.xml", parallelism, markupManifest);
 	}
 
-	private semanticMarkup.io.output.lib.xml.Treatment transformTreatment(Treatment treatment) {
+	@Override
+	protected semanticMarkup.io.output.lib.xml.Treatment transformTreatment(Treatment treatment) {
 		semanticMarkup.io.output.lib.xml.Treatment xmlTreatment = new semanticMarkup.io.output.lib.xml.Treatment();
 		xmlTreatment.setNumber(treatment.getName());
 			
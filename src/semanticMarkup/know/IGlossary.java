@@ -39,6 +39,12 @@ public interface IGlossary {
 	 */
 	public void addEntry(String word, String category);
 	
+	/**
+	 * Builds a read-only index of the current entries to speed up lookups. Sets returned afterwards are unmodifiable.
+	 * Adding an entry drops the index until the next call.
+	 */
+	public void freeze();
+	
 	
 	
 	/*
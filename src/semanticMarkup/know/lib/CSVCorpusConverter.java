@@ -0,0 +1,111 @@
+package semanticMarkup.know.lib;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+import au.com.bytecode.opencsv.CSVReader;
+
+/**
+ * A CSVCorpusConverter compiles a CSV file of word frequencies, expected CSV file format: word,frequency, into the 
+ * format read by MappedCorpus. Words are lower cased, of words that only differ in case the last frequency is kept.
+ * The corpus is written to a temporary file of its own and then moved in place, so that processes compiling the same 
+ * corpus at the same time do not interfere, the last one to finish replaces the file with an equal one.
+ * @author rodenhausen
+ */
+public class CSVCorpusConverter {
+
+	private String csvFilePath;
+	private String corpusFilePath;
+
+	/**
+	 * @param csvFilePath
+	 * @param corpusFilePath
+	 */
+	public CSVCorpusConverter(String csvFilePath, String corpusFilePath) {
+		this.csvFilePath = csvFilePath;
+		this.corpusFilePath = corpusFilePath;
+	}
+	
+	/**
+	 * @return if the corpus file exists and is not older than the CSV file
+	 */
+	public boolean isCurrent() {
+		File file = new File(corpusFilePath);
+		File csvFile = new File(csvFilePath);
+		return file.exists() && (!csvFile.exists() || csvFile.lastModified() <= file.lastModified());
+	}
+	
+	/**
+	 * @throws IOException
+	 */
+	public void convert() throws IOException {
+		TreeMap<String, Integer> frequencies = new TreeMap<String, Integer>();
+		try(CSVReader reader = new CSVReader(new FileReader(csvFilePath))) {
+			String[] line;
+			while((line = reader.readNext()) != null) 
+				frequencies.put(line[0].toLowerCase(), Integer.parseInt(line[1]));
+		}
+		
+		File file = new File(corpusFilePath).getAbsoluteFile();
+		file.getParentFile().mkdirs();
+		File temporaryFile = File.createTempFile(file.getName() + ".", ".tmp", file.getParentFile());
+		try {
+			write(frequencies, temporaryFile);
+			try {
+				Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch(AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch(IOException e) {
+			//another process may have compiled the corpus meanwhile
+			if(!isCurrent())
+				throw new IOException("Could not replace corpus file " + file, e);
+		} finally {
+			temporaryFile.delete();
+		}
+	}
+	
+	private void write(Map<String, Integer> frequencies, File temporaryFile) throws IOException {
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+			int characters = 0;
+			for(String word : frequencies.keySet())
+				characters += word.length();
+			out.writeInt(MappedCorpus.MAGIC);
+			out.writeInt(MappedCorpus.FORMAT_VERSION);
+			out.writeInt(frequencies.size());
+			out.writeInt(characters);
+			
+			int offset = 0;
+			out.writeInt(offset);
+			for(String word : frequencies.keySet()) {
+				offset += word.length();
+				out.writeInt(offset);
+			}
+			for(int frequency : frequencies.values())
+				out.writeInt(frequency);
+			for(String word : frequencies.keySet())
+				out.writeChars(word);
+		}
+	}
+	
+	/**
+	 * @param args the CSV file and the corpus file to create
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length != 2) {
+			System.out.println("Usage: CSVCorpusConverter <csv file> <corpus file>");
+			return;
+		}
+		new CSVCorpusConverter(args[0], args[1]).convert();
+	}
+}
@@ -43,5 +43,6 @@ public class CSVGlossary extends InMemoryGlossary {
 		}
 		
 		reader.close();
+		this.freeze();
 	}
 }
@@ -0,0 +1,65 @@
+package semanticMarkup.know.lib;
+
+import java.io.IOException;
+
+import oto.full.IOTOClient;
+import oto.full.beans.GlossaryDownload;
+import semanticMarkup.log.LogLevel;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * A CachingOTOClient decorates an IOTOClient and keeps a snapshot of each downloaded glossary version in a 
+ * GlossarySnapshotStore. A specific version is only downloaded if no snapshot of it is stored yet. The latest version 
+ * can not be determined without a download, hence it is always requested from the decorated IOTOClient.
+ * @author rodenhausen
+ */
+public class CachingOTOClient implements IOTOClient {
+
+	private static final String LATEST_VERSION = "latest";
+	
+	private IOTOClient otoClient;
+	private GlossarySnapshotStore snapshotStore;
+
+	/**
+	 * @param otoClient to decorate
+	 * @param snapshotStore
+	 */
+	@Inject
+	public CachingOTOClient(@Named("CachingOTOClient_OTOClient")IOTOClient otoClient, GlossarySnapshotStore snapshotStore) {
+		this.otoClient = otoClient;
+		this.snapshotStore = snapshotStore;
+	}
+
+	@Override
+	public GlossaryDownload download(String glossaryType) {
+		return download(glossaryType, LATEST_VERSION);
+	}
+
+	@Override
+	public GlossaryDownload download(String glossaryType, String version) {
+		if(!LATEST_VERSION.equals(version) && snapshotStore.contains(glossaryType, version)) {
+			try {
+				GlossaryDownload glossaryDownload = snapshotStore.read(glossaryType, version);
+				log(LogLevel.DEBUG, "Read glossary " + glossaryType + " version " + version + " from local snapshot");
+				return glossaryDownload;
+			} catch(IOException e) {
+				log(LogLevel.ERROR, "Problem reading local snapshot of glossary " + glossaryType + " version " + version + 
+						", downloading it again", e);
+			}
+		}
+		
+		GlossaryDownload glossaryDownload = otoClient.download(glossaryType, version);
+		if(glossaryDownload != null && glossaryDownload.getVersion() != null && 
+				!snapshotStore.contains(glossaryType, glossaryDownload.getVersion())) {
+			try {
+				snapshotStore.write(glossaryType, glossaryDownload);
+			} catch(IOException e) {
+				log(LogLevel.ERROR, "Problem storing local snapshot of glossary " + glossaryType + " version " + 
+						glossaryDownload.getVersion(), e);
+			}
+		}
+		return glossaryDownload;
+	}
+}
@@ -0,0 +1,196 @@
+package semanticMarkup.know.lib;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import semanticMarkup.know.IGlossary;
+
+/**
+ * A FrozenGlossary is a read-only, compact index of glossary entries. Terms and categories are interned and looked up 
+ * in open addressing hash tables by a case folded hash over the trimmed argument, so a lookup does not allocate. 
+ * Category membership of a term is held as a BitSet of category ids. Returned sets are precomputed and unmodifiable, 
+ * the words not in a set of categories are computed once per set of categories.
+ * @author rodenhausen
+ */
+public class FrozenGlossary implements IGlossary {
+
+	private String[] terms;
+	private int[] termTable;
+	private List<Set<String>> termCategories;
+	private BitSet[] termCategoryIds;
+	private String[] categories;
+	private int[] categoryTable;
+	private List<Set<String>> categoryWords;
+	private ConcurrentHashMap<BitSet, Set<String>> wordsNotInCategories = new ConcurrentHashMap<BitSet, Set<String>>();
+
+	/**
+	 * @param glossary the categories of each term, terms and categories lower case and trimmed
+	 */
+	public FrozenGlossary(Map<String, Set<String>> glossary) {
+		Map<String, Integer> categoryIds = new HashMap<String, Integer>();
+		List<List<String>> wordsOfCategories = new ArrayList<List<String>>();
+		for(Set<String> categoriesOfTerm : glossary.values()) {
+			for(String category : categoriesOfTerm) {
+				if(!categoryIds.containsKey(category)) {
+					categoryIds.put(category, categoryIds.size());
+					wordsOfCategories.add(new ArrayList<String>());
+				}
+			}
+		}
+		categories = new String[categoryIds.size()];
+		for(Map.Entry<String, Integer> categoryId : categoryIds.entrySet())
+			categories[categoryId.getValue()] = categoryId.getKey().intern();
+		categoryTable = createTable(categories);
+		
+		terms = new String[glossary.size()];
+		termCategories = new ArrayList<Set<String>>(terms.length);
+		termCategoryIds = new BitSet[terms.length];
+		int termId = 0;
+		for(Map.Entry<String, Set<String>> entry : glossary.entrySet()) {
+			String term = entry.getKey().intern();
+			BitSet categoryIdsOfTerm = new BitSet(categories.length);
+			Set<String> categoriesOfTerm = new HashSet<String>();
+			for(String category : entry.getValue()) {
+				int categoryId = categoryIds.get(category);
+				categoryIdsOfTerm.set(categoryId);
+				categoriesOfTerm.add(categories[categoryId]);
+				wordsOfCategories.get(categoryId).add(term);
+			}
+			terms[termId] = term;
+			termCategories.add(Collections.unmodifiableSet(categoriesOfTerm));
+			termCategoryIds[termId] = categoryIdsOfTerm;
+			termId++;
+		}
+		termTable = createTable(terms);
+		
+		categoryWords = new ArrayList<Set<String>>(categories.length);
+		for(List<String> words : wordsOfCategories) 
+			categoryWords.add(Collections.unmodifiableSet(new HashSet<String>(words)));
+	}
+
+	@Override
+	public Set<String> getCategories(String word) {
+		int termId = indexOf(terms, termTable, word);
+		if(termId < 0)
+			return Collections.emptySet();
+		return termCategories.get(termId);
+	}
+
+	@Override
+	public Set<String> getWords(String category) {
+		int categoryId = indexOf(categories, categoryTable, category);
+		if(categoryId < 0)
+			return Collections.emptySet();
+		return categoryWords.get(categoryId);
+	}
+
+	@Override
+	public boolean contains(String word) {
+		return indexOf(terms, termTable, word) >= 0;
+	}
+
+	@Override
+	public Set<String> getWordsNotInCategories(Set<String> categories) {
+		BitSet excludedCategoryIds = new BitSet(this.categories.length);
+		for(String category : categories) {
+			int categoryId = indexOf(this.categories, categoryTable, category);
+			if(categoryId >= 0)
+				excludedCategoryIds.set(categoryId);
+		}
+		Set<String> result = wordsNotInCategories.get(excludedCategoryIds);
+		if(result == null) {
+			Set<String> words = new HashSet<String>();
+			for(int termId = 0; termId < terms.length; termId++) {
+				BitSet categoryIdsOfTerm = termCategoryIds[termId];
+				for(int categoryId = categoryIdsOfTerm.nextSetBit(0); categoryId >= 0; 
+						categoryId = categoryIdsOfTerm.nextSetBit(categoryId + 1)) {
+					if(!excludedCategoryIds.get(categoryId)) {
+						words.add(terms[termId]);
+						break;
+					}
+				}
+			}
+			result = Collections.unmodifiableSet(words);
+			wordsNotInCategories.putIfAbsent(excludedCategoryIds, result);
+		}
+		return result;
+	}
+
+	@Override
+	public void addEntry(String word, String category) {
+		throw new UnsupportedOperationException("A FrozenGlossary can not be modified");
+	}
+
+	@Override
+	public void freeze() { }
+	
+	/**
+	 * @return the number of terms
+	 */
+	public int size() {
+		return terms.length;
+	}
+	
+	@Override
+	public String toString() {
+		return "terms: " + terms.length + ", categories: " + categories.length;
+	}
+
+	private static int[] createTable(String[] keys) {
+		int capacity = Integer.highestOneBit(Math.max(2, keys.length * 2 - 1)) << 1;
+		int[] table = new int[capacity];
+		int mask = capacity - 1;
+		for(int i = 0; i < keys.length; i++) {
+			int slot = hash(keys[i], 0, keys[i].length()) & mask;
+			while(table[slot] != 0)
+				slot = (slot + 1) & mask;
+			table[slot] = i + 1;
+		}
+		return table;
+	}
+
+	/**
+	 * @return the index of the key that equals the lower cased, trimmed text or -1
+	 */
+	private static int indexOf(String[] keys, int[] table, String text) {
+		int start = 0;
+		int end = text.length();
+		while(start < end && text.charAt(start) <= ' ')
+			start++;
+		while(end > start && text.charAt(end - 1) <= ' ')
+			end--;
+		int mask = table.length - 1;
+		for(int slot = hash(text, start, end) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+			int index = table[slot] - 1;
+			if(equalsFolded(keys[index], text, start, end))
+				return index;
+		}
+		return -1;
+	}
+
+	private static int hash(String text, int start, int end) {
+		int hash = 0;
+		for(int i = start; i < end; i++)
+			hash = 31 * hash + Character.toLowerCase(text.charAt(i));
+		//spread the bits, the table index is taken from the lower bits
+		hash ^= (hash >>> 20) ^ (hash >>> 12);
+		return hash ^ (hash >>> 7) ^ (hash >>> 4);
+	}
+
+	private static boolean equalsFolded(String key, String text, int start, int end) {
+		if(key.length() != end - start)
+			return false;
+		for(int i = 0; i < key.length(); i++) {
+			if(key.charAt(i) != Character.toLowerCase(text.charAt(start + i)))
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,132 @@
+package semanticMarkup.know.lib;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import oto.beans.TermCategory;
+import oto.beans.TermSynonym;
+import oto.full.beans.GlossaryDownload;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * A GlossarySnapshotStore keeps a local copy of each downloaded glossary version, keyed by glossary type and version.
+ * A snapshot is stored in a compact binary format and loaded with one sequential read: Header, glossary version, 
+ * the distinct categories, the term categories referring to a category by index and the term synonyms.
+ * @author rodenhausen
+ */
+public class GlossarySnapshotStore {
+
+	private static final int MAGIC = 0x47534e50;
+	private static final int FORMAT_VERSION = 1;
+	
+	private String directory;
+
+	/**
+	 * @param directory to store the snapshots in
+	 */
+	@Inject
+	public GlossarySnapshotStore(@Named("GlossarySnapshotStore_Directory")String directory) {
+		this.directory = directory;
+	}
+	
+	/**
+	 * @param glossaryType
+	 * @param version
+	 * @return if a snapshot of the glossary version is stored
+	 */
+	public boolean contains(String glossaryType, String version) {
+		return getFile(glossaryType, version).exists();
+	}
+	
+	/**
+	 * @param glossaryType
+	 * @param version
+	 * @return the stored snapshot of the glossary version
+	 * @throws IOException if the snapshot does not exist or is corrupt
+	 */
+	public GlossaryDownload read(String glossaryType, String version) throws IOException {
+		File file = getFile(glossaryType, version);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
+		if(in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION)
+			throw new IOException("Unknown glossary snapshot format " + file);
+		String snapshotVersion = in.readUTF();
+		
+		String[] categories = new String[in.readInt()];
+		for(int i=0; i<categories.length; i++) 
+			categories[i] = in.readUTF();
+		
+		int termCategoriesSize = in.readInt();
+		List<TermCategory> termCategories = new ArrayList<TermCategory>(termCategoriesSize);
+		for(int i=0; i<termCategoriesSize; i++) {
+			String term = in.readUTF();
+			String category = categories[in.readInt()];
+			termCategories.add(new TermCategory(term, category, in.readBoolean()));
+		}
+		
+		int termSynonymsSize = in.readInt();
+		List<TermSynonym> termSynonyms = new ArrayList<TermSynonym>(termSynonymsSize);
+		for(int i=0; i<termSynonymsSize; i++) 
+			termSynonyms.add(new TermSynonym(in.readUTF(), in.readUTF()));
+		return new GlossaryDownload(termCategories, termSynonyms, snapshotVersion);
+	}
+	
+	/**
+	 * Stores a snapshot of the glossary download under its version
+	 * @param glossaryType
+	 * @param glossaryDownload
+	 * @throws IOException
+	 */
+	public void write(String glossaryType, GlossaryDownload glossaryDownload) throws IOException {
+		File file = getFile(glossaryType, glossaryDownload.getVersion());
+		File temporaryFile = new File(file.getPath() + ".tmp");
+		file.getParentFile().mkdirs();
+		
+		List<String> categories = new ArrayList<String>();
+		Map<String, Integer> categoryIndices = new HashMap<String, Integer>();
+		for(TermCategory termCategory : glossaryDownload.getTermCategories()) {
+			if(!categoryIndices.containsKey(termCategory.getCategory())) {
+				categoryIndices.put(termCategory.getCategory(), categories.size());
+				categories.add(termCategory.getCategory());
+			}
+		}
+		
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(glossaryDownload.getVersion());
+			out.writeInt(categories.size());
+			for(String category : categories)
+				out.writeUTF(category);
+			out.writeInt(glossaryDownload.getTermCategories().size());
+			for(TermCategory termCategory : glossaryDownload.getTermCategories()) {
+				out.writeUTF(termCategory.getTerm());
+				out.writeInt(categoryIndices.get(termCategory.getCategory()));
+				out.writeBoolean(termCategory.isHasSyn());
+			}
+			out.writeInt(glossaryDownload.getTermSynonyms().size());
+			for(TermSynonym termSynonym : glossaryDownload.getTermSynonyms()) {
+				out.writeUTF(termSynonym.getTerm());
+				out.writeUTF(termSynonym.getSynonym());
+			}
+		}
+		if(file.exists() && !file.delete() || !temporaryFile.renameTo(file))
+			throw new IOException("Could not replace glossary snapshot " + file);
+	}
+
+	private File getFile(String glossaryType, String version) {
+		String name = (glossaryType + "_" + version).replaceAll("[^A-Za-z0-9._-]", "_");
+		return new File(directory + File.separator + name + ".snapshot");
+	}
+}
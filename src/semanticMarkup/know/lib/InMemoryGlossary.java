@@ -106,9 +106,13 @@ public class InMemoryGlossary implements IGlossary {
 */
 	protected HashMap<String, Set<String>> glossary = new HashMap<String, Set<String>>();
 	protected HashMap<String, Set<String>> reverseGlossary = new HashMap<String, Set<String>>();
+	private volatile FrozenGlossary frozenGlossary;
 	
 	@Override
 	public Set<String> getWords(String category) {
+		FrozenGlossary frozenGlossary = this.frozenGlossary;
+		if(frozenGlossary != null)
+			return frozenGlossary.getWords(category);
 		category = category.toLowerCase().trim();
 		if(reverseGlossary.containsKey(category))
 			return reverseGlossary.get(category);
@@ -118,12 +122,18 @@ public class InMemoryGlossary implements IGlossary {
 
 	@Override
 	public boolean contains(String word) {
+		FrozenGlossary frozenGlossary = this.frozenGlossary;
+		if(frozenGlossary != null)
+			return frozenGlossary.contains(word);
 		word = word.toLowerCase().trim();
 		return glossary.containsKey(word);
 	}
 
 	@Override
 	public Set<String> getCategories(String word) {
+		FrozenGlossary frozenGlossary = this.frozenGlossary;
+		if(frozenGlossary != null)
+			return frozenGlossary.getCategories(word);
 		word = word.toLowerCase().trim();
 		if(glossary.containsKey(word))
 			return glossary.get(word);
@@ -133,6 +143,9 @@ public class InMemoryGlossary implements IGlossary {
 
 	@Override
 	public Set<String> getWordsNotInCategories(Set<String> categories) {
+		FrozenGlossary frozenGlossary = this.frozenGlossary;
+		if(frozenGlossary != null)
+			return frozenGlossary.getWordsNotInCategories(categories);
 		Set<String> normalizedCategories = new HashSet<String>();
 		for(String category : categories)
 			normalizedCategories.add(category.toLowerCase().trim());
@@ -147,6 +160,7 @@ public class InMemoryGlossary implements IGlossary {
 
 	@Override
 	public void addEntry(String word, String category) {
+		frozenGlossary = null;
 		word = word.toLowerCase().trim();
 		category = category.toLowerCase().trim();
 		if(!glossary.containsKey(word))
@@ -156,4 +170,9 @@ public class InMemoryGlossary implements IGlossary {
 			reverseGlossary.put(category, new HashSet<String>());
 		reverseGlossary.get(category).add(word);
 	}
-}
+
+	@Override
+	public void freeze() {
+		frozenGlossary = new FrozenGlossary(glossary);
+	}
+}
\ No newline at end of file
@@ -1,10 +1,10 @@
 package semanticMarkup.know.lib;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import semanticMarkup.know.ICharacterKnowledgeBase;
 import semanticMarkup.know.IGlossary;
@@ -12,10 +12,13 @@ import semanticMarkup.ling.learn.ITerminologyLearner;
 import semanticMarkup.log.LogLevel;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * LearnedCharacterKnowledgeBase poses an ICharacterKnowledgeBase by making use of learned terminology by an ITerminologyLearner
  * and an IGlossary
+ * Character names looked up are memoized in a bounded cache, which is cleared once the ITerminologyLearner provides new 
+ * term categories. Glossary entries are expected to be added before character names are looked up.
  * @author rodenhausen
  */
 public class LearnedCharacterKnowledgeBase implements ICharacterKnowledgeBase {
@@ -23,24 +26,45 @@ public class LearnedCharacterKnowledgeBase implements ICharacterKnowledgeBase {
 	private IGlossary glossary;
 	private String or = "_or_";
 	private ITerminologyLearner terminologyLearner;
-	private HashMap<String, String> addedCharacters = new HashMap<String, String>();
+	private ConcurrentHashMap<String, String> addedCharacters = new ConcurrentHashMap<String, String>();
+	private MemoCache<String, String> characterNames;
+	private volatile Map<String, Set<String>> termCategories;
 
 	/**
 	 * @param terminologyLearner
 	 * @param glossary
+	 * @param cacheSize the maximum number of character names to memoize
 	 */
 	@Inject
-	public LearnedCharacterKnowledgeBase(ITerminologyLearner terminologyLearner, IGlossary glossary) {
+	public LearnedCharacterKnowledgeBase(ITerminologyLearner terminologyLearner, IGlossary glossary, 
+			@Named("MemoCache_capacity") int cacheSize) {
 		this.terminologyLearner = terminologyLearner;
 		this.glossary = glossary;
+		this.characterNames = new MemoCache<String, String>(cacheSize) {
+			@Override
+			protected String load(String word) {
+				return findCharacterName(word);
+			}
+		};
 	}
 	
 	@Override
 	public String getCharacterName(String word) {
 		if (word.trim().length() == 0)
 			return null;
-		if(this.addedCharacters.containsKey(word))
-			return addedCharacters.get(word);
+		String addedCharacter = addedCharacters.get(word);
+		if(addedCharacter != null)
+			return addedCharacter;
+		
+		Map<String, Set<String>> termCategories = terminologyLearner.getTermCategories();
+		if(termCategories != this.termCategories) {
+			this.termCategories = termCategories;
+			characterNames.clear();
+		}
+		return characterNames.get(word);
+	}
+	
+	private String findCharacterName(String word) {
 		if (word.indexOf(" ") > 0)
 			word = word.substring(word.lastIndexOf(" ") + 1).trim();
 		word = word.replaceAll("[{}<>()]", "").replaceAll("\\d+[-]", "_")
@@ -77,7 +101,7 @@ public class LearnedCharacterKnowledgeBase implements ICharacterKnowledgeBase {
 
 		// check glossarytable
 		if(this.glossary.contains(word)) {
-			Set<String> glossaryCategories = this.glossary.getCategories(word);
+			Set<String> glossaryCategories = new HashSet<String>(this.glossary.getCategories(word));
 			glossaryCategories.addAll(this.glossary.getCategories("_" + word));
 			
 			// check _term_category table
@@ -120,6 +144,13 @@ public class LearnedCharacterKnowledgeBase implements ICharacterKnowledgeBase {
 		this.addedCharacters.put(word, character);
 	}
 
+	/**
+	 * @return a summary of the memoized character names
+	 */
+	public String getCacheStatistics() {
+		return "getCharacterName cache: " + characterNames.getStatistics();
+	}
+
 	@Override
 	public boolean containsCharacterName(String characterName) {
 		Set<String> glossaryCategories = glossary.getWords("character");
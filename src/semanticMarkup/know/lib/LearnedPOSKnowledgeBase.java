@@ -1,8 +1,9 @@
 package semanticMarkup.know.lib;
 
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import semanticMarkup.know.IGlossary;
 import semanticMarkup.know.IPOSKnowledgeBase;
@@ -14,20 +15,19 @@ import com.google.inject.name.Named;
 /**
  * LearnedPOSKnowledgeBase poses an IPOSKnowledgeBase by relying on learned part of speech and using a fall back knowledgebase
  * such as WordNetPOSKnowledgeBase
+ * Added nouns and verbs are kept, results derived from the fall back knowledgebase are memoized in bounded caches. 
+ * Both can be accessed concurrently.
  * @author rodenhausen
  */
 public class LearnedPOSKnowledgeBase implements IPOSKnowledgeBase {
 
 	private IGlossary glossary;
 	private IPOSKnowledgeBase fallbackKnowledgeBase;
-	private Set<String> notNouns = new HashSet<String>();
-	private Set<String> nouns = new HashSet<String>();
-	private Set<String> verbs = new HashSet<String>();
-	private Set<String> notVerbs = new HashSet<String>();
-	private Set<String> adverbs = new HashSet<String>();
-	private Set<String> notAdverbs = new HashSet<String>();
-	private Set<String> adjectives = new HashSet<String>();
-	private Set<String> notAdjectives = new HashSet<String>();
+	private Set<String> addedNouns = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+	private Set<String> addedVerbs = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+	private MemoCache<String, Boolean> nouns;
+	private MemoCache<String, Boolean> verbs;
+	private MemoCache<String, Boolean> adverbs;
 	
 	private Set<String> stopWords;
 
@@ -35,13 +35,32 @@ public class LearnedPOSKnowledgeBase implements IPOSKnowledgeBase {
 	 * @param glossary
 	 * @param fallbackKnowledgeBase
 	 * @param stopWords
+	 * @param cacheSize the maximum number of results to memoize per lookup
 	 */
 	@Inject
 	public LearnedPOSKnowledgeBase(IGlossary glossary, IPOSKnowledgeBase fallbackKnowledgeBase,
-			@Named("StopWords") Set<String> stopWords) {
+			@Named("StopWords") Set<String> stopWords, @Named("MemoCache_capacity") int cacheSize) {
 		this.glossary = glossary;
 		this.fallbackKnowledgeBase = fallbackKnowledgeBase;
 		this.stopWords = stopWords;
+		this.nouns = new MemoCache<String, Boolean>(cacheSize) {
+			@Override
+			protected Boolean load(String word) {
+				return lookupNoun(word);
+			}
+		};
+		this.verbs = new MemoCache<String, Boolean>(cacheSize) {
+			@Override
+			protected Boolean load(String word) {
+				return lookupVerb(word);
+			}
+		};
+		this.adverbs = new MemoCache<String, Boolean>(cacheSize) {
+			@Override
+			protected Boolean load(String word) {
+				return lookupAdverb(word);
+			}
+		};
 	}
 	
 	@Override
@@ -51,28 +70,25 @@ public class LearnedPOSKnowledgeBase implements IPOSKnowledgeBase {
 			return false;
 		word = word.replaceAll("[<>{}\\]\\[]", "");
 
-		if(nouns.contains(word)){
+		if(addedNouns.contains(word)){
 			return true;
 		}
-		if(notNouns.contains(word)){
-			return false;
-		}
+		return nouns.get(word);
+	}
+	
+	private boolean lookupNoun(String word) {
 		if(!word.matches(".*?[a-z]+.*")){
-			notNouns.add(word);
 			return false;
 		}
 		if(stopWords.contains(word)){
-			notNouns.add(word);
 			return false;
 		}
 
 		POS pos = fallbackKnowledgeBase.getMostLikleyPOS(word);
 		if(pos != null)
 			if(pos.equals(POS.NN)) {
-				nouns.add(word);
 				return true;
 			}
-		notNouns.add(word);
 		return false;
 	}
 
@@ -84,14 +100,10 @@ public class LearnedPOSKnowledgeBase implements IPOSKnowledgeBase {
 	@Override
 	public boolean isAdverb(String word) {
 		word = word.replaceAll("[<>{}\\]\\[()\\d+-]", "").trim();
-		
-		if(adverbs.contains(word)){
-			return true;
-		}
-		if(notAdverbs.contains(word)){
-			return false;
-		}
-		
+		return adverbs.get(word);
+	}
+	
+	private boolean lookupAdverb(String word) {
 		if(word.matches("(not|at-?least|throughout|much)")){
 			return true;
 		}
@@ -113,27 +125,22 @@ public class LearnedPOSKnowledgeBase implements IPOSKnowledgeBase {
 			return true;
 		}
 		if(!word.matches(".*?[a-z]+.*")){
-			notAdverbs.add(word);
 			return false;
 		}
 		if(stopWords.contains(word)){
-			notAdverbs.add(word);
 			return false;
 		}
 		
 		POS pos = fallbackKnowledgeBase.getMostLikleyPOS(word);
 		if(pos != null){
 			if(pos.equals(POS.RB)){
-				adverbs.add(word);
 				return true;
 			}
 		}else{
 			if(word.endsWith("ly")){
-				adverbs.add(word);
 				return true;
 			}
 		}
-		notAdverbs.add(word);
 		return false;
 	}
 
@@ -141,35 +148,30 @@ public class LearnedPOSKnowledgeBase implements IPOSKnowledgeBase {
 	public boolean isVerb(String word) {
 		word = word.replaceAll("[<>{}\\]\\[]", "").trim();
 		
-		if(verbs.contains(word)){
+		if(addedVerbs.contains(word)){
 			return true;
 		}
-		if(notVerbs.contains(word)){
-			return false;
-		}
-		
+		return verbs.get(word);
+	}
+	
+	private boolean lookupVerb(String word) {
 		if(!word.matches(".*?[a-z]+.*")){
-			notVerbs.add(word);
 			return false;
 		}
 		if(stopWords.contains(word)){
-			notVerbs.add(word);
 			return false;
 		}
 
 		POS pos = fallbackKnowledgeBase.getMostLikleyPOS(word);
 		if(pos != null) {
 			if(pos.equals(POS.VB)) {
-				verbs.add(word);
 				return true;
 			} else {
 				if(fallbackKnowledgeBase.isVerb(word) && word.endsWith("ed")){
-					verbs.add(word);
 					return true;
 				}
 			}
 		}
-		notVerbs.add(word);
 		return false;
 	}
 
@@ -190,12 +192,20 @@ public class LearnedPOSKnowledgeBase implements IPOSKnowledgeBase {
 
 	@Override
 	public void addVerb(String word) {
-		this.verbs.add(word);
+		this.addedVerbs.add(word);
 	}
 
 	@Override
 	public void addNoun(String word) {
-		this.nouns.add(word);
+		this.addedNouns.add(word);
+	}
+
+	/**
+	 * @return a summary of the memoized lookups
+	 */
+	public String getCacheStatistics() {
+		return "isNoun cache: " + nouns.getStatistics() + ", isVerb cache: " + verbs.getStatistics() + 
+				", isAdverb cache: " + adverbs.getStatistics();
 	}
 
 	@Override
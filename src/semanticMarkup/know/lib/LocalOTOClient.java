@@ -0,0 +1,75 @@
+package semanticMarkup.know.lib;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.LinkedList;
+import java.util.List;
+
+import oto.beans.TermCategory;
+import oto.beans.TermSynonym;
+import oto.full.IOTOClient;
+import oto.full.beans.GlossaryDownload;
+import semanticMarkup.log.LogLevel;
+import au.com.bytecode.opencsv.CSVReader;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * A LocalOTOClient serves the glossary of a CSV file instead of downloading it from OTO, e.g. to run offline. 
+ * Every glossary type and version is answered with the current content of the file. The version reported is the 
+ * configured version followed by a hash of the file content, so that an edited file is a new version, e.g. for a 
+ * CachingOTOClient. 
+ * Expected CSV file format as for CSVGlossary, term synonyms are not available.
+ * @author rodenhausen
+ */
+public class LocalOTOClient implements IOTOClient {
+
+	private String filePath;
+	private String version;
+
+	/**
+	 * @param filePath
+	 * @param version to report for the glossary of the file, followed by a hash of its content
+	 */
+	@Inject
+	public LocalOTOClient(@Named("CSVGlossary_filePath")String filePath, 
+			@Named("LocalOTOClient_version")String version) {
+		this.filePath = filePath;
+		this.version = version;
+	}
+
+	@Override
+	public GlossaryDownload download(String glossaryType) {
+		return download(glossaryType, version);
+	}
+
+	@Override
+	public GlossaryDownload download(String glossaryType, String version) {
+		List<TermCategory> termCategories = new LinkedList<TermCategory>();
+		String contentVersion = this.version;
+		try {
+			byte[] content = Files.readAllBytes(Paths.get(filePath));
+			contentVersion = this.version + "-" + hash(content);
+			try(CSVReader reader = new CSVReader(new InputStreamReader(new ByteArrayInputStream(content)))) {
+				for(String[] line : reader.readAll()) 
+					termCategories.add(new TermCategory(line[1], line[2], false));
+			}
+		} catch(Exception e) {
+			log(LogLevel.ERROR, "Problem reading glossary file " + filePath, e);
+		}
+		return new GlossaryDownload(termCategories, new LinkedList<TermSynonym>(), contentVersion);
+	}
+	
+	private String hash(byte[] content) throws Exception {
+		byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+		StringBuilder hash = new StringBuilder();
+		//the first 6 bytes are enough to tell versions of a file apart
+		for(int i = 0; i < 6; i++) 
+			hash.append(String.format("%02x", digest[i]));
+		return hash.toString();
+	}
+}
@@ -0,0 +1,97 @@
+package semanticMarkup.know.lib;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import semanticMarkup.know.ICorpus;
+import semanticMarkup.log.LogLevel;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * A MappedCorpus creates an ICorpus from a compiled corpus file which is memory-mapped read-only, hence it is shared 
+ * via the page cache by all processes on a host. The file consists of a header, the character offsets of the sorted 
+ * words, their frequencies and the characters of the words. A frequency is looked up by binary search comparing the 
+ * word case folded character by character, so a lookup does not allocate. If the corpus file is missing or older than 
+ * the CSV file it is compiled from the CSV file using CSVCorpusConverter.
+ * @author rodenhausen
+ */
+public class MappedCorpus implements ICorpus {
+
+	static final int MAGIC = 0x434f5250;
+	static final int FORMAT_VERSION = 1;
+	private static final int HEADER_LENGTH = 16;
+	
+	private MappedByteBuffer buffer;
+	private int size;
+	private int offsetsPosition;
+	private int frequenciesPosition;
+	private int charactersPosition;
+
+	/**
+	 * @param filePath of the compiled corpus
+	 * @param csvFilePath to compile the corpus from if necessary
+	 * @throws IOException
+	 */
+	@Inject
+	public MappedCorpus(@Named("MappedCorpus_filePath") String filePath, 
+			@Named("CSVCorpus_filePath") String csvFilePath) throws IOException {
+		File file = new File(filePath);
+		CSVCorpusConverter corpusConverter = new CSVCorpusConverter(csvFilePath, filePath);
+		if(!corpusConverter.isCurrent()) {
+			log(LogLevel.INFO, "Compiling corpus " + filePath + " from " + csvFilePath);
+			corpusConverter.convert();
+		}
+		
+		try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+			buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+		}
+		if(buffer.capacity() < HEADER_LENGTH || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION)
+			throw new IOException("Unknown corpus file format " + filePath);
+		size = buffer.getInt(8);
+		offsetsPosition = HEADER_LENGTH;
+		frequenciesPosition = offsetsPosition + (size + 1) * 4;
+		charactersPosition = frequenciesPosition + size * 4;
+	}
+	
+	@Override
+	public int getFrequency(String word) {
+		int low = 0;
+		int high = size - 1;
+		while(low <= high) {
+			int middle = (low + high) >>> 1;
+			int comparison = compare(middle, word);
+			if(comparison < 0)
+				low = middle + 1;
+			else if(comparison > 0)
+				high = middle - 1;
+			else
+				return buffer.getInt(frequenciesPosition + middle * 4);
+		}
+		return 0;
+	}
+	
+	/**
+	 * @return the number of words in the corpus
+	 */
+	public int size() {
+		return size;
+	}
+
+	private int compare(int index, String word) {
+		int start = buffer.getInt(offsetsPosition + index * 4);
+		int length = buffer.getInt(offsetsPosition + (index + 1) * 4) - start;
+		int commonLength = Math.min(length, word.length());
+		for(int i = 0; i < commonLength; i++) {
+			char character = buffer.getChar(charactersPosition + (start + i) * 2);
+			char wordCharacter = Character.toLowerCase(word.charAt(i));
+			if(character != wordCharacter)
+				return character - wordCharacter;
+		}
+		return length - word.length();
+	}
+}
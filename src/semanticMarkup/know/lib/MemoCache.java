@@ -0,0 +1,136 @@
+package semanticMarkup.know.lib;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MemoCache memoizes the results of a lookup that is expensive and whose result only depends on its key. 
+ * The cache can be read and written concurrently without locking. It is bounded: If the capacity is exceeded a quarter 
+ * of the entries is evicted. A lookup may be computed more than once if it is requested concurrently, hence load has to
+ * be free of side effects. Null values are supported.
+ * @author rodenhausen
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public abstract class MemoCache<K, V> {
+
+	private static final Object NULL = new Object();
+	
+	private ConcurrentHashMap<K, Object> values;
+	private int capacity;
+	private AtomicInteger size = new AtomicInteger();
+	private AtomicLong hits = new AtomicLong();
+	private AtomicLong misses = new AtomicLong();
+	private AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param capacity the maximum number of entries to keep
+	 */
+	public MemoCache(int capacity) {
+		this.capacity = Math.max(1, capacity);
+		this.values = new ConcurrentHashMap<K, Object>(Math.min(this.capacity, 1024), 0.75f, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * @param key
+	 * @return the value for the key
+	 */
+	protected abstract V load(K key);
+	
+	/**
+	 * @param key
+	 * @return the memoized value for the key, loaded if not yet memoized
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		Object value = values.get(key);
+		if(value != null) {
+			hits.incrementAndGet();
+			return value == NULL ? null : (V)value;
+		}
+		misses.incrementAndGet();
+		V result = load(key);
+		if(values.putIfAbsent(key, result == null ? NULL : result) == null && size.incrementAndGet() > capacity)
+			evict();
+		return result;
+	}
+	
+	/**
+	 * Memoizes a value that was determined elsewhere, e.g. as a by-product of loading another memoized value
+	 * @param key
+	 * @param value
+	 */
+	public void put(K key, V value) {
+		if(values.put(key, value == null ? NULL : value) == null && size.incrementAndGet() > capacity)
+			evict();
+	}
+	
+	private void evict() {
+		int target = capacity - capacity / 4;
+		Iterator<K> iterator = values.keySet().iterator();
+		while(size.get() > target && iterator.hasNext()) {
+			if(values.remove(iterator.next()) != null) {
+				size.decrementAndGet();
+				evictions.incrementAndGet();
+			}
+		}
+	}
+	
+	/**
+	 * Removes all memoized values, e.g. if the source of the lookup has changed
+	 */
+	public void clear() {
+		Iterator<K> iterator = values.keySet().iterator();
+		while(iterator.hasNext()) {
+			if(values.remove(iterator.next()) != null)
+				size.decrementAndGet();
+		}
+	}
+	
+	/**
+	 * @return the number of memoized values
+	 */
+	public int size() {
+		return size.get();
+	}
+	
+	/**
+	 * @return the number of lookups answered from the cache
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+	
+	/**
+	 * @return the number of lookups that had to be loaded
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+	
+	/**
+	 * @return the number of memoized values evicted because the capacity was exceeded
+	 */
+	public long getEvictions() {
+		return evictions.get();
+	}
+	
+	/**
+	 * @return the ratio of lookups answered from the cache
+	 */
+	public double getHitRate() {
+		long hits = this.hits.get();
+		long total = hits + misses.get();
+		return total == 0 ? 0.0 : (double)hits / total;
+	}
+	
+	/**
+	 * @return a summary of size, hits, misses and evictions
+	 */
+	public String getStatistics() {
+		return "size: " + size() + "/" + capacity + ", hits: " + getHits() + ", misses: " + getMisses() + 
+				", evictions: " + getEvictions();
+	}
+}
@@ -0,0 +1,206 @@
+package semanticMarkup.know.lib;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+
+/**
+ * A TermMatcher finds all occurrences of a dictionary of terms in a text in a single linear scan (Aho-Corasick). 
+ * An occurrence has to start and end at a word boundary, as defined by \b of java.util.regex. Overlapping occurrences 
+ * are resolved leftmost-longest. Terms can be added at any time, the failure links of the automaton are rebuilt on the 
+ * next scan after a term has been added.
+ * A TermMatcher is not thread-safe.
+ * @author rodenhausen
+ */
+public class TermMatcher {
+
+	private static final int ROOT = 0;
+	
+	private char[][] labels = new char[16][];
+	private int[][] targets = new int[16][];
+	private int[] childCounts = new int[16];
+	private int[] termLengths = new int[16];
+	private int[] failures = new int[16];
+	private int[] outputs = new int[16];
+	private int nodes = 1;
+	private int size = 0;
+	private boolean linked = true;
+
+	public TermMatcher() { }
+	
+	/**
+	 * @param terms to match
+	 */
+	public TermMatcher(Collection<String> terms) {
+		for(String term : terms)
+			add(term);
+	}
+	
+	/**
+	 * @param term to match, empty terms are ignored
+	 * @return if the term was not contained yet
+	 */
+	public boolean add(String term) {
+		if(term.isEmpty())
+			return false;
+		int node = ROOT;
+		for(int i = 0; i < term.length(); i++) {
+			int child = getChild(node, term.charAt(i));
+			if(child < 0)
+				child = addChild(node, term.charAt(i));
+			node = child;
+		}
+		if(termLengths[node] > 0)
+			return false;
+		termLengths[node] = term.length();
+		size++;
+		linked = false;
+		return true;
+	}
+	
+	/**
+	 * @param term
+	 * @return if the term is matched
+	 */
+	public boolean contains(String term) {
+		int node = ROOT;
+		for(int i = 0; i < term.length() && node >= 0; i++)
+			node = getChild(node, term.charAt(i));
+		return node > ROOT && termLengths[node] > 0;
+	}
+	
+	/**
+	 * @return the number of terms
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @param text
+	 * @param left to insert before each occurrence of a term
+	 * @param right to insert after each occurrence of a term
+	 * @return the text with all occurrences of the terms enclosed by left and right
+	 */
+	public String mark(String text, String left, String right) {
+		int[] longestEnds = findLongestEnds(text);
+		StringBuilder result = new StringBuilder(text.length() + 16);
+		int i = 0;
+		while(i < text.length()) {
+			int end = longestEnds[i];
+			if(end > 0) {
+				result.append(left).append(text, i, end).append(right);
+				i = end;
+			} else {
+				result.append(text.charAt(i));
+				i++;
+			}
+		}
+		return result.toString();
+	}
+	
+	/**
+	 * @return for each start position the end of the longest occurrence of a term starting there or 0
+	 */
+	private int[] findLongestEnds(String text) {
+		if(!linked)
+			link();
+		int[] longestEnds = new int[text.length()];
+		int node = ROOT;
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			int child = getChild(node, c);
+			while(child < 0 && node != ROOT) {
+				node = failures[node];
+				child = getChild(node, c);
+			}
+			node = child < 0 ? ROOT : child;
+			
+			int end = i + 1;
+			for(int match = termLengths[node] > 0 ? node : outputs[node]; match > ROOT; match = outputs[match]) {
+				int start = end - termLengths[match];
+				if(isBoundary(text, start) && isBoundary(text, end) && longestEnds[start] < end)
+					longestEnds[start] = end;
+			}
+		}
+		return longestEnds;
+	}
+
+	private static boolean isBoundary(String text, int position) {
+		boolean wordBefore = position > 0 && isWordCharacter(text.charAt(position - 1));
+		boolean wordAfter = position < text.length() && isWordCharacter(text.charAt(position));
+		return wordBefore != wordAfter;
+	}
+	
+	/**
+	 * as for \b of java.util.regex, which also counts non ASCII letters and digits, e.g. accented letters
+	 */
+	private static boolean isWordCharacter(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+
+	/**
+	 * Computes the failure link of each node and the next node on its failure chain that ends a term, breadth first
+	 */
+	private void link() {
+		LinkedList<Integer> queue = new LinkedList<Integer>();
+		failures[ROOT] = ROOT;
+		outputs[ROOT] = ROOT;
+		for(int i = 0; i < childCounts[ROOT]; i++) {
+			int child = targets[ROOT][i];
+			failures[child] = ROOT;
+			outputs[child] = ROOT;
+			queue.add(child);
+		}
+		while(!queue.isEmpty()) {
+			int node = queue.removeFirst();
+			for(int i = 0; i < childCounts[node]; i++) {
+				char c = labels[node][i];
+				int child = targets[node][i];
+				int failure = failures[node];
+				int failureChild = getChild(failure, c);
+				while(failureChild < 0 && failure != ROOT) {
+					failure = failures[failure];
+					failureChild = getChild(failure, c);
+				}
+				failures[child] = failureChild < 0 ? ROOT : failureChild;
+				outputs[child] = termLengths[failures[child]] > 0 ? failures[child] : outputs[failures[child]];
+				queue.add(child);
+			}
+		}
+		linked = true;
+	}
+
+	private int getChild(int node, char c) {
+		char[] nodeLabels = labels[node];
+		for(int i = 0; i < childCounts[node]; i++) {
+			if(nodeLabels[i] == c)
+				return targets[node][i];
+		}
+		return -1;
+	}
+
+	private int addChild(int node, char c) {
+		if(nodes == termLengths.length) {
+			int capacity = nodes * 2;
+			labels = Arrays.copyOf(labels, capacity);
+			targets = Arrays.copyOf(targets, capacity);
+			childCounts = Arrays.copyOf(childCounts, capacity);
+			termLengths = Arrays.copyOf(termLengths, capacity);
+			failures = Arrays.copyOf(failures, capacity);
+			outputs = Arrays.copyOf(outputs, capacity);
+		}
+		int child = nodes++;
+		if(labels[node] == null) {
+			labels[node] = new char[2];
+			targets[node] = new int[2];
+		} else if(childCounts[node] == labels[node].length) {
+			labels[node] = Arrays.copyOf(labels[node], childCounts[node] * 2);
+			targets[node] = Arrays.copyOf(targets[node], childCounts[node] * 2);
+		}
+		labels[node][childCounts[node]] = c;
+		targets[node][childCounts[node]] = child;
+		childCounts[node]++;
+		return child;
+	}
+}
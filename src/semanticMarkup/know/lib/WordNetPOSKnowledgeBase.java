@@ -8,9 +8,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import semanticMarkup.know.IPOSKnowledgeBase;
 import semanticMarkup.ling.pos.POS;
+import semanticMarkup.log.LogLevel;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
@@ -26,99 +28,105 @@ import edu.mit.jwi.morph.WordnetStemmer;
 
 /**
  * WordNetPOSKnowledgeBase poses an IPOSKnowledgeBase by relying on WordNet
- * Access to dictionary is to be synchronized as the dictionary is cached. Hence the underlying data structures constatnly subject to change.
+ * If the dictionary is loaded into RAM, it is loaded completely before first use and does not change afterwards. It
+ * is then accessed without locking. 
+ * Otherwise access to dictionary is to be synchronized as the dictionary is cached. Hence the underlying data structures constatnly subject to change.
  * Because of this parallel access to the dictionary may cause conflicts 
  * (e.g. first thread causes cached dictionary to change its content while second iterates over dictionary content)
+ * The results of isNoun, getMostLikleyPOS and getSingulars are memoized.
  * @author rodenhausen
  */
 public class WordNetPOSKnowledgeBase implements IPOSKnowledgeBase {
 
 	private IDictionary dictionary;
+	private WordnetStemmer stemmer;
+	private boolean synchronizedAccess;
+	private AtomicLong synchronizedAccesses = new AtomicLong();
+	private MemoCache<String, Boolean> nouns;
+	private MemoCache<String, POS> mostLikelyPOSs;
+	private MemoCache<String, List<String>> singulars;
 	
 	/**
 	 * @param path of the wordnet source files
 	 * @param loadInRAM specified whether the dictionary should be loaded into RAM or read from disk when needed
+	 * @param cacheSize the maximum number of results to memoize per lookup
 	 * @throws IOException
 	 */
 	@Inject
-	public WordNetPOSKnowledgeBase(@Named("WordNetAPI_Sourcefile") String path, @Named("WordNetAPI_LoadInRAM") boolean loadInRAM) throws IOException {
+	public WordNetPOSKnowledgeBase(@Named("WordNetAPI_Sourcefile") String path, @Named("WordNetAPI_LoadInRAM") boolean loadInRAM, 
+			@Named("WordNetAPI_CacheSize") int cacheSize) throws IOException {
 		if(loadInRAM) 
-			dictionary = new RAMDictionary(new File(path), RAMDictionary.BACKGROUND_LOAD);
+			dictionary = new RAMDictionary(new File(path), RAMDictionary.IMMEDIATE_LOAD);
 		else 
 			dictionary = new Dictionary(new File(path));
 		dictionary.open();
+		this.synchronizedAccess = !loadInRAM;
+		if(loadInRAM && !((RAMDictionary)dictionary).isLoaded()) {
+			//a RAMDictionary that failed to load delegates to its cached backing dictionary
+			log(LogLevel.ERROR, "Could not load WordNet into RAM, falling back to synchronized access");
+			this.synchronizedAccess = true;
+		}
+		this.stemmer = new WordnetStemmer(dictionary);
+		
+		this.nouns = new MemoCache<String, Boolean>(cacheSize) {
+			@Override
+			protected Boolean load(String word) {
+				return getIndexWord(word, edu.mit.jwi.item.POS.NOUN) != null;
+			}
+		};
+		this.mostLikelyPOSs = new MemoCache<String, POS>(cacheSize) {
+			@Override
+			protected POS load(String word) {
+				return findMostLikelyPOS(word);
+			}
+		};
+		this.singulars = new MemoCache<String, List<String>>(cacheSize) {
+			@Override
+			protected List<String> load(String word) {
+				return findSingulars(word);
+			}
+		};
 	}
 
 	@Override
 	public boolean isNoun(String word) {
-		synchronized(dictionary) {
-			return dictionary.getIndexWord(word, edu.mit.jwi.item.POS.NOUN) != null;
-		}
+		return nouns.get(word);
 	}
 
 	@Override
 	public boolean isAdjective(String word) {
-		synchronized(dictionary) {
-			return dictionary.getIndexWord(word, edu.mit.jwi.item.POS.ADJECTIVE) != null;
-		}
+		return getIndexWord(word, edu.mit.jwi.item.POS.ADJECTIVE) != null;
 	}
 
 	@Override
 	public boolean isAdverb(String word) {
-		synchronized(dictionary) {
-			return dictionary.getIndexWord(word, edu.mit.jwi.item.POS.ADVERB) != null;
-		}
+		return getIndexWord(word, edu.mit.jwi.item.POS.ADVERB) != null;
 	}
 
 	@Override
 	public boolean isVerb(String word) {
-		synchronized(dictionary) {
-			return dictionary.getIndexWord(word, edu.mit.jwi.item.POS.VERB) != null;
-		}
+		return getIndexWord(word, edu.mit.jwi.item.POS.VERB) != null;
 	}
 	
-	/**
-	 * Needs to be synchronized, otherwise not thread safe. Underlying linkedHashMap throws ConcurrentModificationException
-	 */
 	@Override
 	public POS getMostLikleyPOS(String word) {
-		WordnetStemmer stemmer = null;
-		synchronized(dictionary) {
-			stemmer = new WordnetStemmer(dictionary);
-		}
+		return mostLikelyPOSs.get(word);
+	}
+	
+	private POS findMostLikelyPOS(String word) {
+		//From JavaDoc: The surface form may or may not contain whitespace or underscores, and may be in mixed case.
+		word = word.replaceAll("\\s", "").replaceAll("_", "");
 		
 		int maxCount = -1;
 		edu.mit.jwi.item.POS mostLikelyPOS = null;
 		for(edu.mit.jwi.item.POS pos : edu.mit.jwi.item.POS.values()) {
-			
-			//From JavaDoc: The surface form may or may not contain whitespace or underscores, and may be in mixed case.
-			word = word.replaceAll("\\s", "").replaceAll("_", "");
-			
-			List<String> stems = null;
-			synchronized(dictionary) {
-				stems = stemmer.findStems(word, pos);
-			}
-			for(String stem : stems) {
-				synchronized(dictionary) {
-					IIndexWord indexWord = dictionary.getIndexWord(stem, pos);
-					if(indexWord!=null) {
-						int count = 0;
-						for(IWordID wordId : indexWord.getWordIDs()) {
-							IWord aWord = dictionary.getWord(wordId);
-							//ISynset synset = aWord.getSynset();
-							//log(LogLevel.DEBUG, synset.getGloss());
-							ISenseEntry senseEntry = dictionary.getSenseEntry(aWord.getSenseKey());
-							//log(LogLevel.DEBUG, senseEntry.getSenseNumber());
-							count += senseEntry.getTagCount();
-						}
-						
-						//int tagSenseCount = indexWord.getTagSenseCount();
-						//int wordIdCount = indexWord.getWordIDs().size();
-						if(count > maxCount) {
-							maxCount = count;
-							mostLikelyPOS = pos;
-						}
-					}
+			for(String stem : findStems(word, pos)) {
+				int count = getTagCount(stem, pos);
+				//int tagSenseCount = indexWord.getTagSenseCount();
+				//int wordIdCount = indexWord.getWordIDs().size();
+				if(count > maxCount) {
+					maxCount = count;
+					mostLikelyPOS = pos;
 				}
 			}
 		}	
@@ -126,6 +134,55 @@ public class WordNetPOSKnowledgeBase implements IPOSKnowledgeBase {
 		return translateWordNetPOSToPennPOS(mostLikelyPOS);
 	}
 	
+	/**
+	 * @return the tag count summed over all senses of the stem, -1 if the stem is not contained
+	 */
+	private int getTagCount(String stem, edu.mit.jwi.item.POS pos) {
+		if(synchronizedAccess) {
+			synchronizedAccesses.incrementAndGet();
+			synchronized(dictionary) {
+				return readTagCount(stem, pos);
+			}
+		}
+		return readTagCount(stem, pos);
+	}
+	
+	private int readTagCount(String stem, edu.mit.jwi.item.POS pos) {
+		IIndexWord indexWord = dictionary.getIndexWord(stem, pos);
+		if(indexWord == null)
+			return -1;
+		int count = 0;
+		for(IWordID wordId : indexWord.getWordIDs()) {
+			IWord aWord = dictionary.getWord(wordId);
+			//ISynset synset = aWord.getSynset();
+			//log(LogLevel.DEBUG, synset.getGloss());
+			ISenseEntry senseEntry = dictionary.getSenseEntry(aWord.getSenseKey());
+			//log(LogLevel.DEBUG, senseEntry.getSenseNumber());
+			count += senseEntry.getTagCount();
+		}
+		return count;
+	}
+	
+	private IIndexWord getIndexWord(String word, edu.mit.jwi.item.POS pos) {
+		if(synchronizedAccess) {
+			synchronizedAccesses.incrementAndGet();
+			synchronized(dictionary) {
+				return dictionary.getIndexWord(word, pos);
+			}
+		}
+		return dictionary.getIndexWord(word, pos);
+	}
+	
+	private List<String> findStems(String word, edu.mit.jwi.item.POS pos) {
+		if(synchronizedAccess) {
+			synchronizedAccesses.incrementAndGet();
+			synchronized(dictionary) {
+				return stemmer.findStems(word, pos);
+			}
+		}
+		return stemmer.findStems(word, pos);
+	}
+	
 	private POS translateWordNetPOSToPennPOS(edu.mit.jwi.item.POS pos) {
 		if(pos==null)
 			return null;
@@ -146,13 +203,10 @@ public class WordNetPOSKnowledgeBase implements IPOSKnowledgeBase {
 	@Override
 	public boolean contains(String word) {
 		for(edu.mit.jwi.item.POS pos : edu.mit.jwi.item.POS.values()) {
-			synchronized(dictionary) {
-				WordnetStemmer stemmer = new WordnetStemmer(dictionary);
-				for(String stem : stemmer.findStems(word, pos)) {
-					IIndexWord indexWord = dictionary.getIndexWord(stem, pos);
-					if(indexWord!=null)
-						return true;
-				}
+			for(String stem : findStems(word, pos)) {
+				IIndexWord indexWord = getIndexWord(stem, pos);
+				if(indexWord!=null)
+					return true;
 			}
 		}
 		return false;
@@ -160,24 +214,22 @@ public class WordNetPOSKnowledgeBase implements IPOSKnowledgeBase {
 	
 	@Override
 	public List<String> getSingulars(String word) {
-		List<String> singulars = null;
-		synchronized(dictionary) {
-			WordnetStemmer stemmer = new WordnetStemmer(dictionary);
-			singulars = stemmer.findStems(word, edu.mit.jwi.item.POS.NOUN);
-		}
+		return new ArrayList<String>(singulars.get(word));
+	}
+	
+	private List<String> findSingulars(String word) {
+		List<String> singulars = findStems(word, edu.mit.jwi.item.POS.NOUN);
 		List<String> result = new ArrayList<String>();
 		
 		TreeMap<Integer, List<String>> singularFrequencies = new TreeMap<Integer, List<String>>();
 		for(String singular : singulars) {
-			synchronized(dictionary) {
-				IIndexWord indexWord = dictionary.getIndexWord(singular, edu.mit.jwi.item.POS.NOUN);
-				if(indexWord!=null) {
-					//int tagSenseCount = indexWord.getTagSenseCount();
-					int wordIdCount = indexWord.getWordIDs().size();
-					if(!singularFrequencies.containsKey(wordIdCount))
-						singularFrequencies.put(wordIdCount, new ArrayList<String>());
-					singularFrequencies.get(wordIdCount).add(singular);
-				}
+			IIndexWord indexWord = getIndexWord(singular, edu.mit.jwi.item.POS.NOUN);
+			if(indexWord!=null) {
+				//int tagSenseCount = indexWord.getTagSenseCount();
+				int wordIdCount = indexWord.getWordIDs().size();
+				if(!singularFrequencies.containsKey(wordIdCount))
+					singularFrequencies.put(wordIdCount, new ArrayList<String>());
+				singularFrequencies.get(wordIdCount).add(singular);
 			}
 		}
 		Map<Integer, List<String>> reverseMap = singularFrequencies.descendingMap();
@@ -185,6 +237,7 @@ public class WordNetPOSKnowledgeBase implements IPOSKnowledgeBase {
 			result.addAll(entry.getValue());
 		
 		if(result.isEmpty()) {
+			singulars = new ArrayList<String>(singulars);
 			if(word.endsWith("ies")) {
 				Iterator<String> singularsIterator = singulars.iterator();
 				while(singularsIterator.hasNext()) {
@@ -202,9 +255,22 @@ public class WordNetPOSKnowledgeBase implements IPOSKnowledgeBase {
 		return result;
 	}
 	
+	/**
+	 * @return the number of dictionary accesses that had to be synchronized, 0 if the dictionary is loaded into RAM
+	 */
+	public long getSynchronizedAccessCount() {
+		return synchronizedAccesses.get();
+	}
+	
+	@Override
+	public String toString() {
+		return "synchronized dictionary accesses: " + getSynchronizedAccessCount() + ", isNoun cache: " + nouns.getStatistics() + 
+				", getMostLikleyPOS cache: " + mostLikelyPOSs.getStatistics() + ", getSingulars cache: " + singulars.getStatistics();
+	}
+	
 	public static void main(String[] args) throws IOException{
 		
-		WordNetPOSKnowledgeBase wordNetAPI = new WordNetPOSKnowledgeBase("src//main//resources//wordNet3.1//dict//", false);
+		WordNetPOSKnowledgeBase wordNetAPI = new WordNetPOSKnowledgeBase("src//main//resources//wordNet3.1//dict//", false, 10000);
 		System.out.println(wordNetAPI.getMostLikleyPOS("green"));
 		
 	}
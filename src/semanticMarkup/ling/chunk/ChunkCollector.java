@@ -1,6 +1,7 @@
 package semanticMarkup.ling.chunk;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -31,10 +32,13 @@ public class ChunkCollector implements Iterable<Chunk> {
 	private AbstractParseTree parseTree;
 	private String subjectTag; //tag field in the sentence table
 	private Treatment treatment; //the entire xml input for a treatment
-	//terminalID to Chunk. 
-	//IParseTree as key doesn't work as hashcodes created have to depend on parent (otherwise same words in a sentence are assigned same hash)
-	//, but IParseTree doesnt know its parent in the current implementation
-	private HashMap<Integer, Chunk> chunks = new HashMap<Integer, Chunk>(); //integer is the index of ther terminal nodes in the parse tree
+	//terminalID to Chunk, the chunk of a terminal is stored at index terminalID + 1. 
+	//Index 0 holds the chunk of trees that are not (or no longer) terminals of the parse tree, their terminalID being -1
+	private Chunk[] chunks = new Chunk[1];
+	//terminals and terminalIDs are built once and only rebuilt if the structure of the parse tree changed
+	private List<AbstractParseTree> terminals;
+	private HashMap<AbstractParseTree, Integer> terminalIds;
+	private long terminalsModificationCount;
 	private String source;
 	
 	/**
@@ -64,7 +68,7 @@ public class ChunkCollector implements Iterable<Chunk> {
 		result.append("source: ").append(source).append("\n");
 		result.append("treatment: ").append(treatment.getName()).append("\n");
 		result.append("chunks:\n");
-		for(AbstractParseTree terminal : getTerminals()) {
+		for(AbstractParseTree terminal : getCurrentTerminals()) {
 			Chunk chunk = this.getChunk(terminal);
 			if(chunk!=null)
 				result.append(terminal.toString()).append(" => ").append(chunk.toString()).append("\n");
@@ -130,16 +134,16 @@ public class ChunkCollector implements Iterable<Chunk> {
 		int firstTerminalId = getTerminalId(terminals.get(0));
 		int lastTerminalId = getTerminalId(terminals.get(terminals.size()-1));
 
-		if(chunks.containsKey(firstTerminalId - 1)) {
-			Chunk previousChunk = chunks.get(firstTerminalId - 1);
+		if(getChunk(firstTerminalId - 1) != null) {
+			Chunk previousChunk = getChunk(firstTerminalId - 1);
 			for(AbstractParseTree terminal : chunk.getTerminals()) {
 				if(previousChunk.containsOrEquals(terminal))
 					log(LogLevel.DEBUG, "This is not a valid chunk. Terminal was already included in previous chunk");
 			}
 		}
 
-		if(chunks.containsKey(lastTerminalId + 1)) {
-			Chunk nextChunk = chunks.get(lastTerminalId + 1);
+		if(getChunk(lastTerminalId + 1) != null) {
+			Chunk nextChunk = getChunk(lastTerminalId + 1);
 			for(AbstractParseTree terminal : chunk.getTerminals()) {
 				if(nextChunk.containsOrEquals(terminal))
 					log(LogLevel.DEBUG, "This is not a valid chunk. Terminal was already included in next chunk");
@@ -147,7 +151,7 @@ public class ChunkCollector implements Iterable<Chunk> {
 		}
 				
 		for(IParseTree parseTree : chunk.getTerminals()) {	
-			chunks.put(getTerminalId(parseTree), chunk);
+			chunks[getTerminalId(parseTree) + 1] = chunk;
 		}
 		this.hasChanged = true;
 	}
@@ -157,11 +161,15 @@ public class ChunkCollector implements Iterable<Chunk> {
 	 * @return the terminal id of the parseTree
 	 */
 	public int getTerminalId(IParseTree parseTree) {
-		return this.getTerminals().indexOf(parseTree);
+		updateTerminals();
+		Integer terminalId = terminalIds.get(parseTree);
+		if(terminalId == null)
+			return -1;
+		return terminalId;
 	}
 	
 	private int getMaxTerminalId() {
-		return this.getTerminals().size() - 1;
+		return this.getCurrentTerminals().size() - 1;
 	}
 	
 	/**
@@ -169,9 +177,41 @@ public class ChunkCollector implements Iterable<Chunk> {
 	 * @return the root chunk associated with the parseTree
 	 */
 	public Chunk getChunk(AbstractParseTree parseTree) {
-		if(chunks.get(getTerminalId(parseTree)) == null)
+		int terminalId = getTerminalId(parseTree);
+		if(getChunk(terminalId) == null) {
 			this.addChunk(parseTree);
-		return chunks.get(getTerminalId(parseTree));
+			terminalId = getTerminalId(parseTree);
+		}
+		return getChunk(terminalId);
+	}
+	
+	private Chunk getChunk(int terminalId) {
+		if(terminalId < -1 || terminalId + 1 >= chunks.length)
+			return null;
+		return chunks[terminalId + 1];
+	}
+	
+	/**
+	 * Rebuilds the terminals and their ids if the parse tree's structure has changed since they were last built
+	 */
+	private void updateTerminals() {
+		long modificationCount = parseTree.getModificationCount();
+		if(terminals != null && terminalsModificationCount == modificationCount)
+			return;
+		terminals = parseTree.getTerminals();
+		terminalIds = new HashMap<AbstractParseTree, Integer>(terminals.size() * 2);
+		for(int i=0; i<terminals.size(); i++) {
+			if(!terminalIds.containsKey(terminals.get(i)))
+				terminalIds.put(terminals.get(i), i);
+		}
+		if(chunks.length < terminals.size() + 1)
+			chunks = Arrays.copyOf(chunks, terminals.size() + 1);
+		terminalsModificationCount = modificationCount;
+	}
+	
+	private List<AbstractParseTree> getCurrentTerminals() {
+		updateTerminals();
+		return terminals;
 	}
 	
 	/**
@@ -187,8 +227,8 @@ public class ChunkCollector implements Iterable<Chunk> {
 	 * @return if parseTree is part of a non terminal chunk 
 	 */
 	public boolean isPartOfANonTerminalChunk(IParseTree parseTree) {
-		int terminalId = getTerminalId(parseTree);
-		return chunks.containsKey(terminalId) && !chunks.get(terminalId).isTerminal();
+		Chunk chunk = getChunk(getTerminalId(parseTree));
+		return chunk != null && !chunk.isTerminal();
 	}
 		
 	/**
@@ -197,7 +237,7 @@ public class ChunkCollector implements Iterable<Chunk> {
 	 * @return true if the parseTree participates in a chunk of chunkType
 	 */
 	public boolean isPartOfChunkType(AbstractParseTree parseTree, ChunkType chunkType) {
-		if(chunks.containsKey(getTerminalId(parseTree))) {
+		if(getChunk(getTerminalId(parseTree)) != null) {
 			Chunk chunk = this.getChunk(parseTree);
 			return chunk.isPartOfChunkType(parseTree, chunkType);
 		}
@@ -210,7 +250,7 @@ public class ChunkCollector implements Iterable<Chunk> {
 	 * @return true if the parseTree's root chunk is of chunkType
 	 */
 	public boolean isOfChunkType(AbstractParseTree parseTree, ChunkType chunkType) {
-		if(chunks.containsKey(getTerminalId(parseTree))) {
+		if(getChunk(getTerminalId(parseTree)) != null) {
 			Chunk chunk = this.getChunk(parseTree);
 			return chunk.isOfChunkType(chunkType);
 		}
@@ -252,7 +292,7 @@ public class ChunkCollector implements Iterable<Chunk> {
 	 * @return the list of terminals of the sentence
 	 */
 	public List<AbstractParseTree> getTerminals() {
-		return this.parseTree.getTerminals();
+		return new ArrayList<AbstractParseTree>(getCurrentTerminals());
 	}
 
 	/**
@@ -260,7 +300,7 @@ public class ChunkCollector implements Iterable<Chunk> {
 	 */
 	public List<Chunk> getChunks() {
 		List<Chunk> chunks = new ArrayList<Chunk>();
-		List<AbstractParseTree> terminals = getTerminals();
+		List<AbstractParseTree> terminals = getCurrentTerminals();
 		Chunk previousChunk = null;
 		for(AbstractParseTree terminal : terminals) {
 			Chunk chunk = this.getChunk(terminal);
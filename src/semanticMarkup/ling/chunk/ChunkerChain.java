@@ -1,5 +1,6 @@
 package semanticMarkup.ling.chunk;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -58,5 +59,12 @@ public class ChunkerChain {
 		return chunkers.remove(chunker);
 	}
 	
+	/**
+	 * @return the chunkers in the order they are executed
+	 */
+	public List<IChunker> getChunkers() {
+		return Collections.unmodifiableList(chunkers);
+	}
+	
 }
 
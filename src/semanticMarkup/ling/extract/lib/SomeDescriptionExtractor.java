@@ -34,7 +34,7 @@ import com.google.inject.Inject;
  */
 public class SomeDescriptionExtractor implements IDescriptionExtractor {
 
-	private Set<String> lifeStyles;
+	private IGlossary glossary;
 	
 	private IFirstChunkProcessor firstChunkProcessor;
 	private ILastChunkProcessor lastChunkProcessor;
@@ -52,7 +52,7 @@ public class SomeDescriptionExtractor implements IDescriptionExtractor {
 			IChunkProcessorProvider chunkProcessorProvider, 
 			IFirstChunkProcessor firstChunkProcessor, 
 			ILastChunkProcessor lastChunkProcessor) {
-		lifeStyles = glossary.getWords("life_style");
+		this.glossary = glossary;
 		this.chunkProcessorProvider = chunkProcessorProvider;
 		this.firstChunkProcessor = firstChunkProcessor;
 		this.lastChunkProcessor = lastChunkProcessor;
@@ -188,6 +188,8 @@ public class SomeDescriptionExtractor implements IDescriptionExtractor {
 			}
 		}
 		
+		// looked up on each call, the glossary is only complete after it has been initialized with the learned terms
+		Set<String> lifeStyles = glossary.getWords("life_style");
 		boolean modifiedWholeOrganism = false;
 		Iterator<DescriptionTreatmentElement> resultIterator = result.iterator();
 		while(resultIterator.hasNext()) {
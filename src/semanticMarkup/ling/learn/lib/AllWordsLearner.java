@@ -4,13 +4,16 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import semanticMarkup.core.Treatment;
 import semanticMarkup.core.ValueTreatmentElement;
+import semanticMarkup.io.db.BulkWriter;
 import semanticMarkup.know.IGlossary;
 import semanticMarkup.ling.Token;
 import semanticMarkup.ling.transform.ITokenCombiner;
@@ -29,26 +32,23 @@ public class AllWordsLearner {
 	private ITokenizer tokenizer;
 	private IGlossary glossary;
 	private String tablename;
-	private Connection connection;
+	private DataSource dataSource;
+	private BulkWriter bulkWriter;
 	
 	@Inject
 	public AllWordsLearner(@Named("WordTokenizer")ITokenizer tokenizer,
 			IGlossary glossary,
-			@Named("databaseHost") String databaseHost,
-			@Named("databasePort") String databasePort,
-			@Named("databaseName") String databaseName,
-			@Named("databasePrefix") String databasePrefix,
-			@Named("databaseUser") String databaseUser,
-			@Named("databasePassword") String databasePassword)
+			DataSource dataSource,
+			BulkWriter bulkWriter,
+			@Named("databasePrefix") String databasePrefix)
 			throws Exception {
 		this.tokenizer = tokenizer;
 		this.glossary = glossary;
+		this.bulkWriter = bulkWriter;
 		this.tablename = databasePrefix + "_allWords";
 
 		// TODO removable once OldPerlTreatmentTransformer is no longer used.
-		Class.forName("com.mysql.jdbc.Driver");
-		connection = DriverManager.getConnection("jdbc:mysql://" + databaseHost + ":" + databasePort +"/" + databaseName + "?connecttimeout=0&sockettimeout=0&autoreconnect=true", 
-				databaseUser, databasePassword);
+		this.dataSource = dataSource;
 	}
 	
 	public void learn(List<Treatment> treatments) throws Exception {
@@ -72,10 +72,11 @@ public class AllWordsLearner {
 	}
 
 	private void createAllWordsTable() throws Exception {
-        Statement statement = connection.createStatement();
-        statement.execute("drop table if exists " + tablename);
-        String query = "create table if not exists " + tablename + " (word varchar(150) unique not null primary key, count int, dhword varchar(150), inbrackets int default 0)";
-        statement.execute(query);        
+        try(Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+	        statement.execute("drop table if exists " + tablename);
+	        String query = "create table if not exists " + tablename + " (word varchar(150) unique not null primary key, count int, dhword varchar(150), inbrackets int default 0)";
+	        statement.execute(query);
+        }
     }
 	
 	/**
@@ -85,17 +86,18 @@ public class AllWordsLearner {
 	 * @throws Exception 
      */
     private void fillInWords() throws Exception{
-        Statement statement = connection.createStatement();
+        List<Object[]> rows = new ArrayList<Object[]>();
         for(String word : wordCounts.keySet()) {
         	int count = this.wordCounts.get(word);
         	int inBracketCount = this.wordInBracketsCounts.get(word);
         	String deHyphenizedWord = word;
         	if(this.deHyphenizedWords.containsKey(word)) 
         		deHyphenizedWord = this.deHyphenizedWords.get(word);
-        	statement.execute("insert into "+tablename+" (word, count, dhword, inbrackets) values('" + word + "', " + count + ",'" + deHyphenizedWord + "'," + inBracketCount + ")");
-        	
+        	rows.add(new Object[] { word, count, deHyphenizedWord, inBracketCount });
+        }
+        try(Connection connection = dataSource.getConnection()) {
+        	bulkWriter.write(connection, "insert into "+tablename+" (word, count, dhword, inbrackets) values (?, ?, ?, ?)", rows);
         }
-        statement.close();
     }
 	
 	
@@ -3,10 +3,14 @@ package semanticMarkup.ling.learn.lib;
 import java.util.List;
 import java.util.Set;
 
+import javax.sql.DataSource;
+
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
 import semanticMarkup.core.Treatment;
+import semanticMarkup.io.db.BulkWriter;
+import semanticMarkup.io.db.IConnectionProvider;
 import semanticMarkup.io.input.lib.db.ParentTagProvider;
 import semanticMarkup.know.IGlossary;
 import semanticMarkup.ling.transform.ITokenizer;
@@ -16,19 +20,17 @@ public class DatabaseInputFromEvaluationNoLearner extends PerlTerminologyLearner
 	@Inject
 	public DatabaseInputFromEvaluationNoLearner(@Named("Run_TemporaryPath") String temporaryPath,
 			@Named("markupMode") String markupMode,
-			@Named("databaseHost") String databaseHost,
-			@Named("databasePort") String databasePort,
+			IConnectionProvider connectionProvider,
+			DataSource dataSource,
+			BulkWriter bulkWriter,
 			@Named("databaseName") String databaseName,
 			@Named("databasePrefix") String databasePrefix, 
-			@Named("databaseUser") String databaseUser, 
-			@Named("databasePassword") String databasePassword, 
 			@Named("StopWords") Set<String> stopWords,
 			@Named("selectedSources") Set<String> selectedSources,
 			IGlossary glossary, 
 			@Named("WordTokenizer") ITokenizer tokenizer, 
 			@Named("parentTagProvider") ParentTagProvider parentTagProvider) throws Exception {
-		super(temporaryPath, markupMode, databaseHost, databasePort, databaseName,
-				databasePrefix, databaseUser, databasePassword,
+		super(temporaryPath, markupMode, connectionProvider, dataSource, bulkWriter, databaseName, databasePrefix, 
 				stopWords, selectedSources, glossary, tokenizer, parentTagProvider);
 	}
 	
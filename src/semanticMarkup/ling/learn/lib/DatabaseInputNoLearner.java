@@ -3,7 +3,11 @@ package semanticMarkup.ling.learn.lib;
 import java.util.List;
 import java.util.Set;
 
+import javax.sql.DataSource;
+
 import semanticMarkup.core.Treatment;
+import semanticMarkup.io.db.BulkWriter;
+import semanticMarkup.io.db.IConnectionProvider;
 import semanticMarkup.io.input.lib.db.ParentTagProvider;
 import semanticMarkup.know.IGlossary;
 import semanticMarkup.ling.transform.ITokenizer;
@@ -21,11 +25,11 @@ public class DatabaseInputNoLearner extends PerlTerminologyLearner {
 	/**
 	 * @param temporaryPath
 	 * @param markupMode
+	 * @param connectionProvider
+	 * @param dataSource
+	 * @param bulkWriter
 	 * @param databaseName
-	 * @param glossaryTable
 	 * @param databasePrefix
-	 * @param databaseUser
-	 * @param databasePassword
 	 * @param stopWords
 	 * @param selectedSources
 	 * @param glossary
@@ -35,19 +39,18 @@ public class DatabaseInputNoLearner extends PerlTerminologyLearner {
 	@Inject
 	public DatabaseInputNoLearner(@Named("Run_TemporaryPath") String temporaryPath,
 			@Named("markupMode") String markupMode,
-			@Named("databaseHost") String databaseHost,
-			@Named("databasePort") String databasePort,
+			IConnectionProvider connectionProvider,
+			DataSource dataSource,
+			BulkWriter bulkWriter,
 			@Named("databaseName") String databaseName,
 			@Named("databasePrefix") String databasePrefix, 
-			@Named("databaseUser") String databaseUser, 
-			@Named("databasePassword") String databasePassword, 
 			@Named("StopWords") Set<String> stopWords,
 			@Named("selectedSources") Set<String> selectedSources,
 			IGlossary glossary, 
 			@Named("WordTokenizer") ITokenizer tokenizer, 
 			@Named("parentTagProvider") ParentTagProvider parentTagProvider) throws Exception {
-		super(temporaryPath, markupMode, databaseHost, databasePort, databaseName,
-				databasePrefix, databaseUser, databasePassword, stopWords, selectedSources, glossary, tokenizer, parentTagProvider);
+		super(temporaryPath, markupMode, connectionProvider, dataSource, bulkWriter, databaseName,
+				databasePrefix, stopWords, selectedSources, glossary, tokenizer, parentTagProvider);
 	}
 	
 	@Override
@@ -4,7 +4,6 @@ import java.io.File;
 import java.io.FileWriter;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -15,6 +14,8 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import oto.beans.TermCategory;
 import oto.beans.TermSynonym;
 import oto.beans.WordRole;
@@ -29,6 +30,7 @@ import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
 import semanticMarkup.core.Treatment;
+import semanticMarkup.io.db.BulkWriter;
 import semanticMarkup.io.input.IVolumeReader;
 import semanticMarkup.know.IGlossary;
 import semanticMarkup.know.IPOSKnowledgeBase;
@@ -49,7 +51,8 @@ public class OTOLearner implements ILearner {
 	private ITerminologyLearner terminologyLearner;
 	private IOTOClient otoClient;
 	private String databasePrefix;
-	private Connection connection;
+	private DataSource dataSource;
+	private BulkWriter bulkWriter;
 	private String glossaryTable;
 	private IPOSKnowledgeBase posKnowledgeBase;
 	private String glossaryType;
@@ -62,9 +65,8 @@ public class OTOLearner implements ILearner {
 	 * @param volumeReader
 	 * @param terminologyLearner
 	 * @param otoClient
-	 * @param databaseName
-	 * @param databaseUser
-	 * @param databasePassword
+	 * @param dataSource
+	 * @param bulkWriter
 	 * @param databasePrefix
 	 * @param glossary
 	 * @throws Exception
@@ -76,11 +78,8 @@ public class OTOLearner implements ILearner {
 			IOTOLiteClient otoLiteClient,
 			@Named("otoLiteTermReviewURL") String otoLiteTermReviewURL,
 			@Named("otoLiteReviewFile") String otoLiteReviewFile,
-			@Named("databaseHost") String databaseHost,
-			@Named("databasePort") String databasePort,
-			@Named("databaseName")String databaseName,
-			@Named("databaseUser")String databaseUser,
-			@Named("databasePassword")String databasePassword,
+			DataSource dataSource,
+			BulkWriter bulkWriter,
 			@Named("databasePrefix")String databasePrefix, 
 			@Named("glossaryType")String glossaryType,
 			IGlossary glossary, 
@@ -99,9 +98,8 @@ public class OTOLearner implements ILearner {
 		this.posKnowledgeBase = posKnowledgeBase;
 		this.runRootDirectory = runRootDirectory;
 		
-		Class.forName("com.mysql.jdbc.Driver");
-		connection = DriverManager.getConnection("jdbc:mysql://" + databaseHost + ":" + databasePort +"/" + databaseName + "?connecttimeout=0&sockettimeout=0&autoreconnect=true", 
-				databaseUser, databasePassword);
+		this.bulkWriter = bulkWriter;
+		this.dataSource = dataSource;
 	}
 	
 	@Override
@@ -128,11 +126,12 @@ public class OTOLearner implements ILearner {
 		//store uploadid for the prefix so it is available for the markup part (filesystem cannot be used as a tool's directory is cleanedup after each run in the
 		//iplant environment, hence the dependency on mysql can for iplant not completely be removed
 		String sql = "UPDATE datasetprefixes SET oto_uploadid = ?, glossary_version = ? WHERE prefix = ?";
-		PreparedStatement preparedStatement = connection.prepareStatement(sql);
-		preparedStatement.setInt(1, uploadId);
-		preparedStatement.setString(2, glossaryDownload.getVersion());
-		preparedStatement.setString(3, databasePrefix);
-		preparedStatement.execute();
+		try(Connection connection = dataSource.getConnection(); PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+			preparedStatement.setInt(1, uploadId);
+			preparedStatement.setString(2, glossaryDownload.getVersion());
+			preparedStatement.setString(3, databasePrefix);
+			preparedStatement.execute();
+		}
 		
 		//store URL that uses upload id in a local file so that user can look it up
 		FileWriter fw = new FileWriter(runRootDirectory + File.separator + otoLiteReviewFile);  
@@ -175,8 +174,7 @@ public class OTOLearner implements ILearner {
 		}
 		
 
-		try {
-			Statement stmt = connection.createStatement();
+		try(Connection connection = dataSource.getConnection(); Statement stmt = connection.createStatement()) {
 	        String cleanupQuery = "DROP TABLE IF EXISTS " + 
 									tablePrefix + "_term_category, " + 
 									tablePrefix + "_syns, " +
@@ -191,68 +189,56 @@ public class OTOLearner implements ILearner {
 			stmt.execute("CREATE TABLE IF NOT EXISTS " + glossaryTable + " (`term` varchar(100) DEFAULT NULL, `category` varchar(200) " +
 					"DEFAULT NULL, `hasSyn` tinyint(1) DEFAULT NULL)");
 			
-			PreparedStatement statement = connection.prepareStatement("INSERT INTO " + tablePrefix + "_term_category (`term`, `category`, `hasSyn`) VALUES (?, ?, ?)");
-			
-			for(TermCategory termCategory : glossaryDownload.getTermCategories()) {
-				PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + tablePrefix + "_term_category (`term`, `category`, `hasSyn`) VALUES (?, ?, ?)");
-				preparedStatement.setString(1, termCategory.getTerm());
-				preparedStatement.setString(2, termCategory.getCategory());
-				preparedStatement.setBoolean(3, termCategory.isHasSyn());
-				preparedStatement.executeUpdate();
-			}
-			for(TermCategory termCategory : glossaryDownload.getTermCategories()) {
-				PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + glossaryTable + " (`term`, `category`, `hasSyn`) VALUES (?, ?, ?)");	
-				preparedStatement.setString(1, termCategory.getTerm());
-				preparedStatement.setString(2, termCategory.getCategory());
-				preparedStatement.setBoolean(3, termCategory.isHasSyn());
-				preparedStatement.executeUpdate();
-			}
-			for(TermSynonym termSynonym : glossaryDownload.getTermSynonyms()) {
-				PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + tablePrefix + "_syns (`term`, `synonym`) VALUES (?, ?)");
-				preparedStatement.setString(1, termSynonym.getTerm());
-				preparedStatement.setString(2, termSynonym.getSynonym());
-				preparedStatement.executeUpdate();
-			}
-			for(WordRole wordRole : wordRoles) {
-				PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + tablePrefix + "_wordroles" + " VALUES (?, ?, ?)");
-				preparedStatement.setString(1, wordRole.getWord());
-				preparedStatement.setString(2, wordRole.getSemanticRole());
-				preparedStatement.setString(3, wordRole.getSavedid());
-				preparedStatement.executeUpdate();
-			}
+			List<Object[]> termCategoryRows = new ArrayList<Object[]>();
+			for(TermCategory termCategory : glossaryDownload.getTermCategories()) 
+				termCategoryRows.add(new Object[] { termCategory.getTerm(), termCategory.getCategory(), termCategory.isHasSyn() });
+			bulkWriter.write(connection, "INSERT INTO " + tablePrefix + "_term_category (`term`, `category`, `hasSyn`) VALUES (?, ?, ?)", termCategoryRows);
+			bulkWriter.write(connection, "INSERT INTO " + glossaryTable + " (`term`, `category`, `hasSyn`) VALUES (?, ?, ?)", termCategoryRows);
+			List<Object[]> synonymRows = new ArrayList<Object[]>();
+			for(TermSynonym termSynonym : glossaryDownload.getTermSynonyms()) 
+				synonymRows.add(new Object[] { termSynonym.getTerm(), termSynonym.getSynonym() });
+			bulkWriter.write(connection, "INSERT INTO " + tablePrefix + "_syns (`term`, `synonym`) VALUES (?, ?)", synonymRows);
+			List<Object[]> wordRoleRows = new ArrayList<Object[]>();
+			for(WordRole wordRole : wordRoles) 
+				wordRoleRows.add(new Object[] { wordRole.getWord(), wordRole.getSemanticRole(), wordRole.getSavedid() });
+			bulkWriter.write(connection, "INSERT INTO " + tablePrefix + "_wordroles" + " VALUES (?, ?, ?)", wordRoleRows);
 		} catch(Exception e) {
 			log(LogLevel.ERROR, "Problem storing glossary in local DB", e);
 		}
 	}
 
 	private boolean glossaryExistsLocally(String tablePrefix) throws SQLException {
-		DatabaseMetaData metadata = connection.getMetaData();
-		boolean result = true;
-		ResultSet resultSet = metadata.getTables(null, null, tablePrefix + "_term_category", null);
-		result &= resultSet.next();
-		resultSet = metadata.getTables(null, null, tablePrefix + "_syns", null);
-		result &= resultSet.next();
-		resultSet = metadata.getTables(null, null, tablePrefix + "_wordroles", null);
-		result &= resultSet.next();
-		return result;
+		try(Connection connection = dataSource.getConnection()) {
+			DatabaseMetaData metadata = connection.getMetaData();
+			boolean result = true;
+			for(String table : new String[] { "_term_category", "_syns", "_wordroles" }) {
+				try(ResultSet resultSet = metadata.getTables(null, null, tablePrefix + table, null)) {
+					result &= resultSet.next();
+				}
+			}
+			return result;
+		}
 	}
 
-	private Upload readUpload() {
+	private Upload readUpload() throws SQLException {
 		Upload upload = new Upload();
 
-		upload.setPossibleStructures(getStructures());
-		upload.setPossibleCharacters(getCharacters());
-		upload.setPossibleOtherTerms(getOtherTerms());
-		upload.setSentences(getSentences());
+		try(Connection connection = dataSource.getConnection()) {
+			List<Sentence> sentences = getSentences(connection);
+			SentenceIndex sentenceIndex = new SentenceIndex(sentences);
+			upload.setPossibleStructures(getStructures(connection, sentenceIndex));
+			upload.setPossibleCharacters(getCharacters(connection, sentenceIndex));
+			upload.setPossibleOtherTerms(getOtherTerms(connection, sentenceIndex));
+			upload.setSentences(sentences);
+		}
 		upload.setGlossaryType(glossaryType);
 		
 		return upload;
 	}
 
-	private List<Sentence> getSentences() {
+	private List<Sentence> getSentences(Connection connection) {
 		List<Sentence> sentences = new LinkedList<Sentence>();
-		try {
-			Statement statement = connection.createStatement();
+		try(Statement statement = connection.createStatement()) {
 			ResultSet resultSet = statement.executeQuery("select * from " + this.databasePrefix + "_sentence order by sentid");
 			while(resultSet.next()) {
 				sentences.add(new Sentence(resultSet.getInt("sentid"), resultSet.getString("source"), resultSet.getString("sentence"),
@@ -264,10 +250,10 @@ public class OTOLearner implements ILearner {
 		return sentences;
 	}
 
-	private List<Term> getOtherTerms() {
+	private List<Term> getOtherTerms(Connection connection, SentenceIndex sentenceIndex) {
 		List<Term> result = new ArrayList<Term>();
 		try {
-			List<String> otherTerms = this.fetchContentTerms();
+			List<String> otherTerms = this.fetchContentTerms(connection, sentenceIndex);
 			for(String otherTerm : otherTerms) 
 				result.add(new Term(otherTerm));
 		} catch (Exception e) {
@@ -276,10 +262,10 @@ public class OTOLearner implements ILearner {
 		return result;
 	}
 
-	private List<Term> getCharacters() {
+	private List<Term> getCharacters(Connection connection, SentenceIndex sentenceIndex) {
 		List<Term> result = new ArrayList<Term>();
 		try {
-			List<String> characterTerms = this.fetchCharacterTerms();
+			List<String> characterTerms = this.fetchCharacterTerms(connection, sentenceIndex);
 			for(String characterTerm : characterTerms) 
 				result.add(new Term(characterTerm));
 		} catch (Exception e) {
@@ -289,10 +275,10 @@ public class OTOLearner implements ILearner {
 		return result;
 	}
 
-	private List<Term> getStructures() {
+	private List<Term> getStructures(Connection connection, SentenceIndex sentenceIndex) {
 		List<Term> result = new ArrayList<Term>();
 		try {
-			List<String> structureTerms = this.fetchStructureTerms();
+			List<String> structureTerms = this.fetchStructureTerms(connection, sentenceIndex);
 			for(String structureTerm : structureTerms) 
 				result.add(new Term(structureTerm));
 		} catch (Exception e) {
@@ -322,12 +308,12 @@ public class OTOLearner implements ILearner {
 	 * @return filtered candidate structure words
 	 * @throws Exception 
 	 */
-	private ArrayList<String> fetchStructureTerms() throws Exception{
+	private ArrayList<String> fetchStructureTerms(Connection connection, SentenceIndex sentenceIndex) throws Exception{
 		ArrayList <String> words = new ArrayList<String>();
 		ArrayList <String> filteredwords = new ArrayList<String>();
 		ArrayList <String> noneqwords = new ArrayList<String>();
 	
-		words = this.structureTags4Curation(words);
+		words = this.structureTags4Curation(connection, sentenceIndex, words);
 		
 		for(String word: words){
 			if(word.compareToIgnoreCase("ditto")==0) continue;
@@ -357,51 +343,53 @@ public class OTOLearner implements ILearner {
      * @throws ParsingException
      * @throws SQLException
      */
-    public ArrayList<String> structureTags4Curation(List <String> tagList) throws Exception {
-    	
-    	PreparedStatement stmt = null;
-    	ResultSet rs = null;
+    public ArrayList<String> structureTags4Curation(Connection connection, SentenceIndex sentenceIndex, List <String> tagList) throws Exception {
  		String filter1 = "";
  		String filter2 = "";
  		String filter3 = "";
-		Statement stmt1 = connection.createStatement();
-		ResultSet rs1 = stmt1.executeQuery("show tables");
-		while(rs1.next()){
-			if(rs1.getString(1).equals("noneqterms")) {
-				filter1 = " and tag not in (select word from noneqterms) "; 
-				filter2 = " and plural not in (select word from noneqterms) " ;
-				filter3 = " and word not in (select word from noneqterms) ";
-			}
+		if(hasNonEQTermsTable(connection)) {
+			filter1 = " and tag not in (select word from noneqterms) "; 
+			filter2 = " and plural not in (select word from noneqterms) " ;
+			filter3 = " and word not in (select word from noneqterms) ";
 		}
- 		rs1.close();
- 		stmt1.close();
 
 		String sql = "select distinct tag as structure from "+this.databasePrefix+"_sentence where tag != 'unknown' and tag is not null and tag not like '% %' " +
 		filter1 +
 		"union select distinct plural as structure from "+this.databasePrefix+"_singularplural"+","+ this.databasePrefix+"_sentence where singular=tag "+
 		filter2 +
 		"order by structure"; 		
-		stmt = connection.prepareStatement(sql);
-		rs = stmt.executeQuery();
-		while (rs.next()) {
-			String tag = rs.getString("structure");
-			populateCurationList(tagList, tag); //select tags for curation, filter against the glossary
+		try(PreparedStatement stmt = connection.prepareStatement(sql)) {
+			ResultSet rs = stmt.executeQuery();
+			while (rs.next()) {
+				String tag = rs.getString("structure");
+				populateCurationList(connection, tagList, tag); //select tags for curation, filter against the glossary
+			}
 		}
 		sql = "select distinct word from "+this.databasePrefix+"_wordpos where pos in ('p', 's', 'n') and saved_flag !='red' "+
 		filter3+" order by word";
-		stmt = connection.prepareStatement(sql);
-		rs = stmt.executeQuery();
-		while (rs.next()) {
-			String tag = rs.getString("word");
-			PreparedStatement stmtSentence = connection.prepareStatement("select * from " + this.databasePrefix + "_sentence where sentence like '% " + tag + "%'");
-			ResultSet rs2 = stmtSentence.executeQuery();
-			if (rs2.next()) {
-				populateCurationList(tagList, tag); //select tags for curation, filter against the glossary
+		try(PreparedStatement stmt = connection.prepareStatement(sql)) {
+			ResultSet rs = stmt.executeQuery();
+			while (rs.next()) {
+				String tag = rs.getString("word");
+				if(sentenceIndex.contains(tag)) {
+					populateCurationList(connection, tagList, tag); //select tags for curation, filter against the glossary
+				}
 			}
 		}
 		return deduplicateSort(tagList);
     }
     
+    private boolean hasNonEQTermsTable(Connection connection) throws SQLException {
+		try(Statement stmt = connection.createStatement()) {
+			ResultSet rs = stmt.executeQuery("show tables");
+			while(rs.next()) {
+				if(rs.getString(1).equals("noneqterms"))
+					return true;
+			}
+		}
+		return false;
+    }
+    
 	private ArrayList<String> deduplicateSort(List<String> tagList) {
 		HashSet<String> set = new HashSet<String>(tagList);
 		String[] sorted = set.toArray(new String[]{}); 
@@ -420,18 +408,19 @@ public class OTOLearner implements ILearner {
      * @param word
      * @throws Exception 
      */
-	private void populateCurationList(List<String> curationList, String word) throws Exception {
-		Statement stmt = connection.createStatement();
-		ResultSet rs = stmt.executeQuery("select category from "+this.glossaryTable+" where term ='"+word+"'");
-		if(rs.next()){
-			String cat = rs.getString("category");
-			if(cat.matches("(STRUCTURE|FEATURE|SUBSTANCE|PLANT|nominative|structure|life_style)")){
-				add2WordRolesTable(word, "op");
+	private void populateCurationList(Connection connection, List<String> curationList, String word) throws Exception {
+		try(Statement stmt = connection.createStatement()) {
+			ResultSet rs = stmt.executeQuery("select category from "+this.glossaryTable+" where term ='"+word+"'");
+			if(rs.next()){
+				String cat = rs.getString("category");
+				if(cat.matches("(STRUCTURE|FEATURE|SUBSTANCE|PLANT|nominative|structure|life_style)")){
+					add2WordRolesTable(connection, word, "op");
+				}else{
+					add2WordRolesTable(connection, word, "c");
+				}
 			}else{
-				add2WordRolesTable(word, "c");
+				curationList.add(word);
 			}
-		}else{
-			curationList.add(word);
 		}
 	}
 	
@@ -440,11 +429,12 @@ public class OTOLearner implements ILearner {
 	 * @param w
 	 * @param role
 	 */
-	private void add2WordRolesTable(String w, String role) throws Exception {
-		Statement stmt = connection.createStatement();
-		ResultSet rs = stmt.executeQuery("select * from "+this.databasePrefix + "_wordroles where word='"+w+"' and semanticrole='"+role+"'");
-		if(!rs.next()){
-			stmt.execute("insert into "+this.databasePrefix+"_wordroles (word, semanticrole) values ('"+w+"','"+role+"')");
+	private void add2WordRolesTable(Connection connection, String w, String role) throws Exception {
+		try(Statement stmt = connection.createStatement()) {
+			ResultSet rs = stmt.executeQuery("select * from "+this.databasePrefix + "_wordroles where word='"+w+"' and semanticrole='"+role+"'");
+			if(!rs.next()){
+				stmt.execute("insert into "+this.databasePrefix+"_wordroles (word, semanticrole) values ('"+w+"','"+role+"')");
+			}
 		}
 	}
 
@@ -459,12 +449,12 @@ public class OTOLearner implements ILearner {
 	 * @return filtered candidate character words
 	 * @throws Exception 
 	 */
-	private ArrayList<String> fetchCharacterTerms() throws Exception{
+	private ArrayList<String> fetchCharacterTerms(Connection connection, SentenceIndex sentenceIndex) throws Exception{
 		ArrayList <String> words = new ArrayList<String>();;
 		ArrayList <String> filteredwords = new ArrayList<String>();
 		ArrayList <String> noneqwords = new ArrayList<String>();
 
-		words = descriptorTerms4Curation();
+		words = descriptorTerms4Curation(connection, sentenceIndex);
 		for(String word: words){
 			if(this.posKnowledgeBase.isVerb(word) || posKnowledgeBase.isAdverb(word) /*|| Utilities.partOfPrepPhrase(word, this.conn, prefix)*/){
 				noneqwords.add(word);
@@ -477,7 +467,7 @@ public class OTOLearner implements ILearner {
 		return filteredwords;	
 	}
 	
-	private ArrayList<String> fetchContentTerms() throws Exception {
+	private ArrayList<String> fetchContentTerms(Connection connection, SentenceIndex sentenceIndex) throws Exception {
 		ArrayList<String> words = new ArrayList<String>();
 		ArrayList <String> filteredwords = new ArrayList<String>();
 		ArrayList <String> noneqwords = new ArrayList<String>();
@@ -486,12 +476,12 @@ public class OTOLearner implements ILearner {
 		ArrayList<String> inicharacterterms = new ArrayList<String>();
 		
 		if(inistructureterms==null || inistructureterms.size()==0){
-			inistructureterms = structureTags4Curation(new ArrayList<String>());
+			inistructureterms = structureTags4Curation(connection, sentenceIndex, new ArrayList<String>());
 		}
 		if(inicharacterterms==null || inicharacterterms.size()==0){
-			inicharacterterms = descriptorTerms4Curation();
+			inicharacterterms = descriptorTerms4Curation(connection, sentenceIndex);
 		}
-		words = contentTerms4Curation(words, inistructureterms, inicharacterterms);
+		words = contentTerms4Curation(connection, words, inistructureterms, inicharacterterms);
 		
 		for(String word: words){
 			if(posKnowledgeBase.isVerb(word) || posKnowledgeBase.isAdverb(word) /*|| Utilities.partOfPrepPhrase(word, this.conn, prefix)*/){
@@ -511,17 +501,11 @@ public class OTOLearner implements ILearner {
      * @throws ParsingException
      * @throws SQLException
      */
-    public ArrayList<String> contentTerms4Curation(List <String> curationList, ArrayList<String> structures, ArrayList<String> characters) throws Exception {
+    public ArrayList<String> contentTerms4Curation(Connection connection, List <String> curationList, ArrayList<String> structures, ArrayList<String> characters) throws Exception {
  		String filter = "";
-		Statement stmt1 = connection.createStatement();
-		ResultSet rs1 = stmt1.executeQuery("show tables");
-		while(rs1.next()){
-			if(rs1.getString(1).equals("noneqterms")){
-				filter = " and dhword not in (select word from noneqterms)";
-			}
+		if(hasNonEQTermsTable(connection)) {
+			filter = " and dhword not in (select word from noneqterms)";
 		}
- 		rs1.close();
- 		stmt1.close();
  		
  		String sql = "select dhword from "+this.databasePrefix+"_allwords" +
 		//" where count>=3 and inbrackets=0 and dhword not like '%\\_%' and " +
@@ -529,12 +513,13 @@ public class OTOLearner implements ILearner {
 		" dhword not in (select word from "+ this.databasePrefix+"_wordpos where saved_flag='red')"+
 		filter +
 		" and dhword not in (select word from "+ this.databasePrefix+"_wordroles) order by dhword";
-		PreparedStatement stmt = connection.prepareStatement(sql);
-		ResultSet rs = stmt.executeQuery();
-		while (rs.next()) {
-			String word = rs.getString("dhword");
-			if(!structures.contains(word) && !characters.contains(word)){
-				populateCurationList(curationList, word);
+		try(PreparedStatement stmt = connection.prepareStatement(sql)) {
+			ResultSet rs = stmt.executeQuery();
+			while (rs.next()) {
+				String word = rs.getString("dhword");
+				if(!structures.contains(word) && !characters.contains(word)){
+					populateCurationList(connection, curationList, word);
+				}
 			}
 		}
 		return this.deduplicateSort(curationList);
@@ -545,37 +530,26 @@ public class OTOLearner implements ILearner {
 	 * @return
 	 * @throws SQLException
 	 */
-	public ArrayList<String> descriptorTerms4Curation() throws Exception {
+	public ArrayList<String> descriptorTerms4Curation(Connection connection, SentenceIndex sentenceIndex) throws Exception {
 		ArrayList<String> words = new ArrayList<String>();
 		
-		PreparedStatement stmt = null;
-		ResultSet rset = null;
  		String filter = "";
-		Statement stmt1 = connection.createStatement();
-		ResultSet rs1 = stmt1.executeQuery("show tables");
-		while(rs1.next()){
-			if(rs1.getString(1).equals("noneqterms")) {
-				filter = " and word not in (select word from noneqterms) ";
-			}
+		if(hasNonEQTermsTable(connection)) {
+			filter = " and word not in (select word from noneqterms) ";
 		}
- 		rs1.close();
- 		stmt1.close();
  		
  		String sql = "select word from " + this.databasePrefix + "_wordpos where pos=? and saved_flag !='red' "+
  				filter+"order by word";
 		//stmt = conn.prepareStatement("select word from "+this.tablePrefix+"_"+ApplicationUtilities.getProperty("POSTABLE")+" where pos=? and word not in (select distinct term from "+this.glossarytable+")");
-		stmt = connection.prepareStatement(sql);
-		stmt.setString(1, "b");
-		rset = stmt.executeQuery();
-		if (rset != null) {
+		try(PreparedStatement stmt = connection.prepareStatement(sql)) {
+			stmt.setString(1, "b");
+			ResultSet rset = stmt.executeQuery();
 			while(rset.next()){
 				String word = rset.getString("word");
-				PreparedStatement stmtSentence = connection.prepareStatement("select * from " + this.databasePrefix + "_sentence where sentence like '% " + word + "%'");
-				ResultSet rs2 = stmtSentence.executeQuery();
-				if (rs2.next()) {
-					populateDescriptorList(words, word);
+				if(sentenceIndex.contains(word)) {
+					populateDescriptorList(connection, words, word);
 				}
-			}	
+			}
 		}
 		words = deduplicateSort(words);
 		return words;
@@ -591,7 +565,7 @@ public class OTOLearner implements ILearner {
 	 * @param words
 	 * @param w
 	 */
-	private void populateDescriptorList(ArrayList<String> words, String w) throws Exception {
+	private void populateDescriptorList(Connection connection, ArrayList<String> words, String w) throws Exception {
 		if(w.matches(".*?\\w.*")){
 			String wc = w;
 			if(w.indexOf("-")>=0 || w.indexOf("_")>=0){
@@ -599,18 +573,19 @@ public class OTOLearner implements ILearner {
 				w = ws[ws.length-1];
 			}
 
-			Statement stmt = connection.createStatement();
-			ResultSet rset = stmt.executeQuery("select category from " + this.glossaryTable + " where term ='"+w+"'");					 
-			if(rset.next()){//in glossary
-				String cat = rset.getString(1);
-				if(cat.matches("\\b(STRUCTURE|FEATURE|SUBSTANCE|PLANT|nominative|structure)\\b")){
-					add2WordRolesTable(wc, "os");
-				}else{
-					add2WordRolesTable(wc, "c");
+			try(Statement stmt = connection.createStatement()) {
+				ResultSet rset = stmt.executeQuery("select category from " + this.glossaryTable + " where term ='"+w+"'");					 
+				if(rset.next()){//in glossary
+					String cat = rset.getString(1);
+					if(cat.matches("\\b(STRUCTURE|FEATURE|SUBSTANCE|PLANT|nominative|structure)\\b")){
+						add2WordRolesTable(connection, wc, "os");
+					}else{
+						add2WordRolesTable(connection, wc, "c");
+					}
+					
+				}else{ //not in glossary
+					words.add(wc);
 				}
-				
-			}else{ //not in glossary
-				words.add(wc);
 			}
 		}
 	}
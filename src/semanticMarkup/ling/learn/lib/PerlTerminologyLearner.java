@@ -7,8 +7,8 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
@@ -20,8 +20,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.sql.DataSource;
+
 import semanticMarkup.core.Treatment;
 import semanticMarkup.core.ValueTreatmentElement;
+import semanticMarkup.io.db.BulkWriter;
+import semanticMarkup.io.db.IConnectionProvider;
 import semanticMarkup.io.input.lib.db.ParentTagProvider;
 import semanticMarkup.know.IGlossary;
 import semanticMarkup.ling.Token;
@@ -55,31 +59,29 @@ public class PerlTerminologyLearner implements ITerminologyLearner {
 	protected Set<String> modifiers;
 	protected Map<String, Set<String>> categoryTerms;
 	
-	private Connection connection;
+	private DataSource dataSource;
 	private String temporaryPath;
 	private String databasePrefix;
 	private String markupMode;
 	private String databaseName;
-	private String databasePassword;
-	private String databaseUser;
+	private IConnectionProvider connectionProvider;
+	private BulkWriter bulkWriter;
 	private IGlossary glossary;
 	private ITokenizer tokenizer;
 	private Set<String> stopWords;
 	private Set<String> selectedSources;
 	protected Map<String, Treatment> fileTreatments = new HashMap<String, Treatment>();
 	private ParentTagProvider parentTagProvider;
-	private String databaseHost;
-	private String databasePort;
 	private Map<String, AjectiveReplacementForNoun> adjectiveReplacementsForNouns;
 
 	/**
 	 * @param temporaryPath
 	 * @param markupMode
-	 * @param databaseName
-	 * @param glossaryTable
+	 * @param connectionProvider
+	 * @param dataSource
+	 * @param bulkWriter
+	 * @param databaseName the MySQL database the perl part writes to
 	 * @param databasePrefix
-	 * @param databaseUser
-	 * @param databasePassword
 	 * @param stopWords
 	 * @param selectedSources
 	 * @param glossary
@@ -89,12 +91,11 @@ public class PerlTerminologyLearner implements ITerminologyLearner {
 	@Inject
 	public PerlTerminologyLearner(@Named("Run_TemporaryPath") String temporaryPath,
 			@Named("markupMode") String markupMode,
-			@Named("databaseHost") String databaseHost,
-			@Named("databasePort") String databasePort,
+			IConnectionProvider connectionProvider,
+			DataSource dataSource,
+			BulkWriter bulkWriter,
 			@Named("databaseName") String databaseName,
 			@Named("databasePrefix") String databasePrefix, 
-			@Named("databaseUser") String databaseUser, 
-			@Named("databasePassword") String databasePassword, 
 			@Named("StopWords") Set<String> stopWords,
 			@Named("selectedSources") Set<String> selectedSources,
 			IGlossary glossary, 
@@ -108,15 +109,10 @@ public class PerlTerminologyLearner implements ITerminologyLearner {
 		this.stopWords = stopWords;
 		this.selectedSources = selectedSources;
 		this.parentTagProvider = parentTagProvider;
-		this.databaseHost = databaseHost;
-		this.databasePort = databasePort;
+		this.connectionProvider = connectionProvider;
+		this.bulkWriter = bulkWriter;
+		this.dataSource = dataSource;
 		this.databaseName = databaseName;
-		this.databaseUser = databaseUser;
-		this.databasePassword = databasePassword;
-		
-		Class.forName("com.mysql.jdbc.Driver");
-		connection = DriverManager.getConnection("jdbc:mysql://" + databaseHost + ":" + databasePort +"/" + databaseName + "?connecttimeout=0&sockettimeout=0&autoreconnect=true", 
-				databaseUser, databasePassword);
 	}
 	
 	
@@ -142,285 +138,201 @@ public class PerlTerminologyLearner implements ITerminologyLearner {
 	}
 
 
-	protected Set<String> readModifiers() {
+	/**
+	 * Reads the sentence table in a single pass, filling all the results derived from it and initializing the parent
+	 * tag provider
+	 */
+	protected void readSentenceTable() {
+		Set<String> sentences = new HashSet<String>();
+		Map<Treatment, LinkedHashMap<String, String>> sentencesForOrganStateMarker = new HashMap<Treatment, LinkedHashMap<String, String>>();
+		List<String> adjnouns = new ArrayList<String>();
+		Set<String> adjnounModifiers = new HashSet<String>();
+		Map<String, String> adjnounsent = new HashMap<String, String>();
+		Map<String, AjectiveReplacementForNoun> adjectiveReplacementsForNouns = new HashMap<String, AjectiveReplacementForNoun>();
+		Map<Treatment, LinkedHashMap<String, String>> sentenceTags = new HashMap<Treatment, LinkedHashMap<String, String>>();
+		Set<String> bracketTags = new HashSet<String>();
+		Map<String, Set<String>> wordSources = new HashMap<String, Set<String>>();
+		Set<String> tags = new HashSet<String>();
 		Set<String> modifiers = new HashSet<String>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select modifier from " + this.databasePrefix + "_sentence");
+		HashMap<String, String> parentTags = new HashMap<String, String>();
+		HashMap<String, String> grandParentTags = new HashMap<String, String>();
+		try(Connection connection = dataSource.getConnection(); Statement statement = createStreamingStatement(connection)) {
+			ResultSet resultSet = statement.executeQuery("select source, modifier, tag, sentence from " + this.databasePrefix + "_sentence order by sentid");
+			String previousTag = null;
+			String parentTag = "";
+			String grandParentTag = "";
 			while(resultSet.next()) {
+				String sourceString = resultSet.getString("source");
 				String modifier = resultSet.getString("modifier");
-				modifiers.add(modifier);
-			}
-		} catch(Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
-		}
-		return modifiers;
-	}
-
-
-	protected Set<String> readTags() {
-		Set<String> tags = new HashSet<String>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select tag from " + this.databasePrefix + "_sentence");
-			while(resultSet.next()) {
 				String tag = resultSet.getString("tag");
+				String sentence = resultSet.getString("sentence");
+				String source = getSource(sourceString);
+				Treatment treatment = fileTreatments.get(getTreatmentId(sourceString));
+				
+				sentences.add(sentence);
 				tags.add(tag);
+				modifiers.add(modifier);
+				
+				parentTags.put(source, parentTag);
+				grandParentTags.put(source, grandParentTag);
+				grandParentTag = parentTag;
+				if(tag != null && !tag.equals("ditto"))
+					parentTag = tag;
+				else if(tag == null)
+					parentTag = "";
+				
+				if(selectedSources.isEmpty() || selectedSources.contains(source)) {
+					String sentenceTag = tag == null ? "" : tag.replaceAll("\\W", "");
+					if(!sentenceTags.containsKey(treatment)) 
+						sentenceTags.put(treatment, new LinkedHashMap<String, String>());
+					if(!sentenceTag.equals("ditto")) {
+						sentenceTags.get(treatment).put(source, sentenceTag);
+						previousTag = sentenceTag;
+					} else {
+						sentenceTags.get(treatment).put(source, previousTag);
+					}
+					
+					//leave ditto as it is
+					if(sentence != null && sentence.trim().length() != 0) {
+						String text = sentence.trim();
+						text = text.replaceAll("[ _-]+\\s*shaped", "-shaped").replaceAll("(?<=\\s)\\s+m\\b", "um");
+						text = text.replaceAll("&#176;", "");
+						text = text.replaceAll("\\bca\\s*\\.", "ca");
+						text = modifier+"##"+tag+"##"+text;
+						if(!sentencesForOrganStateMarker.containsKey(treatment))
+							sentencesForOrganStateMarker.put(treatment, new LinkedHashMap<String, String>());
+						sentencesForOrganStateMarker.get(treatment).put(source, text);
+					}
+				}
+				
+				if(sentence != null) {
+					for(Token token : tokenizer.tokenize(sentence)) {
+						String word = token.getContent();
+						if(!wordSources.containsKey(word))
+							wordSources.put(word, new HashSet<String>());
+						wordSources.get(word).add(source);
+					}
+				}
+				
+				if(modifier != null && tag != null && tag.startsWith("[")) {
+					if(!modifier.trim().isEmpty()) {
+						if(adjnounModifiers.add(modifier))
+							adjnouns.add(modifier.replaceAll("\\[.*?\\]", "").trim());
+						String adjnounModifier = modifier.replaceAll("\\[|\\]|>|<|(|)", "");
+						String adjnounTag = tag.replaceAll("\\[|\\]|>|<|(|)", "");
+						adjnounsent.put(adjnounTag, adjnounModifier);
+						adjectiveReplacementsForNouns.put(sourceString, new AjectiveReplacementForNoun(adjnounModifier, adjnounTag, sourceString));
+					}
+					if(tag.endsWith("]")) { //inner [tepal]
+						String bracketModifier = modifier.replaceAll("\\[^\\[*\\]", ""); 
+						if(!bracketModifier.equals("")) {
+							String bracketTag;
+							if(bracketModifier.lastIndexOf(" ")<0) {
+								bracketTag = bracketModifier;
+							} else {
+								bracketTag = bracketModifier.substring(bracketModifier.lastIndexOf(" ")+1); //last word from modifier
+							}
+							if(bracketTag.indexOf("[")<0 && !stopWords.contains(bracketTag) && !bracketTag.matches(".*?(\\d).*") && 
+									!bracketTag.trim().isEmpty())
+								bracketTags.add(bracketTag);
+						}
+					}
+				}
 			}
 		} catch(Exception e) {
 			log(LogLevel.ERROR, "problem accessing sentence table", e);
 		}
-		return tags;
-	}
-
-
-	protected Map<String, Set<String>> readTermCategories() {
-		Map<String, Set<String>> termCategories = new HashMap<String, Set<String>>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select term, category from " + this.databasePrefix + "_term_category");
-			while(resultSet.next()) {
-				String term = resultSet.getString("term");
-				String category = resultSet.getString("category");
-				if(!termCategories.containsKey(term))
-					termCategories.put(term, new HashSet<String>());
-				termCategories.get(term).add(category);
-			}
-		} catch (Exception e) {
-			log(LogLevel.ERROR, "problem accessing term_category table", e);
-		}
-		return termCategories;
-	}
-	
-	protected Map<String, Set<String>> readCategoryTerms() {
-		Map<String, Set<String>> categoryNames = new HashMap<String, Set<String>>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select term, category from " + this.databasePrefix + "_term_category");
-			while(resultSet.next()) {
-				String term = resultSet.getString("term");
-				String category = resultSet.getString("category");
-				if(!categoryNames.containsKey(category))
-					categoryNames.put(category, new HashSet<String>());
-				categoryNames.get(category).add(term);
-			}
-		} catch (Exception e) {
-			log(LogLevel.ERROR, "problem accessing term_category table", e);
-		}
-		return categoryNames;
+		this.sentences = sentences;
+		this.sentencesForOrganStateMarker = sentencesForOrganStateMarker;
+		this.adjnouns = adjnouns;
+		this.adjnounsent = adjnounsent;
+		this.adjectiveReplacementsForNouns = adjectiveReplacementsForNouns;
+		this.sentenceTags = sentenceTags;
+		this.bracketTags = bracketTags;
+		this.wordSources = wordSources;
+		this.tags = tags;
+		this.modifiers = modifiers;
+		this.parentTagProvider.init(parentTags, grandParentTags);
 	}
 
-	protected Map<String, Set<String>> readWordsToRoles() {
+	/**
+	 * Reads the wordroles table in a single pass, filling all the results derived from it
+	 */
+	protected void readWordRolesTable() {
 		Map<String, Set<String>> wordsToRoles = new HashMap<String, Set<String>>();
+		Map<String, Set<String>> roleToWords = new HashMap<String, Set<String>>();
+		Set<String> wordRoleTags = new HashSet<String>();
 		//TODO wordroles table is populated by the GUI User interaction see MainForm.java. Therefore simply left as empty for now
-		try {
-			Statement statement = connection.createStatement();
+		try(Connection connection = dataSource.getConnection(); Statement statement = createStreamingStatement(connection)) {
 			ResultSet resultSet = statement.executeQuery("select word, semanticrole from " + this.databasePrefix + "_wordroles");
 			while(resultSet.next()) {
-				String word = resultSet.getString("word");
 				//perl treated hyphens as underscores
-				word = word.replaceAll("_", "-");
+				String word = resultSet.getString("word").replaceAll("_", "-");
 				String semanticRole = resultSet.getString("semanticrole");
 				if(!wordsToRoles.containsKey(word))
 					wordsToRoles.put(word, new HashSet<String>());
 				wordsToRoles.get(word).add(semanticRole);
-			}
-		} catch (Exception e) {
-			log(LogLevel.ERROR, "problem accessing wordroles table", e);
-		}
-		return wordsToRoles;
-	}
-
-	protected Map<String, String> readHeuristicNouns() {
-		Map<String, String> heuristicNouns = new HashMap<String, String>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select word, type from " + this.databasePrefix + "_heuristicnouns");
-			while(resultSet.next()) {
-				heuristicNouns.put(resultSet.getString("word"), resultSet.getString("type"));
-			}
-		} catch (Exception e) {
-			log(LogLevel.ERROR, "problem accessing heuristicnouns table", e);
-		}
-		return heuristicNouns;
-	}
-
-	protected Map<String, Set<String>> readRoleToWords() {
-		Map<String, Set<String>> roleToWords = new HashMap<String, Set<String>>();
-		//TODO wordroles table is populated by the GUI User interaction see MainForm.java. Therefore simply left as empty for now
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select word, semanticrole from " + this.databasePrefix + "_wordroles");
-			
-			while(resultSet.next()) {
-				String word = resultSet.getString("word");
-				//perl treated hyphens as underscores
-				word = word.replaceAll("_", "-");
-				String semanticRole = resultSet.getString("semanticrole");
 				if(!roleToWords.containsKey(semanticRole))
 					roleToWords.put(semanticRole, new HashSet<String>());
 				roleToWords.get(semanticRole).add(word);
+				if((semanticRole.equals("op") || semanticRole.equals("os")) && !word.trim().isEmpty())
+					wordRoleTags.add(word.trim());
 			}
 		} catch (Exception e) {
 			log(LogLevel.ERROR, "problem accessing wordroles table", e);
 		}
-		return roleToWords;
+		this.wordsToRoles = wordsToRoles;
+		this.roleToWords = roleToWords;
+		this.wordRoleTags = wordRoleTags;
 	}
 
-	protected Map<String, Set<String>> readWordToSourcesMap() {
-		Map<String, Set<String>> wordToSources = new HashMap<String, Set<String>>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select source, sentence from " + this.databasePrefix + "_sentence");
+	/**
+	 * Reads the term_category table in a single pass, filling all the results derived from it
+	 */
+	protected void readTermCategoryTable() {
+		Map<String, Set<String>> termCategories = new HashMap<String, Set<String>>();
+		Map<String, Set<String>> categoryTerms = new HashMap<String, Set<String>>();
+		try(Connection connection = dataSource.getConnection(); Statement statement = createStreamingStatement(connection)) {
+			ResultSet resultSet = statement.executeQuery("select term, category from " + this.databasePrefix + "_term_category");
 			while(resultSet.next()) {
-				String source = getSource(resultSet.getString("source"));
-				String sentence = resultSet.getString("sentence");
-				List<Token> tokens = tokenizer.tokenize(sentence);
-				for(Token token : tokens) {
-					String word = token.getContent();
-					if(!wordToSources.containsKey(word))
-						wordToSources.put(word, new HashSet<String>());
-					wordToSources.get(word).add(source);
-				}
+				String term = resultSet.getString("term");
+				String category = resultSet.getString("category");
+				if(!termCategories.containsKey(term))
+					termCategories.put(term, new HashSet<String>());
+				termCategories.get(term).add(category);
+				if(!categoryTerms.containsKey(category))
+					categoryTerms.put(category, new HashSet<String>());
+				categoryTerms.get(category).add(term);
 			}
 		} catch (Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
+			log(LogLevel.ERROR, "problem accessing term_category table", e);
 		}
-		return wordToSources;
+		this.termCategories = termCategories;
+		this.categoryTerms = categoryTerms;
 	}
 
-	protected Set<String> readWordRoleTags()  {
-		Set<String> tags = new HashSet<String>();
-		//TODO wordroles table is populated by the GUI User interaction see MainForm.java. Therefore simply left as empty for now
-		try {
-			Statement statement = connection.createStatement();
-			String wordroletable = this.databasePrefix + "_wordroles";
-			ResultSet resultSet = statement.executeQuery("select word from "+wordroletable+" where semanticrole in ('op', 'os')");
+	protected void readHeuristicNouns() {
+		Map<String, String> heuristicNouns = new HashMap<String, String>();
+		try(Connection connection = dataSource.getConnection(); Statement statement = createStreamingStatement(connection)) {
+			ResultSet resultSet = statement.executeQuery("select word, type from " + this.databasePrefix + "_heuristicnouns");
 			while(resultSet.next()) {
-				//perl treated hyphens as underscores
-				String tag = resultSet.getString("word").replaceAll("_", "-").trim();
-				if(!tag.isEmpty())
-					tags.add(tag);
-			}
-		} catch (Exception e) {
-			log(LogLevel.ERROR, "problem accessing wordrole table", e);
-		}
-		return tags;
-	}
-
-	protected Set<String> readBracketTags(List<Treatment> treatments) {
-		Set<String> tags = new HashSet<String>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select modifier, tag from " + this.databasePrefix + "_sentence where tag  like '[%]'"); //inner [tepal]
-			while(resultSet.next()){
-				String modifier = resultSet.getString("modifier");
-				modifier = modifier.replaceAll("\\[^\\[*\\]", ""); 
-				if(!modifier.equals("")){
-					String tag;
-					if(modifier.lastIndexOf(" ")<0) {
-						tag = modifier;
-					} else {
-						tag = modifier.substring(modifier.lastIndexOf(" ")+1); //last word from modifier
-					}
-					if(tag.indexOf("[")>=0 || stopWords.contains(tag) || tag.matches(".*?(\\d).*")) 
-						continue;
-					if(!tag.trim().isEmpty())
-						tags.add(tag);
-				}
+				heuristicNouns.put(resultSet.getString("word"), resultSet.getString("type"));
 			}
 		} catch (Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
-		}
-		return tags;
-	}
-
-	protected Map<Treatment, LinkedHashMap<String, String>> readSentenceTags(List<Treatment> treatments) {
-		Map<Treatment, LinkedHashMap<String, String>> tags = new HashMap<Treatment, LinkedHashMap<String, String>>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select source, tag from " + this.databasePrefix + "_sentence order by sentid");
-			String previousTag = null;
-			//int listId = -1;
-			String previousTreatmentId = "-1";
-			while(resultSet.next()) {
-				String source = getSource(resultSet.getString("source"));
-				String treatmentId = getTreatmentId(resultSet.getString("source"));
-				if(selectedSources.isEmpty() || selectedSources.contains(source)) {
-					
-					if(!treatmentId.equals(previousTreatmentId)) {
-						previousTreatmentId = treatmentId;
-						//listId++;
-					}
-					
-					String tag = resultSet.getString("tag");
-					if(tag == null)
-						tag = "";
-					tag = tag.replaceAll("\\W", "");
-					
-					Treatment treatment = fileTreatments.get(treatmentId);
-					if(!tags.containsKey(treatment)) 
-						tags.put(treatment, new LinkedHashMap<String, String>());
-					if(!tag.equals("ditto")) {
-						tags.get(treatment).put(source, tag);
-						previousTag = tag;
-					} else {
-						tags.get(treatment).put(source, previousTag);
-					}			
-				}
-			}
-			resultSet.close();
-			statement.close();
-		} catch(Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
+			log(LogLevel.ERROR, "problem accessing heuristicnouns table", e);
 		}
-		return tags;
+		this.heuristicNouns = heuristicNouns;
 	}
-
-	protected HashMap<Treatment,  LinkedHashMap<String, String>> readSentencesForOrganStateMarker(List<Treatment> treatments) {
-		HashMap<Treatment, LinkedHashMap<String, String>> sentences = new  HashMap<Treatment, LinkedHashMap<String, String>>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet rs = statement.executeQuery("select source, modifier, tag, sentence, originalsent from " + this.databasePrefix + "_sentence");
-			// order by sentid desc");
-			
-			//int listId = -1;
-			String previousTreatmentId = "-1";
-			
-			//leave ditto as it is
-			while(rs.next()){ //read sent in in reversed order
-				String tag = rs.getString("tag");
-				String sent = rs.getString("sentence").trim();
-				
-				if(sent.length()!=0){
-					String treatmentId = getTreatmentId(rs.getString("source"));
-					String source = getSource(rs.getString("source"));
-					
-					if(selectedSources.isEmpty() || selectedSources.contains(source)) {
-						if(!treatmentId.equals(previousTreatmentId)) {
-							previousTreatmentId = treatmentId;
-							//listId++; // in the db 1 is followed by 10 by 11 and not 2
-						}
-						
-						String osent = rs.getString("originalsent");
-						String text = sent;
-						text = text.replaceAll("[ _-]+\\s*shaped", "-shaped").replaceAll("(?<=\\s)\\s+m\\b", "um");
-						text = text.replaceAll("&#176;", "");
-						text = text.replaceAll("\\bca\\s*\\.", "ca");
-						text = rs.getString("modifier")+"##"+tag+"##"+text;
-						
-						Treatment treatment = fileTreatments.get(treatmentId);
-						if(!sentences.containsKey(treatment))
-							sentences.put(treatment, new LinkedHashMap<String, String>());
-						sentences.get(treatment).put(source, text);
-					}
-				}
-			}
-		} catch(Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
-		}
-		
-		return sentences;
+	
+	/**
+	 * @param connection
+	 * @return a statement streaming its result rows, so that a table is never held in memory at once
+	 * @throws SQLException
+	 */
+	private Statement createStreamingStatement(Connection connection) throws SQLException {
+		Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		statement.setFetchSize(connectionProvider.getStreamingFetchSize());
+		return statement;
 	}
 	
 	protected String getTreatmentId(String sourceString) {
@@ -435,59 +347,6 @@ public class PerlTerminologyLearner implements ITerminologyLearner {
 	}
 
 
-	protected Map<String, String> readAdjNounSent() {
-		Map<String, String> result = new HashMap<String, String>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("SELECT source, tag, modifier FROM " + this.databasePrefix + "_sentence s where modifier != \"\" and tag like \"[%\"");
-			while(resultSet.next()){
-				String modifier = resultSet.getString(3);
-				String tag = resultSet.getString(2);
-						
-				modifier = modifier.replaceAll("\\[|\\]|>|<|(|)", "");
-				tag = tag.replaceAll("\\[|\\]|>|<|(|)", "");
-				
-				result.put(tag, modifier);
-			}
-		} catch (Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
-		}
-		return result;
-	}
-
-	protected List<String> readAdjNouns() {
-		List<String> result = new ArrayList<String>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("SELECT distinct modifier FROM " + this.databasePrefix + "_sentence s where modifier != \"\" and tag like \"[%\"");
-			while(resultSet.next()) {
-				String modifier = resultSet.getString(1).replaceAll("\\[.*?\\]", "").trim();
-				result.add(modifier);
-			}
-		} catch(Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
-		}
-		return result;
-	}
-	
-	protected Set<String> readSentences() {
-		Set<String> result = new HashSet<String>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("SELECT sentence FROM " + this.databasePrefix + "_sentence order by sentid");
-			
-			while(resultSet.next()) {
-				String sentence = resultSet.getString(1);
-				result.add(sentence);
-			}
-		} catch(Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
-		}
-		return result;
-	}
-
-
-
 	@Override
 	public List<String> getAdjNouns() {
 		return this.adjnouns;
@@ -542,8 +401,7 @@ public class PerlTerminologyLearner implements ITerminologyLearner {
 	}
 	
 	private void createTablesNeededForPerl(List<Treatment> treatments) {
-        try {
-            Statement stmt = connection.createStatement();
+        try(Connection connection = dataSource.getConnection(); Statement stmt = connection.createStatement()) {
             String cleanupQuery = "DROP TABLE IF EXISTS " + 
 									//this.databasePrefix + "_allwords, " +  //allwords table is created outside of perl by dehypenizer
 									this.databasePrefix + "_discounted, " + 
@@ -559,7 +417,7 @@ public class PerlTerminologyLearner implements ITerminologyLearner {
 									this.databasePrefix + "_wordroles;";
             stmt.execute(cleanupQuery);
             stmt.execute("create table if not exists " + this.databasePrefix + "_allwords (word varchar(150) unique not null primary key, count int, dhword varchar(150), inbrackets int default 0)");
-    		AllWordsLearner allWordsLearner = new AllWordsLearner(this.tokenizer, this.glossary, this.databaseHost, this.databasePort, this.databaseName, this.databasePrefix, this.databaseUser, this.databasePassword);
+    		AllWordsLearner allWordsLearner = new AllWordsLearner(this.tokenizer, this.glossary, this.dataSource, this.bulkWriter, this.databasePrefix);
     		allWordsLearner.learn(treatments);
     		stmt.execute("create table if not exists " + this.databasePrefix + "_wordroles (word varchar(50), semanticrole varchar(2), savedid varchar(40), primary key(word, semanticrole))");			
         } catch(Exception e) {
@@ -667,75 +525,16 @@ public class PerlTerminologyLearner implements ITerminologyLearner {
 	}
 
 
+	/**
+	 * Reads each result table in a single pass, so that the results reflect the tables as they were right after 
+	 * the learner ran
+	 */
 	@Override
 	public void readResults(List<Treatment> treatments) {
-		this.sentences = readSentences();
-		this.sentencesForOrganStateMarker = readSentencesForOrganStateMarker(treatments);
-		this.adjnouns = readAdjNouns();
-		this.adjnounsent = readAdjNounSent();
-		this.sentenceTags = readSentenceTags(treatments);
-		this.bracketTags = readBracketTags(treatments);
-		this.wordRoleTags = readWordRoleTags(); 
-		this.wordSources = readWordToSourcesMap();
-		this.roleToWords = readRoleToWords();
-		this.wordsToRoles = readWordsToRoles();
-		this.heuristicNouns = readHeuristicNouns();
-		this.termCategories = readTermCategories();
-		this.categoryTerms = readCategoryTerms();
-		this.tags = readTags();
-		this.modifiers = readModifiers();
-		this.adjectiveReplacementsForNouns = readAdjectiveReplacementsForNouns();
-		initParentTagProvider(parentTagProvider);
-	}
-
-
-	private Map<String, AjectiveReplacementForNoun> readAdjectiveReplacementsForNouns() {
-		Map<String, AjectiveReplacementForNoun> result = new HashMap<String, AjectiveReplacementForNoun>();
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("SELECT source, tag, modifier FROM " + this.databasePrefix + "_sentence s where modifier != \"\" and tag like \"[%\"");
-			while(resultSet.next()){
-				String source = resultSet.getString(1);
-				String modifier = resultSet.getString(3);
-				String tag = resultSet.getString(2);
-						
-				modifier = modifier.replaceAll("\\[|\\]|>|<|(|)", "");
-				tag = tag.replaceAll("\\[|\\]|>|<|(|)", "");
-				
-				result.put(source, new AjectiveReplacementForNoun(modifier, tag, source));
-			}
-		} catch (Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
-		}
-		return result;
-	}
-
-
-	private void initParentTagProvider(ParentTagProvider parentTagProvider2) {
-		HashMap<String, String> parentTags = new HashMap<String, String>();
-		HashMap<String, String> grandParentTags = new HashMap<String, String>();
-		
-		try {
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery("select source, tag from " + this.databasePrefix + "_sentence order by sentid");
-			String parentTag = "";
-			String grandParentTag = "";
-			while(resultSet.next()) {
-				String source = getSource(resultSet.getString("source"));
-				String tag = resultSet.getString("tag");
-				parentTags.put(source, parentTag);
-				grandParentTags.put(source, grandParentTag);
-				
-				grandParentTag = parentTag;
-				if(tag != null && !tag.equals("ditto"))
-					parentTag = tag;
-				else if(tag == null)
-					parentTag = "";
-			}
-		} catch(Exception e) {
-			log(LogLevel.ERROR, "problem accessing sentence table", e);
-		}
-		this.parentTagProvider.init(parentTags, grandParentTags);
+		readSentenceTable();
+		readWordRolesTable();
+		readTermCategoryTable();
+		readHeuristicNouns();
 	}
 
 
@@ -0,0 +1,84 @@
+package semanticMarkup.ling.learn.lib;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import oto.lite.beans.Sentence;
+
+/**
+ * SentenceIndex is an inverted index from the tokens of the sentence table to the ids of the sentences they occur in.
+ * It answers the lookups of sentence like '% term%' without scanning the sentence table: A term occurs in a sentence 
+ * if a token following a space starts with the term. As on MySQL, lookups are case insensitive.
+ * @author rodenhausen
+ */
+public class SentenceIndex {
+
+	private TreeMap<String, List<Integer>> tokenSentenceIds = new TreeMap<String, List<Integer>>();
+	private Map<Integer, String> sentences = new HashMap<Integer, String>();
+	
+	/**
+	 * @param sentences to index
+	 */
+	public SentenceIndex(List<Sentence> sentences) {
+		for(Sentence sentence : sentences)
+			add(sentence.getSentId(), sentence.getSentence());
+	}
+	
+	private void add(int sentenceId, String sentence) {
+		if(sentence == null)
+			return;
+		sentence = sentence.toLowerCase();
+		sentences.put(sentenceId, sentence);
+		String[] tokens = sentence.split(" ", -1);
+		//the first token does not follow a space
+		for(int i=1; i<tokens.length; i++) {
+			List<Integer> sentenceIds = tokenSentenceIds.get(tokens[i]);
+			if(sentenceIds == null) {
+				sentenceIds = new ArrayList<Integer>();
+				tokenSentenceIds.put(tokens[i], sentenceIds);
+			}
+			if(sentenceIds.isEmpty() || sentenceIds.get(sentenceIds.size() - 1) != sentenceId)
+				sentenceIds.add(sentenceId);
+		}
+	}
+	
+	/**
+	 * @param term
+	 * @return if the term occurs in any of the sentences
+	 */
+	public boolean contains(String term) {
+		term = term.toLowerCase();
+		if(term.contains(" ")) 
+			return !getSentenceIds(term).isEmpty();
+		String token = tokenSentenceIds.ceilingKey(term);
+		return token != null && token.startsWith(term);
+	}
+	
+	/**
+	 * @param term
+	 * @return the ids of the sentences the term occurs in, in ascending order
+	 */
+	public Set<Integer> getSentenceIds(String term) {
+		term = term.toLowerCase();
+		Set<Integer> result = new TreeSet<Integer>();
+		int space = term.indexOf(" ");
+		String firstToken = space < 0 ? term : term.substring(0, space);
+		NavigableMap<String, List<Integer>> tokens = space < 0 ? 
+				tokenSentenceIds.subMap(firstToken, true, firstToken + Character.MAX_VALUE, true) : 
+				tokenSentenceIds.subMap(firstToken, true, firstToken, true);
+		for(List<Integer> sentenceIds : tokens.values()) {
+			for(Integer sentenceId : sentenceIds) {
+				//terms spanning several tokens are verified on the sentence
+				if(space < 0 || sentences.get(sentenceId).contains(" " + term))
+					result.add(sentenceId);
+			}
+		}
+		return result;
+	}
+}
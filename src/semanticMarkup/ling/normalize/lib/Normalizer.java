@@ -60,6 +60,138 @@ public abstract class Normalizer implements INormalizer {
 	private IInflector inflector;
 	private static Pattern charalistpattern = Pattern.compile("(.*?(?:^| ))(([0-9a-z\\[\\]\\+-]+ly )*([_a-z-]+ )+[& ]*([@,;\\.] )+\\s*)(([_a-z-]+ |[0-9a-z\\[\\]\\+-]+ly )*(\\4)+([0-9a-z\\[\\]\\+-]+ly )*[@,;\\.%\\[\\]\\(\\)&#a-z].*)");//
 	private static Pattern charalistpattern2 = Pattern.compile("(([a-z-]+ )*([a-z-]+ )+([0-9a-z\\[\\]\\+-]+ly )*[& ]*([@,;\\.] )+\\s*)(([a-z-]+ |[0-9a-z\\[\\]\\+-]+ly )*(\\3)+([0-9a-z\\[\\]\\+-]+ly )*[@,;\\.%\\[\\]\\(\\)&#a-z].*)");//merely shape, @ shape
+	private static final String WHITESPACE = " \t\n\u000B\f\r";
+	private static final String DIGITS = "0123456789";
+	private static Pattern whitespacePattern = Pattern.compile("\\s+");
+	private static Pattern hyphenedOrToPattern = Pattern.compile(".*?-(or|to)\\b.*");
+	private static Pattern orToHyphenedPattern = Pattern.compile(".*?\\b(or|to)-.*");
+	private static Pattern asasSentencePattern = Pattern.compile(".*? as\\s+[\\w{}<>]+\\s+as .*");
+	private static Pattern moreOrLessSentencePattern = Pattern.compile(".*?\\b[{<]*more[}>]*\\s+or\\s+[{<]*less[}>]*\\b?.*");
+	private static Pattern viewSentencePattern = Pattern.compile(".*?\\bin\\s+[a-z_<>{} -]*\\s*[<{]?(view|profile)[}>]?\\b.*");
+	private static Pattern chromosomeSentencePattern = Pattern.compile(".*?[nx]=.*");
+	private static Pattern ratioPattern = Pattern.compile("(.*?)(\\b(?:one|two|three|four|five|six|seven|eight|nine)\\b\\s*-?_?\\s*" + 
+			"\\b(?:half|third|fourth|fifth|sixth|seventh|eighth|ninth|tenth)s?\\b)(.*)");
+	private static Pattern smallNumberPattern = Pattern.compile("(.*?)(\\b(?:two|three|four|five|six|seven|eight|nine)\\b)(.*)");
+	private static Pattern threeingSinglesPattern = Pattern.compile("[\\d\\+/\"\\׵%\\*]+(?![a-z])"); //single numbers, not including individual "-", would turn 3-branched to 3 branched 
+	private static Pattern threeingBracketedPattern = Pattern.compile("[(\\[]\\s*\\d+\\s*[)\\]]"); // deal with ( 2 ), (23) is dealt with by NumericalHandler.numberpattern
+	
+	private static List<RewriteRule> orToRules = Arrays.asList(new RewriteRule[] {
+		RewriteRule.onLiteral("-or", "\\}?-or\\s+\\{?", "-or-"),
+		RewriteRule.onLiteral("or-", "\\}?\\s+or-\\{?", "-or-"),
+		RewriteRule.onLiteral("-to", "\\}?-to\\s+\\{?", "-to-"),
+		RewriteRule.onLiteral("to-", "\\}?\\s+to-\\{?", "-to-"),
+		RewriteRule.onLiteral("-or} {", "-or\\} \\{", "-or-"),
+		RewriteRule.onLiteral("-to} {", "-to\\} \\{", "-to-")
+	});
+	private static RewriteRule slashBetweenWordsRule = RewriteRule.onCharacters("/", "(?<=[a-z])/(?=[a-z])", "-");
+	private static RewriteRule moreOrLessSignRule = RewriteRule.onCharacters("", "(?!~[a-z])", "{moreorless}");
+	private static RewriteRule moreOrLessSignBeforeNumberRule = RewriteRule.onCharacters("", "(?!\\s+\\d)", "moreorless");
+	private static RewriteRule moreOrLessRule = RewriteRule.onLiteral("more", "[{<]*more[}>]*\\s+or\\s+[{<]*less[}>]*", "{moreorless}");
+	private static List<RewriteRule> removeBracesRules = Arrays.asList(new RewriteRule[] {
+		RewriteRule.onCharacters("{", "\\{", ""),
+		RewriteRule.onCharacters("}", "\\}", "")
+	});
+	private static List<RewriteRule> bracketHyphenRules = Arrays.asList(new RewriteRule[] {
+		RewriteRule.onCharacters("[", "\\[(?=-[a-z])", "[ "), //[-subpalmately ] => [ -subpalmately ]
+		RewriteRule.onCharacters("(", "\\((?=-[a-z])", "( ")
+	});
+	private static RewriteRule numberToRangeRule = RewriteRule.onLiteral("to", "(?<=\\d)\\s*to\\s*(?=\\d)", "-");
+	private static List<RewriteRule> numberRules = Arrays.asList(new RewriteRule[] {
+		RewriteRule.onLiteral("two", "\\btwo\\b", "2"),
+		RewriteRule.onLiteral("three", "\\bthree\\b", "3"),
+		RewriteRule.onLiteral("four", "\\bfour\\b", "4"),
+		RewriteRule.onLiteral("five", "\\bfive\\b", "5"),
+		RewriteRule.onLiteral("six", "\\bsix\\b", "6"),
+		RewriteRule.onLiteral("seven", "\\bseven\\b", "7"),
+		RewriteRule.onLiteral("eight", "\\beight\\b", "8"),
+		RewriteRule.onLiteral("nine", "\\bnine\\b", "9")
+	});
+	private static List<RewriteRule> ratioRules = Arrays.asList(new RewriteRule[] {
+		RewriteRule.onLiteral("one", "\\bone\\b", "1/"),
+		RewriteRule.onLiteral("two", "\\btwo\\b", "2/"),
+		RewriteRule.onLiteral("three", "\\bthree\\b", "3/"),
+		RewriteRule.onLiteral("four", "\\bfour\\b", "4/"),
+		RewriteRule.onLiteral("five", "\\bfive\\b", "5/"),
+		RewriteRule.onLiteral("six", "\\bsix\\b", "6/"),
+		RewriteRule.onLiteral("seven", "\\bseven\\b", "7/"),
+		RewriteRule.onLiteral("eight", "\\beight\\b", "8/"),
+		RewriteRule.onLiteral("nine", "\\bnine\\b", "9/"),
+		RewriteRule.onLiteral("half", "\\bhalf\\b", "2"),
+		RewriteRule.onLiteral("third", "\\bthirds?\\b", "3"),
+		RewriteRule.onLiteral("fourth", "\\bfourths?\\b", "4"),
+		RewriteRule.onLiteral("fifth", "\\bfifths?\\b", "5"),
+		RewriteRule.onLiteral("sixthth", "\\bsixthths?\\b", "6"),
+		RewriteRule.onLiteral("seventh", "\\bsevenths?\\b", "7"),
+		RewriteRule.onLiteral("eighth", "\\beighths?\\b", "8"),
+		RewriteRule.onLiteral("ninth", "\\bninths?\\b", "9"),
+		RewriteRule.onLiteral("tenth", "\\btenths?\\b", "10"),
+		RewriteRule.onCharacters("-", "-", ""),
+		RewriteRule.onCharacters(WHITESPACE, "\\s", "")
+	});
+	
+	/**
+	 * ordered rules of normalizeSpacesRoundNumbers, applied before the sentence is trimmed
+	 */
+	private static List<RewriteRule> spacesRoundNumbersRules = Arrays.asList(new RewriteRule[] {
+		RewriteRule.onCharacters("/", "(?<=\\d)\\s*/\\s*(?=\\d)", "/"),
+		RewriteRule.onCharacters(DIGITS, "(?<=\\d)\\s+(?=\\d)", "-"), //bhl: two numbers connected by a space
+		RewriteRule.onLiteral("at least", "at least", "at-least"),
+		RewriteRule.onLiteral("twice", "<?\\{?\\btwice\\b\\}?>?", "2 times"),
+		RewriteRule.onLiteral("thrice", "<?\\{?\\bthrice\\b\\}?>?", "3 times"),
+		RewriteRule.onCharacters("=", "2\\s*n\\s*=", "2n="),
+		RewriteRule.onCharacters("=", "2\\s*x\\s*=", "2x="),
+		RewriteRule.onCharacters("=", "n\\s*=", "n="),
+		RewriteRule.onCharacters("=", "x\\s*=", "x="),
+		RewriteRule.onCharacters("~-", "[~-]", "-"),
+		RewriteRule.onCharacters("", "", "  "),
+		RewriteRule.onCharacters(",", ",", " , "),
+		RewriteRule.onCharacters(";", ";", " ; "),
+		RewriteRule.onCharacters(":", ":", " : "),
+		RewriteRule.onCharacters(".", "\\.", " . "),
+		RewriteRule.onCharacters(WHITESPACE, "\\s+", " ")
+	});
+	private static List<RewriteRule> questionMarkSpacesRules = Arrays.asList(new RewriteRule[] {
+		RewriteRule.onCharacters("?", "(?<=\\d) (?=\\?)", ""), //deals especially x=[9 ? , 13] 12, 19 cases
+		RewriteRule.onCharacters("?", "(?<=\\?) (?=,)", "")
+	});
+	private static RewriteRule chromosomeCommaRule = RewriteRule.onCharacters(",", "(?<=[\\d?])\\s*,\\s*(?=\\d)", ",");
+	
+	/**
+	 * ordered rules of normalizeSpacesRoundNumbers, applied after the chromosome count specific rule
+	 */
+	private static List<RewriteRule> spacesRoundNumbersRules2 = Arrays.asList(new RewriteRule[] {
+		RewriteRule.onLiteral(" . ", "\\b(?<=\\d+) \\. (?=\\d+)\\b", "."), //2 . 5 => 2.5
+		RewriteRule.onCharacters("=", "(?<=\\d)\\.(?=\\d[nx]=)", " . "), //pappi 0.2n=12
+		//4-25 [ -60 ] => 4-25[-60]: this works only because "(text)" have already been removed from sentence in perl program
+		RewriteRule.onCharacters("(", "\\(\\s+(?=[\\d\\+\\-%])", "("), //"( 4" => "(4"
+		RewriteRule.onCharacters("(", "(?<=[\\d\\+\\-%])\\s+\\((?!\\s?[{<a-zA-Z])", "("), //" 4 (" => "4("
+		RewriteRule.onCharacters(")", "(?<![a-zA-Z}>]\\s?)\\)\\s+(?=[\\d\\+\\-%])", ")"), //") 4" => ")4"
+		RewriteRule.onCharacters(")", "(?<=[\\d\\+\\-%])\\s+\\)", ")"), //"4 )" => "4)"
+		RewriteRule.onCharacters("(", "\\((?=\\d+-\\{)", "( "), //except for ( 4-{angled} )
+		RewriteRule.onCharacters("[", "\\[\\s+(?=[\\d\\+\\-%])", "["), //"[ 4" => "[4", not [ -subpalmately ]
+		RewriteRule.onCharacters("[", "(?<=[\\d\\+\\-%])\\s+\\[(?!\\s?[{<a-zA-Z])", "["), //" 4 [" => "4["
+		RewriteRule.onCharacters("]", "(?<![a-zA-Z}>]\\s?)\\]\\s+(?=[\\d\\+\\-%])", "]"), //"] 4" => "]4"
+		RewriteRule.onCharacters("]", "(?<=[\\d\\+\\-%])\\s+\\]", "]"), //"4 ]" => "4]"
+		RewriteRule.onCharacters("[", "\\[(?=\\d+-\\{)", "[ "), //except for [ 4-{angled} ]
+		RewriteRule.onCharacters("/", "\\s+/\\s+", "/"), //and/or 1/2
+		RewriteRule.onCharacters("", "\\s+\\s+", ""),
+		RewriteRule.onCharacters("+", "\\s*\\+\\s*", "+"), // 1 + => 1+
+		RewriteRule.onCharacters("+", "(?<![\\d()\\]\\[-])\\+", " +"),
+		RewriteRule.onCharacters("+", "\\+(?![\\d()\\]\\[-])", "+ "),
+		RewriteRule.onCharacters("?", "(?<=(\\d))\\s*\\?\\s*(?=[\\d)\\]])", "?"), // (0? )
+		RewriteRule.onCharacters("-", "\\s*-\\s*", "-"), // 1 - 2 => 1-2, 4 - {merous} => 4-{merous}
+		RewriteRule.onCharacters(")]", "(?<=[\\d\\+-][\\)\\]])\\s+(?=[\\(\\[][\\d-])", ""),//2(3) [6]  ??
+		//%,, and 
+		RewriteRule.onCharacters("%", "(?<![a-z])\\s+%", "%"),
+		RewriteRule.onCharacters("", "(?<![a-z])\\s+", ""),
+		RewriteRule.onCharacters("", "(?<![a-z ])\\s*\\s*(?![ a-z])", ""),
+		//mohan code 11/9/2011 to replace (?) by nothing
+		RewriteRule.onCharacters("?", "\\(\\s*\\?\\s*\\)", "")
+	});
+	
+	private volatile AdjNounPatterns adjNounPatterns;
+	private volatile ColorPattern colorPattern;
+	private Pattern unitsRangePattern;
 	
 	private ParentTagProvider parentTagProvider;
 	
@@ -116,6 +248,7 @@ public abstract class Normalizer implements INormalizer {
 			IOrganStateKnowledgeBase organStateKnowledgeBase, 
 			IInflector inflector) {
 		this.units = units;
+		this.unitsRangePattern = Pattern.compile("(?<![\\d(\\[-]\\s?)[-]+\\s*(?="+numberpattern+"\\s+\\W?("+units+")\\W?)"); //fna: tips>-2.5 {mm}
 		this.numberPattern = numberPattern;
 		this.glossary = glossary;
 		this.singulars = singulars;
@@ -152,7 +285,7 @@ public abstract class Normalizer implements INormalizer {
 	public String normalize(String str, String tag, String modifier, String source) {	
 		str = dataSetSpecificNormalization(str);
 		
-		str = str.replaceAll("_", "-");
+		str = str.replace('_', '-');
 		
 		String backupStr = str;
 		str = normalizeInner(str, tag, source);
@@ -174,8 +307,9 @@ public abstract class Normalizer implements INormalizer {
 			str = str.replaceAll("\\s+or\\s+-\\{", "-or-").replaceAll("\\s+to\\s+-\\{", "-to-").replaceAll("\\s+-\\{", "-{");
 		}*/
 
-		if(str.matches(".*?-(or|to)\\b.*") || str.matches(".*?\\b(or|to)-.*") ){//12-{pinnately} or-{palmately} {lobed} => {12-pinnately-or-palmately} {lobed}
-			str = str.replaceAll("\\}?-or\\s+\\{?", "-or-").replaceAll("\\}?\\s+or-\\{?", "-or-").replaceAll("\\}?-to\\s+\\{?", "-to-").replaceAll("\\}?\\s+to-\\{?", "-to-").replaceAll("-or\\} \\{", "-or-").replaceAll("-to\\} \\{", "-to-");
+		if((str.contains("or") || str.contains("to")) && 
+				(hyphenedOrToPattern.matcher(str).matches() || orToHyphenedPattern.matcher(str).matches())){//12-{pinnately} or-{palmately} {lobed} => {12-pinnately-or-palmately} {lobed}
+			str = RewriteRule.apply(orToRules, str);
 		}
 		//{often} 2-, 3-, or 5-{ribbed} ; =>{often} {2-,3-,or5-ribbed} ;  635.txt-16
 		Matcher m = hyphenedtoorpattern.matcher(str);
@@ -190,7 +324,8 @@ public abstract class Normalizer implements INormalizer {
 				break;
 		}
 		String scp = str;
-		str = str.replaceAll("(?<![\\d(\\[-]\\s?)[-]+\\s*(?="+numberpattern+"\\s+\\W?("+units+")\\W?)", " to "); //fna: tips>-2.5 {mm}
+		if(str.indexOf('-') >= 0 || str.indexOf('') >= 0 || str.indexOf('') >= 0)
+			str = unitsRangePattern.matcher(str).replaceAll(" to "); //fna: tips>-2.5 {mm}
 		//if(!scp.equals(str)){
 		//	log(LogLevel.DEBUG, );
 		//}
@@ -216,13 +351,11 @@ public abstract class Normalizer implements INormalizer {
         	str = normalizeParentheses(str, chunkedTokens); 
         }
 
-        if(str.matches(".*? as\\s+[\\w{}<>]+\\s+as .*")){
+        if(str.contains(" as") && asasSentencePattern.matcher(str).matches()){
            str = normalizeAsAs(str);
         }
         
-        if(str.matches(".*?(?<=[a-z])/(?=[a-z]).*")){
-        	str = str.replaceAll("(?<=[a-z])/(?=[a-z])", "-");
-        }
+        str = slashBetweenWordsRule.apply(str);
         
         
         //10-20(-38) {cm}6-10 {mm} 
@@ -248,14 +381,15 @@ public abstract class Normalizer implements INormalizer {
 				str = m.group(3);
 			}
 			if(str.indexOf("")>=0){
-				str = str.replaceAll("(?!~[a-z])","{moreorless}").replaceAll("(?!\\s+\\d)","moreorless");
+				str = moreOrLessSignRule.apply(str);
+				str = moreOrLessSignBeforeNumberRule.apply(str);
 			}
 			/*to match {more} or {less}*/
-			if(str.matches(".*?\\b[{<]*more[}>]*\\s+or\\s+[{<]*less[}>]*\\b?.*")){
-				str = str.replaceAll("[{<]*more[}>]*\\s+or\\s+[{<]*less[}>]*", "{moreorless}");
+			if(str.contains("more") && moreOrLessSentencePattern.matcher(str).matches()){
+				str = moreOrLessRule.apply(str);
 			}
 			//if(str.matches(".*?\\bin\\s+[a-z_<>{} -]+\\s+[<{]?view[}>]?\\b.*")){//ants: "in full-face view"
-			if(str.matches(".*?\\bin\\s+[a-z_<>{} -]*\\s*[<{]?(view|profile)[}>]?\\b.*")){
+			if((str.contains("view") || str.contains("profile")) && viewSentencePattern.matcher(str).matches()){
 				Matcher vm = viewptn.matcher(str);
 				while(vm.matches()){
 					str = vm.group(1)+" {"+vm.group(2).replaceAll("[<>{}]", "").replaceAll("\\s+", "-")+"} "+vm.group(3); 
@@ -297,7 +431,7 @@ public abstract class Normalizer implements INormalizer {
 			//}
            //str = str.replaceAll("}>", "/NN").replaceAll(">}", "/NN").replaceAll(">", "/NN").replaceAll("}", "/JJ").replaceAll("[<{]", "");
 		
-		str = str.replaceAll("\\{", "").replaceAll("\\}", "");
+		str = RewriteRule.apply(removeBracesRules, str);
 		
 		/*if(!tag.equals("ditto"))
 			this.parentTag = tag;
@@ -437,10 +571,7 @@ public abstract class Normalizer implements INormalizer {
 	 * @return text
 	 */
 	private String connectColors(String text) {
-		String colors = colorsFromGloss();
-		//String pt = "\\b(?<=" + colors + ")\\s+(?=" + colors + ")\\b";
-		String pt = "\\b(<=" + colors + ")\\s+(=" + colors + ")\\b";
-		Pattern p = Pattern.compile(pt);
+		Pattern p = getColorPattern();
 		Matcher m = p.matcher(text);
 		
 		while(m.find()){
@@ -454,6 +585,21 @@ public abstract class Normalizer implements INormalizer {
 		return text;
 	}
 	
+	/**
+	 * @return the color pattern, compiled once per set of colors in the glossary
+	 */
+	private Pattern getColorPattern() {
+		String colors = colorsFromGloss();
+		ColorPattern colorPattern = this.colorPattern;
+		if(colorPattern == null || !colorPattern.colors.equals(colors)) {
+			//String pt = "\\b(?<=" + colors + ")\\s+(?=" + colors + ")\\b";
+			String pt = "\\b(<=" + colors + ")\\s+(=" + colors + ")\\b";
+			colorPattern = new ColorPattern(colors, Pattern.compile(pt));
+			this.colorPattern = colorPattern;
+		}
+		return colorPattern.pattern;
+	}
+	
 	private String colorsFromGloss() {
 		StringBuffer colorsString = new StringBuffer();
 		Set<String> allColors = new HashSet<String>();
@@ -476,7 +622,26 @@ public abstract class Normalizer implements INormalizer {
 
 	private String normalizeInner(String str, String tag, String source) {
 		Map<String, String> adjnounsent = terminologyLearner.getAdjNounSent();
-		List<String> adjnouns = terminologyLearner.getAdjNouns();
+		AdjNounPatterns adjNounPatterns = getAdjNounPatterns(terminologyLearner.getAdjNouns());
+		
+		if((adjnounsent.containsKey(tag) && adjNounPatterns.sentencePattern.matcher(str).matches()) || 
+				(str.contains(" of ") && adjNounPatterns.ofSentencePattern.matcher(str).matches())){
+			str = fixInner(str, tag.replaceAll("\\W",""), adjNounPatterns.innerPattern, source);
+			//need to put tag in after the modifier inner
+		}
+
+		return str;
+	}
+	
+	/**
+	 * @param adjnouns
+	 * @return the adjective noun patterns, compiled once per state of the learned adjective nouns
+	 */
+	private AdjNounPatterns getAdjNounPatterns(List<String> adjnouns) {
+		AdjNounPatterns adjNounPatterns = this.adjNounPatterns;
+		if(adjNounPatterns != null && adjNounPatterns.adjnouns.equals(adjnouns))
+			return adjNounPatterns;
+		
 		//Collections.sort(adjnouns); //what for?
 		String adjnounslist = "";
 		for(int i = adjnouns.size()-1; i>=0; i--) {
@@ -490,12 +655,12 @@ public abstract class Normalizer implements INormalizer {
 		}
 		adjnounslist = adjnounslist.trim().length()==0? null : "[<{]*"+adjnounslist.replaceFirst("\\|$", "").replaceAll("\\|+", "|").replaceAll("\\|", "[}>]*|[<{]*").replaceAll(" ", "[}>]* [<{]*")+"[}>]*";
 		
-		if((adjnounsent.containsKey(tag) && str.matches(".*?[<{]*\\b(?:"+adjnounslist+")[^ly ]*\\b[}>]*.*")) || str.matches(".*? of [<{]*\\b(?:"+adjnounslist+")[^ly ]*\\b[}>]*.*")){
-			str = fixInner(str, tag.replaceAll("\\W",""), adjnounslist, source);
-			//need to put tag in after the modifier inner
-		}
-
-		return str;
+		adjNounPatterns = new AdjNounPatterns(new ArrayList<String>(adjnouns), 
+				Pattern.compile(".*?[<{]*\\b(?:"+adjnounslist+")[^ly ]*\\b[}>]*.*"), 
+				Pattern.compile(".*? of [<{]*\\b(?:"+adjnounslist+")[^ly ]*\\b[}>]*.*"),
+				Pattern.compile("(.*?)((?:^| )(?:(?:\\{|<\\{)*\\b(?:"+adjnounslist+")[^ly ]*\\b(?:\\}>|\\})*)\\s+)(((?!to\\s+\\D).*).*)"));
+		this.adjNounPatterns = adjNounPatterns;
+		return adjNounPatterns;
 	}
 
 
@@ -653,7 +818,7 @@ public abstract class Normalizer implements INormalizer {
 			}
 			m = this.countptn.matcher(str);
 		}
-		return str.replaceAll("\\s+", " ").trim();
+		return whitespacePattern.matcher(str).replaceAll(" ").trim();
 	}
 		
 		
@@ -691,145 +856,49 @@ public abstract class Normalizer implements INormalizer {
 
 	private String normalizeSpacesRoundNumbers(String sent) {
 		sent = ratio2number(sent);//bhl
-		sent = sent.replaceAll("(?<=\\d)\\s*/\\s*(?=\\d)", "/");
-		sent = sent.replaceAll("(?<=\\d)\\s+(?=\\d)", "-"); //bhl: two numbers connected by a space
-		sent = sent.replaceAll("at least", "at-least");
-		sent = sent.replaceAll("<?\\{?\\btwice\\b\\}?>?", "2 times");
-		sent = sent.replaceAll("<?\\{?\\bthrice\\b\\}?>?", "3 times");
-		sent = sent.replaceAll("2\\s*n\\s*=", "2n=");
-		sent = sent.replaceAll("2\\s*x\\s*=", "2x=");
-		sent = sent.replaceAll("n\\s*=", "n=");
-		sent = sent.replaceAll("x\\s*=", "x=");
-
-		//sent = sent.replaceAll("[-]", "-").replaceAll(",", " , ").replaceAll(";", " ; ").replaceAll(":", " : ").replaceAll("\\.", " . ").replaceAll("\\[", " [ ").replaceAll("\\]", " ] ").replaceAll("\\(", " ( ").replaceAll("\\)", " ) ").replaceAll("\\s+", " ").trim();
-		sent = sent.replaceAll("[~-]", "-").replaceAll("", "  ").replaceAll(",", " , ").replaceAll(";", " ; ").replaceAll(":", " : ").replaceAll("\\.", " . ").replaceAll("\\s+", " ").trim();
-		sent = sent.replaceAll("(?<=\\d) (?=\\?)", ""); //deals especially x=[9 ? , 13] 12, 19 cases
-		sent = sent.replaceAll("(?<=\\?) (?=,)", "");
-		if(sent.matches(".*?[nx]=.*")){
-			sent = sent.replaceAll("(?<=[\\d?])\\s*,\\s*(?=\\d)", ","); //remove spaces around , for chromosome only so numericalHandler.numericalPattern can "3" them into one 3. Other "," connecting two numbers needs spaces to avoid being "3"-ed (fruits 10, 3 of them large) 
-		}
-		sent = sent.replaceAll("\\b(?<=\\d+) \\. (?=\\d+)\\b", ".");//2 . 5 => 2.5
-		sent = sent.replaceAll("(?<=\\d)\\.(?=\\d[nx]=)", " . "); //pappi 0.2n=12
-		
-		
-		//sent = sent.replaceAll("(?<=\\d)\\s+/\\s+(?=\\d)", "/"); // 1 / 2 => 1/2
-		//sent = sent.replaceAll("(?<=[\\d()\\[\\]])\\s+[-]\\s+(?=[\\d()\\[\\]])", "-"); // 1 - 2 => 1-2
-		//sent = sent.replaceAll("(?<=[\\d])\\s+[-]\\s+(?=[\\d])", "-"); // 1 - 2 => 1-2
-		
-		//4-25 [ -60 ] => 4-25[-60]: this works only because "(text)" have already been removed from sentence in perl program
-		sent = sent.replaceAll("\\(\\s+(?=[\\d\\+\\-%])", "("). //"( 4" => "(4"
-		replaceAll("(?<=[\\d\\+\\-%])\\s+\\((?!\\s?[{<a-zA-Z])", "("). //" 4 (" => "4("
-		replaceAll("(?<![a-zA-Z}>]\\s?)\\)\\s+(?=[\\d\\+\\-%])", ")"). //") 4" => ")4"
-		replaceAll("(?<=[\\d\\+\\-%])\\s+\\)", ")"). //"4 )" => "4)"
-		replaceAll("\\((?=\\d+-\\{)", "( "); //except for ( 4-{angled} )
-		
-		sent = sent.replaceAll("\\[\\s+(?=[\\d\\+\\-%])", "["). //"[ 4" => "[4", not [ -subpalmately ]
-		replaceAll("(?<=[\\d\\+\\-%])\\s+\\[(?!\\s?[{<a-zA-Z])", "["). //" 4 [" => "4["
-		replaceAll("(?<![a-zA-Z}>]\\s?)\\]\\s+(?=[\\d\\+\\-%])", "]"). //"] 4" => "]4"
-		replaceAll("(?<=[\\d\\+\\-%])\\s+\\]", "]"). //"4 ]" => "4]"
-		replaceAll("\\[(?=\\d+-\\{)", "[ "); //except for [ 4-{angled} ]
-		
-		/*Pattern p = Pattern.compile("(.*?)(\\d*)\\s+\\[\\s+([ +\\d\\.,?/-]+)\\s+\\]\\s+(\\d*)(.*)");  //4-25 [ -60 ] => 4-25[-60]. ? is for chromosome count
-		Matcher m = p.matcher(sent);
-		while(m.matches()){
-			sent = m.group(1)+ (m.group(2).length()>0? m.group(2):" ")+"["+m.group(3).replaceAll("\\s*[-]\\s*", "-")+"]"+(m.group(4).length()>0? m.group(4):" ")+m.group(5);
-			m = p.matcher(sent);
+		sent = RewriteRule.apply(spacesRoundNumbersRules, sent).trim();
+		sent = RewriteRule.apply(questionMarkSpacesRules, sent);
+		if(sent.indexOf('=') >= 0 && chromosomeSentencePattern.matcher(sent).matches()){
+			sent = chromosomeCommaRule.apply(sent); //remove spaces around , for chromosome only so numericalHandler.numericalPattern can "3" them into one 3. Other "," connecting two numbers needs spaces to avoid being "3"-ed (fruits 10, 3 of them large) 
 		}
-		////keep the space after the first (, so ( 3-15 mm) will not become 3-15mm ) in POSTagger.
-		p = Pattern.compile("(.*?)(\\d*)\\s+\\(\\s+([ +\\d\\.,?/-]+)\\s+\\)\\s+(\\d*)(.*)");  //4-25 ( -60 ) => 4-25(-60)
-		//p = Pattern.compile("(.*?)(\\d*)\\s*\\(\\s*([ +\\d\\.,?/-]+)\\s*\\)\\s*(\\d*)(.*)");  //4-25 ( -60 ) => 4-25(-60)
-		m = p.matcher(sent);
-		while(m.matches()){
-			sent = m.group(1)+ (m.group(2).length()>0? m.group(2):" ")+"("+m.group(3).replaceAll("\\s*[-]\\s*", "-")+")"+(m.group(4).length()>0? m.group(4):" ")+m.group(5);
-			m = p.matcher(sent);
-		}*/
-		
-		sent = sent.replaceAll("\\s+/\\s+", "/"); //and/or 1/2
-		sent = sent.replaceAll("\\s+\\s+", "");
-		sent = sent.replaceAll("\\s*\\+\\s*", "+"); // 1 + => 1+
-		sent = sent.replaceAll("(?<![\\d()\\]\\[-])\\+", " +");
-		sent = sent.replaceAll("\\+(?![\\d()\\]\\[-])", "+ ");
-		sent = sent.replaceAll("(?<=(\\d))\\s*\\?\\s*(?=[\\d)\\]])", "?"); // (0? )
-		sent = sent.replaceAll("\\s*-\\s*", "-"); // 1 - 2 => 1-2, 4 - {merous} => 4-{merous}
-		sent = sent.replaceAll("(?<=[\\d\\+-][\\)\\]])\\s+(?=[\\(\\[][\\d-])", "");//2(3) [6]  ??
-		//%,, and 
-		sent = sent.replaceAll("(?<![a-z])\\s+%", "%").replaceAll("(?<![a-z])\\s+", "").replaceAll("(?<![a-z ])\\s*\\s*(?![ a-z])", "");
-		/*if(sent.indexOf(" -{")>=0){//12-{pinnately} or -{palmately} {lobed} => {12-pinnately-or-palmately} {lobed}
-			sent = sent.replaceAll("\\s+or\\s+-\\{", "-or-").replaceAll("\\s+to\\s+-\\{", "-to-").replaceAll("\\s+-\\{", "-{");
-		}*/
-		//mohan code 11/9/2011 to replace (?) by nothing
-		sent = sent.replaceAll("\\(\\s*\\?\\s*\\)","");
-		//end mohan code
+		sent = RewriteRule.apply(spacesRoundNumbersRules2, sent);
 	
 		//make sure brackets that are not part of a numerical expression are separated from the expression by a space
 		if(sent.contains("(") || sent.contains(")")) sent = normalizeBrackets(sent, '(');
 		if(sent.contains("[") || sent.contains("]")) sent = normalizeBrackets(sent, '[');
 		
-		sent = sent.replaceAll("\\[(?=-[a-z])", "[ ");//[-subpalmately ] => [ -subpalmately ]
-		sent = sent.replaceAll("\\((?=-[a-z])", "( ");//[-subpalmately ] => [ -subpalmately ]
+		sent = RewriteRule.apply(bracketHyphenRules, sent);
 		return sent;
 	}
 	
 	
 	private String ratio2number(String sent){
-		String small = "\\b(?:one|two|three|four|five|six|seven|eight|nine)\\b";
-		String big = "\\b(?:half|third|fourth|fifth|sixth|seventh|eighth|ninth|tenth)s?\\b";
 		//ratio
-		Pattern ptn = Pattern.compile("(.*?)("+small+"\\s*-?_?\\s*"+big+")(.*)");
-		Matcher m = ptn.matcher(sent);
+		Matcher m = ratioPattern.matcher(sent);
 		while(m.matches()){
 			String ratio = m.group(2);
 			ratio = toRatio(ratio);
 			sent = m.group(1)+ratio+m.group(3);
-			m = ptn.matcher(sent);
+			m = ratioPattern.matcher(sent);
 		}
 		//number
-		small = "\\b(?:two|three|four|five|six|seven|eight|nine)\\b";
-		ptn = Pattern.compile("(.*?)("+small+")(.*)");
-		m = ptn.matcher(sent);
+		m = smallNumberPattern.matcher(sent);
 		while(m.matches()){
 			String number = m.group(2);
 			number = toNumber(number);
 			sent = m.group(1)+number+m.group(3);
-			m = ptn.matcher(sent);
+			m = smallNumberPattern.matcher(sent);
 		}
-		sent = sent.replaceAll("(?<=\\d)\\s*to\\s*(?=\\d)", "-");
+		sent = numberToRangeRule.apply(sent);
 		return sent;
 	}
 	
 	private String toNumber(String ratio){
-		ratio = ratio.replaceAll("\\btwo\\b", "2");
-		ratio = ratio.replaceAll("\\bthree\\b", "3");
-		ratio = ratio.replaceAll("\\bfour\\b", "4");
-		ratio = ratio.replaceAll("\\bfive\\b", "5");
-		ratio = ratio.replaceAll("\\bsix\\b", "6");
-		ratio = ratio.replaceAll("\\bseven\\b", "7");
-		ratio = ratio.replaceAll("\\beight\\b", "8");
-		ratio = ratio.replaceAll("\\bnine\\b", "9");
-		return ratio;
+		return RewriteRule.apply(numberRules, ratio);
 	}
 	
 	private String toRatio(String ratio){
-		ratio = ratio.replaceAll("\\bone\\b", "1/");
-		ratio = ratio.replaceAll("\\btwo\\b", "2/");
-		ratio = ratio.replaceAll("\\bthree\\b", "3/");
-		ratio = ratio.replaceAll("\\bfour\\b", "4/");
-		ratio = ratio.replaceAll("\\bfive\\b", "5/");
-		ratio = ratio.replaceAll("\\bsix\\b", "6/");
-		ratio = ratio.replaceAll("\\bseven\\b", "7/");
-		ratio = ratio.replaceAll("\\beight\\b", "8/");
-		ratio = ratio.replaceAll("\\bnine\\b", "9/");
-		ratio = ratio.replaceAll("\\bhalf\\b", "2");
-		ratio = ratio.replaceAll("\\bthirds?\\b", "3");
-		ratio = ratio.replaceAll("\\bfourths?\\b", "4");
-		ratio = ratio.replaceAll("\\bfifths?\\b", "5");
-		ratio = ratio.replaceAll("\\bsixthths?\\b", "6");
-		ratio = ratio.replaceAll("\\bsevenths?\\b", "7");
-		ratio = ratio.replaceAll("\\beighths?\\b", "8");
-		ratio = ratio.replaceAll("\\bninths?\\b", "9");
-		ratio = ratio.replaceAll("\\btenths?\\b", "10");
-		ratio = ratio.replaceAll("-", "").replaceAll("\\s", "");
-		return ratio;
+		return RewriteRule.apply(ratioRules, ratio);
 	}
 	
 	private String normalizeBrackets(String sent, char bracket) {
@@ -889,15 +958,12 @@ public abstract class Normalizer implements INormalizer {
 		//	log(LogLevel.DEBUG, "orig : "+sentorig);
 		//	log(LogLevel.DEBUG, "fixed: "+fixed);
 		//}
-		return fixed.replaceAll("\\s+", " ");
+		return whitespacePattern.matcher(fixed).replaceAll(" ");
 	}
 	
     private int hasUnmatchedBracket(String text, String lbracket, String rbracket) {
-    	if(lbracket.equals("[")) lbracket = "\\[";
-    	if(lbracket.equals("]")) lbracket = "\\]";
-    	
-    	int left = text.replaceAll("[^"+lbracket+"]", "").length();
-    	int right = text.replaceAll("[^"+rbracket+"]", "").length();
+    	int left = count(text, lbracket.charAt(0));
+    	int right = count(text, rbracket.charAt(0));
     	if(left > right) return 1;
     	if(left < right) return -1;
 		return 0;
@@ -905,18 +971,26 @@ public abstract class Normalizer implements INormalizer {
 	
 	
     private boolean hasUnmatchedBrackets(String text) {
-    	//String[] lbrackets = new String[]{"\\[", "(", "{"};
-    	//String[] rbrackets = new String[]{"\\]", ")", "}"};
-    	String[] lbrackets = new String[]{"\\[", "("};
-    	String[] rbrackets = new String[]{"\\]", ")"};
+    	//char[] lbrackets = new char[]{'[', '(', '{'};
+    	//char[] rbrackets = new char[]{']', ')', '}'};
+    	char[] lbrackets = new char[]{'[', '('};
+    	char[] rbrackets = new char[]{']', ')'};
     	for(int i = 0; i<lbrackets.length; i++){
-    		int left1 = text.replaceAll("[^"+lbrackets[i]+"]", "").length();
-    		int right1 = text.replaceAll("[^"+rbrackets[i]+"]", "").length();
+    		int left1 = count(text, lbrackets[i]);
+    		int right1 = count(text, rbrackets[i]);
     		if(left1!=right1) return true;
     	}
 		return false;
 	}
     
+    private int count(String text, char c) {
+    	int count = 0;
+    	for(int i = 0; i < text.length(); i++)
+    		if(text.charAt(i) == c)
+    			count++;
+    	return count;
+    }
+    
     
     /**
      * if bracket is left, then refresh the index of a new positive count
@@ -973,12 +1047,6 @@ public abstract class Normalizer implements INormalizer {
 		//Pattern pattern4 = Pattern.compile("(?<!(ca[\\s]?|diam[\\s]?))([\\d]?[\\s]?\\.[\\s]?[\\d]+[\\s]?[\\\\-]+[\\s]?[\\d]?[\\s]?\\.[\\s]?[\\d]+)|([\\d]+[\\s]?[\\\\-]+[\\s]?[\\d]?[\\s]?\\.[\\s]?[\\d]+)|([\\d]/[\\d][\\s]?[\\\\-][\\s]?[\\d]/[\\d])|(?<!(ca[\\s]?|diam[\\s]?))([\\d]?[\\s]?\\.[\\s]?[\\d]+)|([\\d]/[\\d])");
 		//Pattern pattern5 = Pattern.compile("[\\d\\+\\\\-\\:/\"\\_\\׵%\\*\\{\\}\\[\\]=]+");
 		//Pattern pattern5 = Pattern.compile("[\\d\\+/\"\\׵%\\*]+(?!~[a-z])");
-		Pattern pattern5 = Pattern.compile("[\\d\\+/\"\\׵%\\*]+(?![a-z])"); //single numbers, not including individual "-", would turn 3-branched to 3 branched 
-		//Pattern pattern6 = Pattern.compile("([\\s]*0[\\s]*)+(?!~[a-z])"); //condense multiple 0s.
-		Pattern pattern6 = Pattern.compile("(?<=\\s)[0\\s]+(?=\\s)");
-		//Pattern pattern5 = Pattern.compile("((?<!(/|(\\.[\\s]?)))[\\d]+[\\-\\]+[\\d]+(?!([\\\\-]+/|([\\s]?\\.))))|((?<!(\\{|/))[\\d]+(?!(\\}|/)))");
-         //[\\d\\+\\\\-\\.:/\"\\_;x\\\\s,%\\*\\{\\}\\[\\]=(<\\{)(\\}>)]+
-		Pattern pattern7 = Pattern.compile("[(\\[]\\s*\\d+\\s*[)\\]]"); // deal with ( 2 ), (23) is dealt with by NumericalHandler.numberpattern
 		
 		Matcher	 matcher1 = numberpattern.matcher(str);
         str = matcher1.replaceAll("0");
@@ -988,7 +1056,7 @@ public abstract class Normalizer implements INormalizer {
          str = matcher1.replaceAll("0");
          matcher1.reset();*/
          
-         matcher1 = pattern5.matcher(str);//single numbers
+         matcher1 = threeingSinglesPattern.matcher(str);//single numbers
          str = matcher1.replaceAll("0");
          matcher1.reset();
          
@@ -1002,7 +1070,7 @@ public abstract class Normalizer implements INormalizer {
          }
          matcher1.reset();*/
          
-         matcher1 = pattern7.matcher(str);//added for (2)
+         matcher1 = threeingBracketedPattern.matcher(str);//added for (2)
          str = matcher1.replaceAll("0");
          matcher1.reset();
          //further normalization
@@ -1430,11 +1498,13 @@ public abstract class Normalizer implements INormalizer {
 	
 	/**
 	 * mark Inner as organ for sent such as inner red.
-	 * @param adjnouns
 	 * @param taggedsent
+	 * @param tag
+	 * @param p the inner pattern compiled from the adjective nouns
+	 * @param source
 	 * @return inner-fixed String
 	 */
-	private String fixInner(String taggedsent, String tag, String adjnounslist, String source) {
+	private String fixInner(String taggedsent, String tag, Pattern p, String source) {
 		//this.showOutputMessage("System is rewriting some sentences...");
 		String fixed = "";
 		String copysent = taggedsent;
@@ -1443,7 +1513,6 @@ public abstract class Normalizer implements INormalizer {
 		//Pattern p =Pattern.compile("(.*?)(\\s*(?:[ <{]*\\b(?:"+adjnounslist+")\\b[}> ]*)+\\s*)(.*)");
 		//Pattern p0 =Pattern.compile("(.*?)((?:^| )(?:(?:\\{|<\\{)*\\b(?:"+adjnounslist+")\\b(?:\\}>|\\})*) )(.*)");
 		//Pattern p =Pattern.compile("(.*?)((?:^| )(?:(?:\\{|<\\{)*\\b(?:"+adjnounslist+")[^ly ]*\\b(?:\\}>|\\})*)\\s+)(.*)");
-		Pattern p =Pattern.compile("(.*?)((?:^| )(?:(?:\\{|<\\{)*\\b(?:"+adjnounslist+")[^ly ]*\\b(?:\\}>|\\})*)\\s+)(((?!to\\s+\\D).*).*)");
 		Matcher m = p.matcher(taggedsent);
 		//Matcher m0 = p0.matcher(taggedsent);
 		int matchcount = 0;
@@ -1574,6 +1643,38 @@ public abstract class Normalizer implements INormalizer {
 			fixed = taggedsent;
 		}
 		
-		return fixed.trim().replaceAll("\\s+", " ").replaceAll("<null>", "");
+		return whitespacePattern.matcher(fixed.trim()).replaceAll(" ").replace("<null>", "");
+	}
+	
+	/**
+	 * AdjNounPatterns holds the patterns compiled from a state of the learned adjective nouns
+	 */
+	private static class AdjNounPatterns {
+		
+		private List<String> adjnouns;
+		private Pattern sentencePattern;
+		private Pattern ofSentencePattern;
+		private Pattern innerPattern;
+		
+		public AdjNounPatterns(List<String> adjnouns, Pattern sentencePattern, Pattern ofSentencePattern, Pattern innerPattern) {
+			this.adjnouns = adjnouns;
+			this.sentencePattern = sentencePattern;
+			this.ofSentencePattern = ofSentencePattern;
+			this.innerPattern = innerPattern;
+		}
+	}
+	
+	/**
+	 * ColorPattern holds the pattern compiled from the colors of the glossary
+	 */
+	private static class ColorPattern {
+		
+		private String colors;
+		private Pattern pattern;
+		
+		public ColorPattern(String colors, Pattern pattern) {
+			this.colors = colors;
+			this.pattern = pattern;
+		}
 	}
 }
@@ -0,0 +1,97 @@
+package semanticMarkup.ling.normalize.lib;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A RewriteRule replaces all matches of a precompiled pattern by a replacement. A rule can be given triggers: either
+ * characters of which at least one or a literal which has to be contained in a text for the pattern to possibly match.
+ * The regular expression is only run if the trigger is present, so that a list of rules can be applied cheaply to a
+ * text most of the rules do not apply to.
+ * @author rodenhausen
+ */
+public class RewriteRule {
+
+	private Pattern pattern;
+	private String replacement;
+	private String triggerCharacters;
+	private String triggerLiteral;
+
+	private RewriteRule(String regex, String replacement, String triggerCharacters, String triggerLiteral) {
+		this.pattern = Pattern.compile(regex);
+		this.replacement = replacement;
+		this.triggerCharacters = triggerCharacters;
+		this.triggerLiteral = triggerLiteral;
+	}
+
+	/**
+	 * @param regex
+	 * @param replacement
+	 * @return a rule that always runs its regex
+	 */
+	public static RewriteRule always(String regex, String replacement) {
+		return new RewriteRule(regex, replacement, null, null);
+	}
+
+	/**
+	 * @param triggerCharacters at least one of which has to be contained in any text the regex can match
+	 * @param regex
+	 * @param replacement
+	 * @return a rule that only runs its regex if one of the trigger characters is present
+	 */
+	public static RewriteRule onCharacters(String triggerCharacters, String regex, String replacement) {
+		return new RewriteRule(regex, replacement, triggerCharacters, null);
+	}
+
+	/**
+	 * @param triggerLiteral that has to be contained in any text the regex can match
+	 * @param regex
+	 * @param replacement
+	 * @return a rule that only runs its regex if the trigger literal is present
+	 */
+	public static RewriteRule onLiteral(String triggerLiteral, String regex, String replacement) {
+		return new RewriteRule(regex, replacement, null, triggerLiteral);
+	}
+
+	/**
+	 * @param text
+	 * @return the text with all matches of the pattern replaced, the same instance if the rule was not triggered
+	 */
+	public String apply(String text) {
+		if(!isTriggered(text))
+			return text;
+		return pattern.matcher(text).replaceAll(replacement);
+	}
+
+	/**
+	 * @param text
+	 * @return if the pattern can possibly match within the text
+	 */
+	public boolean isTriggered(String text) {
+		if(triggerLiteral != null)
+			return text.contains(triggerLiteral);
+		if(triggerCharacters != null) {
+			for(int i=0; i<triggerCharacters.length(); i++)
+				if(text.indexOf(triggerCharacters.charAt(i)) >= 0)
+					return true;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param rules to apply in order
+	 * @param text
+	 * @return the text after all rules have been applied
+	 */
+	public static String apply(List<RewriteRule> rules, String text) {
+		for(RewriteRule rule : rules)
+			text = rule.apply(text);
+		return text;
+	}
+
+	@Override
+	public String toString() {
+		return pattern.pattern() + " => " + replacement;
+	}
+}
@@ -74,6 +74,12 @@ public interface IParseTree extends Iterable<IParseTree> {
 	 */
 	public int getTerminalID(IParseTree terminal);
 	
+	/**
+	 * @return a count that increases with every change to the structure of the tree this IParseTree belongs to, 
+	 * i.e. every time nodes are added or removed
+	 */
+	public long getModificationCount();
+	
 	/**
 	 * @param subtree to remove from children
 	 */
@@ -16,4 +16,10 @@ public interface IParser {
 	 */
 	public AbstractParseTree parse(List<? extends Token> sentence);
 	
+	/**
+	 * Releases resources held by the parser such as open files, e.g. when a run is done. 
+	 * The parser can still be used afterwards
+	 */
+	public void close();
+	
 }
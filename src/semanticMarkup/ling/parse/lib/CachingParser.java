@@ -0,0 +1,263 @@
+package semanticMarkup.ling.parse.lib;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import semanticMarkup.ling.Token;
+import semanticMarkup.ling.parse.AbstractParseTree;
+import semanticMarkup.ling.parse.IParser;
+import semanticMarkup.ling.pos.POSedToken;
+import semanticMarkup.log.LogLevel;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+import edu.stanford.nlp.trees.Tree;
+
+/**
+ * A CachingParser decorates an IParser creating StanfordParseTrees and stores the parse trees in a cache file, so that
+ * re-runs on the same sentences do not have to parse again. The cache is keyed by a hash of the POS tagged tokens
+ * and the parser model. Only the keys and file offsets are held in memory; trees are read from the file on a hit.
+ * A record in the cache file consists of the key, the length of the tree and the deflated, serialized tree.
+ * @author rodenhausen
+ */
+public class CachingParser implements IParser {
+
+	private static final int KEY_LENGTH = 40;
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final int REPORT_INTERVAL = 1000;
+	
+	private IParser parser;
+	private String modelFile;
+	private boolean enabled;
+	private File file;
+	private RandomAccessFile cacheFile;
+	private Object cacheFileLock = new Object();
+	private ConcurrentHashMap<String, Long> offsets = new ConcurrentHashMap<String, Long>();
+	private AtomicLong hits = new AtomicLong();
+	private AtomicLong misses = new AtomicLong();
+
+	/**
+	 * @param parser to decorate
+	 * @param cacheFilePath the file to store the parse trees in
+	 * @param enabled if false sentences are passed to the decorated parser directly
+	 * @param modelFile the decorated parser's model, part of the key
+	 */
+	@Inject
+	public CachingParser(@Named("CachingParser_Parser")IParser parser, 
+			@Named("CachingParser_CacheFile")String cacheFilePath, 
+			@Named("CachingParser_enabled")boolean enabled, 
+			@Named("StanfordParserWrapper_modelFile")String modelFile) {
+		this.parser = parser;
+		this.modelFile = modelFile;
+		this.enabled = enabled;
+		if(enabled) {
+			try {
+				file = new File(cacheFilePath);
+				if(file.getParentFile() != null)
+					file.getParentFile().mkdirs();
+				long validLength = load(file);
+				cacheFile = new RandomAccessFile(file, "rw");
+				cacheFile.setLength(validLength);
+			} catch(Exception e) {
+				log(LogLevel.ERROR, "Problem opening parse cache " + cacheFilePath + ", parse cache is disabled", e);
+				this.enabled = false;
+			}
+		}
+	}
+
+	@Override
+	public AbstractParseTree parse(List<? extends Token> sentence) {
+		if(!enabled)
+			return parser.parse(sentence);
+		
+		String key = getKey(sentence);
+		Long offset = offsets.get(key);
+		if(offset != null) {
+			Tree tree = read(offset);
+			if(tree != null) {
+				count(hits);
+				return new StanfordParseTree(tree);
+			}
+		}
+		count(misses);
+		AbstractParseTree parseTree = parser.parse(sentence);
+		//flat trees of sentences that were too long or took too long to parse are not cached, 
+		//a later run may have different limits
+		if(parseTree instanceof StanfordParseTree && !StanfordParserWrapper.isFlatTree(parseTree))
+			write(key, ((StanfordParseTree)parseTree).getStanfordParseTree());
+		return parseTree;
+	}
+	
+	/**
+	 * Closes the cache file. It is opened again if the parser is used afterwards
+	 */
+	@Override
+	public void close() {
+		if(!enabled)
+			return;
+		synchronized(cacheFileLock) {
+			if(cacheFile != null) {
+				try {
+					cacheFile.close();
+				} catch(IOException e) {
+					log(LogLevel.ERROR, "Problem closing parse cache " + file, e);
+				}
+				cacheFile = null;
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of sentences whose parse tree was found in the cache
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+	
+	/**
+	 * @return the number of sentences that had to be parsed
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+	
+	/**
+	 * @return the share of sentences whose parse tree was found in the cache
+	 */
+	public double getHitRate() {
+		long hits = getHits();
+		long total = hits + getMisses();
+		return total == 0 ? 0.0 : (double)hits / total;
+	}
+	
+	@Override
+	public String toString() {
+		return "parse cache hits: " + getHits() + ", misses: " + getMisses() + ", hit rate: " + getHitRate() + 
+				", cached trees: " + offsets.size();
+	}
+	
+	private void count(AtomicLong counter) {
+		counter.incrementAndGet();
+		if((getHits() + getMisses()) % REPORT_INTERVAL == 0)
+			log(LogLevel.INFO, this.toString());
+	}
+
+	private String getKey(List<? extends Token> sentence) {
+		StringBuilder keyBuilder = new StringBuilder(modelFile);
+		for(Token token : sentence) {
+			keyBuilder.append('\n').append(token.getContent());
+			if(token instanceof POSedToken)
+				keyBuilder.append('\t').append(((POSedToken)token).getPOS());
+		}
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(keyBuilder.toString().getBytes(UTF8));
+			StringBuilder key = new StringBuilder();
+			for(byte b : digest) 
+				key.append(String.format("%02x", b));
+			return key.toString();
+		} catch(Exception e) {
+			//SHA-1 is available on every java platform
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @param file
+	 * @return the length of the file up to the last complete record
+	 * @throws IOException
+	 */
+	private long load(File file) throws IOException {
+		long validLength = 0;
+		if(!file.exists())
+			return validLength;
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			byte[] keyBytes = new byte[KEY_LENGTH];
+			while(true) {
+				in.readFully(keyBytes);
+				int length = in.readInt();
+				if(length < 0 || in.skipBytes(length) != length)
+					break;
+				offsets.put(new String(keyBytes, UTF8), validLength + KEY_LENGTH + 4);
+				validLength += KEY_LENGTH + 4 + length;
+			}
+		} catch(EOFException e) {
+			//end of cache or truncated last record, which is dropped
+		} finally {
+			in.close();
+		}
+		log(LogLevel.INFO, "Loaded " + offsets.size() + " cached parse trees from " + file);
+		return validLength;
+	}
+
+	/**
+	 * has to be called holding the cacheFileLock
+	 * @return the cache file, opened again if it was closed
+	 * @throws IOException
+	 */
+	private RandomAccessFile getCacheFile() throws IOException {
+		if(cacheFile == null)
+			cacheFile = new RandomAccessFile(file, "rw");
+		return cacheFile;
+	}
+
+	private Tree read(long offset) {
+		try {
+			byte[] bytes;
+			synchronized(cacheFileLock) {
+				RandomAccessFile cacheFile = getCacheFile();
+				cacheFile.seek(offset - 4);
+				bytes = new byte[cacheFile.readInt()];
+				cacheFile.readFully(bytes);
+			}
+			ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)));
+			try {
+				return (Tree)in.readObject();
+			} finally {
+				in.close();
+			}
+		} catch(Exception e) {
+			log(LogLevel.ERROR, "Problem reading parse tree from parse cache", e);
+			return null;
+		}
+	}
+
+	private void write(String key, Tree tree) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes));
+			out.writeObject(tree);
+			out.close();
+			
+			byte[] value = bytes.toByteArray();
+			synchronized(cacheFileLock) {
+				RandomAccessFile cacheFile = getCacheFile();
+				long recordOffset = cacheFile.length();
+				cacheFile.seek(recordOffset);
+				cacheFile.write(key.getBytes(UTF8));
+				cacheFile.writeInt(value.length);
+				cacheFile.write(value);
+				offsets.put(key, recordOffset + KEY_LENGTH + 4);
+			}
+		} catch(Exception e) {
+			log(LogLevel.ERROR, "Problem writing parse tree to parse cache", e);
+		}
+	}
+}
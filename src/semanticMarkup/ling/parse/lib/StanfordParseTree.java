@@ -3,6 +3,7 @@ package semanticMarkup.ling.parse.lib;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -15,26 +16,81 @@ import edu.stanford.nlp.ling.HasWord;
 import edu.stanford.nlp.trees.Tree;
 
 /**
- * A StanfordParseTree poses an IParseTree and is the result of StanfordParserWrapper
+ * A StanfordParseTree poses an IParseTree and is the result of StanfordParserWrapper.
+ * There is only one StanfordParseTree per node of a Tree. It knows its parent and caches its children, terminals and POS, 
+ * so that navigating the tree does not create new objects. The caches are invalidated by the mutators.
  * @author rodenhausen
  */
 public class StanfordParseTree extends AbstractParseTree {
 	
 	private Tree stanfordParseTree;
+	//shared by all StanfordParseTrees created for nodes of the same tree
+	private TreeNodes treeNodes;
+	private StanfordParseTree parent;
+	private List<AbstractParseTree> children;
+	private List<AbstractParseTree> terminals;
+	private long terminalsModificationCount;
+	private POS pos;
 
 	/**
 	 * @param stanfordParseTree
 	 */
 	public StanfordParseTree(Tree stanfordParseTree) {
+		this(stanfordParseTree, new TreeNodes());
+	}
+	
+	private StanfordParseTree(Tree stanfordParseTree, TreeNodes treeNodes) {
 		super();
 		this.stanfordParseTree = stanfordParseTree;
+		this.treeNodes = treeNodes;
+		treeNodes.nodes.put(stanfordParseTree, this);
+	}
+	
+	/**
+	 * @param tree a node of the same tree as this StanfordParseTree
+	 * @return the StanfordParseTree for the node
+	 */
+	StanfordParseTree wrap(Tree tree) {
+		TreeNodes treeNodes = this.treeNodes.resolve();
+		StanfordParseTree result = treeNodes.nodes.get(tree);
+		if(result == null)
+			result = new StanfordParseTree(tree, treeNodes);
+		return result;
+	}
+	
+	/**
+	 * has to be called after nodes have been added to or removed from the tree
+	 */
+	void structureChanged() {
+		treeNodes.resolve().modificationCount++;
+	}
+	
+	/**
+	 * @return the wrapped Tree
+	 */
+	public Tree getStanfordParseTree() {
+		return stanfordParseTree;
+	}
+	
+	@Override
+	public long getModificationCount() {
+		return treeNodes.resolve().modificationCount;
 	}
 
 	@Override
 	public List<AbstractParseTree> getChildren() {
-		List<AbstractParseTree> children = new ArrayList<AbstractParseTree>();
-		for(Tree stanfordTree : stanfordParseTree.getChildrenAsList()) {
-			children.add(new StanfordParseTree(stanfordTree));
+		return new ArrayList<AbstractParseTree>(getCachedChildren());
+	}
+	
+	private List<AbstractParseTree> getCachedChildren() {
+		if(children == null) {
+			List<AbstractParseTree> children = new ArrayList<AbstractParseTree>();
+			for(Tree stanfordTree : stanfordParseTree.getChildrenAsList()) {
+				StanfordParseTree child = wrap(stanfordTree);
+				child.parent = this;
+				children.add(child);
+			}
+			this.children = children;
 		}
 		return children;
 	}
@@ -44,13 +100,14 @@ public class StanfordParseTree extends AbstractParseTree {
 		//POS is any non-trminal labels, such as NNS, NP, S, Frag, etc..
 		if(this.isTerminal()) 
 			return null;
-		POS result;
-		try {
-			result = POS.valueOf(stanfordParseTree.value());
-		} catch (Exception e) {
-			result = POS.NONE;
+		if(pos == null) {
+			try {
+				pos = POS.valueOf(stanfordParseTree.value());
+			} catch (Exception e) {
+				pos = POS.NONE;
+			}
 		}
-		return result;
+		return pos;
 	}
 	
 	@Override
@@ -70,29 +127,65 @@ public class StanfordParseTree extends AbstractParseTree {
 
 	@Override
 	public List<AbstractParseTree> getTerminals() {
-		List<Tree> leaves = this.stanfordParseTree.getLeaves();
-		List<AbstractParseTree> result = new ArrayList<AbstractParseTree>();
-		for(Tree leaf : leaves) {
-			result.add(new StanfordParseTree(leaf));
+		return new ArrayList<AbstractParseTree>(getCachedTerminals());
+	}
+	
+	private List<AbstractParseTree> getCachedTerminals() {
+		long modificationCount = getModificationCount();
+		if(terminals == null || terminalsModificationCount != modificationCount) {
+			List<AbstractParseTree> terminals = new ArrayList<AbstractParseTree>();
+			if(isTerminal()) {
+				terminals.add(this);
+			} else {
+				for(AbstractParseTree child : getCachedChildren()) 
+					terminals.addAll(((StanfordParseTree)child).getCachedTerminals());
+			}
+			this.terminals = terminals;
+			this.terminalsModificationCount = modificationCount;
 		}
-		return result;
+		return terminals;
 	}
 
 	@Override
 	public AbstractParseTree getAncestor(int height, IParseTree root) {
 		if(root instanceof StanfordParseTree) {
 			StanfordParseTree rootTree = (StanfordParseTree) root;
-			Tree ancestor = this.stanfordParseTree.ancestor(height, rootTree.stanfordParseTree);
-			if(ancestor != null) 
-				return new StanfordParseTree(ancestor);
+			if(height == 0)
+				return this;
+			StanfordParseTree ancestor = this;
+			for(int i=0; i<height && ancestor != null; i++) {
+				//root has no parent within root
+				if(ancestor.equals(rootTree))
+					return null;
+				ancestor = ancestor.getParentNode(rootTree);
+			}
+			//the ancestor has to be part of root
+			for(StanfordParseTree node = ancestor; node != null; node = node.getParentNode(rootTree)) {
+				if(node.equals(rootTree))
+					return ancestor;
+			}
 		}
 		return null;
 	}
+	
+	/**
+	 * Nodes wrapped without their parent, e.g. by a StanfordParseTreeIterator, find it in root and remember it
+	 * @param root
+	 * @return the parent of this node, null if there is none within root
+	 */
+	private StanfordParseTree getParentNode(StanfordParseTree root) {
+		if(parent == null) {
+			Tree parentTree = stanfordParseTree.parent(root.stanfordParseTree);
+			if(parentTree != null)
+				parent = wrap(parentTree);
+		}
+		return parent;
+	}
 
 	@Override
 	public List<IParseTree> getChildrenOfPOS(POS pos) {
 		List<IParseTree> childrenOfPOS = new ArrayList<IParseTree>();
-		for(IParseTree child : this.getChildren()) {
+		for(IParseTree child : this.getCachedChildren()) {
 			if(!child.isTerminal() && child.getPOS().equals(pos)) {
 				childrenOfPOS.add(child);
 			}
@@ -112,18 +205,12 @@ public class StanfordParseTree extends AbstractParseTree {
 
 	@Override
 	public Iterator<IParseTree> iterator() {
-		return new StanfordParseTreeIterator(stanfordParseTree.iterator());
+		return new StanfordParseTreeIterator(this);
 	}
 
 	@Override
 	public int getTerminalID(IParseTree terminal) {
-		List<AbstractParseTree> terminals = this.getTerminals();
-		for(int i=0; i<terminals.size(); i++) {
-			if(terminals.get(i).equals(terminal)) {
-				return i;
-			}
-		}
-		return -1;
+		return getCachedTerminals().indexOf(terminal);
 	}
 
 	@Override
@@ -132,6 +219,9 @@ public class StanfordParseTree extends AbstractParseTree {
 			StanfordParseTree stanfordParseSubTree = (StanfordParseTree)subtree;
 			int childId = stanfordParseTree.indexOf(stanfordParseSubTree.stanfordParseTree);
 			stanfordParseTree.removeChild(childId);
+			wrap(stanfordParseSubTree.stanfordParseTree).parent = null;
+			stanfordParseSubTree.parent = null;
+			childrenChanged();
 		}
 	}
 
@@ -140,7 +230,9 @@ public class StanfordParseTree extends AbstractParseTree {
 		for(Tree tree : stanfordParseTree.children()) {
 			int childId = stanfordParseTree.indexOf(tree);
 			stanfordParseTree.removeChild(childId);
+			wrap(tree).parent = null;
 		}
+		childrenChanged();
 	}
 
 
@@ -149,6 +241,7 @@ public class StanfordParseTree extends AbstractParseTree {
 		if(child instanceof StanfordParseTree) {
 			StanfordParseTree stanfordParseSubTree = (StanfordParseTree)child;
 			stanfordParseTree.addChild(stanfordParseSubTree.stanfordParseTree);
+			adopt(stanfordParseSubTree);
 		}
 	}
 	
@@ -199,12 +292,13 @@ public class StanfordParseTree extends AbstractParseTree {
 		CoreLabel coreLabel = new CoreLabel();
 		coreLabel.setValue(text);
 		stanfordParseTree.setLabel(coreLabel);
+		pos = null;
 	}
 
 	@Override
 	public List<POSedToken> getSentence() {
 		List<POSedToken> sentence = new ArrayList<POSedToken>();
-		List<AbstractParseTree> terminals = this.getTerminals();
+		List<AbstractParseTree> terminals = this.getCachedTerminals();
 		for(IParseTree terminal : terminals) {
 			IParseTree parent = terminal.getParent(this);
 			String content = terminal.getTerminalsText();
@@ -217,16 +311,16 @@ public class StanfordParseTree extends AbstractParseTree {
 
 	/**
 	 * Implements a hashCode for StanfordParseTree's. Two trees should have the same hashcode
-	 * if they are equal, so we hash on the label value and the parent tree
+	 * if they are equal, i.e. wrap the same Tree, so we hash on the identity of the Tree.
 	 * If a new wrapper is created for a Tree the StanfordParseTree's that wrap this Tree are to produce the same hash code
 	 * If two Tree's have the same label they however should not be given the same hash code. 
 	 * Same word in the same sentence is to be given different hashCodes, to be able to assign different chunks to it in ChunkCollector.
+	 * Unlike Tree's hashCode the identity does not change when the label of the Tree is changed.
 	 * @return The hash code
 	 */
 	@Override
 	public int hashCode() {
-		// dont have parent information
-		return this.stanfordParseTree.hashCode();
+		return System.identityHashCode(this.stanfordParseTree);
 	}
 	
 	@Override
@@ -253,7 +347,7 @@ public class StanfordParseTree extends AbstractParseTree {
 		if(descendant instanceof StanfordParseTree) {
 			StanfordParseTree toRemove = (StanfordParseTree)descendant;
 			
-			for(IParseTree child : this.getChildren()) {
+			for(IParseTree child : this.getCachedChildren()) {
 				if(child.equals(toRemove)) {
 					this.removeChild(child);
 					break;
@@ -278,6 +372,7 @@ public class StanfordParseTree extends AbstractParseTree {
 		if(child instanceof StanfordParseTree) {
 			StanfordParseTree stanfordParseSubTree = (StanfordParseTree)child;
 			stanfordParseTree.addChild(index, stanfordParseSubTree.stanfordParseTree);
+			adopt(stanfordParseSubTree);
 		}
 	}
 	
@@ -288,6 +383,33 @@ public class StanfordParseTree extends AbstractParseTree {
 		}
 	}
 
+	/**
+	 * makes the StanfordParseTrees of a subtree newly added as child of this tree part of this tree
+	 */
+	private void adopt(StanfordParseTree subtree) {
+		TreeNodes treeNodes = this.treeNodes.resolve();
+		TreeNodes subtreeNodes = subtree.treeNodes.resolve();
+		if(treeNodes != subtreeNodes) {
+			subtreeNodes.mergedInto = treeNodes;
+			for(StanfordParseTree node : subtreeNodes.nodes.values()) {
+				if(!treeNodes.nodes.containsKey(node.stanfordParseTree))
+					treeNodes.nodes.put(node.stanfordParseTree, node);
+			}
+			subtreeNodes.nodes = null;
+			treeNodes.modificationCount = Math.max(treeNodes.modificationCount, subtreeNodes.modificationCount);
+		}
+		StanfordParseTree node = wrap(stanfordParseTree);
+		wrap(subtree.stanfordParseTree).parent = node;
+		subtree.parent = node;
+		childrenChanged();
+	}
+	
+	private void childrenChanged() {
+		wrap(stanfordParseTree).children = null;
+		this.children = null;
+		structureChanged();
+	}
+
 	@Override
 	public boolean hasChildren() {
 		return stanfordParseTree.numChildren()>0;
@@ -302,4 +424,21 @@ public class StanfordParseTree extends AbstractParseTree {
 		return -1;
 	}
 
+	/**
+	 * TreeNodes holds the StanfordParseTrees of the nodes of one tree and counts the modifications made to the tree.
+	 * If a tree becomes part of another tree, its TreeNodes are merged into the other tree's TreeNodes
+	 */
+	private static class TreeNodes {
+		private IdentityHashMap<Tree, StanfordParseTree> nodes = new IdentityHashMap<Tree, StanfordParseTree>();
+		private long modificationCount;
+		private TreeNodes mergedInto;
+		
+		private TreeNodes resolve() {
+			TreeNodes result = this;
+			while(result.mergedInto != null)
+				result = result.mergedInto;
+			return result;
+		}
+	}
+
 }
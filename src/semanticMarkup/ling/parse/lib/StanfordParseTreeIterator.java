@@ -11,13 +11,15 @@ import edu.stanford.nlp.trees.Tree;
  */
 public class StanfordParseTreeIterator implements Iterator<IParseTree> {
 
+	private StanfordParseTree parseTree;
 	private Iterator<Tree> stanfordParseTreeIterator;
 	
 	/**
-	 * @param stanfordParseTreeIterator
+	 * @param parseTree the StanfordParseTree to iterate over, its nodes are returned as the StanfordParseTrees it knows for them
 	 */
-	public StanfordParseTreeIterator(Iterator<Tree> stanfordParseTreeIterator) {
-		this.stanfordParseTreeIterator = stanfordParseTreeIterator;
+	public StanfordParseTreeIterator(StanfordParseTree parseTree) {
+		this.parseTree = parseTree;
+		this.stanfordParseTreeIterator = parseTree.getStanfordParseTree().iterator();
 	}
 	
 	@Override
@@ -27,7 +29,7 @@ public class StanfordParseTreeIterator implements Iterator<IParseTree> {
 
 	@Override
 	public StanfordParseTree next() {
-		return new StanfordParseTree(stanfordParseTreeIterator.next());
+		return parseTree.wrap(stanfordParseTreeIterator.next());
 	}
 
 	@Override
@@ -2,46 +2,187 @@ package semanticMarkup.ling.parse.lib;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import semanticMarkup.ling.Token;
 import semanticMarkup.ling.parse.AbstractParseTree;
 import semanticMarkup.ling.parse.IParser;
 import semanticMarkup.ling.transform.IStanfordParserTokenTransformer;
+import semanticMarkup.log.LogLevel;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import edu.stanford.nlp.ling.HasTag;
 import edu.stanford.nlp.ling.HasWord;
 import edu.stanford.nlp.parser.lexparser.LexicalizedParser;
+import edu.stanford.nlp.parser.lexparser.LexicalizedParserQuery;
+import edu.stanford.nlp.trees.LabeledScoredTreeFactory;
 import edu.stanford.nlp.trees.Tree;
+import edu.stanford.nlp.trees.TreeFactory;
 
 /**
- * A StanfordParserWrapper parses a list of tokens using stanford parser
+ * A StanfordParserWrapper parses a list of tokens using stanford parser. 
+ * The grammar is loaded once and shared, every thread parses with its own LexicalizedParserQuery.
+ * Sentences longer than the maximum sentence length or taking longer than the timeout to parse are given a flat parse tree.
+ * The parser can not be interrupted, so a sentence that timed out keeps its thread busy until it is parsed. The threads used 
+ * for parsing with timeout are bounded by the parallelism of the markup, if all of them are busy the sentence is parsed in 
+ * the calling thread without timeout.
  * @author rodenhausen
  */
 public class StanfordParserWrapper implements IParser {
 
+	private static final String FLAT_TREE_PHRASE = "FRAG";
+	private static final String FLAT_TREE_TAG = "X";
+	
 	private LexicalizedParser parser;
 	private IStanfordParserTokenTransformer tokenTransformer;
+	private int maxSentenceLength;
+	private long timeout;
+	private ThreadLocal<LexicalizedParserQuery> parserQueries = new ThreadLocal<LexicalizedParserQuery>() {
+		@Override
+		protected LexicalizedParserQuery initialValue() {
+			return parser.parserQuery();
+		}
+	};
+	private ExecutorService parseExecutor;
 	
 	/**
 	 * @param modelFile
 	 * @param tokenTransformer
+	 * @param maxSentenceLength the maximum number of tokens of a sentence to parse, 0 for no limit
+	 * @param timeout the maximum time in milliseconds to parse a sentence, 0 for no limit
+	 * @param parallelism the maximum number of sentences parsed at the same time with timeout
 	 */
 	@Inject
-	public StanfordParserWrapper(@Named("StanfordParserWrapper_modelFile")String modelFile, IStanfordParserTokenTransformer tokenTransformer) {
+	public StanfordParserWrapper(@Named("StanfordParserWrapper_modelFile")String modelFile, IStanfordParserTokenTransformer tokenTransformer, 
+			@Named("StanfordParserWrapper_maxSentenceLength")int maxSentenceLength, 
+			@Named("StanfordParserWrapper_timeout")long timeout, 
+			@Named("MarkupTaskScheduler_parallelism")int parallelism) {
 		this.tokenTransformer = tokenTransformer;
+		this.maxSentenceLength = maxSentenceLength;
+		this.timeout = timeout;
 		parser = LexicalizedParser.loadModel(modelFile);
+		if(timeout > 0) {
+			int threads = Math.max(1, parallelism);
+			ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, 
+					new SynchronousQueue<Runnable>(), new ThreadFactory() {
+				private AtomicInteger count = new AtomicInteger();
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "StanfordParserWrapper-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			threadPoolExecutor.allowCoreThreadTimeOut(true);
+			parseExecutor = threadPoolExecutor;
+		}
+	}
+
+	@Override
+	public void close() {
+		//nothing to release, idle parse threads are daemons and time out
 	}
 
 	@Override
 	public AbstractParseTree parse(List<? extends Token> sentence) {
-		List<HasWord> stanfordSentence = new ArrayList<HasWord>();
+		final List<HasWord> stanfordSentence = new ArrayList<HasWord>();
 		for(Token token : sentence) {
 			HasWord hasWord = tokenTransformer.transform(token);
 			stanfordSentence.add(hasWord);
 		}
-		Tree tree = parser.parseTree(stanfordSentence);
+		
+		if(maxSentenceLength > 0 && stanfordSentence.size() > maxSentenceLength) {
+			log(LogLevel.INFO, "Sentence of " + stanfordSentence.size() + " tokens exceeds maximum length of " + maxSentenceLength + 
+					" tokens, creating flat parse tree: " + sentence);
+			return new FlatParseTree(createFlatTree(stanfordSentence));
+		}
+		
+		Tree tree = null;
+		Future<Tree> futureTree = null;
+		if(parseExecutor != null) {
+			try {
+				futureTree = parseExecutor.submit(new Callable<Tree>() {
+					@Override
+					public Tree call() throws Exception {
+						return parseTree(stanfordSentence);
+					}
+				});
+			} catch(RejectedExecutionException e) {
+				log(LogLevel.DEBUG, "All parse threads are busy, parsing without timeout: " + sentence);
+			}
+		}
+		if(futureTree == null) {
+			tree = parseTree(stanfordSentence);
+		} else {
+			try {
+				tree = futureTree.get(timeout, TimeUnit.MILLISECONDS);
+			} catch(TimeoutException e) {
+				futureTree.cancel(true);
+				log(LogLevel.INFO, "Parsing took longer than " + timeout + " ms, creating flat parse tree: " + sentence);
+			} catch(Exception e) {
+				log(LogLevel.ERROR, "Problem parsing sentence: " + sentence, e);
+			}
+		}
+		
+		if(tree == null) 
+			return new FlatParseTree(createFlatTree(stanfordSentence));
 		return new StanfordParseTree(tree);
 	}
+	
+	private Tree parseTree(List<HasWord> stanfordSentence) {
+		LexicalizedParserQuery parserQuery = parserQueries.get();
+		if(parserQuery.parse(stanfordSentence))
+			return parserQuery.getBestParse();
+		return null;
+	}
+
+	/**
+	 * @param stanfordSentence
+	 * @return a tree with a single phrase containing all tokens with their tags
+	 */
+	private Tree createFlatTree(List<HasWord> stanfordSentence) {
+		TreeFactory treeFactory = new LabeledScoredTreeFactory();
+		List<Tree> preTerminals = new ArrayList<Tree>();
+		for(HasWord word : stanfordSentence) {
+			String tag = FLAT_TREE_TAG;
+			if(word instanceof HasTag && ((HasTag)word).tag() != null)
+				tag = ((HasTag)word).tag();
+			List<Tree> leaf = new ArrayList<Tree>();
+			leaf.add(treeFactory.newLeaf(word.word()));
+			preTerminals.add(treeFactory.newTreeNode(tag, leaf));
+		}
+		List<Tree> phrase = new ArrayList<Tree>();
+		phrase.add(treeFactory.newTreeNode(FLAT_TREE_PHRASE, preTerminals));
+		return treeFactory.newTreeNode("ROOT", phrase);
+	}
+	
+	/**
+	 * @param parseTree
+	 * @return if the parse tree is a flat parse tree created for a sentence that could not be parsed, 
+	 * unlike a FRAG the parser returned itself
+	 */
+	static boolean isFlatTree(AbstractParseTree parseTree) {
+		return parseTree instanceof FlatParseTree;
+	}
+	
+	/**
+	 * A FlatParseTree marks the root of a flat parse tree created for a sentence that could not be parsed
+	 */
+	private static class FlatParseTree extends StanfordParseTree {
+		
+		public FlatParseTree(Tree stanfordParseTree) {
+			super(stanfordParseTree);
+		}
+	}
 }
@@ -1,24 +1,30 @@
 package semanticMarkup.ling.transform.lib;
 
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import semanticMarkup.know.IPOSKnowledgeBase;
+import semanticMarkup.know.lib.MemoCache;
 import semanticMarkup.ling.transform.IInflector;
 import semanticMarkup.log.LogLevel;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * SomeInflector uses word endings and IPOSKnowledgeBase to determine inflections
+ * Determined singulars and the plurals they imply are memoized in bounded caches. Both can be accessed concurrently.
  * @author rodenhausen
  */
 public class SomeInflector implements IInflector {
 
-	private Hashtable<String, String> singulars = new Hashtable<String, String>();
-	private Hashtable<String, String> plurals = new Hashtable<String, String>();
+	private Map<String, String> irregularSingulars = new HashMap<String, String>();
+	private Map<String, String> irregularPlurals = new HashMap<String, String>();
+	private MemoCache<String, String> singulars;
+	private MemoCache<String, String> plurals;
 	private Pattern lyAdverbPattern = Pattern.compile("[a-z]{3,}ly");
 	private Pattern p1 = Pattern.compile("(.*?[^aeiou])ies$");
 	private Pattern p2 = Pattern.compile("(.*?)i$");
@@ -33,46 +39,61 @@ public class SomeInflector implements IInflector {
 
 	/**
 	 * @param posKnowledgeBase
+	 * @param cacheSize the maximum number of singulars and of plurals to memoize
 	 */
 	@Inject
-	public SomeInflector(IPOSKnowledgeBase posKnowledgeBase) {
+	public SomeInflector(IPOSKnowledgeBase posKnowledgeBase, @Named("MemoCache_capacity") int cacheSize) {
 		this.posKnowledgeBase = posKnowledgeBase;
-		singulars.put("axis", "axis");
-		singulars.put("axes", "axis");
-		singulars.put("bases", "base");
-		singulars.put("boss", "boss");
-		singulars.put("buttress", "buttress");
-		singulars.put("callus", "callus");
-		singulars.put("frons", "frons");
-		singulars.put("grooves", "groove");
-		singulars.put("interstices", "interstice");
-		singulars.put("lens", "len");
-		singulars.put("media", "media");
-		singulars.put("midnerves", "midnerve");
-		singulars.put("process", "process");
-		singulars.put("series", "series");
-		singulars.put("species", "species");
-		singulars.put("teeth", "tooth");
-		singulars.put("valves", "valve");
-		singulars.put("apices", "apex");
+		this.singulars = new MemoCache<String, String>(cacheSize) {
+			@Override
+			protected String load(String word) {
+				return findSingular(word);
+			}
+		};
+		// plurals are only known once their singular was determined
+		this.plurals = new MemoCache<String, String>(cacheSize) {
+			@Override
+			protected String load(String word) {
+				return null;
+			}
+		};
+
+		irregularSingulars.put("axis", "axis");
+		irregularSingulars.put("axes", "axis");
+		irregularSingulars.put("bases", "base");
+		irregularSingulars.put("boss", "boss");
+		irregularSingulars.put("buttress", "buttress");
+		irregularSingulars.put("callus", "callus");
+		irregularSingulars.put("frons", "frons");
+		irregularSingulars.put("grooves", "groove");
+		irregularSingulars.put("interstices", "interstice");
+		irregularSingulars.put("lens", "len");
+		irregularSingulars.put("media", "media");
+		irregularSingulars.put("midnerves", "midnerve");
+		irregularSingulars.put("process", "process");
+		irregularSingulars.put("series", "series");
+		irregularSingulars.put("species", "species");
+		irregularSingulars.put("teeth", "tooth");
+		irregularSingulars.put("valves", "valve");
+		irregularSingulars.put("apices", "apex");
 		
-		plurals.put("axis", "axes");
-		plurals.put("base", "bases");
-		plurals.put("groove", "grooves");
-		plurals.put("interstice", "interstices");
-		plurals.put("len", "lens");
-		plurals.put("media", "media");
-		plurals.put("midnerve", "midnerves");
-		plurals.put("tooth", "teeth");
-		plurals.put("valve", "valves");
-		plurals.put("boss", "bosses");
-		plurals.put("buttress", "buttresses");
-		plurals.put("callus", "calluses");
-		plurals.put("frons", "fronses");
-		plurals.put("process", "processes");
-		plurals.put("series", "series");
-		plurals.put("species", "species");
-		plurals.put("apex", "apices");
+		irregularPlurals.put("axis", "axes");
+		irregularPlurals.put("base", "bases");
+		irregularPlurals.put("groove", "grooves");
+		irregularPlurals.put("interstice", "interstices");
+		irregularPlurals.put("len", "lens");
+		irregularPlurals.put("media", "media");
+		irregularPlurals.put("midnerve", "midnerves");
+		irregularPlurals.put("tooth", "teeth");
+		irregularPlurals.put("valve", "valves");
+		irregularPlurals.put("boss", "bosses");
+		irregularPlurals.put("buttress", "buttresses");
+		irregularPlurals.put("callus", "calluses");
+		irregularPlurals.put("frons", "fronses");
+		irregularPlurals.put("process", "processes");
+		irregularPlurals.put("series", "series");
+		irregularPlurals.put("species", "species");
+		irregularPlurals.put("apex", "apices");
 	}
 	
 	@Override
@@ -84,16 +105,27 @@ public class SomeInflector implements IInflector {
 		if(word.isEmpty())
 			return originalWord;
 
-		// check cache
-		s = singulars.get(word);
+		s = irregularSingulars.get(word);
 		if (s != null)
 			return s;
-
+		
+		// check cache
+		s = singulars.get(word);
+		// keep the plural implied by the singular, adverbs are their own plural
+		if(!s.equals(word) || lyAdverbPattern.matcher(word).matches())
+			plurals.put(s, word);
+		return s;
+	}
+	
+	/**
+	 * Results only depend on word, hence can be memoized
+	 */
+	private String findSingular(String word) {
+		String s = "";
+		
 		// adverbs
 		Matcher matcher = lyAdverbPattern.matcher(word);
 		if (matcher.matches()) {
-			singulars.put(word, word);
-			plurals.put(word, word);
 			return word;
 		}
 
@@ -102,9 +134,6 @@ public class SomeInflector implements IInflector {
 		if (wordcopy != null && wordcopy.length() == 0) {
 			return word;
 		} else if (wordcopy != null) {
-			singulars.put(word, wordcopy);
-			if (!wordcopy.equals(word))
-				plurals.put(wordcopy, word);
 			return wordcopy;
 		} else {// word not in wn
 			Matcher m1 = p1.matcher(word);
@@ -141,9 +170,6 @@ public class SomeInflector implements IInflector {
 				// }
 
 			if (s != null) {
-				singulars.put(word, s);
-				if (!s.equals(word))
-					plurals.put(s, word);
 				return s;
 			}
 		}
@@ -163,8 +189,12 @@ public class SomeInflector implements IInflector {
 	public String getPlural(String word) {
 		word = word.trim().toLowerCase();
 
-		if(plurals.containsKey(word))
-			return plurals.get(word);
+		String plural = irregularPlurals.get(word);
+		if(plural != null)
+			return plural;
+		plural = plurals.get(word);
+		if(plural != null)
+			return plural;
 		if(word.endsWith("s"))
 			return word + "es";
 		else
@@ -188,5 +218,12 @@ public class SomeInflector implements IInflector {
 	public boolean isSingular(String word) {
 		return false;
 	}
+	
+	/**
+	 * @return a summary of the memoized singulars
+	 */
+	public String getCacheStatistics() {
+		return "getSingular cache: " + singulars.getStatistics() + ", plurals cache: " + plurals.getStatistics();
+	}
 
 }
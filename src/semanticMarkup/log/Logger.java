@@ -1,6 +1,6 @@
 package semanticMarkup.log;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A Logger loggs messages of the various debug levels using slf4j
@@ -8,7 +8,7 @@ import java.util.HashMap;
  */
 public class Logger {
 	
-	private static HashMap<Class<?>, Logger> loggers = new HashMap<Class<?>, Logger>();
+	private static ConcurrentHashMap<Class<?>, Logger> loggers = new ConcurrentHashMap<Class<?>, Logger>();
 	
 	/**
 	 * Returns the 'singleton' Logger per class
@@ -16,9 +16,14 @@ public class Logger {
 	 * @return the 'singleton' Logger
 	 */
 	public static Logger getLogger(Class<?> clazz) {
-		if(!loggers.containsKey(clazz)) 
-			loggers.put(clazz, new Logger(clazz));
-		return loggers.get(clazz);
+		Logger logger = loggers.get(clazz);
+		if(logger == null) {
+			logger = new Logger(clazz);
+			Logger previousLogger = loggers.putIfAbsent(clazz, logger);
+			if(previousLogger != null)
+				logger = previousLogger;
+		}
+		return logger;
 	}
 	
 	private Class<?> clazz;
@@ -32,6 +37,25 @@ public class Logger {
 		this.logger = org.slf4j.LoggerFactory.getLogger(clazz);
 	}
 	
+	/**
+	 * @param logLevel
+	 * @return if messages of logLevel are displayed, so that expensive messages need only be built if they are
+	 */
+	public boolean isEnabled(LogLevel logLevel) {
+		switch(logLevel) {
+		case TRACE:
+			return logger.isTraceEnabled();
+		case DEBUG:
+			return logger.isDebugEnabled();
+		case INFO:
+			return logger.isInfoEnabled();
+		case WARN:
+			return logger.isWarnEnabled();
+		default:
+			return logger.isErrorEnabled();
+		}
+	}
+	
 	/**
 	 * @param message to display
 	 */
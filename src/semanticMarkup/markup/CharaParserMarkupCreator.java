@@ -2,9 +2,12 @@ package semanticMarkup.markup;
 
 import java.util.List;
 
+import semanticMarkup.core.ITreatmentListener;
 import semanticMarkup.core.Treatment;
 import semanticMarkup.core.transformation.TreatmentTransformerChain;
+import semanticMarkup.io.input.IStreamingVolumeReader;
 import semanticMarkup.io.input.IVolumeReader;
+import semanticMarkup.io.output.IStreamingVolumeWriter;
 import semanticMarkup.io.output.IVolumeWriter;
 import semanticMarkup.log.LogLevel;
 
@@ -12,7 +15,10 @@ import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
 /**
- * CharaParserMarkupCreator creates a markup by reading treatments, transforming them using a TreatmentTransformerChain and writing them out
+ * CharaParserMarkupCreator creates a markup by reading treatments, transforming them using a TreatmentTransformerChain and writing them out.
+ * In streaming mode each treatment is written as soon as it has passed the TreatmentTransformerChain, given an IStreamingVolumeWriter.
+ * An IStreamingVolumeReader is then fed into the TreatmentTransformerChain, which still holds the whole volume in memory as long 
+ * as it contains ITreatmentTransformers that need all treatments
  * @author thomas rodenhausen
  */
 public class CharaParserMarkupCreator implements IMarkupCreator {
@@ -21,23 +27,31 @@ public class CharaParserMarkupCreator implements IMarkupCreator {
 	private TreatmentTransformerChain transformerChain;
 	private IVolumeWriter volumeWriter;
 	private List<Treatment> treatments;
+	private boolean streaming;
 
 	/**
 	 * @param volumeReader
 	 * @param transformerChain
 	 * @param volumeWriter
+	 * @param streaming
 	 */
 	@Inject
 	public CharaParserMarkupCreator(@Named("MarkupCreator_VolumeReader")IVolumeReader volumeReader, 
 			TreatmentTransformerChain transformerChain,
-			@Named("MarkupCreator_VolumeWriter")IVolumeWriter volumeWriter) {
+			@Named("MarkupCreator_VolumeWriter")IVolumeWriter volumeWriter, 
+			@Named("MarkupCreator_streaming")boolean streaming) {
 		this.volumeReader = volumeReader;
 		this.transformerChain = transformerChain;
 		this.volumeWriter = volumeWriter;
+		this.streaming = streaming;
 	}
 	
 	@Override
 	public void create() {
+		if(streaming && volumeWriter instanceof IStreamingVolumeWriter) {
+			createStreaming((IStreamingVolumeWriter)volumeWriter);
+			return;
+		}
 		try {
 			log(LogLevel.DEBUG, "reading treatments using " + volumeReader.getClass());
 			treatments = volumeReader.read();
@@ -53,6 +67,38 @@ public class CharaParserMarkupCreator implements IMarkupCreator {
 		}
 	}
 
+	private void createStreaming(final IStreamingVolumeWriter streamingVolumeWriter) {
+		try {
+			ITreatmentListener writingListener = new ITreatmentListener() {
+				@Override
+				public void treatmentDone(Treatment treatment) throws Exception {
+					streamingVolumeWriter.write(treatment);
+				}
+			};
+			if(volumeReader instanceof IStreamingVolumeReader) {
+				log(LogLevel.DEBUG, "read and transform treatments using " + volumeReader.getClass() + " and " + 
+						transformerChain.getClass() + " and write each result using " + streamingVolumeWriter.getClass());
+				treatments = transformerChain.transform((IStreamingVolumeReader)volumeReader, writingListener);
+			} else {
+				log(LogLevel.DEBUG, "reading treatments using " + volumeReader.getClass());
+				treatments = volumeReader.read();
+				
+				log(LogLevel.DEBUG, "transform treatments using " + transformerChain.getClass() + 
+						" and write each result using " + streamingVolumeWriter.getClass());
+				transformerChain.transform(treatments, writingListener);
+			}
+		} catch (Exception e) {
+			log(LogLevel.ERROR, "Problem reading, transforming or writing treatments", e);
+		} finally {
+			// the treatments handed over so far are written out completely, also if reading or transforming failed
+			try {
+				streamingVolumeWriter.close();
+			} catch (Exception e) {
+				log(LogLevel.ERROR, "Problem closing " + streamingVolumeWriter.getClass(), e);
+			}
+		}
+	}
+
 	@Override
 	public String getDescription() {
 		return "Charaparser";